@@ -1,15 +1,18 @@
 package com.repeatwise.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
- * Cấu hình thread pool cho job import/export.
+ * Cấu hình thread pool cho job import/export và tác vụ định kỳ (ghi tiến độ job).
  */
 @Configuration
+@EnableScheduling
 public class AsyncConfig {
 
     @Bean(name = "jobTaskExecutor")
@@ -22,5 +25,36 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Worker đọc deck song song cho job export thư mục; tách khỏi {@code jobTaskExecutor} để job đang chờ
+     * kết quả không chiếm chỗ của chính worker nó cần.
+     */
+    @Bean(name = "exportReadExecutor")
+    public Executor exportReadExecutor() {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("export-read-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Gửi cập nhật job tới các SSE stream, ngoài thread đã phát sự kiện (worker import/export, flush tiến độ).
+     * Khi hàng đợi đầy, thread phát sự kiện tự gửi thay vì bỏ mất cập nhật cuối của job.
+     */
+    @Bean(name = "jobEventExecutor")
+    public Executor jobEventExecutor() {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("job-event-");
+        executor.initialize();
+        return executor;
+    }
 }
 
@@ -37,6 +37,8 @@ public class AppProperties {
         private int bcryptStrength;
         private int maxLoginAttempts;
         private int lockoutDurationMinutes;
+        private int userCacheTtlSeconds;
+        private int userCacheMaxEntries;
     }
 
     @Getter
@@ -53,6 +55,20 @@ public class AppProperties {
         private int maxExportRows;
         private int exportBatchSize;
         private int asyncJobTimeoutMinutes;
+        private int jobHeartbeatStaleSeconds;
+        private long jobProgressFlushMs;
+        private int jobStreamMaxPerUser;
+        private int jobStreamMaxConnections;
+        private long jobStreamTimeoutMs;
+        private long jobStreamHeartbeatMs;
+        private long exportStreamTimeoutMs;
+        private int exportCacheMaxMb;
+        private int exportCacheMaxEntries;
+        private int maxFolderExportRows;
+        private int exportParallelism;
+        private String rolloverCron;
+        private int rolloverBatchSize;
+        private int reviewQueuePrebuildDays;
     }
 
     @Getter
@@ -62,5 +78,6 @@ public class AppProperties {
         private String importUploadsDir;
         private String importErrorDir;
         private String exportDir;
+        private String folderExportDir;
     }
 }
@@ -37,6 +37,10 @@ public final class ApiErrorCode {
     public static final String MAX_FOLDER_DEPTH_EXCEEDED = "MAX_FOLDER_DEPTH_EXCEEDED";
     public static final String CIRCULAR_FOLDER_REFERENCE = "CIRCULAR_FOLDER_REFERENCE";
     public static final String FOLDER_TOO_LARGE = "FOLDER_TOO_LARGE";
+    public static final String FOLDER_CONCURRENT_MODIFICATION = "FOLDER_CONCURRENT_MODIFICATION";
+    public static final String FOLDER_DELETE_FAILED = "FOLDER_DELETE_FAILED";
+    public static final String FOLDER_RESTORE_FAILED = "FOLDER_RESTORE_FAILED";
+    public static final String FOLDER_COPY_FAILED = "FOLDER_COPY_FAILED";
 
     public static final String DECK_NAME_REQUIRED = "DECK_NAME_REQUIRED";
     public static final String DECK_NOT_FOUND = "DECK_NOT_FOUND";
@@ -52,6 +56,8 @@ public final class ApiErrorCode {
 
     public static final String DAILY_REVIEW_LIMIT_EXCEEDED = "DAILY_REVIEW_LIMIT_EXCEEDED";
     public static final String SRS_SETTINGS_NOT_FOUND = "SRS_SETTINGS_NOT_FOUND";
+    public static final String REVIEW_INVALID_SCOPE = "REVIEW_INVALID_SCOPE";
+    public static final String REVIEW_SCOPE_ID_REQUIRED = "REVIEW_SCOPE_ID_REQUIRED";
 
     public static final String IMPORT_FILE_REQUIRED = "IMPORT_FILE_REQUIRED";
     public static final String IMPORT_FILE_TOO_LARGE = "IMPORT_FILE_TOO_LARGE";
@@ -69,5 +75,8 @@ public final class ApiErrorCode {
 
     public static final String JOB_NOT_FOUND = "JOB_NOT_FOUND";
     public static final String JOB_TIMEOUT = "JOB_TIMEOUT";
+    public static final String JOB_NOT_RESUMABLE = "JOB_NOT_RESUMABLE";
+    public static final String JOB_CLAIMED_ELSEWHERE = "JOB_CLAIMED_ELSEWHERE";
+    public static final String JOB_STREAM_LIMIT_EXCEEDED = "JOB_STREAM_LIMIT_EXCEEDED";
 }
 
@@ -14,9 +14,9 @@ import org.springframework.web.bind.annotation.RestController;
 import com.repeatwise.dto.request.auth.LoginRequest;
 import com.repeatwise.dto.request.auth.RegisterRequest;
 import com.repeatwise.dto.response.auth.AuthResponse;
-import com.repeatwise.entity.User;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.security.AuthenticatedUser;
 import com.repeatwise.service.AuthService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -125,7 +125,7 @@ public class AuthController {
             @ApiResponse(responseCode = "401", description = "Unauthorized - Not logged in", content = @Content(schema = @Schema(implementation = Map.class)))
     })
     public ResponseEntity<Map<String, String>> logout(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             HttpServletResponse response) {
         log.info("Logout request received for user: {}", user.getId());
 
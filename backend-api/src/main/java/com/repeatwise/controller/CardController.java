@@ -12,7 +12,7 @@ import com.repeatwise.dto.request.card.CreateCardRequest;
 import com.repeatwise.dto.request.card.UpdateCardRequest;
 import com.repeatwise.dto.response.card.CardDeletionResponse;
 import com.repeatwise.dto.response.card.CardResponse;
-import com.repeatwise.entity.User;
+import com.repeatwise.security.AuthenticatedUser;
 import com.repeatwise.service.CardService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -49,7 +49,7 @@ public class CardController {
     })
     public ResponseEntity<List<CardResponse>> getCardsByDeck(
             @PathVariable UUID deckId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} fetches cards for deck {}", userId, deckId);
         final var responses = this.cardService.getCardsByDeck(deckId, userId);
@@ -69,7 +69,7 @@ public class CardController {
     })
     public ResponseEntity<CardResponse> createCard(
             @Valid @RequestBody CreateCardRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} tạo thẻ mới trong deck {}", userId, request.getDeckId());
 
@@ -91,7 +91,7 @@ public class CardController {
     public ResponseEntity<CardResponse> updateCard(
             @PathVariable UUID cardId,
             @Valid @RequestBody UpdateCardRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} cập nhật thẻ {}", userId, cardId);
 
@@ -112,7 +112,7 @@ public class CardController {
     })
     public ResponseEntity<CardDeletionResponse> deleteCard(
             @PathVariable UUID cardId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} xóa thẻ {}", userId, cardId);
 
@@ -23,7 +23,7 @@ import com.repeatwise.dto.request.deck.UpdateDeckRequest;
 import com.repeatwise.dto.response.deck.DeckCopyResponse;
 import com.repeatwise.dto.response.deck.DeckDeletionResponse;
 import com.repeatwise.dto.response.deck.DeckResponse;
-import com.repeatwise.entity.User;
+import com.repeatwise.security.AuthenticatedUser;
 import com.repeatwise.service.DeckService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -61,7 +61,7 @@ public class DeckController {
     })
     public ResponseEntity<DeckResponse> createDeck(
             @Valid @RequestBody CreateDeckRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} tạo deck '{}'", userId, request.getName());
 
@@ -83,7 +83,7 @@ public class DeckController {
     public ResponseEntity<DeckResponse> updateDeck(
             @PathVariable UUID deckId,
             @Valid @RequestBody UpdateDeckRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} cập nhật deck {}", userId, deckId);
 
@@ -105,7 +105,7 @@ public class DeckController {
     public ResponseEntity<DeckResponse> moveDeck(
             @PathVariable UUID deckId,
             @Valid @RequestBody MoveDeckRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} di chuyển deck {} tới {}", userId, deckId, request.getTargetFolderId());
 
@@ -127,7 +127,7 @@ public class DeckController {
     public ResponseEntity<DeckCopyResponse> copyDeck(
             @PathVariable UUID deckId,
             @Valid @RequestBody CopyDeckRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} sao chép deck {} tới {}", userId, deckId, request.getDestinationFolderId());
 
@@ -152,7 +152,7 @@ public class DeckController {
     })
     public ResponseEntity<DeckDeletionResponse> deleteDeck(
             @PathVariable UUID deckId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} xóa deck {}", userId, deckId);
 
@@ -176,7 +176,7 @@ public class DeckController {
     })
     public ResponseEntity<List<DeckResponse>> getDecks(
             @RequestParam(value = "folderId", required = false) UUID folderId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         final var decks = this.deckService.getDecks(userId, folderId);
         return ResponseEntity.ok(decks);
@@ -192,7 +192,7 @@ public class DeckController {
             @ApiResponse(responseCode = "401", description = "Chưa xác thực")
     })
     public ResponseEntity<List<DeckResponse>> getAllDecks(
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         final var decks = this.deckService.getAllDecks(userId);
         return ResponseEntity.ok(decks);
@@ -210,7 +210,7 @@ public class DeckController {
     })
     public ResponseEntity<DeckResponse> getDeck(
             @PathVariable UUID deckId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         final var deck = this.deckService.getDeckById(deckId, userId);
         return ResponseEntity.ok(deck);
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,15 +22,13 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.repeatwise.dto.response.importer.ImportCardsResponse;
 import com.repeatwise.dto.response.job.AsyncJobResponseDto;
-import com.repeatwise.entity.AsyncJob;
-import com.repeatwise.entity.User;
 import com.repeatwise.enums.DuplicateHandlingPolicy;
-import com.repeatwise.enums.ExportFormat;
-import com.repeatwise.enums.ExportScope;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.security.AuthenticatedUser;
 import com.repeatwise.service.AsyncJobService;
 import com.repeatwise.service.CardExportService;
+import com.repeatwise.service.CardExportService.ExportRequest;
 import com.repeatwise.service.CardExportService.ExportResponse;
 import com.repeatwise.service.CardExportService.ExportResult;
 import com.repeatwise.service.CardImportService;
@@ -66,13 +65,13 @@ public class DeckImportExportController {
     @ApiResponse(responseCode = "202", description = "Import đang xử lý async")
     public ResponseEntity<?> importCards(
             @PathVariable UUID deckId,
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestPart("file") MultipartFile file,
             @RequestParam(name = "duplicatePolicy", defaultValue = "SKIP") String duplicatePolicy) {
         final var policy = parseDuplicatePolicy(duplicatePolicy);
         final var response = this.cardImportService.importCards(deckId, user.getId(), file, policy);
         if (response.isAsync()) {
-            final var jobDto = buildJobResponse(response.job());
+            final var jobDto = this.asyncJobService.toDto(response.job());
             return ResponseEntity.accepted().body(jobDto);
         }
         final var summary = response.summary();
@@ -83,25 +82,47 @@ public class DeckImportExportController {
     @GetMapping(path = "/{deckId}/export")
     @Operation(summary = "Export thẻ", description = "Export thẻ ra CSV hoặc XLSX")
     @ApiResponse(responseCode = "200", description = "Export đồng bộ thành công")
+    @ApiResponse(responseCode = "304", description = "Nội dung không đổi so với ETag trong If-None-Match")
     @ApiResponse(responseCode = "202", description = "Export đang xử lý async", content = @Content(schema = @Schema(implementation = AsyncJobResponseDto.class)))
     public ResponseEntity<?> exportCards(
             @PathVariable UUID deckId,
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(name = "format", defaultValue = "CSV") String format,
-            @RequestParam(name = "scope", defaultValue = "ALL") String scope) {
-        final var exportFormat = parseExportFormat(format);
-        final var exportScope = parseExportScope(scope);
-        final ExportResponse exportResponse = this.cardExportService.exportCards(deckId, user.getId(), exportFormat, exportScope);
+            @RequestParam(name = "scope", defaultValue = "ALL") String scope,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        final var exportFormat = ExportParams.parseFormat(format);
+        final var exportScope = ExportParams.parseScope(scope);
+        // The content key is known before counting or rendering, so an unchanged export costs one version query
+        final ExportRequest request = this.cardExportService.prepareExport(deckId, user.getId(), exportFormat,
+                exportScope);
+        final var etag = "\"" + request.contentKey() + "\"";
+        if (matchesETag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        final ExportResponse exportResponse = this.cardExportService.exportCards(request);
         if (exportResponse.isAsync()) {
-            final var jobDto = buildJobResponse(exportResponse.job());
+            final var jobDto = this.asyncJobService.toDto(exportResponse.job());
             return ResponseEntity.accepted().body(jobDto);
         }
         final ExportResult result = exportResponse.result();
         final var headers = new HttpHeaders();
+        headers.setETag(etag);
         headers.setContentType(MediaType.parseMediaType(result.contentType()));
-        headers.setContentLength(result.size());
         headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.filename() + "\"");
-        return new ResponseEntity<>(result.resource(), headers, HttpStatus.OK);
+        return new ResponseEntity<>(result.file(), headers, HttpStatus.OK);
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (final String candidate : ifNoneMatch.split(",")) {
+            final var value = candidate.trim();
+            if ("*".equals(value) || etag.equals(value.startsWith("W/") ? value.substring(2) : value)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private ImportCardsResponse buildImportResponse(ImportResult summary, String policy) {
@@ -126,31 +147,6 @@ public class DeckImportExportController {
                 .build();
     }
 
-    private AsyncJobResponseDto buildJobResponse(AsyncJob job) {
-        final var jobResponse = this.asyncJobService.toResponse(job);
-        final String jobId = jobResponse.jobId().toString();
-        final String downloadUrl = jobResponse.resultPath() != null
-                ? "/v1/exports/%s/download".formatted(jobId)
-                : null;
-        final String errorReportUrl = jobResponse.errorReportPath() != null
-                ? "/v1/imports/%s/error-report".formatted(jobId)
-                : null;
-        return AsyncJobResponseDto.builder()
-                .jobId(jobId)
-                .jobType(jobResponse.jobType().name())
-                .status(jobResponse.status().name())
-                .totalRows(jobResponse.totalRows())
-                .processedRows(jobResponse.processedRows())
-                .successCount(jobResponse.successCount())
-                .skippedCount(jobResponse.skippedCount())
-                .failedCount(jobResponse.failedCount())
-                .progress(jobResponse.progress())
-                .message(jobResponse.message())
-                .downloadUrl(downloadUrl)
-                .errorReportUrl(errorReportUrl)
-                .build();
-    }
-
     private DuplicateHandlingPolicy parseDuplicatePolicy(String value) {
         try {
             return DuplicateHandlingPolicy.fromString(value);
@@ -158,20 +154,4 @@ public class DeckImportExportController {
             throw new RepeatWiseException(RepeatWiseError.IMPORT_INVALID_FORMAT, value);
         }
     }
-
-    private ExportFormat parseExportFormat(String value) {
-        try {
-            return ExportFormat.fromString(value);
-        } catch (IllegalArgumentException ex) {
-            throw new RepeatWiseException(RepeatWiseError.EXPORT_INVALID_FORMAT, value);
-        }
-    }
-
-    private ExportScope parseExportScope(String value) {
-        try {
-            return ExportScope.fromString(value);
-        } catch (IllegalArgumentException ex) {
-            throw new RepeatWiseException(RepeatWiseError.EXPORT_INVALID_SCOPE, value);
-        }
-    }
 }
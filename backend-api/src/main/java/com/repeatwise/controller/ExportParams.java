@@ -0,0 +1,32 @@
+package com.repeatwise.controller;
+
+import com.repeatwise.enums.ExportFormat;
+import com.repeatwise.enums.ExportScope;
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+
+/**
+ * Parsing of the export request parameters shared by the deck and folder export endpoints.
+ */
+final class ExportParams {
+
+    private ExportParams() {
+        // Utility class
+    }
+
+    static ExportFormat parseFormat(String value) {
+        try {
+            return ExportFormat.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            throw new RepeatWiseException(RepeatWiseError.EXPORT_INVALID_FORMAT, value);
+        }
+    }
+
+    static ExportScope parseScope(String value) {
+        try {
+            return ExportScope.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            throw new RepeatWiseException(RepeatWiseError.EXPORT_INVALID_SCOPE, value);
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package com.repeatwise.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import com.repeatwise.entity.User;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.repeatwise.dto.request.folder.CopyFolderRequest;
 import com.repeatwise.dto.request.folder.CreateFolderRequest;
@@ -24,9 +26,16 @@ import com.repeatwise.dto.request.folder.MoveFolderRequest;
 import com.repeatwise.dto.request.folder.UpdateFolderRequest;
 import com.repeatwise.dto.response.folder.FolderResponse;
 import com.repeatwise.dto.response.folder.FolderStatsResponse;
+import com.repeatwise.dto.response.folder.FolderTreeResponse;
+import com.repeatwise.dto.response.job.AsyncJobResponseDto;
+import com.repeatwise.security.AuthenticatedUser;
+import com.repeatwise.service.AsyncJobService;
+import com.repeatwise.service.CardExportService;
 import com.repeatwise.service.FolderService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -48,6 +57,8 @@ import lombok.extern.slf4j.Slf4j;
 public class FolderController {
 
     private final FolderService folderService;
+    private final AsyncJobService asyncJobService;
+    private final CardExportService cardExportService;
 
     /**
      * UC-007: Create a new folder
@@ -62,7 +73,7 @@ public class FolderController {
     })
     public ResponseEntity<FolderResponse> createFolder(
             @Valid @RequestBody CreateFolderRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} creating folder '{}'", userId, request.getName());
 
@@ -85,7 +96,7 @@ public class FolderController {
     public ResponseEntity<FolderResponse> updateFolder(
             @PathVariable UUID folderId,
             @Valid @RequestBody UpdateFolderRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} updating folder {}", userId, folderId);
 
@@ -108,7 +119,7 @@ public class FolderController {
     public ResponseEntity<FolderResponse> moveFolder(
             @PathVariable UUID folderId,
             @Valid @RequestBody MoveFolderRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} moving folder {} to parent {}", userId, folderId, request.getTargetParentFolderId());
 
@@ -118,54 +129,66 @@ public class FolderController {
     }
 
     /**
-     * UC-010: Copy a folder (sync mode)
+     * UC-010: Copy a folder (sync for small folders, async job for larger ones)
      */
     @PostMapping("/{folderId}/copy")
-    @Operation(summary = "Copy folder and its subtree", description = "Creates a deep copy of the folder and all its contents. Max 500 items for sync copy.")
+    @Operation(summary = "Copy folder and its subtree", description = "Creates a deep copy of the folder and all its contents. Up to 50 items holding up to 1,000 cards are copied synchronously, up to 500 items in a background job.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Folder copied successfully"),
+            @ApiResponse(responseCode = "202", description = "Copy running as async job", content = @Content(schema = @Schema(implementation = AsyncJobResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Folder too large or depth exceeded"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Source or destination folder not found")
     })
-    public ResponseEntity<FolderResponse> copyFolder(
+    public ResponseEntity<?> copyFolder(
             @PathVariable UUID folderId,
             @Valid @RequestBody CopyFolderRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} copying folder {} to destination {}", userId, folderId, request.getDestinationFolderId());
 
-        final var response = this.folderService.copyFolder(
+        final var result = this.folderService.copyFolder(
                 folderId,
                 request.getDestinationFolderId(),
                 request.getNewName(),
                 userId);
 
-        return ResponseEntity.ok(response);
+        if (result.isAsync()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(this.asyncJobService.toDto(result.job()));
+        }
+        return ResponseEntity.ok(result.folder());
     }
 
     /**
      * UC-011: Delete a folder (soft delete)
      */
     @DeleteMapping("/{folderId}")
-    @Operation(summary = "Delete folder and its subtree", description = "Soft deletes folder and all its contents. Recoverable for 30 days.")
+    @Operation(summary = "Delete folder and its subtree", description = "Soft deletes folder and all its contents. Recoverable for 30 days. Use async=true for very large trees.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Folder deleted successfully"),
+            @ApiResponse(responseCode = "202", description = "Deletion running as async job", content = @Content(schema = @Schema(implementation = AsyncJobResponseDto.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Folder not found")
     })
-    public ResponseEntity<Map<String, Object>> deleteFolder(
+    public ResponseEntity<?> deleteFolder(
             @PathVariable UUID folderId,
-            @AuthenticationPrincipal User user) {
+            @RequestParam(name = "async", defaultValue = "false") boolean async,
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
-        log.info("User {} deleting folder {}", userId, folderId);
+        log.info("User {} deleting folder {} (async={})", userId, folderId, async);
+
+        if (async) {
+            final var job = this.folderService.startDeleteFolderJob(folderId, userId);
+            return ResponseEntity.accepted().body(this.asyncJobService.toDto(job));
+        }
 
         final var summary = this.folderService.deleteFolder(folderId, userId);
 
         final Map<String, Object> response = Map.of(
                 "message", summary.message(),
                 "deletedFolders", summary.deletedFolders(),
-                "deletedDecks", summary.deletedDecks());
+                "deletedDecks", summary.deletedDecks(),
+                "deletedCards", summary.deletedCards());
 
         return ResponseEntity.ok(response);
     }
@@ -174,17 +197,24 @@ public class FolderController {
      * Restore a soft-deleted folder
      */
     @PostMapping("/{folderId}/restore")
-    @Operation(summary = "Restore a deleted folder", description = "Restores a soft-deleted folder and all its contents from trash.")
+    @Operation(summary = "Restore a deleted folder", description = "Restores a soft-deleted folder and all its contents from trash. Use async=true for very large trees.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Folder restored successfully"),
+            @ApiResponse(responseCode = "202", description = "Restore running as async job", content = @Content(schema = @Schema(implementation = AsyncJobResponseDto.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Folder not found in trash")
     })
-    public ResponseEntity<FolderResponse> restoreFolder(
+    public ResponseEntity<?> restoreFolder(
             @PathVariable UUID folderId,
-            @AuthenticationPrincipal User user) {
+            @RequestParam(name = "async", defaultValue = "false") boolean async,
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
-        log.info("User {} restoring folder {}", userId, folderId);
+        log.info("User {} restoring folder {} (async={})", userId, folderId, async);
+
+        if (async) {
+            final var job = this.folderService.startRestoreFolderJob(folderId, userId);
+            return ResponseEntity.accepted().body(this.asyncJobService.toDto(job));
+        }
 
         final var response = this.folderService.restoreFolder(folderId, userId);
 
@@ -203,7 +233,7 @@ public class FolderController {
     })
     public ResponseEntity<FolderResponse> getFolderById(
             @PathVariable UUID folderId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
 
         final var response = this.folderService.getFolderById(folderId, userId);
@@ -221,7 +251,7 @@ public class FolderController {
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<List<FolderResponse>> getAllFolders(
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
 
         final var folders = this.folderService.getAllFolders(userId);
@@ -229,6 +259,34 @@ public class FolderController {
         return ResponseEntity.ok(folders);
     }
 
+    /**
+     * Get the folder tree (nested) or its changes since the last sync
+     */
+    @GetMapping("/tree")
+    @Operation(summary = "Get folder tree", description = "Returns all folders nested with their decks. With since=<cursor from a previous response>, returns only folders and decks changed or removed after it. Supports If-None-Match.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Folder tree retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Folder tree unchanged since the given ETag"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<FolderTreeResponse> getFolderTree(
+            @RequestParam(name = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest) {
+        final var userId = user.getId();
+
+        final var version = this.folderService.getTreeVersion(userId);
+        if (webRequest.checkNotModified(version.etag())) {
+            return null;
+        }
+
+        final var response = this.folderService.getFolderTree(userId, since, version);
+
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .body(response);
+    }
+
     /**
      * Get root-level folders
      */
@@ -239,7 +297,7 @@ public class FolderController {
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<List<FolderResponse>> getRootFolders(
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
 
         final var folders = this.folderService.getRootFolders(userId);
@@ -259,7 +317,7 @@ public class FolderController {
     })
     public ResponseEntity<List<FolderResponse>> getChildFolders(
             @PathVariable UUID parentId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
 
         final var folders = this.folderService.getChildFolders(parentId, userId);
@@ -281,7 +339,7 @@ public class FolderController {
     public ResponseEntity<FolderStatsResponse> getFolderStats(
             @PathVariable UUID folderId,
             @RequestParam(value = "refresh", defaultValue = "false") boolean refresh,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final var userId = user.getId();
         log.info("User {} requesting statistics for folder {} (refresh={})", userId, folderId, refresh);
 
@@ -289,4 +347,29 @@ public class FolderController {
 
         return ResponseEntity.ok(stats);
     }
+
+    /**
+     * Export every deck in a folder subtree as one file (async job)
+     */
+    @PostMapping("/{folderId}/export")
+    @Operation(summary = "Export folder", description = "Exports the cards of every deck in the folder and its descendants in a background job: a ZIP with one CSV per deck (format=CSV) or one workbook with a sheet per deck (format=XLSX).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Export running as async job", content = @Content(schema = @Schema(implementation = AsyncJobResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid format or scope, or too many cards"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Folder not found or no cards to export")
+    })
+    public ResponseEntity<AsyncJobResponseDto> exportFolder(
+            @PathVariable UUID folderId,
+            @RequestParam(name = "format", defaultValue = "CSV") String format,
+            @RequestParam(name = "scope", defaultValue = "ALL") String scope,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        final var userId = user.getId();
+        log.info("User {} exporting folder {} (format={}, scope={})", userId, folderId, format, scope);
+
+        final var job = this.cardExportService.startFolderExport(folderId, userId, ExportParams.parseFormat(format),
+                ExportParams.parseScope(scope));
+
+        return ResponseEntity.accepted().body(this.asyncJobService.toDto(job));
+    }
 }
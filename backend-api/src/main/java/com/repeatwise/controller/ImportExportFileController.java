@@ -12,8 +12,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.repeatwise.entity.User;
 import com.repeatwise.enums.ExportFormat;
+import com.repeatwise.security.AuthenticatedUser;
 import com.repeatwise.service.CardExportService;
 import com.repeatwise.service.CardImportService;
 
@@ -34,7 +34,7 @@ public class ImportExportFileController {
     @Operation(summary = "Tải báo cáo lỗi import")
     public ResponseEntity<Resource> downloadErrorReport(
             @PathVariable UUID jobId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final Resource resource = this.cardImportService.loadErrorReport(jobId, user.getId());
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-error-" + jobId + ".csv\"")
@@ -46,7 +46,7 @@ public class ImportExportFileController {
     @Operation(summary = "Tải file export")
     public ResponseEntity<Resource> downloadExport(
             @PathVariable UUID jobId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final Resource resource = this.cardExportService.loadExportFile(jobId, user.getId());
         final String filename = "export-" + jobId;
         return ResponseEntity.ok()
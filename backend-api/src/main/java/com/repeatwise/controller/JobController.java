@@ -2,16 +2,22 @@ package com.repeatwise.controller;
 
 import java.util.UUID;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.repeatwise.dto.response.job.AsyncJobResponseDto;
 import com.repeatwise.entity.AsyncJob;
-import com.repeatwise.entity.User;
+import com.repeatwise.job.JobEventStreams;
+import com.repeatwise.security.AuthenticatedUser;
 import com.repeatwise.service.AsyncJobService;
+import com.repeatwise.service.CardImportService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -26,34 +32,40 @@ import lombok.RequiredArgsConstructor;
 public class JobController {
 
     private final AsyncJobService asyncJobService;
+    private final CardImportService cardImportService;
+    private final JobEventStreams jobEventStreams;
 
     @GetMapping("/{jobId}")
     @Operation(summary = "Lấy trạng thái job")
     public AsyncJobResponseDto getJob(
             @PathVariable UUID jobId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         final AsyncJob job = this.asyncJobService.getJob(jobId, user.getId());
-        final var response = this.asyncJobService.toResponse(job);
-        final String jobIdStr = response.jobId().toString();
-        final String downloadUrl = response.resultPath() != null
-                ? "/v1/exports/%s/download".formatted(jobIdStr)
-                : null;
-        final String errorReportUrl = response.errorReportPath() != null
-                ? "/v1/imports/%s/error-report".formatted(jobIdStr)
-                : null;
-        return AsyncJobResponseDto.builder()
-                .jobId(jobIdStr)
-                .jobType(response.jobType().name())
-                .status(response.status().name())
-                .totalRows(response.totalRows())
-                .processedRows(response.processedRows())
-                .successCount(response.successCount())
-                .skippedCount(response.skippedCount())
-                .failedCount(response.failedCount())
-                .progress(response.progress())
-                .message(response.message())
-                .downloadUrl(downloadUrl)
-                .errorReportUrl(errorReportUrl)
-                .build();
+        return this.asyncJobService.toDto(job);
+    }
+
+    @GetMapping(path = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Theo dõi trạng thái job (SSE)",
+            description = "Gửi trạng thái hiện tại rồi đẩy sự kiện progress/completed/failed/timeout cho tới khi job kết thúc")
+    public SseEmitter streamJob(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return this.jobEventStreams.subscribeToJob(jobId, user.getId());
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Theo dõi mọi job của người dùng (SSE)")
+    public SseEmitter streamJobs(@AuthenticationPrincipal AuthenticatedUser user) {
+        return this.jobEventStreams.subscribeToUser(user.getId());
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @Operation(summary = "Tiếp tục job import từ checkpoint",
+            description = "Tiếp tục job import đã hết thời gian hoặc thất bại, bỏ qua các dòng đã được commit")
+    public ResponseEntity<AsyncJobResponseDto> resumeJob(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        final AsyncJob job = this.cardImportService.resumeImport(jobId, user.getId());
+        return ResponseEntity.accepted().body(this.asyncJobService.toDto(job));
     }
 }
@@ -0,0 +1,113 @@
+package com.repeatwise.controller;
+
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.repeatwise.dto.request.review.ReviewBatchRequest;
+import com.repeatwise.dto.response.review.ReviewBatchResponse;
+import com.repeatwise.dto.response.review.ReviewSessionResponse;
+import com.repeatwise.enums.ReviewScope;
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.security.AuthenticatedUser;
+import com.repeatwise.service.ReviewService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST controller cho phiên ôn tập SRS.
+ */
+@RestController
+@RequestMapping("/v1/reviews")
+@RequiredArgsConstructor
+@Tag(name = "Review", description = "APIs cho ôn tập thẻ theo SRS")
+@SecurityRequirement(name = "bearerAuth")
+@Slf4j
+public class ReviewController {
+
+    private final ReviewService reviewService;
+
+    /**
+     * Lấy phiên ôn tập các thẻ đến hạn.
+     */
+    @GetMapping("/session")
+    @Operation(summary = "Phiên ôn tập", description = "Trả về các thẻ đến hạn trong toàn bộ thẻ, một thư mục (kể cả thư mục con) hoặc một deck, giới hạn theo số thẻ mới và số lượt ôn còn lại trong ngày.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lấy phiên ôn tập thành công"),
+            @ApiResponse(responseCode = "400", description = "Phạm vi không hợp lệ hoặc thiếu scopeId"),
+            @ApiResponse(responseCode = "401", description = "Chưa xác thực"),
+            @ApiResponse(responseCode = "404", description = "Thư mục hoặc deck không tồn tại")
+    })
+    public ResponseEntity<ReviewSessionResponse> getReviewSession(
+            @RequestParam(name = "scope", defaultValue = "ALL") String scope,
+            @RequestParam(name = "scopeId", required = false) UUID scopeId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        final var userId = user.getId();
+        log.info("User {} loads review session (scope={}, scopeId={})", userId, scope, scopeId);
+
+        final var response = this.reviewService.getReviewSession(userId, parseReviewScope(scope), scopeId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Lấy trang tiếp theo của hàng đợi ôn tập trong ngày.
+     */
+    @GetMapping("/queue")
+    @Operation(summary = "Hàng đợi ôn tập trong ngày", description = "Trả về các thẻ tiếp theo của hàng đợi ôn tập hôm nay (theo múi giờ của người dùng). Hàng đợi được chọn ở lần truy cập đầu tiên trong ngày; thẻ đã đánh giá không còn trong hàng đợi.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lấy hàng đợi thành công"),
+            @ApiResponse(responseCode = "401", description = "Chưa xác thực")
+    })
+    public ResponseEntity<ReviewSessionResponse> getReviewQueue(
+            @RequestParam(name = "limit", defaultValue = "20") int limit,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        final var userId = user.getId();
+        log.info("User {} loads review queue (limit={})", userId, limit);
+
+        final var response = this.reviewService.getReviewQueue(userId, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Gửi một loạt đánh giá (ví dụ được ghi khi offline).
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Gửi đánh giá theo batch", description = "Áp dụng các đánh giá theo đúng thứ tự gửi lên trong một transaction. Đánh giá đã gửi trước đó (cùng reviewId) trả về kết quả cũ với trạng thái DUPLICATE; thẻ không còn tồn tại có trạng thái CARD_NOT_FOUND.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Áp dụng batch thành công"),
+            @ApiResponse(responseCode = "400", description = "Dữ liệu không hợp lệ hoặc batch quá lớn"),
+            @ApiResponse(responseCode = "401", description = "Chưa xác thực")
+    })
+    public ResponseEntity<ReviewBatchResponse> submitReviews(
+            @Valid @RequestBody ReviewBatchRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        final var userId = user.getId();
+        log.info("User {} submits {} reviews", userId, request.getReviews().size());
+
+        final var response = this.reviewService.submitReviews(userId, request.getReviews());
+        return ResponseEntity.ok(response);
+    }
+
+    private ReviewScope parseReviewScope(String value) {
+        try {
+            return ReviewScope.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            throw new RepeatWiseException(RepeatWiseError.REVIEW_INVALID_SCOPE, value);
+        }
+    }
+}
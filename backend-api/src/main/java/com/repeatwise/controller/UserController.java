@@ -7,6 +7,7 @@ import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -15,7 +16,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.repeatwise.dto.request.user.ChangePasswordRequest;
 import com.repeatwise.dto.request.user.UpdateUserRequest;
-import com.repeatwise.entity.User;
+import com.repeatwise.dto.response.user.UserResponse;
+import com.repeatwise.security.AuthenticatedUser;
 import com.repeatwise.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -39,6 +41,16 @@ public class UserController {
     private final UserService userService;
     private final MessageSource messageSource;
 
+    /**
+     * Get current user profile.
+     */
+    @GetMapping("/me")
+    @Operation(summary = "Get current user", description = "Get authenticated user's profile")
+    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
+        log.debug("Profile request for user: {}", user.getId());
+        return ResponseEntity.ok(this.userService.getProfile(user.getId()));
+    }
+
     /**
      * Update user profile (UC-005).
      * Updates name, timezone, language, and theme.
@@ -46,7 +58,7 @@ public class UserController {
     @PatchMapping("/profile")
     @Operation(summary = "Update user profile", description = "Update authenticated user's profile settings")
     public ResponseEntity<Map<String, Object>> updateProfile(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody UpdateUserRequest request) {
         log.info("Profile update request for user: {}", user.getId());
 
@@ -68,7 +80,7 @@ public class UserController {
     @PostMapping("/change-password")
     @Operation(summary = "Change password", description = "Change password and logout from all devices")
     public ResponseEntity<Map<String, String>> changePassword(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody ChangePasswordRequest request,
             HttpServletResponse response) {
         log.info("Password change request for user: {}", user.getId());
@@ -6,6 +6,7 @@ import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.text.Normalizer;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -59,6 +60,27 @@ public final class CsvUtils {
         return map;
     }
 
+    /**
+     * Khóa đã chuẩn hóa theo vị trí cột, tính một lần cho cả file.
+     */
+    public static List<String> normalizedHeaderNames(CSVParser parser) {
+        return parser.getHeaderNames().stream()
+                .map(CsvUtils::normalizeKey)
+                .toList();
+    }
+
+    /**
+     * Giống {@link #toNormalizedMap(CSVRecord)} nhưng dùng khóa đã chuẩn hóa sẵn thay vì chuẩn hóa lại mỗi dòng.
+     */
+    public static Map<String, String> toNormalizedMap(CSVRecord record, List<String> keys) {
+        final Map<String, String> map = new HashMap<>(keys.size() * 2);
+        final int columns = Math.min(keys.size(), record.size());
+        for (int i = 0; i < columns; i++) {
+            map.put(keys.get(i), record.get(i));
+        }
+        return map;
+    }
+
     public static String normalizeKey(String key) {
         final var normalized = Normalizer.normalize(key, Normalizer.Form.NFKD)
                 .toLowerCase(Locale.ROOT)
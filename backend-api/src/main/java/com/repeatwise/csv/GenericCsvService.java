@@ -4,12 +4,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
@@ -28,24 +31,64 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GenericCsvService {
 
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
     public <T> List<CsvRecord<T>> read(InputStream inputStream, CsvSchema schema, CsvHelper<T> helper) {
+        final List<CsvRecord<T>> results = new ArrayList<>();
+        readInChunks(inputStream, schema, helper, DEFAULT_CHUNK_SIZE, results::addAll);
+        return results;
+    }
+
+    /**
+     * Đọc CSV theo luồng, chuyển từng nhóm tối đa {@code chunkSize} bản ghi cho {@code consumer}.
+     * Chỉ một nhóm được giữ trong bộ nhớ tại một thời điểm.
+     *
+     * @return Tổng số bản ghi đã đọc
+     */
+    public <T> int readInChunks(InputStream inputStream, CsvSchema schema, CsvHelper<T> helper, int chunkSize,
+            Consumer<List<CsvRecord<T>>> consumer) {
+        final int size = Math.max(1, chunkSize);
         try (Reader reader = CsvUtils.toUtf8Reader(inputStream);
                 CSVParser parser = CsvUtils.newParser(reader, schema)) {
             validateHeaders(parser, schema, helper.getHeaders());
+            final var keys = CsvUtils.normalizedHeaderNames(parser);
 
-            final List<CsvRecord<T>> results = new ArrayList<>();
-            for (CSVRecord record : parser) {
-                final Map<String, String> values = CsvUtils.toNormalizedMap(record);
+            var total = 0;
+            List<CsvRecord<T>> chunk = new ArrayList<>(size);
+            final var records = parser.iterator();
+            CSVRecord record;
+            while ((record = nextRecord(records)) != null) {
+                final Map<String, String> values = CsvUtils.toNormalizedMap(record, keys);
                 final T data = helper.readRecord(values);
-                results.add(new CsvRecord<>((int) record.getRecordNumber(), data, values));
+                chunk.add(new CsvRecord<>((int) record.getRecordNumber(), data, values));
+                total++;
+                if (chunk.size() >= size) {
+                    consumer.accept(chunk);
+                    chunk = new ArrayList<>(size);
+                }
             }
-            return results;
+            if (!chunk.isEmpty()) {
+                consumer.accept(chunk);
+            }
+            return total;
         } catch (IOException ex) {
             log.error("Không thể đọc CSV", ex);
             throw new RepeatWiseException(RepeatWiseError.IMPORT_INVALID_FORMAT, ex.getMessage());
         }
     }
 
+    /**
+     * Bản ghi tiếp theo, hoặc {@code null} khi hết file. Lỗi đọc của parser được trả về dạng {@link IOException}
+     * để chỉ lỗi này (không phải lỗi của consumer) bị coi là file sai định dạng.
+     */
+    private static CSVRecord nextRecord(Iterator<CSVRecord> records) throws IOException {
+        try {
+            return records.hasNext() ? records.next() : null;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
     public <T> void write(OutputStream outputStream, CsvSchema schema, CsvHelper<T> helper, List<T> items) {
         final String[] headers = helper.getHeaders();
         try (Writer writer = CsvUtils.toUtf8Writer(outputStream);
@@ -0,0 +1,25 @@
+package com.repeatwise.dto.request.review;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for submitting ratings made offline, applied in list order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewBatchRequest {
+
+    @NotEmpty(message = "{error.review.batch.empty}")
+    @Size(max = 500, message = "{error.review.batch.too.large}")
+    private List<@Valid ReviewCardRequest> reviews;
+}
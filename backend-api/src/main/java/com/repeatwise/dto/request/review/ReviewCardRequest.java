@@ -1,5 +1,6 @@
 package com.repeatwise.dto.request.review;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import com.repeatwise.entity.enums.Rating;
@@ -19,9 +20,16 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ReviewCardRequest {
 
+    /** Client-generated ID; a rating resubmitted with the same ID is not applied twice. */
+    @NotNull(message = "{error.review.id.required}")
+    private UUID reviewId;
+
     @NotNull(message = "{error.card.id.required}")
     private UUID cardId;
 
     @NotNull(message = "{error.reviewlog.rating.required}")
     private Rating rating;
+
+    /** When the card was rated on the client; defaults to the submission time. */
+    private LocalDateTime reviewedAt;
 }
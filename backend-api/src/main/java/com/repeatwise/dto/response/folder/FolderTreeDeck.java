@@ -0,0 +1,25 @@
+package com.repeatwise.dto.response.folder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a deck in the folder tree
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FolderTreeDeck {
+
+    private UUID id;
+    private String name;
+    private String description;
+    private UUID folderId;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,32 @@
+package com.repeatwise.dto.response.folder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a folder in the folder tree.
+ * Children and decks are only filled in full tree responses.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FolderTreeNode {
+
+    private UUID id;
+    private String name;
+    private String description;
+    private UUID parentFolderId;
+    private Integer depth;
+    private String path;
+    private Integer sortOrder;
+    private LocalDateTime updatedAt;
+    private List<FolderTreeNode> children;
+    private List<FolderTreeDeck> decks;
+}
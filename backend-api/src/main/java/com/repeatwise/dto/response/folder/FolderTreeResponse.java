@@ -0,0 +1,32 @@
+package com.repeatwise.dto.response.folder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the folder tree of a user.
+ *
+ * <p>Full response: {@code folders} holds the nested root folders and {@code decks} the decks
+ * outside any folder. Delta response ({@code delta = true}): {@code folders} and {@code decks}
+ * are flat lists of items changed after the requested cursor, removed items are listed by ID.
+ * Pass {@code cursor} as {@code since} on the next sync.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FolderTreeResponse {
+
+    private LocalDateTime cursor;
+    private boolean delta;
+    private List<FolderTreeNode> folders;
+    private List<FolderTreeDeck> decks;
+    private List<UUID> deletedFolderIds;
+    private List<UUID> deletedDeckIds;
+}
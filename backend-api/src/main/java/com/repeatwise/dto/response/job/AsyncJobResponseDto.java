@@ -12,6 +12,7 @@ public class AsyncJobResponseDto {
     private final String jobId;
     private final String jobType;
     private final String status;
+    private final String folderId;
     private final Integer totalRows;
     private final Integer processedRows;
     private final Integer successCount;
@@ -0,0 +1,23 @@
+package com.repeatwise.dto.response.review;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for batch review submission response, one result per submitted rating in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewBatchResponse {
+
+    private Integer appliedCount;
+    private Integer duplicateCount;
+    private Integer skippedCount;
+    private List<ReviewResultResponse> results;
+}
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 import com.repeatwise.entity.enums.Rating;
+import com.repeatwise.enums.ReviewSubmitStatus;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,11 +15,13 @@ import lombok.NoArgsConstructor;
  * DTO for review result response
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ReviewResultResponse {
 
+    private UUID reviewId;
+    private ReviewSubmitStatus status;
     private UUID cardId;
     private Rating rating;
     private Integer previousBox;
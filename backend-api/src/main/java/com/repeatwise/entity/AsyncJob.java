@@ -35,9 +35,12 @@ public class AsyncJob extends BaseEntity {
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
-    @Column(name = "deck_id", nullable = false)
+    @Column(name = "deck_id")
     private UUID deckId;
 
+    @Column(name = "folder_id")
+    private UUID folderId;
+
     @Column(name = "total_rows")
     private Integer totalRows;
 
@@ -53,6 +56,12 @@ public class AsyncJob extends BaseEntity {
     @Column(name = "failed_count")
     private Integer failedCount;
 
+    /**
+     * Số dòng nguồn đã được commit (import theo từng chunk); job tiếp tục từ dòng kế tiếp.
+     */
+    @Column(name = "checkpoint_row", nullable = false)
+    private int checkpointRow;
+
     @Column(name = "duplicate_policy", length = 32)
     private String duplicatePolicy;
 
@@ -83,6 +92,18 @@ public class AsyncJob extends BaseEntity {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    /**
+     * Instance đang giữ job; chỉ instance này được chạy và ghi checkpoint cho job.
+     */
+    @Column(name = "owner", length = 64)
+    private String owner;
+
+    /**
+     * Lần cuối owner báo còn chạy; job có heartbeat cũ được instance khác tiếp quản.
+     */
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
     public void initializeCounts() {
         this.totalRows = defaultToZero(this.totalRows);
         this.processedRows = defaultToZero(this.processedRows);
@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.repeatwise.entity.base.SoftDeletableEntity;
 
 import jakarta.persistence.CascadeType;
@@ -31,6 +33,7 @@ import lombok.Setter;
  * Folder entity for hierarchical organization of decks
  */
 @Entity
+@DynamicUpdate
 @Table(name = "folders")
 @Getter
 @Setter
@@ -73,6 +76,13 @@ public class Folder extends SoftDeletableEntity {
     @Column(name = "sort_order", nullable = false)
     private Integer sortOrder = 0;
 
+    /**
+     * Structural version, read-only for the entity: only bumped by guarded bulk statements
+     * (see {@code FolderRepository#relocateFolder}) so concurrent moves cannot corrupt paths.
+     */
+    @Column(name = "version", insertable = false, updatable = false)
+    private Long version;
+
     // Relationships
     @Builder.Default
     @OneToMany(mappedBy = "parentFolder", cascade = CascadeType.ALL, orphanRemoval = true)
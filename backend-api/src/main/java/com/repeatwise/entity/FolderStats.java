@@ -1,5 +1,6 @@
 package com.repeatwise.entity;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -24,7 +25,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
- * Folder statistics entity (denormalized cache with TTL = 5 minutes)
+ * Folder statistics entity: denormalized counters for a folder subtree, maintained incrementally
+ * from domain events (see FolderStatsServiceImpl)
  */
 @Entity
 @Table(name = "folder_stats")
@@ -90,23 +92,20 @@ public class FolderStats {
     @Column(name = "total_decks_count", nullable = false)
     private Integer totalDecksCount = 0;
 
+    /**
+     * Day the due counter refers to. Counters of earlier days are stale and recounted.
+     */
+    @Column(name = "due_counted_on")
+    private LocalDate dueCountedOn;
+
     @CreationTimestamp
     @Column(name = "last_computed_at", nullable = false)
     private LocalDateTime lastComputedAt;
 
     /**
-     * Check if the statistics are stale (older than TTL)
-     * TTL = 5 minutes
-     */
-    public boolean isStale() {
-        return (this.lastComputedAt == null) ||
-                LocalDateTime.now().isAfter(this.lastComputedAt.plusMinutes(5));
-    }
-
-    /**
-     * Refresh the computation timestamp
+     * Check if the due counter was computed for the given day
      */
-    public void refreshTimestamp() {
-        this.lastComputedAt = LocalDateTime.now();
+    public boolean isDueCountedOn(LocalDate day) {
+        return day.equals(this.dueCountedOn);
     }
 }
@@ -36,6 +36,10 @@ public class RefreshToken extends BaseEntity {
     @Column(name = "token", nullable = false, unique = true, length = 500)
     private String token;
 
+    @Size(max = 64, message = "{error.auth.token.length}")
+    @Column(name = "selector", unique = true, length = 64)
+    private String selector;
+
     @NotNull(message = "{error.user.required}")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -64,6 +68,13 @@ public class RefreshToken extends BaseEntity {
     @Column(name = "is_revoked", nullable = false)
     private Boolean isRevoked = false;
 
+    /**
+     * Check if token was issued before the selector/verifier format (BCrypt hash, no selector)
+     */
+    public boolean isLegacy() {
+        return this.selector == null;
+    }
+
     /**
      * Check if token is expired
      */
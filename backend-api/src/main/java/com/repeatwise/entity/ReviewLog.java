@@ -77,6 +77,9 @@ public class ReviewLog {
     @Column(name = "reviewed_at", nullable = false)
     private LocalDateTime reviewedAt;
 
+    @Column(name = "client_review_id", updatable = false)
+    private UUID clientReviewId;
+
     /**
      * Create a new review log entry
      */
@@ -87,8 +87,13 @@ public class UserStats extends BaseEntity {
      * Update study streak
      */
     public void updateStreak() {
-        final var today = LocalDate.now();
+        updateStreak(LocalDate.now());
+    }
 
+    /**
+     * Update study streak for a study session on {@code today} (the user's day)
+     */
+    public void updateStreak(LocalDate today) {
         if (this.lastStudyDate == null) {
             // First study session
             this.streakDays = 1;
@@ -110,7 +115,13 @@ public class UserStats extends BaseEntity {
      * Reset daily counters (should be called at start of new day)
      */
     public void resetDailyCounters() {
-        final var today = LocalDate.now();
+        resetDailyCounters(LocalDate.now());
+    }
+
+    /**
+     * Reset daily counters if the last study day is not {@code today} (the user's day)
+     */
+    public void resetDailyCounters(LocalDate today) {
         if ((this.lastStudyDate != null) && !this.lastStudyDate.equals(today)) {
             this.cardsReviewedToday = 0;
         }
@@ -1,10 +1,14 @@
 package com.repeatwise.enums;
 
 /**
- * Loại job bất đồng bộ cho import/export.
+ * Loại job bất đồng bộ cho import/export và thao tác trên cây thư mục.
  */
 public enum AsyncJobType {
     IMPORT_CARDS,
-    EXPORT_CARDS
+    EXPORT_CARDS,
+    EXPORT_FOLDER,
+    DELETE_FOLDER,
+    RESTORE_FOLDER,
+    COPY_FOLDER
 }
 
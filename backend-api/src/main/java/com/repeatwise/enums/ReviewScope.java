@@ -0,0 +1,17 @@
+package com.repeatwise.enums;
+
+/**
+ * Phạm vi phiên ôn tập: toàn bộ thẻ, một cây thư mục hoặc một deck.
+ */
+public enum ReviewScope {
+    ALL,
+    FOLDER,
+    DECK;
+
+    public static ReviewScope fromString(String value) {
+        if (value == null) {
+            return ALL;
+        }
+        return ReviewScope.valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,10 @@
+package com.repeatwise.enums;
+
+/**
+ * Kết quả của một lượt đánh giá trong batch.
+ */
+public enum ReviewSubmitStatus {
+    APPLIED,
+    DUPLICATE,
+    CARD_NOT_FOUND
+}
@@ -0,0 +1,11 @@
+package com.repeatwise.event;
+
+import java.util.UUID;
+
+/**
+ * An async job made progress or changed status; the change is already committed.
+ */
+public record AsyncJobChangedEvent(
+        UUID userId,
+        UUID jobId) {
+}
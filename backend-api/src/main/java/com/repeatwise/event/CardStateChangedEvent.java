@@ -0,0 +1,43 @@
+package com.repeatwise.event;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.repeatwise.entity.CardBoxPosition;
+
+/**
+ * A card entered, left or changed its SRS state within a deck.
+ * {@code previous} is null for a new card, {@code current} is null for a deleted card.
+ */
+public record CardStateChangedEvent(
+        UUID userId,
+        UUID deckId,
+        CardState previous,
+        CardState current) {
+
+    public static CardStateChangedEvent created(UUID userId, UUID deckId, CardBoxPosition position) {
+        return new CardStateChangedEvent(userId, deckId, null, CardState.of(position));
+    }
+
+    public static CardStateChangedEvent deleted(UUID userId, UUID deckId, CardState state) {
+        return new CardStateChangedEvent(userId, deckId, state, null);
+    }
+
+    public static CardStateChangedEvent reviewed(UUID userId, UUID deckId, CardState before,
+            CardBoxPosition position) {
+        return new CardStateChangedEvent(userId, deckId, before, CardState.of(position));
+    }
+
+    /**
+     * SRS state of a card for one user, as counted by folder statistics.
+     */
+    public record CardState(
+            int box,
+            int reviewCount,
+            LocalDate dueDate) {
+
+        public static CardState of(CardBoxPosition position) {
+            return new CardState(position.getCurrentBox(), position.getReviewCount(), position.getDueDate());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.repeatwise.event;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * New cards were imported into a deck, all in box 1 and due on {@code dueDate}.
+ */
+public record CardsImportedEvent(
+        UUID userId,
+        UUID deckId,
+        int count,
+        LocalDate dueDate) {
+}
@@ -0,0 +1,23 @@
+package com.repeatwise.event;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.repeatwise.event.CardStateChangedEvent.CardState;
+
+/**
+ * A review batch changed the SRS state of several cards, possibly in different decks; published once per batch.
+ */
+public record CardsReviewedEvent(
+        UUID userId,
+        List<Change> changes) {
+
+    /**
+     * State of one reviewed card before and after the batch.
+     */
+    public record Change(
+            UUID deckId,
+            CardState previous,
+            CardState current) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.repeatwise.event;
+
+import java.util.UUID;
+
+/**
+ * A deck left {@code fromFolderId} and entered {@code toFolderId}.
+ * Creating or copying a deck is a move from nowhere ({@code fromFolderId} null),
+ * deleting it a move to nowhere ({@code toFolderId} null). Root level is also null.
+ */
+public record DeckMovedEvent(
+        UUID userId,
+        UUID deckId,
+        UUID fromFolderId,
+        UUID toFolderId) {
+
+    public static DeckMovedEvent created(UUID userId, UUID deckId, UUID folderId) {
+        return new DeckMovedEvent(userId, deckId, null, folderId);
+    }
+
+    public static DeckMovedEvent deleted(UUID userId, UUID deckId, UUID folderId) {
+        return new DeckMovedEvent(userId, deckId, folderId, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.repeatwise.event;
+
+import java.util.UUID;
+
+/**
+ * A folder subtree was created, moved, deleted, restored or copied.
+ * {@code previousParentId} is only set for {@link Change#MOVED}.
+ * {@link Change#DELETED} is published before the subtree is removed, while its content can still be counted;
+ * all other changes after they are written.
+ */
+public record FolderSubtreeChangedEvent(
+        UUID userId,
+        UUID folderId,
+        Change change,
+        UUID previousParentId) {
+
+    public static FolderSubtreeChangedEvent of(UUID userId, UUID folderId, Change change) {
+        return new FolderSubtreeChangedEvent(userId, folderId, change, null);
+    }
+
+    public static FolderSubtreeChangedEvent moved(UUID userId, UUID folderId, UUID previousParentId) {
+        return new FolderSubtreeChangedEvent(userId, folderId, Change.MOVED, previousParentId);
+    }
+
+    public enum Change {
+        CREATED,
+        MOVED,
+        DELETED,
+        RESTORED,
+        COPIED
+    }
+}
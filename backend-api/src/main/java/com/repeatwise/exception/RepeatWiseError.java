@@ -81,6 +81,16 @@ public enum RepeatWiseError {
     MAX_FOLDER_DEPTH_EXCEEDED(HttpStatus.BAD_REQUEST, ApiErrorCode.MAX_FOLDER_DEPTH_EXCEEDED, "error.folder.max.depth"),
     /** Folder copy operation exceeds allowed item limit. */
     FOLDER_TOO_LARGE(HttpStatus.BAD_REQUEST, ApiErrorCode.FOLDER_TOO_LARGE, "error.folder.too.large"),
+    /** Folder tree was changed by a concurrent operation (e.g. overlapping moves). */
+    FOLDER_CONCURRENT_MODIFICATION(HttpStatus.CONFLICT, ApiErrorCode.FOLDER_CONCURRENT_MODIFICATION,
+            "error.folder.concurrent.modification"),
+    /** Background soft delete of a folder subtree failed. */
+    FOLDER_DELETE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, ApiErrorCode.FOLDER_DELETE_FAILED, "error.folder.delete.failed"),
+    /** Background restore of a folder subtree failed. */
+    FOLDER_RESTORE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, ApiErrorCode.FOLDER_RESTORE_FAILED,
+            "error.folder.restore.failed"),
+    /** Background copy of a folder subtree failed. */
+    FOLDER_COPY_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, ApiErrorCode.FOLDER_COPY_FAILED, "error.folder.copy.failed"),
 
     /** Card is not yet due for review. */
     CARD_NOT_DUE_FOR_REVIEW(HttpStatus.BAD_REQUEST, ApiErrorCode.CARD_NOT_DUE_FOR_REVIEW, "error.review.card.not.due"),
@@ -89,6 +99,11 @@ public enum RepeatWiseError {
             "error.review.daily.limit.reached"),
     /** User does not have configured SRS settings. */
     SRS_SETTINGS_NOT_FOUND(HttpStatus.NOT_FOUND, ApiErrorCode.SRS_SETTINGS_NOT_FOUND, "error.srs.settings.not.found"),
+    /** Review session scope invalid. */
+    REVIEW_INVALID_SCOPE(HttpStatus.BAD_REQUEST, ApiErrorCode.REVIEW_INVALID_SCOPE, "error.review.invalid.scope"),
+    /** Review session scope needs a folder or deck ID. */
+    REVIEW_SCOPE_ID_REQUIRED(HttpStatus.BAD_REQUEST, ApiErrorCode.REVIEW_SCOPE_ID_REQUIRED,
+            "error.review.scopeid.required"),
 
     /** Import file is missing. */
     IMPORT_FILE_REQUIRED(HttpStatus.BAD_REQUEST, ApiErrorCode.IMPORT_FILE_REQUIRED, "error.import.file.required"),
@@ -125,6 +140,13 @@ public enum RepeatWiseError {
     JOB_NOT_FOUND(HttpStatus.NOT_FOUND, ApiErrorCode.JOB_NOT_FOUND, "error.job.not.found"),
     /** Async job timeout. */
     JOB_TIMEOUT(HttpStatus.REQUEST_TIMEOUT, ApiErrorCode.JOB_TIMEOUT, "error.job.timeout"),
+    /** Async job is still running or already completed. */
+    JOB_NOT_RESUMABLE(HttpStatus.CONFLICT, ApiErrorCode.JOB_NOT_RESUMABLE, "error.job.not.resumable"),
+    /** Async job was taken over by another instance. */
+    JOB_CLAIMED_ELSEWHERE(HttpStatus.CONFLICT, ApiErrorCode.JOB_CLAIMED_ELSEWHERE, "error.job.claimed.elsewhere"),
+    /** Too many open job event streams. */
+    JOB_STREAM_LIMIT_EXCEEDED(HttpStatus.TOO_MANY_REQUESTS, ApiErrorCode.JOB_STREAM_LIMIT_EXCEEDED,
+            "error.job.stream.limit"),
 
     /** New password and confirmation do not match. */
     PASSWORD_MISMATCH(HttpStatus.BAD_REQUEST, ApiErrorCode.PASSWORD_MISMATCH, "error.user.password.mismatch"),
@@ -0,0 +1,162 @@
+package com.repeatwise.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.enums.ExportFormat;
+import com.repeatwise.enums.ExportScope;
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.service.CardExportService.ExportWriter;
+import com.repeatwise.service.FileStorageService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rendered export files addressed by a key over everything that determines their content.
+ * <p>
+ * A repeated export of an unchanged deck is served from disk instead of being queried and rendered again.
+ * Files are written to a temp file and moved into place, so readers never see a partial result. The cache is
+ * an on-disk LRU: a hit refreshes the file's modification time and the least recently used files are evicted
+ * once the directory exceeds {@code export-cache-max-mb} or {@code export-cache-max-entries}. Files used within
+ * {@code export-stream-timeout-ms} may still be streaming to a client and are never evicted, so the cache can
+ * exceed its bounds for that long.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExportResultCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final FileStorageService fileStorageService;
+    private final AppProperties appProperties;
+
+    /**
+     * Cache key of one export: the deck, its owner, the requested format and scope and the deck's content
+     * version. Also used as the ETag of the result.
+     */
+    public static String key(UUID deckId, UUID userId, ExportFormat format, ExportScope scope,
+            String contentVersion) {
+        final var source = String.join("|", deckId.toString(), userId.toString(), format.name(), scope.name(),
+                contentVersion);
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Stored result for {@code key}, marked as recently used. The mark protects the file from eviction while it
+     * is streamed; it is set under the eviction lock so a running eviction cannot delete the file after it.
+     */
+    public synchronized Optional<Path> find(String key, ExportFormat format) {
+        final var path = resolve(key, format);
+        try {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+            return Optional.of(path);
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            log.warn("Could not read cached export {}", path, ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Render a result into the cache and evict old entries if the cache grew past its bounds.
+     */
+    public Path store(String key, ExportFormat format, ExportWriter writer) {
+        final var path = resolve(key, format);
+        final var temp = path.resolveSibling(path.getFileName() + "." + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), WRITE_BUFFER_SIZE)) {
+                writer.writeTo(out);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            this.fileStorageService.deleteQuietly(temp);
+            throw new RepeatWiseException(RepeatWiseError.EXPORT_GENERATION_FAILED, ex);
+        } catch (RuntimeException ex) {
+            this.fileStorageService.deleteQuietly(temp);
+            throw ex;
+        }
+        evict();
+        return path;
+    }
+
+    /**
+     * Delete least recently used results until the cache fits its size and entry bounds. Temp files of
+     * exports still being written and results that may still be streaming are left alone.
+     */
+    public synchronized void evict() {
+        final var limits = this.appProperties.getLimits();
+        final long maxBytes = limits.getExportCacheMaxMb() * 1024L * 1024L;
+        final int maxEntries = limits.getExportCacheMaxEntries();
+        final var inUseSince = FileTime.from(Instant.now().minusMillis(limits.getExportStreamTimeoutMs()));
+        final List<Entry> entries = new ArrayList<>();
+        try (var files = Files.list(this.fileStorageService.resolveExportDir())) {
+            files.filter(file -> !file.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .forEach(file -> readEntry(file).ifPresent(entries::add));
+        } catch (IOException ex) {
+            log.warn("Could not list the export cache", ex);
+            return;
+        }
+        long totalBytes = entries.stream().mapToLong(Entry::size).sum();
+        var count = entries.size();
+        if (totalBytes <= maxBytes && count <= maxEntries) {
+            return;
+        }
+        entries.sort(Comparator.comparing(Entry::lastUsed));
+        for (final Entry entry : entries) {
+            if ((totalBytes <= maxBytes && count <= maxEntries) || entry.lastUsed().compareTo(inUseSince) > 0) {
+                break;
+            }
+            this.fileStorageService.deleteQuietly(entry.path());
+            totalBytes -= entry.size();
+            count--;
+        }
+        log.debug("Export cache evicted down to {} entries, {} bytes", count, totalBytes);
+    }
+
+    private Path resolve(String key, ExportFormat format) {
+        return this.fileStorageService.resolveExportDir().resolve(key + "." + format.getExtension());
+    }
+
+    private Optional<Entry> readEntry(Path path) {
+        try {
+            final var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return Optional.of(new Entry(path, attributes.size(), attributes.lastModifiedTime()));
+        } catch (IOException ex) {
+            // Deleted or replaced while listing
+            return Optional.empty();
+        }
+    }
+
+    private record Entry(Path path, long size, FileTime lastUsed) {
+    }
+}
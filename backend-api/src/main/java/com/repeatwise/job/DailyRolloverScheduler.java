@@ -0,0 +1,168 @@
+package com.repeatwise.job;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.repository.FolderStatsRepository;
+import com.repeatwise.repository.UserRepository;
+import com.repeatwise.repository.UserStatsRepository;
+import com.repeatwise.service.ReviewService;
+import com.repeatwise.util.TimeZones;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Daily rollover of per-user day state, run in bulk instead of on each user's first request of the day.
+ * <p>
+ * Users are bucketed by the current UTC offset of their zone, so every zone of a bucket reaches midnight at the
+ * same instant. The job ticks every quarter of an hour (the finest offset granularity in use) and rolls over each
+ * bucket whose local day changed since its last run: daily counters are cleared and lapsed streaks broken with
+ * one statement per chunk of users, and the review queues of recently active users are prebuilt. Due card counts
+ * of folder statistics follow the server day (as due dates do) and are recounted once per server day.
+ * <p>
+ * Rolled-over days are kept in memory, so a restart rolls every bucket over once more; every step is idempotent
+ * and the lazy checks on the request path stay as a fallback. A bucket that fails is retried on the next tick.
+ */
+@Component
+@Slf4j
+public class DailyRolloverScheduler {
+
+    /** Keyset start: lower than every stored user ID. */
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final Map<String, LocalDate> rolledOverDays = new ConcurrentHashMap<>();
+    private volatile LocalDate dueCountsRefreshedOn;
+    private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final FolderStatsRepository folderStatsRepository;
+    private final ReviewService reviewService;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public DailyRolloverScheduler(UserRepository userRepository, UserStatsRepository userStatsRepository,
+            FolderStatsRepository folderStatsRepository, ReviewService reviewService, AppProperties appProperties,
+            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userStatsRepository = userStatsRepository;
+        this.folderStatsRepository = folderStatsRepository;
+        this.reviewService = reviewService;
+        this.appProperties = appProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.limits.rollover-cron}")
+    public void rollOver() {
+        final var now = Instant.now();
+        for (final var bucket : dueBuckets(now).entrySet()) {
+            final var today = LocalDate.ofInstant(now, bucket.getKey());
+            if (rollOverBucket(bucket.getValue(), today)) {
+                bucket.getValue().forEach(timezone -> this.rolledOverDays.put(timezone, today));
+            }
+        }
+
+        final var serverToday = LocalDate.now();
+        if (!serverToday.equals(this.dueCountsRefreshedOn) && refreshDueCounts(serverToday)) {
+            this.dueCountsRefreshedOn = serverToday;
+        }
+    }
+
+    /**
+     * Zones whose local day changed since their last rollover, bucketed by their current UTC offset
+     */
+    Map<ZoneOffset, List<String>> dueBuckets(Instant now) {
+        final Map<ZoneOffset, List<String>> buckets = new TreeMap<>();
+        for (final var timezone : this.userRepository.findDistinctTimezones()) {
+            if (timezone == null) {
+                continue;
+            }
+            final var zone = TimeZones.zoneOf(timezone);
+            if (!LocalDate.ofInstant(now, zone).equals(this.rolledOverDays.get(timezone))) {
+                buckets.computeIfAbsent(zone.getRules().getOffset(now), offset -> new ArrayList<>()).add(timezone);
+            }
+        }
+        return buckets;
+    }
+
+    private boolean rollOverBucket(List<String> timezones, LocalDate today) {
+        final var yesterday = today.minusDays(1);
+        final var since = today.minusDays(this.appProperties.getLimits().getReviewQueuePrebuildDays());
+        return forEachChunk((afterId, page) -> this.userRepository.findIdsByTimezoneIn(timezones, afterId, page),
+                userIds -> {
+                    final var active = this.transactionTemplate.execute(status -> {
+                        this.userStatsRepository.resetDailyCounters(userIds, today);
+                        this.userStatsRepository.breakStreaks(userIds, yesterday);
+                        return this.userStatsRepository.findUserIdsStudiedSince(userIds, since);
+                    });
+                    Objects.requireNonNull(active).forEach(this::prepareReviewQueue);
+                }, "roll over day " + today + " of zones " + timezones);
+    }
+
+    private boolean refreshDueCounts(LocalDate today) {
+        return forEachChunk(this.userRepository::findIdsAfter,
+                userIds -> this.transactionTemplate.executeWithoutResult(
+                        status -> this.folderStatsRepository.refreshDueCounts(userIds, today, LocalDateTime.now())),
+                "refresh due card counts of " + today);
+    }
+
+    private void prepareReviewQueue(UUID userId) {
+        try {
+            this.reviewService.prepareReviewQueue(userId);
+        } catch (DataAccessException | RepeatWiseException ex) {
+            log.warn("Could not prebuild review queue of user {}", userId, ex);
+        }
+    }
+
+    /**
+     * Run {@code action} on every chunk of user IDs, each in its own transaction so locks are held for one
+     * chunk only. Returns {@code false} if a chunk failed; the remaining chunks still run.
+     */
+    private boolean forEachChunk(BiFunction<UUID, PageRequest, List<UUID>> nextChunk, Consumer<List<UUID>> action,
+            String task) {
+        final var page = PageRequest.of(0, this.appProperties.getLimits().getRolloverBatchSize());
+        var succeeded = true;
+        var users = 0;
+        var afterId = FIRST_ID;
+        while (true) {
+            final List<UUID> userIds;
+            try {
+                userIds = nextChunk.apply(afterId, page);
+            } catch (DataAccessException ex) {
+                log.warn("Could not {}", task, ex);
+                return false;
+            }
+            if (userIds.isEmpty()) {
+                break;
+            }
+            try {
+                action.accept(userIds);
+                users += userIds.size();
+            } catch (DataAccessException ex) {
+                log.warn("Could not {} for users after {}", task, afterId, ex);
+                succeeded = false;
+            }
+            afterId = userIds.get(userIds.size() - 1);
+        }
+        log.info("Ran {} for {} users", task, users);
+        return succeeded;
+    }
+}
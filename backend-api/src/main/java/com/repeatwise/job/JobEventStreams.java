@@ -0,0 +1,238 @@
+package com.repeatwise.job;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.dto.response.job.AsyncJobResponseDto;
+import com.repeatwise.entity.AsyncJob;
+import com.repeatwise.event.AsyncJobChangedEvent;
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.repository.AsyncJobRepository;
+import com.repeatwise.service.AsyncJobService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-Sent Event streams of async job updates, per job and per user.
+ * <p>
+ * A changed job is read once and sent to all of its subscribers; idle streams only cost a heartbeat comment
+ * per interval. Open streams are capped per user and in total.
+ */
+@Component
+@Slf4j
+public class JobEventStreams {
+
+    private static final String PROGRESS_EVENT = "progress";
+
+    private final Map<UUID, Set<Subscription>> jobSubscriptions = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Subscription>> userSubscriptions = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> openPerUser = new ConcurrentHashMap<>();
+    private final AtomicInteger openTotal = new AtomicInteger();
+
+    private final AsyncJobRepository asyncJobRepository;
+    private final AsyncJobService asyncJobService;
+    private final AppProperties appProperties;
+    private final Executor eventExecutor;
+
+    public JobEventStreams(AsyncJobRepository asyncJobRepository, AsyncJobService asyncJobService,
+            AppProperties appProperties, @Qualifier("jobEventExecutor") Executor eventExecutor) {
+        this.asyncJobRepository = asyncJobRepository;
+        this.asyncJobService = asyncJobService;
+        this.appProperties = appProperties;
+        this.eventExecutor = eventExecutor;
+    }
+
+    /**
+     * Stream updates of one job of the user, starting with its current state. The stream ends once the job is
+     * finished.
+     */
+    public SseEmitter subscribeToJob(UUID jobId, UUID userId) {
+        final var subscription = open(userId, jobId, this.jobSubscriptions);
+        // Read only once subscribed: a change committed before the read is in this snapshot, a later one is sent
+        // as an event, so the stream cannot miss the job finishing in between
+        final AsyncJob job;
+        try {
+            job = this.asyncJobService.getJob(jobId, userId);
+        } catch (RuntimeException ex) {
+            close(subscription);
+            throw ex;
+        }
+        final var finished = job.getStatus().isTerminal();
+        if (send(subscription, this.asyncJobService.toDto(job), finished) && finished) {
+            subscription.emitter().complete();
+        }
+        return subscription.emitter();
+    }
+
+    /**
+     * Stream updates of every job of a user.
+     */
+    public SseEmitter subscribeToUser(UUID userId) {
+        return open(userId, userId, this.userSubscriptions).emitter();
+    }
+
+    /**
+     * Hand the update to {@code jobEventExecutor}: the publisher (a job worker or the progress flush) does not wait
+     * for the job read or for slow clients.
+     */
+    @EventListener
+    public void onJobChanged(AsyncJobChangedEvent event) {
+        if (!this.jobSubscriptions.containsKey(event.jobId()) && !this.userSubscriptions.containsKey(event.userId())) {
+            return;
+        }
+        this.eventExecutor.execute(() -> broadcast(event));
+    }
+
+    private void broadcast(AsyncJobChangedEvent event) {
+        final var byJob = this.jobSubscriptions.getOrDefault(event.jobId(), Set.of());
+        final var byUser = this.userSubscriptions.getOrDefault(event.userId(), Set.of());
+        if (byJob.isEmpty() && byUser.isEmpty()) {
+            return;
+        }
+        final var job = this.asyncJobRepository.findById(event.jobId()).orElse(null);
+        if (job == null) {
+            return;
+        }
+        final var finished = job.getStatus().isTerminal();
+        final var update = this.asyncJobService.toDto(job);
+        for (final Subscription subscription : byJob) {
+            if (send(subscription, update, finished) && finished) {
+                subscription.emitter().complete();
+            }
+        }
+        for (final Subscription subscription : byUser) {
+            send(subscription, update, finished);
+        }
+    }
+
+    /**
+     * Keep idle streams open through proxies and notice clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${app.limits.job-stream-heartbeat-ms}")
+    public void heartbeat() {
+        this.jobSubscriptions.values().forEach(subscriptions -> subscriptions.forEach(this::ping));
+        this.userSubscriptions.values().forEach(subscriptions -> subscriptions.forEach(this::ping));
+    }
+
+    private Subscription open(UUID userId, UUID key, Map<UUID, Set<Subscription>> index) {
+        final var limits = this.appProperties.getLimits();
+        // Check and count in one atomic step per user; a rejected stream leaves the entry untouched
+        this.openPerUser.compute(userId, (id, open) -> {
+            final var count = open != null ? open : 0;
+            if (count >= limits.getJobStreamMaxPerUser()) {
+                throw new RepeatWiseException(RepeatWiseError.JOB_STREAM_LIMIT_EXCEEDED);
+            }
+            return count + 1;
+        });
+        if (this.openTotal.incrementAndGet() > limits.getJobStreamMaxConnections()) {
+            this.openTotal.decrementAndGet();
+            releaseUserSlot(userId);
+            throw new RepeatWiseException(RepeatWiseError.JOB_STREAM_LIMIT_EXCEEDED);
+        }
+
+        final var subscription = new Subscription(new SseEmitter(limits.getJobStreamTimeoutMs()), userId, key, index);
+        index.computeIfAbsent(key, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        subscription.emitter().onCompletion(() -> close(subscription));
+        subscription.emitter().onTimeout(() -> close(subscription));
+        subscription.emitter().onError(ex -> close(subscription));
+        return subscription;
+    }
+
+    private void close(Subscription subscription) {
+        if (!subscription.closed().compareAndSet(false, true)) {
+            return;
+        }
+        subscription.index().computeIfPresent(subscription.key(), (key, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+        releaseUserSlot(subscription.userId());
+        this.openTotal.decrementAndGet();
+    }
+
+    /**
+     * Decrement the user's open streams, removing the entry only when the last one closes.
+     */
+    private void releaseUserSlot(UUID userId) {
+        this.openPerUser.computeIfPresent(userId, (id, open) -> open > 1 ? open - 1 : null);
+    }
+
+    private boolean send(Subscription subscription, AsyncJobResponseDto update, boolean finished) {
+        final var name = finished ? update.getStatus().toLowerCase(Locale.ROOT) : PROGRESS_EVENT;
+        try {
+            subscription.emitter().send(SseEmitter.event().id(update.getJobId()).name(name).data(update));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            drop(subscription, ex);
+            return false;
+        }
+    }
+
+    private void ping(Subscription subscription) {
+        try {
+            subscription.emitter().send(SseEmitter.event().comment("heartbeat"));
+        } catch (IOException | IllegalStateException ex) {
+            drop(subscription, ex);
+        }
+    }
+
+    private void drop(Subscription subscription, Exception cause) {
+        log.debug("Closing job event stream of user {}: {}", subscription.userId(), cause.getMessage());
+        subscription.emitter().completeWithError(cause);
+        close(subscription);
+    }
+
+    /**
+     * One open stream; compared by identity so it can sit in concurrent sets.
+     */
+    private static final class Subscription {
+
+        private final SseEmitter emitter;
+        private final UUID userId;
+        private final UUID key;
+        private final Map<UUID, Set<Subscription>> index;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(SseEmitter emitter, UUID userId, UUID key, Map<UUID, Set<Subscription>> index) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.key = key;
+            this.index = index;
+        }
+
+        SseEmitter emitter() {
+            return this.emitter;
+        }
+
+        UUID userId() {
+            return this.userId;
+        }
+
+        UUID key() {
+            return this.key;
+        }
+
+        Map<UUID, Set<Subscription>> index() {
+            return this.index;
+        }
+
+        AtomicBoolean closed() {
+            return this.closed;
+        }
+    }
+}
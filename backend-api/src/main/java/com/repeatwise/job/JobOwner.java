@@ -0,0 +1,24 @@
+package com.repeatwise.job;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identity of this instance as the owner of the async jobs it claims ({@code async_jobs.owner}): the JVM name
+ * (pid@host) for operators, plus a random suffix so a restarted process never passes for its predecessor.
+ */
+@Component
+public class JobOwner {
+
+    private static final int MAX_NAME_LENGTH = 48;
+
+    private final String id = StringUtils.left(ManagementFactory.getRuntimeMXBean().getName(), MAX_NAME_LENGTH)
+            + "/" + UUID.randomUUID().toString().substring(0, 8);
+
+    public String id() {
+        return this.id;
+    }
+}
@@ -0,0 +1,81 @@
+package com.repeatwise.job;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live progress of a job running on this instance. Workers replace an immutable {@link Snapshot} without
+ * locking; readers and the periodic flush always see the counters of one and the same update.
+ */
+public final class JobProgress {
+
+    private final UUID jobId;
+    private final UUID userId;
+    private final String messageKey;
+    private final Locale locale;
+    private final AtomicReference<Snapshot> snapshot;
+    private volatile long flushedVersion;
+
+    JobProgress(UUID jobId, UUID userId, int totalRows, String messageKey, Locale locale) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.snapshot = new AtomicReference<>(new Snapshot(totalRows, 0, 0, 0, 0, 0));
+        this.messageKey = messageKey;
+        this.locale = locale;
+    }
+
+    /**
+     * Publish the counters of a row-oriented job (import).
+     */
+    public void update(int processed, int success, int skipped, int failed) {
+        this.snapshot.updateAndGet(current -> new Snapshot(current.totalRows(), processed, success, skipped, failed,
+                current.version() + 1));
+    }
+
+    /**
+     * Publish the position of a job whose total is only known while it runs (folder copy).
+     */
+    public void update(int processed, int total) {
+        this.snapshot.updateAndGet(current -> new Snapshot(total, processed, current.successCount(),
+                current.skippedCount(), current.failedCount(), current.version() + 1));
+    }
+
+    public UUID getJobId() {
+        return this.jobId;
+    }
+
+    public UUID getUserId() {
+        return this.userId;
+    }
+
+    /**
+     * Counters of the latest update, read together.
+     */
+    public Snapshot snapshot() {
+        return this.snapshot.get();
+    }
+
+    String getMessageKey() {
+        return this.messageKey;
+    }
+
+    Locale getLocale() {
+        return this.locale;
+    }
+
+    boolean isFlushed(long currentVersion) {
+        return this.flushedVersion == currentVersion;
+    }
+
+    void markFlushed(long flushed) {
+        this.flushedVersion = flushed;
+    }
+
+    /**
+     * Counters of one progress update; {@code version} grows with every update.
+     */
+    public record Snapshot(int totalRows, int processedRows, int successCount, int skippedCount, int failedCount,
+            long version) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.repeatwise.job;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.repeatwise.enums.AsyncJobStatus;
+import com.repeatwise.event.AsyncJobChangedEvent;
+import com.repeatwise.repository.AsyncJobRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory progress of the async jobs running on this instance.
+ * <p>
+ * Workers publish counters to their {@link JobProgress} on every row; the counters reach {@code async_jobs}
+ * through a periodic flush instead of a transaction per update. State transitions (completed, failed, timeout)
+ * are still written by the worker itself, which then stops tracking the job.
+ */
+@Component
+@Slf4j
+public class JobProgressRegistry {
+
+    private static final List<AsyncJobStatus> ACTIVE_STATUSES = List.of(AsyncJobStatus.PENDING,
+            AsyncJobStatus.RUNNING);
+
+    private final Map<UUID, JobProgress> jobs = new ConcurrentHashMap<>();
+    private final AsyncJobRepository asyncJobRepository;
+    private final MessageSource messageSource;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public JobProgressRegistry(AsyncJobRepository asyncJobRepository, MessageSource messageSource,
+            PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.asyncJobRepository = asyncJobRepository;
+        this.messageSource = messageSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Start tracking a job. {@code messageKey} is rendered with {processed, total} as the running message.
+     */
+    public JobProgress track(UUID jobId, UUID userId, int totalRows, String messageKey, Locale locale) {
+        final var progress = new JobProgress(jobId, userId, totalRows, messageKey, locale);
+        this.jobs.put(jobId, progress);
+        return progress;
+    }
+
+    public Optional<JobProgress> find(UUID jobId) {
+        return Optional.ofNullable(this.jobs.get(jobId));
+    }
+
+    /**
+     * Stop tracking a job once its final state has been written.
+     */
+    public void untrack(UUID jobId) {
+        this.jobs.remove(jobId);
+    }
+
+    /**
+     * Running message of {@code progress}, rendered from {@code snapshot} so it matches the counters shown with it.
+     */
+    public String message(JobProgress progress, JobProgress.Snapshot snapshot) {
+        return this.messageSource.getMessage(progress.getMessageKey(),
+                new Object[] { snapshot.processedRows(), snapshot.totalRows() }, progress.getLocale());
+    }
+
+    /**
+     * Write the progress of jobs that changed since the last flush. Only rows still pending or running are
+     * touched, so a flush racing with the final state transition cannot overwrite it. Each written update is
+     * announced to job event streams, which therefore see at most one progress event per job and interval.
+     */
+    @Scheduled(fixedDelayString = "${app.limits.job-progress-flush-ms}")
+    public void flush() {
+        for (final JobProgress progress : this.jobs.values()) {
+            final var snapshot = progress.snapshot();
+            if (progress.isFlushed(snapshot.version())) {
+                continue;
+            }
+            try {
+                this.transactionTemplate.executeWithoutResult(status -> this.asyncJobRepository.updateProgress(
+                        progress.getJobId(),
+                        snapshot.totalRows(),
+                        snapshot.processedRows(),
+                        message(progress, snapshot),
+                        LocalDateTime.now(),
+                        ACTIVE_STATUSES));
+                progress.markFlushed(snapshot.version());
+                this.eventPublisher.publishEvent(new AsyncJobChangedEvent(progress.getUserId(), progress.getJobId()));
+            } catch (DataAccessException ex) {
+                log.warn("Could not flush progress of job {}", progress.getJobId(), ex);
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ import com.repeatwise.dto.response.card.CardResponse;
 import com.repeatwise.dto.response.card.CardWithProgressResponse;
 import com.repeatwise.entity.Card;
 import com.repeatwise.entity.CardBoxPosition;
+import com.repeatwise.repository.projection.ReviewCardProjection;
 
 /**
  * MapStruct mapper for Card entity
@@ -46,6 +47,15 @@ public interface CardMapper {
     @Mapping(expression = "java(position != null && position.isMature())", target = "isMature")
     CardWithProgressResponse toResponseWithProgress(Card card, CardBoxPosition position);
 
+    /**
+     * Convert a review session row to CardWithProgressResponse DTO (session cards are always due)
+     */
+    @Mapping(source = "cardId", target = "id")
+    @Mapping(expression = "java(card.getReviewCount() == 0)", target = "isNew")
+    @Mapping(constant = "true", target = "isDue")
+    @Mapping(expression = "java(card.getCurrentBox() >= 5)", target = "isMature")
+    CardWithProgressResponse toResponseWithProgress(ReviewCardProjection card);
+
     /**
      * Convert CreateCardRequest to Card entity
      */
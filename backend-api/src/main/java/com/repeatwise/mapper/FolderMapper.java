@@ -34,6 +34,7 @@ public interface FolderMapper {
     @Mapping(target = "path", ignore = true)
     @Mapping(target = "pathSegments", ignore = true)
     @Mapping(target = "sortOrder", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
@@ -53,6 +54,7 @@ public interface FolderMapper {
     @Mapping(target = "path", ignore = true)
     @Mapping(target = "pathSegments", ignore = true)
     @Mapping(target = "sortOrder", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
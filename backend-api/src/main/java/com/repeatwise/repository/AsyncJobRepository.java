@@ -1,12 +1,19 @@
 package com.repeatwise.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.repeatwise.entity.AsyncJob;
+import com.repeatwise.enums.AsyncJobStatus;
 import com.repeatwise.enums.AsyncJobType;
 
 /**
@@ -18,5 +25,99 @@ public interface AsyncJobRepository extends JpaRepository<AsyncJob, UUID> {
     Optional<AsyncJob> findByIdAndUserId(UUID id, UUID userId);
 
     Optional<AsyncJob> findByIdAndUserIdAndJobType(UUID id, UUID userId, AsyncJobType jobType);
+
+    /**
+     * Job ở trạng thái {@code statuses} mà owner không còn báo heartbeat từ {@code staleBefore}.
+     */
+    @Query("""
+            SELECT j FROM AsyncJob j WHERE j.jobType = :jobType AND j.status IN :statuses \
+            AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)""")
+    List<AsyncJob> findStale(@Param("jobType") AsyncJobType jobType,
+            @Param("statuses") Collection<AsyncJobStatus> statuses,
+            @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Nhận job cho {@code owner}: chuyển sang {@code status} khi job đang ở một trong {@code fromStatuses} và
+     * không có instance khác giữ (cùng owner, hoặc heartbeat cũ hơn {@code staleBefore}). Trả về 1 nếu nhận được.
+     */
+    @Modifying
+    @Query("""
+            UPDATE AsyncJob j SET j.status = :status, j.owner = :owner, j.heartbeatAt = :now, j.updatedAt = :now \
+            WHERE j.id = :jobId AND j.status IN :fromStatuses \
+            AND (j.owner = :owner OR j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)""")
+    int claim(@Param("jobId") UUID jobId,
+            @Param("owner") String owner,
+            @Param("fromStatuses") Collection<AsyncJobStatus> fromStatuses,
+            @Param("status") AsyncJobStatus status,
+            @Param("staleBefore") LocalDateTime staleBefore,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Đưa job import đã dừng ({@code fromStatuses}) về {@code status} cho {@code owner}; trong các yêu cầu tiếp
+     * tục đồng thời chỉ một yêu cầu cập nhật được. Trả về 1 nếu thành công.
+     */
+    @Modifying
+    @Query("""
+            UPDATE AsyncJob j SET j.status = :status, j.owner = :owner, j.heartbeatAt = :now, \
+            j.completedAt = NULL, j.message = :message, j.updatedAt = :now \
+            WHERE j.id = :jobId AND j.userId = :userId AND j.status IN :fromStatuses AND j.payloadPath IS NOT NULL""")
+    int requeue(@Param("jobId") UUID jobId,
+            @Param("userId") UUID userId,
+            @Param("owner") String owner,
+            @Param("fromStatuses") Collection<AsyncJobStatus> fromStatuses,
+            @Param("status") AsyncJobStatus status,
+            @Param("message") String message,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Kết thúc job với trạng thái {@code status} (FAILED, TIMEOUT) chỉ khi {@code owner} còn giữ job.
+     * Trả về 0 nếu job đã bị instance khác tiếp quản.
+     */
+    @Modifying
+    @Query("""
+            UPDATE AsyncJob j SET j.status = :status, j.completedAt = :now, j.message = :message, \
+            j.updatedAt = :now \
+            WHERE j.id = :jobId AND j.owner = :owner""")
+    int finish(@Param("jobId") UUID jobId,
+            @Param("owner") String owner,
+            @Param("status") AsyncJobStatus status,
+            @Param("message") String message,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Ghi tiến độ của job đang chạy (không đọc lại entity), kèm heartbeat; bỏ qua job đã ở trạng thái khác
+     * {@code statuses}.
+     */
+    @Modifying
+    @Query("""
+            UPDATE AsyncJob j SET j.totalRows = :totalRows, j.processedRows = :processedRows, \
+            j.message = :message, j.updatedAt = :updatedAt, j.heartbeatAt = :updatedAt \
+            WHERE j.id = :jobId AND j.status IN :statuses""")
+    int updateProgress(@Param("jobId") UUID jobId,
+            @Param("totalRows") int totalRows,
+            @Param("processedRows") int processedRows,
+            @Param("message") String message,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("statuses") Collection<AsyncJobStatus> statuses);
+
+    /**
+     * Ghi checkpoint (kèm heartbeat) của job import cùng transaction với chunk vừa commit, chỉ khi
+     * {@code owner} còn giữ job. Trả về 0 nếu job đã bị instance khác tiếp quản.
+     */
+    @Modifying
+    @Query("""
+            UPDATE AsyncJob j SET j.checkpointRow = :checkpointRow, j.successCount = :successCount, \
+            j.skippedCount = :skippedCount, j.failedCount = :failedCount, \
+            j.errorReportPath = COALESCE(:errorReportPath, j.errorReportPath), j.updatedAt = :updatedAt, \
+            j.heartbeatAt = :updatedAt \
+            WHERE j.id = :jobId AND j.owner = :owner""")
+    int saveCheckpoint(@Param("jobId") UUID jobId,
+            @Param("owner") String owner,
+            @Param("checkpointRow") int checkpointRow,
+            @Param("successCount") int successCount,
+            @Param("skippedCount") int skippedCount,
+            @Param("failedCount") int failedCount,
+            @Param("errorReportPath") String errorReportPath,
+            @Param("updatedAt") LocalDateTime updatedAt);
 }
 
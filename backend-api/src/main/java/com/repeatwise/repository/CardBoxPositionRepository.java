@@ -1,16 +1,21 @@
 package com.repeatwise.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.repeatwise.entity.CardBoxPosition;
 import com.repeatwise.repository.projection.FolderCardStatsProjection;
+import com.repeatwise.repository.projection.ReviewCardProjection;
+import com.repeatwise.repository.projection.ReviewPositionProjection;
 
 /**
  * Repository for card box positions (per-user SRS state).
@@ -19,7 +24,8 @@ import com.repeatwise.repository.projection.FolderCardStatsProjection;
 public interface CardBoxPositionRepository extends JpaRepository<CardBoxPosition, UUID> {
 
     /**
-     * Aggregate card statistics for the given deck IDs.
+     * Aggregate card statistics of a single deck, whether or not the deck itself is deleted
+     * (a deleted deck leaves its cards in place and must be taken out of the folder counters).
      */
     @Query("""
             SELECT
@@ -33,11 +39,222 @@ public interface CardBoxPositionRepository extends JpaRepository<CardBoxPosition
             WHERE cbp.user.id = :userId
               AND cbp.deletedAt IS NULL
               AND cbp.card.deletedAt IS NULL
-              AND cbp.card.deck.deletedAt IS NULL
-              AND cbp.card.deck.id IN :deckIds
+              AND cbp.card.deck.id = :deckId
             """)
-    FolderCardStatsProjection aggregateStats(@Param("userId") UUID userId,
-            @Param("deckIds") List<UUID> deckIds,
+    FolderCardStatsProjection aggregateDeckStats(@Param("userId") UUID userId,
+            @Param("deckId") UUID deckId,
             @Param("today") LocalDate today);
-}
 
+    /**
+     * Count cards due on or before {@code today} in a folder subtree.
+     */
+    @Query("""
+            SELECT COUNT(cbp)
+            FROM CardBoxPosition cbp
+            JOIN cbp.card c
+            JOIN c.deck d
+            JOIN d.folder f
+            WHERE cbp.user.id = :userId
+              AND cbp.deletedAt IS NULL
+              AND cbp.dueDate <= :today
+              AND c.deletedAt IS NULL
+              AND d.deletedAt IS NULL
+              AND f.user.id = :userId
+              AND f.deletedAt IS NULL
+              AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%'))
+            """)
+    long countDueInFolderSubtree(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("today") LocalDate today);
+
+    /**
+     * Soft delete SRS positions of all active cards in active decks of a folder subtree.
+     */
+    @Modifying
+    @Query("""
+            UPDATE CardBoxPosition cbp SET cbp.deletedAt = :deletedAt
+            WHERE cbp.user.id = :userId
+              AND cbp.deletedAt IS NULL
+              AND cbp.card.id IN (
+                SELECT c.id FROM Card c
+                WHERE c.deletedAt IS NULL
+                  AND c.deck.id IN (
+                    SELECT d.id FROM Deck d
+                    WHERE d.deletedAt IS NULL
+                      AND d.folder.id IN (SELECT f.id FROM Folder f WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%')))))
+            """)
+    int softDeleteByFolderSubtree(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Restore SRS positions removed by the same folder subtree cascade (same {@code deletedAt}).
+     */
+    @Modifying
+    @Query("""
+            UPDATE CardBoxPosition cbp SET cbp.deletedAt = NULL
+            WHERE cbp.user.id = :userId
+              AND cbp.deletedAt = :deletedAt
+              AND cbp.card.id IN (
+                SELECT c.id FROM Card c
+                WHERE c.deletedAt = :deletedAt
+                  AND c.deck.id IN (
+                    SELECT d.id FROM Deck d
+                    WHERE d.deletedAt = :deletedAt
+                      AND d.folder.id IN (SELECT f.id FROM Folder f WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%')))))
+            """)
+    int restoreByFolderSubtree(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Build a review session in one statement: the user's due positions in the scope (all decks, a deck, or
+     * a folder subtree by path prefix) read through {@code idx_card_box_user_due}. Reviewed and new cards are
+     * capped separately by what is left of today's {@code max_reviews_per_day} and {@code new_cards_per_day}
+     * in {@code srs_settings}. Boxes are picked in the review order, most overdue first within a box; RANDOM
+     * picks the most overdue cards and only shuffles those. Reviews come before new cards. A card whose
+     * first review was logged since {@code dayStart} used up a new card, any other review logged since then a
+     * review. {@code deckId} and {@code path} are only read for the matching {@code scope}.
+     */
+    @Query(value = """
+            WITH settings AS (
+                SELECT COALESCE(s.review_order, :defaultOrder) AS review_order,
+                       GREATEST(COALESCE(s.max_reviews_per_day, :defaultMaxReviews) - (done.reviews - done.new_cards), 0)
+                           AS review_quota,
+                       GREATEST(COALESCE(s.new_cards_per_day, :defaultNewCards) - done.new_cards, 0) AS new_quota
+                FROM (
+                    SELECT COUNT(*) AS reviews,
+                           COUNT(DISTINCT r.card_id) FILTER (WHERE NOT EXISTS (
+                               SELECT 1 FROM review_logs e
+                               WHERE e.card_id = r.card_id
+                                 AND e.user_id = r.user_id
+                                 AND e.reviewed_at < :dayStart)) AS new_cards
+                    FROM review_logs r
+                    WHERE r.user_id = :userId
+                      AND r.reviewed_at >= :dayStart
+                ) done
+                LEFT JOIN srs_settings s ON s.user_id = :userId
+            ),
+            due AS (
+                SELECT p.card_id,
+                       p.review_count = 0 AS is_new,
+                       p.due_date,
+                       CASE st.review_order
+                           WHEN 'ASCENDING' THEN p.current_box
+                           WHEN 'DESCENDING' THEN -p.current_box
+                           ELSE 0
+                       END AS box_key
+                FROM card_box_position p
+                CROSS JOIN settings st
+                JOIN cards c ON c.id = p.card_id AND c.deleted_at IS NULL
+                JOIN decks d ON d.id = c.deck_id AND d.deleted_at IS NULL
+                LEFT JOIN folders f ON f.id = d.folder_id
+                WHERE p.user_id = :userId
+                  AND p.deleted_at IS NULL
+                  AND p.due_date <= :today
+                  AND (:scope <> 'DECK' OR c.deck_id = :deckId)
+                  AND (:scope <> 'FOLDER' OR (f.deleted_at IS NULL AND (f.path = :path OR f.path LIKE :path || '/%')))
+            ),
+            picked AS (
+                SELECT k.*, CASE WHEN (SELECT review_order FROM settings) = 'RANDOM' THEN random() END AS shuffle
+                FROM (
+                    (SELECT * FROM due
+                     WHERE NOT is_new
+                     ORDER BY box_key, due_date, card_id
+                     LIMIT (SELECT review_quota FROM settings))
+                    UNION ALL
+                    (SELECT * FROM due
+                     WHERE is_new
+                     ORDER BY box_key, due_date, card_id
+                     LIMIT (SELECT new_quota FROM settings))
+                    -- srs_settings caps a day at 500 reviews and 100 new cards; the bound also keeps the
+                    -- lookups below on primary keys instead of hashing whole tables
+                    LIMIT 600
+                ) k
+            )
+            SELECT total.due_cards AS "totalDue",
+                   c.id AS "cardId",
+                   c.deck_id AS "deckId",
+                   c.front AS "front",
+                   c.back AS "back",
+                   c.created_at AS "createdAt",
+                   c.updated_at AS "updatedAt",
+                   p.current_box AS "currentBox",
+                   p.interval_days AS "intervalDays",
+                   p.due_date AS "dueDate",
+                   p.review_count AS "reviewCount",
+                   p.lapse_count AS "lapseCount",
+                   p.last_reviewed_at AS "lastReviewedAt"
+            FROM (SELECT COUNT(*) AS due_cards FROM due) total
+            LEFT JOIN picked k ON TRUE
+            LEFT JOIN cards c ON c.id = k.card_id
+            LEFT JOIN card_box_position p ON p.card_id = k.card_id AND p.user_id = :userId AND p.deleted_at IS NULL
+            ORDER BY k.is_new, k.shuffle, k.box_key, k.due_date, k.card_id
+            """, nativeQuery = true)
+    List<ReviewCardProjection> findReviewSession(@Param("userId") UUID userId,
+            @Param("scope") String scope,
+            @Param("deckId") UUID deckId,
+            @Param("path") String path,
+            @Param("today") LocalDate today,
+            @Param("dayStart") LocalDateTime dayStart,
+            @Param("defaultOrder") String defaultOrder,
+            @Param("defaultNewCards") int defaultNewCards,
+            @Param("defaultMaxReviews") int defaultMaxReviews);
+
+    /**
+     * Active positions of the user's active cards among {@code cardIds}, locked until the end of the
+     * transaction. Rows are locked in position order so concurrent batches over the same cards queue up
+     * instead of deadlocking, and a resubmitted batch sees the ratings logged by the one it waited for.
+     */
+    @Query(value = """
+            SELECT p.id AS "positionId",
+                   p.card_id AS "cardId",
+                   c.deck_id AS "deckId",
+                   p.current_box AS "currentBox",
+                   p.interval_days AS "intervalDays",
+                   p.due_date AS "dueDate",
+                   p.review_count AS "reviewCount",
+                   p.lapse_count AS "lapseCount"
+            FROM card_box_position p
+            JOIN cards c ON c.id = p.card_id AND c.deleted_at IS NULL
+            JOIN decks d ON d.id = c.deck_id AND d.deleted_at IS NULL
+            WHERE p.user_id = :userId
+              AND p.deleted_at IS NULL
+              AND p.card_id IN (:cardIds)
+            ORDER BY p.id
+            FOR UPDATE OF p
+            """, nativeQuery = true)
+    List<ReviewPositionProjection> lockReviewPositions(@Param("userId") UUID userId,
+            @Param("cardIds") Collection<UUID> cardIds);
+
+    /**
+     * Next page of the user's daily review queue: the lowest queue positions, read through the queue primary
+     * key. Cards deleted since the queue was built are passed over. {@code totalDue} is the due count stored
+     * when the queue was built.
+     */
+    @Query(value = """
+            SELECT CAST(q.total_due AS BIGINT) AS "totalDue",
+                   c.id AS "cardId",
+                   c.deck_id AS "deckId",
+                   c.front AS "front",
+                   c.back AS "back",
+                   c.created_at AS "createdAt",
+                   c.updated_at AS "updatedAt",
+                   p.current_box AS "currentBox",
+                   p.interval_days AS "intervalDays",
+                   p.due_date AS "dueDate",
+                   p.review_count AS "reviewCount",
+                   p.lapse_count AS "lapseCount",
+                   p.last_reviewed_at AS "lastReviewedAt"
+            FROM review_queue_items i
+            JOIN review_queues q ON q.user_id = i.user_id
+            JOIN cards c ON c.id = i.card_id AND c.deleted_at IS NULL
+            JOIN decks d ON d.id = c.deck_id AND d.deleted_at IS NULL
+            JOIN card_box_position p ON p.card_id = i.card_id AND p.user_id = i.user_id AND p.deleted_at IS NULL
+            WHERE i.user_id = :userId
+            ORDER BY i.position
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ReviewCardProjection> findReviewQueuePage(@Param("userId") UUID userId,
+            @Param("limit") int limit);
+}
@@ -1,16 +1,24 @@
 package com.repeatwise.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.repeatwise.entity.Card;
+import com.repeatwise.repository.projection.CardContentHashProjection;
+import com.repeatwise.repository.projection.CardContentProjection;
+import com.repeatwise.repository.projection.CardExportProjection;
+import com.repeatwise.repository.projection.DeckContentVersionProjection;
 
 /**
  * Repository cho thực thể {@link Card}.
@@ -67,6 +75,24 @@ public interface CardRepository extends JpaRepository<Card, UUID> {
             """)
     List<Card> findActiveByDeckIdAndUserId(@Param("deckId") UUID deckId, @Param("userId") UUID userId);
 
+    /**
+     * Lấy ID và hash 64-bit nội dung (front/back) của các thẻ đang hoạt động trong deck, dùng để phát hiện
+     * thẻ trùng khi import mà không cần nạp entity. Hash khớp với {@link com.repeatwise.util.ContentHash}.
+     */
+    @Query(value = """
+            SELECT c.id AS "id",
+                   CAST(CAST('x' || substr(md5(c.front || '||' || c.back), 1, 16) AS BIT(64)) AS BIGINT)
+                       AS "contentHash"
+            FROM cards c
+            JOIN decks d ON d.id = c.deck_id
+            WHERE c.deck_id = :deckId
+              AND d.user_id = :userId
+              AND c.deleted_at IS NULL
+              AND d.deleted_at IS NULL
+            """, nativeQuery = true)
+    List<CardContentHashProjection> findContentHashesByDeckIdAndUserId(@Param("deckId") UUID deckId,
+            @Param("userId") UUID userId);
+
     /**
      * Đếm số thẻ đang hoạt động trong deck.
      */
@@ -80,7 +106,22 @@ public interface CardRepository extends JpaRepository<Card, UUID> {
     long countActiveByDeckIdAndUserId(@Param("deckId") UUID deckId, @Param("userId") UUID userId);
 
     /**
-     * Đếm số thẻ đến hạn ôn (scope DUE_ONLY).
+     * Đếm số thẻ đang hoạt động trong các deck của cây thư mục (theo tiền tố path).
+     */
+    @Query("""
+            SELECT COUNT(c) FROM Card c
+            JOIN c.deck d
+            JOIN d.folder f
+            WHERE f.user.id = :userId
+              AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%'))
+              AND f.deletedAt IS NULL
+              AND d.deletedAt IS NULL
+              AND c.deletedAt IS NULL
+            """)
+    long countActiveInFolderSubtree(@Param("userId") UUID userId, @Param("path") String path);
+
+    /**
+     * Đếm số thẻ đến hạn ôn vào ngày {@code today} (scope DUE_ONLY).
      */
     @Query("""
             SELECT COUNT(c) FROM Card c
@@ -91,21 +132,98 @@ public interface CardRepository extends JpaRepository<Card, UUID> {
               AND c.deck.deletedAt IS NULL
               AND p.user.id = :userId
               AND p.deletedAt IS NULL
-              AND p.dueDate <= CURRENT_DATE
+              AND p.dueDate <= :today
             """)
-    long countDueCardsByDeckIdAndUserId(@Param("deckId") UUID deckId, @Param("userId") UUID userId);
+    long countDueCardsByDeckIdAndUserId(@Param("deckId") UUID deckId, @Param("userId") UUID userId,
+            @Param("today") LocalDate today);
 
     /**
-     * Lấy thẻ cùng CardBoxPosition tương ứng.
+     * Phiên bản nội dung của deck dùng làm khóa cache export: số thẻ đang hoạt động và thời điểm cập nhật
+     * gần nhất của thẻ và vị trí SRS của người dùng.
      */
-    @EntityGraph(attributePaths = "cardBoxPositions")
     @Query("""
-            SELECT c FROM Card c
+            SELECT COUNT(c) AS cardCount, MAX(c.updatedAt) AS cardsUpdatedAt, MAX(p.updatedAt) AS positionsUpdatedAt
+            FROM Card c
+            LEFT JOIN c.cardBoxPositions p ON p.user.id = :userId AND p.deletedAt IS NULL
             WHERE c.deck.id = :deckId
               AND c.deck.user.id = :userId
               AND c.deletedAt IS NULL
               AND c.deck.deletedAt IS NULL
             """)
-    List<Card> findActiveWithPositionsByDeckIdAndUserId(@Param("deckId") UUID deckId, @Param("userId") UUID userId);
-}
+    DeckContentVersionProjection findContentVersion(@Param("deckId") UUID deckId, @Param("userId") UUID userId);
 
+    /**
+     * Một trang thẻ để export, phân trang keyset theo (createdAt, id): trang sau bắt đầu ngay sau
+     * dòng cuối của trang trước nên mỗi trang chỉ đọc đúng số dòng cần. Lọc DUE_ONLY (đến hạn vào ngày
+     * {@code today}) trong SQL.
+     */
+    @Query("""
+            SELECT c.id AS id, c.createdAt AS createdAt, c.front AS front, c.back AS back,
+                   p.currentBox AS currentBox, p.dueDate AS dueDate, p.reviewCount AS reviewCount
+            FROM Card c
+            LEFT JOIN c.cardBoxPositions p ON p.user.id = :userId AND p.deletedAt IS NULL
+            WHERE c.deck.id = :deckId
+              AND c.deck.user.id = :userId
+              AND c.deletedAt IS NULL
+              AND c.deck.deletedAt IS NULL
+              AND (c.createdAt, c.id) > (:afterCreatedAt, :afterId)
+              AND (:dueOnly = false OR p.dueDate <= :today)
+            ORDER BY c.createdAt, c.id
+            """)
+    List<CardExportProjection> findExportPage(@Param("deckId") UUID deckId,
+            @Param("userId") UUID userId,
+            @Param("dueOnly") boolean dueOnly,
+            @Param("today") LocalDate today,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Pageable page);
+
+    /**
+     * Một trang nội dung (front/back) thẻ đang hoạt động của một deck, dùng khi sao chép; phân trang keyset
+     * theo (createdAt, id) như export.
+     */
+    @Query("""
+            SELECT c.id AS id, c.createdAt AS createdAt, c.deck.id AS deckId, c.front AS front, c.back AS back
+            FROM Card c
+            WHERE c.deck.id = :deckId
+              AND c.deletedAt IS NULL
+              AND (c.createdAt, c.id) > (:afterCreatedAt, :afterId)
+            ORDER BY c.createdAt, c.id
+            """)
+    List<CardContentProjection> findContentPage(@Param("deckId") UUID deckId,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Pageable page);
+
+    /**
+     * Xóa mềm toàn bộ thẻ thuộc các deck đang hoạt động trong cây thư mục (theo tiền tố path).
+     */
+    @Modifying
+    @Query("""
+            UPDATE Card c SET c.deletedAt = :deletedAt
+            WHERE c.deletedAt IS NULL
+              AND c.deck.id IN (
+                SELECT d.id FROM Deck d
+                WHERE d.deletedAt IS NULL
+                  AND d.folder.id IN (SELECT f.id FROM Folder f WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%'))))
+            """)
+    int softDeleteByFolderSubtree(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Khôi phục thẻ bị xóa cùng đợt (cùng {@code deletedAt}) với cây thư mục.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Card c SET c.deletedAt = NULL
+            WHERE c.deletedAt = :deletedAt
+              AND c.deck.id IN (
+                SELECT d.id FROM Deck d
+                WHERE d.deletedAt = :deletedAt
+                  AND d.folder.id IN (SELECT f.id FROM Folder f WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%'))))
+            """)
+    int restoreByFolderSubtree(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("deletedAt") LocalDateTime deletedAt);
+}
@@ -1,6 +1,7 @@
 package com.repeatwise.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +13,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.repeatwise.entity.Deck;
+import com.repeatwise.repository.projection.DeckFolderPathProjection;
+import com.repeatwise.repository.projection.DeckTreeItemProjection;
+import com.repeatwise.repository.projection.TreeSyncStateProjection;
 
 /**
  * Repository for Deck entity
@@ -69,18 +73,6 @@ public interface DeckRepository extends JpaRepository<Deck, UUID> {
     @Query("SELECT COUNT(d) FROM Deck d WHERE d.folder.id IN :folderIds AND d.deletedAt IS NULL")
     long countByFolderIds(@Param("folderIds") List<UUID> folderIds);
 
-    /**
-     * Get active deck IDs within specified folders.
-     */
-    @Query("""
-            SELECT d.id FROM Deck d
-            WHERE d.user.id = :userId
-              AND d.deletedAt IS NULL
-              AND d.folder.id IN :folderIds
-            """)
-    List<UUID> findActiveDeckIdsByUserIdAndFolderIds(@Param("userId") UUID userId,
-            @Param("folderIds") List<UUID> folderIds);
-
     /**
      * Count active decks in specified folders.
      */
@@ -107,6 +99,39 @@ public interface DeckRepository extends JpaRepository<Deck, UUID> {
     @Query("UPDATE Deck d SET d.deletedAt = :deletedAt WHERE d.folder.id IN :folderIds AND d.deletedAt IS NULL")
     int softDeleteByFolderIds(@Param("folderIds") List<UUID> folderIds, @Param("deletedAt") LocalDateTime deletedAt);
 
+    /**
+     * Find all active decks in an active folder subtree (keyed on the folder path prefix)
+     */
+    @Query("""
+            SELECT d FROM Deck d \
+            WHERE d.deletedAt IS NULL \
+            AND d.folder.id IN (SELECT f.id FROM Folder f WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%')) AND f.deletedAt IS NULL)""")
+    List<Deck> findActiveByFolderSubtree(@Param("userId") UUID userId, @Param("path") String path);
+
+    /**
+     * Soft delete all active decks in a folder subtree (keyed on the folder path prefix)
+     */
+    @Modifying
+    @Query("""
+            UPDATE Deck d SET d.deletedAt = :deletedAt, d.updatedAt = :deletedAt \
+            WHERE d.deletedAt IS NULL \
+            AND d.folder.id IN (SELECT f.id FROM Folder f WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%')))""")
+    int softDeleteByFolderSubtree(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Restore decks in a folder subtree that were removed by the same cascade (same {@code deletedAt})
+     */
+    @Modifying
+    @Query("""
+            UPDATE Deck d SET d.deletedAt = NULL, d.updatedAt = LOCAL_DATETIME \
+            WHERE d.deletedAt = :deletedAt \
+            AND d.folder.id IN (SELECT f.id FROM Folder f WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%')))""")
+    int restoreByFolderSubtree(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("deletedAt") LocalDateTime deletedAt);
+
     /**
      * Restore soft-deleted decks in a folder
      */
@@ -132,4 +157,43 @@ public interface DeckRepository extends JpaRepository<Deck, UUID> {
      */
     @Query("SELECT d FROM Deck d WHERE d.id = :deckId AND d.user.id = :userId AND d.deletedAt IS NOT NULL")
     Optional<Deck> findDeletedByIdAndUserId(@Param("deckId") UUID deckId, @Param("userId") UUID userId);
+
+    /**
+     * Active decks of a user as flat tree rows
+     */
+    @Query("""
+            SELECT d.id AS id, d.folder.id AS folderId, d.name AS name, d.description AS description, \
+            d.updatedAt AS updatedAt, d.deletedAt AS deletedAt \
+            FROM Deck d WHERE d.user.id = :userId AND d.deletedAt IS NULL ORDER BY d.name""")
+    List<DeckTreeItemProjection> findTreeItems(@Param("userId") UUID userId);
+
+    /**
+     * Decks (soft-deleted included) changed after a sync cursor
+     */
+    @Query("""
+            SELECT d.id AS id, d.folder.id AS folderId, d.name AS name, d.description AS description, \
+            d.updatedAt AS updatedAt, d.deletedAt AS deletedAt \
+            FROM Deck d WHERE d.user.id = :userId AND d.updatedAt > :since ORDER BY d.name""")
+    List<DeckTreeItemProjection> findTreeItemsChangedSince(@Param("userId") UUID userId,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Last change and row count of all decks of a user, used as the tree version
+     */
+    @Query("SELECT MAX(d.updatedAt) AS lastModified, COUNT(d) AS rowCount FROM Deck d WHERE d.user.id = :userId")
+    TreeSyncStateProjection getTreeSyncState(@Param("userId") UUID userId);
+
+    /**
+     * Path of the active folder containing a deck (empty for root-level decks)
+     */
+    @Query("SELECT f.path FROM Deck d JOIN d.folder f WHERE d.id = :deckId AND f.deletedAt IS NULL")
+    Optional<String> findFolderPathByDeckId(@Param("deckId") UUID deckId);
+
+    /**
+     * Paths of the active folders containing the given decks; root-level decks are left out
+     */
+    @Query("""
+            SELECT d.id AS deckId, f.path AS path FROM Deck d JOIN d.folder f \
+            WHERE d.id IN :deckIds AND f.deletedAt IS NULL""")
+    List<DeckFolderPathProjection> findFolderPathsByDeckIds(@Param("deckIds") Collection<UUID> deckIds);
 }
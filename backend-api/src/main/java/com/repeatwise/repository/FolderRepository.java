@@ -1,15 +1,19 @@
 package com.repeatwise.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.repeatwise.entity.Folder;
+import com.repeatwise.repository.projection.FolderTreeNodeProjection;
+import com.repeatwise.repository.projection.TreeSyncStateProjection;
 
 /**
  * Repository for Folder entity
@@ -47,6 +51,134 @@ public interface FolderRepository extends JpaRepository<Folder, UUID> {
     @Query("SELECT f FROM Folder f WHERE f.user.id = :userId AND f.path LIKE CONCAT(:pathPrefix, '%') AND f.deletedAt IS NULL")
     List<Folder> findDescendantsByPath(@Param("userId") UUID userId, @Param("pathPrefix") String pathPrefix);
 
+    /**
+     * Soft delete a folder and all of its active descendants (keyed on the path prefix)
+     *
+     * @param path Path of the subtree root
+     * @return Number of folders deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Folder f SET f.deletedAt = :deletedAt, f.updatedAt = :deletedAt \
+            WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%')) \
+            AND f.deletedAt IS NULL""")
+    int softDeleteSubtree(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Permanently delete a folder and all of its descendants, soft-deleted ones included.
+     * Decks, cards and their SRS positions go with them through {@code ON DELETE CASCADE}.
+     *
+     * @param path Path of the subtree root
+     * @return Number of folders deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Folder f WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%'))")
+    int deleteSubtree(@Param("userId") UUID userId, @Param("path") String path);
+
+    /**
+     * Restore a folder and the descendants removed by the same cascade (same {@code deletedAt})
+     *
+     * @param path Path of the subtree root
+     * @return Number of folders restored
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Folder f SET f.deletedAt = NULL, f.updatedAt = LOCAL_DATETIME \
+            WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%')) \
+            AND f.deletedAt = :deletedAt""")
+    int restoreSubtree(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Move a single folder node if its version is unchanged since it was read.
+     *
+     * @return 1 if moved, 0 if the folder was changed concurrently
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Folder f SET \
+            f.parentFolder = :parent, \
+            f.path = :path, \
+            f.depth = :depth, \
+            f.sortOrder = :sortOrder, \
+            f.version = f.version + 1, \
+            f.updatedAt = :updatedAt \
+            WHERE f.id = :folderId AND f.version = :expectedVersion""")
+    int relocateFolder(@Param("folderId") UUID folderId,
+            @Param("expectedVersion") Long expectedVersion,
+            @Param("parent") Folder parent,
+            @Param("path") String path,
+            @Param("depth") int depth,
+            @Param("sortOrder") int sortOrder,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Bump folder version if unchanged since it was read.
+     * Used on the target parent of a move so a concurrent move of that parent conflicts.
+     *
+     * @return 1 if bumped, 0 if the folder was changed concurrently
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Folder f SET f.version = f.version + 1 WHERE f.id = :folderId AND f.version = :expectedVersion")
+    int bumpVersion(@Param("folderId") UUID folderId, @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Rewrite path prefix and shift depth for a whole subtree in one statement (move operation).
+     * Includes soft-deleted descendants so a later restore sees consistent paths.
+     * Bumps version of every row so a concurrent move of a descendant conflicts.
+     *
+     * @param oldPrefix       Old path of the moved folder followed by the path delimiter
+     * @param oldPrefixLength Length of {@code oldPrefix}
+     * @param newPrefix       New path of the moved folder followed by the path delimiter
+     * @return Number of descendants updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Folder f SET \
+            f.path = CONCAT(:newPrefix, SUBSTRING(f.path, :oldPrefixLength + 1)), \
+            f.depth = f.depth + :depthDelta, \
+            f.version = f.version + 1, \
+            f.updatedAt = :updatedAt \
+            WHERE f.user.id = :userId AND f.path LIKE CONCAT(:oldPrefix, '%')""")
+    int rewriteSubtreePath(@Param("userId") UUID userId,
+            @Param("oldPrefix") String oldPrefix,
+            @Param("oldPrefixLength") int oldPrefixLength,
+            @Param("newPrefix") String newPrefix,
+            @Param("depthDelta") int depthDelta,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Active folders of a user as flat tree rows, parents before children and siblings in display order
+     */
+    @Query("""
+            SELECT f.id AS id, f.parentFolder.id AS parentFolderId, f.name AS name, f.description AS description, \
+            f.depth AS depth, f.path AS path, f.sortOrder AS sortOrder, f.updatedAt AS updatedAt, \
+            f.deletedAt AS deletedAt \
+            FROM Folder f WHERE f.user.id = :userId AND f.deletedAt IS NULL \
+            ORDER BY f.depth ASC, f.sortOrder ASC, f.name ASC""")
+    List<FolderTreeNodeProjection> findTreeNodes(@Param("userId") UUID userId);
+
+    /**
+     * Folders (soft-deleted included) changed after a sync cursor
+     */
+    @Query("""
+            SELECT f.id AS id, f.parentFolder.id AS parentFolderId, f.name AS name, f.description AS description, \
+            f.depth AS depth, f.path AS path, f.sortOrder AS sortOrder, f.updatedAt AS updatedAt, \
+            f.deletedAt AS deletedAt \
+            FROM Folder f WHERE f.user.id = :userId AND f.updatedAt > :since \
+            ORDER BY f.depth ASC, f.sortOrder ASC, f.name ASC""")
+    List<FolderTreeNodeProjection> findTreeNodesChangedSince(@Param("userId") UUID userId,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Last change and row count of all folders of a user, used as the tree version
+     */
+    @Query("SELECT MAX(f.updatedAt) AS lastModified, COUNT(f) AS rowCount FROM Folder f WHERE f.user.id = :userId")
+    TreeSyncStateProjection getTreeSyncState(@Param("userId") UUID userId);
+
     /**
      * Count total folders for a user (active only)
      */
@@ -60,14 +192,28 @@ public interface FolderRepository extends JpaRepository<Folder, UUID> {
     Integer getMaxDepthInSubtree(@Param("userId") UUID userId, @Param("pathPrefix") String pathPrefix);
 
     /**
-     * Count total items (folders + decks) in a folder subtree
+     * Count total active items (folders + decks) in a folder subtree, the root folder and its decks included
+     *
+     * @param path Path of the subtree root
      */
     @Query("""
             SELECT COUNT(f) + \
-            (SELECT COUNT(d) FROM Deck d WHERE d.folder.id IN \
-            (SELECT f2.id FROM Folder f2 WHERE f2.user.id = :userId AND f2.path LIKE CONCAT(:pathPrefix, '%') AND f2.deletedAt IS NULL)) \
-            FROM Folder f WHERE f.user.id = :userId AND f.path LIKE CONCAT(:pathPrefix, '%') AND f.deletedAt IS NULL""")
-    long countItemsInSubtree(@Param("userId") UUID userId, @Param("pathPrefix") String pathPrefix);
+            (SELECT COUNT(d) FROM Deck d WHERE d.deletedAt IS NULL AND d.folder.id IN \
+            (SELECT f2.id FROM Folder f2 WHERE f2.user.id = :userId \
+            AND (f2.path = :path OR f2.path LIKE CONCAT(:path, '/%')) AND f2.deletedAt IS NULL)) \
+            FROM Folder f WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%')) AND f.deletedAt IS NULL""")
+    long countItemsInSubtree(@Param("userId") UUID userId, @Param("path") String path);
+
+    /**
+     * Load a whole active subtree (root included) in one query, parents before children
+     *
+     * @param path Path of the subtree root
+     */
+    @Query("""
+            SELECT f FROM Folder f \
+            WHERE f.user.id = :userId AND (f.path = :path OR f.path LIKE CONCAT(:path, '/%')) AND f.deletedAt IS NULL \
+            ORDER BY f.depth ASC, f.sortOrder ASC""")
+    List<Folder> findSubtree(@Param("userId") UUID userId, @Param("path") String path);
 
     /**
      * Find folders deleted by user (in trash)
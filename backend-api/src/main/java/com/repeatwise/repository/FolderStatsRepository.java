@@ -1,19 +1,200 @@
 package com.repeatwise.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.repeatwise.entity.FolderStats;
+import com.repeatwise.repository.projection.FolderSubtreeStatsProjection;
 
 /**
- * Repository for cached folder statistics.
+ * Repository for folder statistics counters.
  */
 @Repository
 public interface FolderStatsRepository extends JpaRepository<FolderStats, UUID> {
 
     Optional<FolderStats> findByFolderIdAndUserId(UUID folderId, UUID userId);
-}
 
+    List<FolderStats> findByUserIdAndFolderIdIn(UUID userId, Collection<UUID> folderIds);
+
+    /**
+     * Statistics of every active folder in the subtree at {@code path}, each rolled up over its own subtree.
+     * Direct deck and card counts are computed once per folder and summed into every ancestor within the
+     * subtree through the materialized path prefix, all in a single statement.
+     */
+    @Query(value = """
+            WITH subtree AS (
+                SELECT f.id, f.path
+                FROM folders f
+                WHERE f.user_id = :userId
+                  AND f.deleted_at IS NULL
+                  AND (f.path = :path OR f.path LIKE :path || '/%')
+            ),
+            direct AS (
+                SELECT d.folder_id,
+                       COUNT(DISTINCT d.id) AS decks,
+                       COUNT(p.id) AS cards,
+                       COUNT(p.id) FILTER (WHERE p.due_date <= :today) AS due_cards,
+                       COUNT(p.id) FILTER (WHERE p.review_count = 0) AS new_cards,
+                       COUNT(p.id) FILTER (WHERE p.review_count > 0 AND p.current_box < 3) AS learning_cards,
+                       COUNT(p.id) FILTER (WHERE p.review_count > 0 AND p.current_box BETWEEN 3 AND 4) AS review_cards,
+                       COUNT(p.id) FILTER (WHERE p.current_box >= 5) AS mastered_cards
+                FROM decks d
+                JOIN subtree s ON s.id = d.folder_id
+                LEFT JOIN cards c ON c.deck_id = d.id AND c.deleted_at IS NULL
+                LEFT JOIN card_box_position p ON p.card_id = c.id AND p.user_id = :userId AND p.deleted_at IS NULL
+                WHERE d.deleted_at IS NULL
+                GROUP BY d.folder_id
+            )
+            SELECT f.id AS "folderId",
+                   CAST(COUNT(sub.id) - 1 AS BIGINT) AS "totalFolders",
+                   CAST(COALESCE(SUM(dir.decks), 0) AS BIGINT) AS "totalDecks",
+                   CAST(COALESCE(SUM(dir.cards), 0) AS BIGINT) AS "totalCards",
+                   CAST(COALESCE(SUM(dir.due_cards), 0) AS BIGINT) AS "dueCards",
+                   CAST(COALESCE(SUM(dir.new_cards), 0) AS BIGINT) AS "newCards",
+                   CAST(COALESCE(SUM(dir.learning_cards), 0) AS BIGINT) AS "learningCards",
+                   CAST(COALESCE(SUM(dir.review_cards), 0) AS BIGINT) AS "reviewCards",
+                   CAST(COALESCE(SUM(dir.mastered_cards), 0) AS BIGINT) AS "masteredCards"
+            FROM subtree f
+            JOIN subtree sub ON sub.path = f.path OR sub.path LIKE f.path || '/%'
+            LEFT JOIN direct dir ON dir.folder_id = sub.id
+            GROUP BY f.id
+            """, nativeQuery = true)
+    List<FolderSubtreeStatsProjection> aggregateSubtreeStats(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("today") LocalDate today);
+
+    /**
+     * Statistics of the active folder at {@code path}, rolled up over its subtree. Same counters as
+     * {@link #aggregateSubtreeStats}, but only for the root: every direct count in the subtree is summed once,
+     * without the per-folder self-join.
+     */
+    @Query(value = """
+            WITH subtree AS (
+                SELECT f.id, f.path
+                FROM folders f
+                WHERE f.user_id = :userId
+                  AND f.deleted_at IS NULL
+                  AND (f.path = :path OR f.path LIKE :path || '/%')
+            ),
+            direct AS (
+                SELECT d.folder_id,
+                       COUNT(DISTINCT d.id) AS decks,
+                       COUNT(p.id) AS cards,
+                       COUNT(p.id) FILTER (WHERE p.due_date <= :today) AS due_cards,
+                       COUNT(p.id) FILTER (WHERE p.review_count = 0) AS new_cards,
+                       COUNT(p.id) FILTER (WHERE p.review_count > 0 AND p.current_box < 3) AS learning_cards,
+                       COUNT(p.id) FILTER (WHERE p.review_count > 0 AND p.current_box BETWEEN 3 AND 4) AS review_cards,
+                       COUNT(p.id) FILTER (WHERE p.current_box >= 5) AS mastered_cards
+                FROM decks d
+                JOIN subtree s ON s.id = d.folder_id
+                LEFT JOIN cards c ON c.deck_id = d.id AND c.deleted_at IS NULL
+                LEFT JOIN card_box_position p ON p.card_id = c.id AND p.user_id = :userId AND p.deleted_at IS NULL
+                WHERE d.deleted_at IS NULL
+                GROUP BY d.folder_id
+            )
+            SELECT f.id AS "folderId",
+                   CAST((SELECT COUNT(*) FROM subtree) - 1 AS BIGINT) AS "totalFolders",
+                   CAST(COALESCE(SUM(dir.decks), 0) AS BIGINT) AS "totalDecks",
+                   CAST(COALESCE(SUM(dir.cards), 0) AS BIGINT) AS "totalCards",
+                   CAST(COALESCE(SUM(dir.due_cards), 0) AS BIGINT) AS "dueCards",
+                   CAST(COALESCE(SUM(dir.new_cards), 0) AS BIGINT) AS "newCards",
+                   CAST(COALESCE(SUM(dir.learning_cards), 0) AS BIGINT) AS "learningCards",
+                   CAST(COALESCE(SUM(dir.review_cards), 0) AS BIGINT) AS "reviewCards",
+                   CAST(COALESCE(SUM(dir.mastered_cards), 0) AS BIGINT) AS "masteredCards"
+            FROM subtree f
+            LEFT JOIN direct dir ON TRUE
+            WHERE f.path = :path
+            GROUP BY f.id
+            """, nativeQuery = true)
+    Optional<FolderSubtreeStatsProjection> aggregateFolderStats(@Param("userId") UUID userId,
+            @Param("path") String path,
+            @Param("today") LocalDate today);
+
+    /**
+     * Add deltas to the counters of the active folders with the given paths (a folder and its ancestors).
+     * The due counter is only adjusted on rows counted for {@code today}; older rows are refreshed as a whole.
+     *
+     * @return Number of counter rows updated
+     */
+    @Modifying
+    @Query("""
+            UPDATE FolderStats s SET \
+            s.totalFoldersCount = s.totalFoldersCount + :folders, \
+            s.totalDecksCount = s.totalDecksCount + :decks, \
+            s.totalCardsCount = s.totalCardsCount + :cards, \
+            s.newCardsCount = s.newCardsCount + :newCards, \
+            s.learningCardsCount = s.learningCardsCount + :learningCards, \
+            s.reviewCardsCount = s.reviewCardsCount + :reviewCards, \
+            s.matureCardsCount = s.matureCardsCount + :matureCards, \
+            s.dueCardsCount = CASE WHEN s.dueCountedOn = :today THEN s.dueCardsCount + :dueCards \
+            ELSE s.dueCardsCount END, \
+            s.lastComputedAt = LOCAL_DATETIME \
+            WHERE s.user.id = :userId \
+            AND s.folder.id IN (SELECT f.id FROM Folder f WHERE f.user.id = :userId AND f.path IN :paths \
+            AND f.deletedAt IS NULL)""")
+    int applyDelta(@Param("userId") UUID userId,
+            @Param("paths") Collection<String> paths,
+            @Param("folders") int folders,
+            @Param("decks") int decks,
+            @Param("cards") int cards,
+            @Param("dueCards") int dueCards,
+            @Param("newCards") int newCards,
+            @Param("learningCards") int learningCards,
+            @Param("reviewCards") int reviewCards,
+            @Param("matureCards") int matureCards,
+            @Param("today") LocalDate today);
+
+    /**
+     * Day rollover: recount the due cards of the given users' counter rows not counted for {@code today}.
+     * Due cards are counted once per folder holding decks and summed into each stale folder through the
+     * materialized path prefix, in a single statement.
+     *
+     * @return Number of counter rows refreshed
+     */
+    @Modifying
+    @Query(value = """
+            WITH stale AS (
+                SELECT s.id, s.user_id, f.path
+                FROM folder_stats s
+                JOIN folders f ON f.id = s.folder_id AND f.deleted_at IS NULL
+                WHERE s.user_id IN (:userIds)
+                  AND (s.due_counted_on IS NULL OR s.due_counted_on < :today)
+            ),
+            direct AS (
+                SELECT d.folder_id, COUNT(p.id) AS due_cards
+                FROM decks d
+                JOIN cards c ON c.deck_id = d.id AND c.deleted_at IS NULL
+                JOIN card_box_position p ON p.card_id = c.id AND p.user_id = d.user_id AND p.deleted_at IS NULL
+                WHERE d.user_id IN (SELECT DISTINCT user_id FROM stale)
+                  AND d.deleted_at IS NULL
+                  AND p.due_date <= :today
+                GROUP BY d.folder_id
+            ),
+            due AS (
+                SELECT st.id, COALESCE(SUM(dir.due_cards), 0) AS due_cards
+                FROM stale st
+                JOIN folders sub ON sub.user_id = st.user_id
+                                AND sub.deleted_at IS NULL
+                                AND (sub.path = st.path OR sub.path LIKE st.path || '/%')
+                LEFT JOIN direct dir ON dir.folder_id = sub.id
+                GROUP BY st.id
+            )
+            UPDATE folder_stats s
+            SET due_cards_count = due.due_cards, due_counted_on = :today, last_computed_at = :now
+            FROM due
+            WHERE s.id = due.id
+            """, nativeQuery = true)
+    int refreshDueCounts(@Param("userIds") Collection<UUID> userIds,
+            @Param("today") LocalDate today,
+            @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,133 @@
+package com.repeatwise.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC batch inserts for bulk content creation (folder copy, card import).
+ * IDs and materialized paths are generated by the caller, so rows can be written
+ * in dependency order without reading anything back.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcBulkInsertRepository {
+
+    private static final String INSERT_FOLDER = """
+            INSERT INTO folders (id, user_id, parent_folder_id, name, description, depth, path, sort_order, \
+            created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String INSERT_DECK = """
+            INSERT INTO decks (id, user_id, folder_id, name, description, created_at, updated_at) \
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String INSERT_CARD = """
+            INSERT INTO cards (id, deck_id, front, back, created_at, updated_at) \
+            VALUES (?, ?, ?, ?, ?, ?)""";
+
+    private static final String INSERT_NEW_POSITION = """
+            INSERT INTO card_box_position (id, card_id, user_id, current_box, interval_days, due_date, \
+            review_count, lapse_count, created_at, updated_at) VALUES (?, ?, ?, 1, 1, ?, 0, 0, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertFolders(List<FolderRow> rows, int batchSize, LocalDateTime createdAt) {
+        final var timestamp = Timestamp.valueOf(createdAt);
+        this.jdbcTemplate.batchUpdate(INSERT_FOLDER, rows, batchSize, (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setObject(2, row.userId());
+            ps.setObject(3, row.parentFolderId(), Types.OTHER);
+            ps.setString(4, row.name());
+            ps.setString(5, row.description());
+            ps.setInt(6, row.depth());
+            ps.setString(7, row.path());
+            ps.setInt(8, row.sortOrder());
+            ps.setTimestamp(9, timestamp);
+            ps.setTimestamp(10, timestamp);
+        });
+    }
+
+    public void insertDecks(List<DeckRow> rows, int batchSize, LocalDateTime createdAt) {
+        final var timestamp = Timestamp.valueOf(createdAt);
+        this.jdbcTemplate.batchUpdate(INSERT_DECK, rows, batchSize, (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setObject(2, row.userId());
+            ps.setObject(3, row.folderId(), Types.OTHER);
+            ps.setString(4, row.name());
+            ps.setString(5, row.description());
+            ps.setTimestamp(6, timestamp);
+            ps.setTimestamp(7, timestamp);
+        });
+    }
+
+    /**
+     * Insert cards created one microsecond apart from {@code createdAt} on, in list order, so their
+     * (created_at, id) keyset order is the order of {@code rows}.
+     */
+    public void insertCards(List<CardRow> rows, int batchSize, LocalDateTime createdAt) {
+        final var sequence = new AtomicLong();
+        this.jdbcTemplate.batchUpdate(INSERT_CARD, rows, batchSize, (ps, row) -> {
+            final var timestamp = Timestamp.valueOf(createdAt.plus(sequence.getAndIncrement(), ChronoUnit.MICROS));
+            ps.setObject(1, row.id());
+            ps.setObject(2, row.deckId());
+            ps.setString(3, row.front());
+            ps.setString(4, row.back());
+            ps.setTimestamp(5, timestamp);
+            ps.setTimestamp(6, timestamp);
+        });
+    }
+
+    /**
+     * Insert a fresh SRS position (box 1, due on {@code dueDate}) for each card.
+     */
+    public void insertNewCardBoxPositions(List<UUID> cardIds, UUID userId, LocalDate dueDate, int batchSize,
+            LocalDateTime createdAt) {
+        final var timestamp = Timestamp.valueOf(createdAt);
+        final var due = Date.valueOf(dueDate);
+        this.jdbcTemplate.batchUpdate(INSERT_NEW_POSITION, cardIds, batchSize, (ps, cardId) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, cardId);
+            ps.setObject(3, userId);
+            ps.setDate(4, due);
+            ps.setTimestamp(5, timestamp);
+            ps.setTimestamp(6, timestamp);
+        });
+    }
+
+    public record FolderRow(
+            UUID id,
+            UUID userId,
+            UUID parentFolderId,
+            String name,
+            String description,
+            int depth,
+            String path,
+            int sortOrder) {
+    }
+
+    public record DeckRow(
+            UUID id,
+            UUID userId,
+            UUID folderId,
+            String name,
+            String description) {
+    }
+
+    public record CardRow(
+            UUID id,
+            UUID deckId,
+            String front,
+            String back) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.repeatwise.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC batch writes for batch review submission.
+ * Transitions are computed by the caller, so a whole batch is written with one statement per table
+ * instead of a dirty-checked update and an insert per rating.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcReviewBatchRepository {
+
+    private static final String UPDATE_POSITION = """
+            UPDATE card_box_position SET current_box = ?, interval_days = ?, due_date = ?, review_count = ?, \
+            lapse_count = ?, last_reviewed_at = ?, updated_at = ? WHERE id = ?""";
+
+    private static final String INSERT_REVIEW_LOG = """
+            INSERT INTO review_logs (id, card_id, user_id, rating, previous_box, new_box, interval_days, \
+            reviewed_at, client_review_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void updatePositions(List<PositionRow> rows, LocalDateTime updatedAt) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        final var timestamp = Timestamp.valueOf(updatedAt);
+        this.jdbcTemplate.batchUpdate(UPDATE_POSITION, rows, rows.size(), (ps, row) -> {
+            ps.setInt(1, row.currentBox());
+            ps.setInt(2, row.intervalDays());
+            ps.setDate(3, Date.valueOf(row.dueDate()));
+            ps.setInt(4, row.reviewCount());
+            ps.setInt(5, row.lapseCount());
+            ps.setTimestamp(6, Timestamp.valueOf(row.lastReviewedAt()));
+            ps.setTimestamp(7, timestamp);
+            ps.setObject(8, row.id());
+        });
+    }
+
+    public void insertReviewLogs(List<ReviewLogRow> rows, UUID userId) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_REVIEW_LOG, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, row.cardId());
+            ps.setObject(3, userId);
+            ps.setString(4, row.rating());
+            ps.setInt(5, row.previousBox());
+            ps.setInt(6, row.newBox());
+            ps.setInt(7, row.intervalDays());
+            ps.setTimestamp(8, Timestamp.valueOf(row.reviewedAt()));
+            ps.setObject(9, row.clientReviewId());
+        });
+    }
+
+    public record PositionRow(
+            UUID id,
+            int currentBox,
+            int intervalDays,
+            LocalDate dueDate,
+            int reviewCount,
+            int lapseCount,
+            LocalDateTime lastReviewedAt) {
+    }
+
+    public record ReviewLogRow(
+            UUID cardId,
+            String rating,
+            int previousBox,
+            int newBox,
+            int intervalDays,
+            LocalDateTime reviewedAt,
+            UUID clientReviewId) {
+    }
+}
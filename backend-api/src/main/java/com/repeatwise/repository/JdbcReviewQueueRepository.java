@@ -0,0 +1,117 @@
+package com.repeatwise.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC access to the materialized daily review queue ({@code review_queues} and {@code review_queue_items}).
+ * Items are written in session order and removed once reviewed, so the next page is always the lowest positions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcReviewQueueRepository {
+
+    /** Queue date of a header row that has never been filled. */
+    public static final LocalDate NEVER_BUILT = LocalDate.EPOCH;
+
+    private static final String SELECT_STATE = """
+            SELECT u.timezone, q.queue_date, q.total_due, q.remaining_count \
+            FROM users u LEFT JOIN review_queues q ON q.user_id = u.id WHERE u.id = ?""";
+
+    private static final String INSERT_HEADER = """
+            INSERT INTO review_queues (user_id, queue_date) VALUES (?, ?) ON CONFLICT (user_id) DO NOTHING""";
+
+    private static final String LOCK_HEADER = """
+            SELECT queue_date FROM review_queues WHERE user_id = ? FOR UPDATE""";
+
+    private static final String DELETE_ITEMS = """
+            DELETE FROM review_queue_items WHERE user_id = ?""";
+
+    private static final String INSERT_ITEM = """
+            INSERT INTO review_queue_items (user_id, position, card_id) VALUES (?, ?, ?)""";
+
+    private static final String UPDATE_HEADER = """
+            UPDATE review_queues SET queue_date = ?, total_due = ?, remaining_count = ?, built_at = ? \
+            WHERE user_id = ?""";
+
+    private static final String REMOVE_CARDS = """
+            WITH removed AS (
+                DELETE FROM review_queue_items WHERE user_id = ? AND card_id = ANY (?) RETURNING 1
+            )
+            UPDATE review_queues SET remaining_count = remaining_count - (SELECT COUNT(*) FROM removed) \
+            WHERE user_id = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The user's timezone and queue header (queue date {@code null} if no queue exists yet), or empty for an
+     * unknown user.
+     */
+    public Optional<QueueState> findState(UUID userId) {
+        return this.jdbcTemplate.query(SELECT_STATE, (rs, rowNum) -> {
+            final var queueDate = rs.getDate("queue_date");
+            return new QueueState(
+                    rs.getString("timezone"),
+                    queueDate == null ? null : queueDate.toLocalDate(),
+                    rs.getInt("total_due"),
+                    rs.getInt("remaining_count"));
+        }, userId).stream().findFirst();
+    }
+
+    /**
+     * Lock the user's queue header until the end of the transaction, creating it first if needed.
+     *
+     * @return Day the locked queue was built for, {@link #NEVER_BUILT} for a new header
+     */
+    public LocalDate lockQueue(UUID userId) {
+        this.jdbcTemplate.update(INSERT_HEADER, userId, Date.valueOf(NEVER_BUILT));
+        return this.jdbcTemplate.queryForObject(LOCK_HEADER, Date.class, userId).toLocalDate();
+    }
+
+    /**
+     * Replace the items of a locked queue by {@code cardIds} in session order.
+     */
+    public void replaceQueue(UUID userId, LocalDate queueDate, int totalDue, List<UUID> cardIds,
+            LocalDateTime builtAt) {
+        this.jdbcTemplate.update(DELETE_ITEMS, userId);
+        if (!cardIds.isEmpty()) {
+            final var indexes = IntStream.range(0, cardIds.size()).boxed().toList();
+            this.jdbcTemplate.batchUpdate(INSERT_ITEM, indexes, indexes.size(), (ps, index) -> {
+                ps.setObject(1, userId);
+                ps.setInt(2, index + 1);
+                ps.setObject(3, cardIds.get(index));
+            });
+        }
+        this.jdbcTemplate.update(UPDATE_HEADER, Date.valueOf(queueDate), totalDue, cardIds.size(),
+                Timestamp.valueOf(builtAt), userId);
+    }
+
+    /**
+     * Take reviewed cards out of the user's queue and count them off its remaining cards, in one statement.
+     */
+    public void removeCards(UUID userId, Collection<UUID> cardIds) {
+        if (cardIds.isEmpty()) {
+            return;
+        }
+        this.jdbcTemplate.update(REMOVE_CARDS, userId, cardIds.toArray(UUID[]::new), userId);
+    }
+
+    public record QueueState(
+            String timezone,
+            LocalDate queueDate,
+            int totalDue,
+            int remaining) {
+    }
+}
@@ -30,6 +30,25 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
      */
     Optional<RefreshToken> findByToken(String token);
 
+    /**
+     * Find refresh token by its public selector.
+     * Backed by a unique index, so refresh and logout cost a single indexed lookup.
+     *
+     * @param selector Selector part of the refresh token
+     * @return Optional containing refresh token if found
+     */
+    Optional<RefreshToken> findBySelector(String selector);
+
+    /**
+     * Find unexpired refresh tokens issued before the selector/verifier format.
+     * Only used as a fallback for legacy tokens; the set drains within the refresh token lifetime.
+     *
+     * @param now Current timestamp
+     * @return List of legacy refresh tokens
+     */
+    @Query("SELECT rt FROM RefreshToken rt WHERE rt.selector IS NULL AND rt.expiresAt > :now")
+    List<RefreshToken> findUnexpiredLegacyTokens(@Param("now") LocalDateTime now);
+
     /**
      * Find all refresh tokens for a user.
      *
@@ -0,0 +1,22 @@
+package com.repeatwise.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.repeatwise.entity.ReviewLog;
+
+/**
+ * Repository for the review history.
+ */
+@Repository
+public interface ReviewLogRepository extends JpaRepository<ReviewLog, UUID> {
+
+    /**
+     * Ratings already logged under the given client review IDs (batch submission replay).
+     */
+    List<ReviewLog> findByUserIdAndClientReviewIdIn(UUID userId, Collection<UUID> clientReviewIds);
+}
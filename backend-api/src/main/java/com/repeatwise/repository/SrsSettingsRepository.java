@@ -25,6 +25,14 @@ public interface SrsSettingsRepository extends JpaRepository<SrsSettings, UUID>
      */
     Optional<SrsSettings> findByUser(User user);
 
+    /**
+     * Find SRS settings by user ID.
+     *
+     * @param userId User ID
+     * @return Optional containing SRS settings if found
+     */
+    Optional<SrsSettings> findByUserId(UUID userId);
+
     /**
      * Check if SRS settings exist for a user.
      *
@@ -1,8 +1,11 @@
 package com.repeatwise.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -64,4 +67,44 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      * @return true if username exists
      */
     boolean existsByUsername(String username);
+
+    /**
+     * Zone ID stored for a user.
+     *
+     * @param userId User ID
+     * @return Optional containing the zone ID if the user exists
+     */
+    @Query("SELECT u.timezone FROM User u WHERE u.id = :userId")
+    Optional<String> findTimezoneById(@Param("userId") UUID userId);
+
+    /**
+     * Every zone ID in use, for bucketing users by timezone.
+     *
+     * @return Distinct zone IDs
+     */
+    @Query("SELECT DISTINCT u.timezone FROM User u")
+    List<String> findDistinctTimezones();
+
+    /**
+     * Next chunk of IDs of users in the given zones, in ID order after {@code afterId}.
+     *
+     * @param timezones Zone IDs
+     * @param afterId   Last ID of the previous chunk
+     * @param pageable  Chunk size
+     * @return User IDs
+     */
+    @Query("SELECT u.id FROM User u WHERE u.timezone IN :timezones AND u.id > :afterId ORDER BY u.id")
+    List<UUID> findIdsByTimezoneIn(@Param("timezones") Collection<String> timezones,
+            @Param("afterId") UUID afterId,
+            Pageable pageable);
+
+    /**
+     * Next chunk of user IDs in ID order after {@code afterId}.
+     *
+     * @param afterId  Last ID of the previous chunk
+     * @param pageable Chunk size
+     * @return User IDs
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UUID> findIdsAfter(@Param("afterId") UUID afterId, Pageable pageable);
 }
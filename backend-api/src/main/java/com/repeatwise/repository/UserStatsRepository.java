@@ -1,9 +1,15 @@
 package com.repeatwise.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.repeatwise.entity.User;
@@ -25,6 +31,14 @@ public interface UserStatsRepository extends JpaRepository<UserStats, UUID> {
      */
     Optional<UserStats> findByUser(User user);
 
+    /**
+     * Find user statistics by user ID.
+     *
+     * @param userId User ID
+     * @return Optional containing user stats if found
+     */
+    Optional<UserStats> findByUserId(UUID userId);
+
     /**
      * Check if user stats exist for a user.
      *
@@ -39,4 +53,34 @@ public interface UserStatsRepository extends JpaRepository<UserStats, UUID> {
      * @param user User entity
      */
     void deleteByUser(User user);
+
+    /**
+     * Day rollover: clear the daily review counter of the given users who have not studied on {@code today}.
+     *
+     * @return Number of rows updated
+     */
+    @Modifying
+    @Query("""
+            UPDATE UserStats s SET s.cardsReviewedToday = 0, s.updatedAt = LOCAL_DATETIME \
+            WHERE s.user.id IN :userIds AND s.cardsReviewedToday > 0 \
+            AND (s.lastStudyDate IS NULL OR s.lastStudyDate < :today)""")
+    int resetDailyCounters(@Param("userIds") Collection<UUID> userIds, @Param("today") LocalDate today);
+
+    /**
+     * Day rollover: end the streak of the given users whose last study day is before {@code yesterday}.
+     *
+     * @return Number of rows updated
+     */
+    @Modifying
+    @Query("""
+            UPDATE UserStats s SET s.streakDays = 0, s.updatedAt = LOCAL_DATETIME \
+            WHERE s.user.id IN :userIds AND s.streakDays > 0 \
+            AND (s.lastStudyDate IS NULL OR s.lastStudyDate < :yesterday)""")
+    int breakStreaks(@Param("userIds") Collection<UUID> userIds, @Param("yesterday") LocalDate yesterday);
+
+    /**
+     * Users among {@code userIds} who studied on or after {@code since}.
+     */
+    @Query("SELECT s.user.id FROM UserStats s WHERE s.user.id IN :userIds AND s.lastStudyDate >= :since")
+    List<UUID> findUserIdsStudiedSince(@Param("userIds") Collection<UUID> userIds, @Param("since") LocalDate since);
 }
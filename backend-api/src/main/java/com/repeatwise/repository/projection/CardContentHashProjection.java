@@ -0,0 +1,13 @@
+package com.repeatwise.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection for duplicate detection on import: a card id and the 64-bit hash of its content.
+ */
+public interface CardContentHashProjection {
+
+    UUID getId();
+
+    long getContentHash();
+}
@@ -0,0 +1,20 @@
+package com.repeatwise.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection for card content used when duplicating cards (no SRS state).
+ */
+public interface CardContentProjection {
+
+    UUID getId();
+
+    LocalDateTime getCreatedAt();
+
+    UUID getDeckId();
+
+    String getFront();
+
+    String getBack();
+}
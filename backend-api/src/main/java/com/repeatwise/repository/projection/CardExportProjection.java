@@ -0,0 +1,26 @@
+package com.repeatwise.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat projection of a card and the user's SRS position, one export row.
+ * Position fields are null for cards the user has no position for.
+ */
+public interface CardExportProjection {
+
+    UUID getId();
+
+    LocalDateTime getCreatedAt();
+
+    String getFront();
+
+    String getBack();
+
+    Integer getCurrentBox();
+
+    LocalDate getDueDate();
+
+    Integer getReviewCount();
+}
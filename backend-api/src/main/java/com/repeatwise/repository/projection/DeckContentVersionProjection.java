@@ -0,0 +1,16 @@
+package com.repeatwise.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of a deck's exportable content for one user: any card or position change moves the
+ * latest update time, and deletions change the count.
+ */
+public interface DeckContentVersionProjection {
+
+    long getCardCount();
+
+    LocalDateTime getCardsUpdatedAt();
+
+    LocalDateTime getPositionsUpdatedAt();
+}
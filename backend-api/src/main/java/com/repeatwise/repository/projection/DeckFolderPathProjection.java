@@ -0,0 +1,13 @@
+package com.repeatwise.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * A deck and the path of the active folder containing it.
+ */
+public interface DeckFolderPathProjection {
+
+    UUID getDeckId();
+
+    String getPath();
+}
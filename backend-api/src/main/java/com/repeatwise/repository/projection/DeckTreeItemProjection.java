@@ -0,0 +1,22 @@
+package com.repeatwise.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat deck row attached to folder tree nodes.
+ */
+public interface DeckTreeItemProjection {
+
+    UUID getId();
+
+    UUID getFolderId();
+
+    String getName();
+
+    String getDescription();
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getDeletedAt();
+}
@@ -0,0 +1,15 @@
+package com.repeatwise.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection for the rolled-up statistics of one folder, as returned for every folder of a subtree.
+ */
+public interface FolderSubtreeStatsProjection extends FolderCardStatsProjection {
+
+    UUID getFolderId();
+
+    long getTotalFolders();
+
+    long getTotalDecks();
+}
@@ -0,0 +1,28 @@
+package com.repeatwise.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat folder row used to assemble the folder tree without loading entities.
+ */
+public interface FolderTreeNodeProjection {
+
+    UUID getId();
+
+    UUID getParentFolderId();
+
+    String getName();
+
+    String getDescription();
+
+    int getDepth();
+
+    String getPath();
+
+    int getSortOrder();
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getDeletedAt();
+}
@@ -0,0 +1,39 @@
+package com.repeatwise.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One card of a review session with the user's SRS position. Every row also carries the number of due
+ * cards in the scope; when the daily limits leave nothing to review a single row with only that count
+ * and null card fields is returned.
+ */
+public interface ReviewCardProjection {
+
+    Long getTotalDue();
+
+    UUID getCardId();
+
+    UUID getDeckId();
+
+    String getFront();
+
+    String getBack();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Integer getCurrentBox();
+
+    Integer getIntervalDays();
+
+    LocalDate getDueDate();
+
+    Integer getReviewCount();
+
+    Integer getLapseCount();
+
+    LocalDateTime getLastReviewedAt();
+}
@@ -0,0 +1,26 @@
+package com.repeatwise.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * SRS position of a reviewed card, read (and locked) before a batch of ratings is applied.
+ */
+public interface ReviewPositionProjection {
+
+    UUID getPositionId();
+
+    UUID getCardId();
+
+    UUID getDeckId();
+
+    Integer getCurrentBox();
+
+    Integer getIntervalDays();
+
+    LocalDate getDueDate();
+
+    Integer getReviewCount();
+
+    Integer getLapseCount();
+}
@@ -0,0 +1,13 @@
+package com.repeatwise.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last modification time and row count of a user's folders or decks (soft-deleted rows included).
+ */
+public interface TreeSyncStateProjection {
+
+    LocalDateTime getLastModified();
+
+    long getRowCount();
+}
@@ -0,0 +1,50 @@
+package com.repeatwise.security;
+
+import java.util.UUID;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Lightweight principal built from verified JWT claims.
+ * Placed in the SecurityContext instead of the {@code User} entity so authenticated
+ * requests do not need a database round trip; use {@link UserProfileCache} when the
+ * full profile is required.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class AuthenticatedUser {
+
+    private final UUID id;
+    private final String email;
+    private final String username;
+
+    /**
+     * Build principal from verified JWT claims.
+     *
+     * @param claims Verified claims (see {@code JwtService#parseClaims})
+     * @return Principal, or {@code null} if the claims carry no valid user ID
+     */
+    public static AuthenticatedUser fromClaims(Claims claims) {
+        final var userId = claims.get("userId", String.class);
+        if (userId == null) {
+            return null;
+        }
+
+        try {
+            return new AuthenticatedUser(
+                    UUID.fromString(userId),
+                    claims.get("email", String.class),
+                    claims.get("username", String.class));
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.id.toString();
+    }
+}
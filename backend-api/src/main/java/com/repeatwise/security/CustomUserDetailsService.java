@@ -14,7 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Custom UserDetailsService implementation.
- * Loads user from database by user ID (extracted from JWT token).
+ * Loads user from database by user ID for the DAO authentication provider.
+ * Request authentication uses {@link AuthenticatedUser} built from JWT claims and does not call this service.
  */
 @Slf4j
 @Service
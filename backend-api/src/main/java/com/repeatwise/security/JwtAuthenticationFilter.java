@@ -1,18 +1,20 @@
 package com.repeatwise.security;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.repeatwise.exception.RepeatWiseException;
 import com.repeatwise.service.JwtService;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,7 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * JWT Authentication Filter.
  * Extracts JWT token from Authorization header and validates it.
- * If valid, sets authentication in SecurityContext.
+ * If valid, sets an {@link AuthenticatedUser} built from the token claims in SecurityContext.
  */
 @Slf4j
 @Component
@@ -31,7 +33,6 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
 
     @Override
     protected void doFilterInternal(
@@ -49,26 +50,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // Validate token
-            if (!this.jwtService.validateToken(jwt)) {
+            // Validate token and extract claims in a single parse
+            final Claims claims;
+            try {
+                claims = this.jwtService.parseClaims(jwt);
+            } catch (final RepeatWiseException e) {
                 log.warn("Invalid JWT token");
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            // Extract user ID from token
-            final var userId = this.jwtService.extractUserId(jwt);
+            // Build principal from claims (no database lookup)
+            final var principal = AuthenticatedUser.fromClaims(claims);
 
-            // If user ID exists and no authentication in context
-            if ((userId != null) && (SecurityContextHolder.getContext().getAuthentication() == null)) {
-                // Load user details
-                final var userDetails = this.userDetailsService.loadUserByUsername(userId);
-
-                // Create authentication token
+            // If principal exists and no authentication in context
+            if ((principal != null) && (SecurityContextHolder.getContext().getAuthentication() == null)) {
+                // Create authentication token (MVP has no roles/authorities)
                 final var authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal,
                         null,
-                        userDetails.getAuthorities());
+                        List.of());
 
                 // Set details
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -76,7 +77,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // Set authentication in SecurityContext
                 SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                log.debug("Set authentication for user: {}", userId);
+                log.debug("Set authentication for user: {}", principal.getId());
             }
         } catch (final Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
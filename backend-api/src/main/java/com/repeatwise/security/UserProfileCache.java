@@ -0,0 +1,112 @@
+package com.repeatwise.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.dto.response.user.UserResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in, short-TTL cache of user profiles for endpoints that need more than the
+ * {@link AuthenticatedUser} claims. Entries are evicted once profile/password changes commit,
+ * expire after {@code app.security.user-cache-ttl-seconds} and, past
+ * {@code app.security.user-cache-max-entries}, the least recently used entry makes room.
+ * <p>
+ * Every eviction bumps a generation counter; a profile whose load started before an eviction is returned
+ * but not stored, so a load racing a commit cannot put the old row back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserProfileCache {
+
+    private final Map<UUID, CachedProfile> profiles = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation;
+    private final AppProperties appProperties;
+
+    /**
+     * Return cached profile or load it with the given loader.
+     *
+     * @param userId User ID
+     * @param loader Loader invoked on a cache miss or expired entry
+     * @return User profile
+     */
+    public UserResponse get(UUID userId, Function<UUID, UserResponse> loader) {
+        final var now = System.currentTimeMillis();
+        final long loadGeneration;
+        synchronized (this.profiles) {
+            final var cached = this.profiles.get(userId);
+            if ((cached != null) && (cached.expiresAtMillis() > now)) {
+                return cached.profile();
+            }
+            loadGeneration = this.generation;
+        }
+
+        // Loaded outside the lock so a slow query does not block other lookups
+        final var profile = loader.apply(userId);
+        final var security = this.appProperties.getSecurity();
+        final var ttlMillis = security.getUserCacheTtlSeconds() * 1000L;
+        synchronized (this.profiles) {
+            // An eviction during the load may have committed a newer row than the one just read
+            if (this.generation == loadGeneration) {
+                this.profiles.put(userId, new CachedProfile(profile, now + ttlMillis));
+                evictOverflow(security.getUserCacheMaxEntries(), now);
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Remove cached profile (call after the user entity changes). Inside a transaction the entry is
+     * removed once it commits, so a concurrent lookup cannot cache the old row again in between.
+     *
+     * @param userId User ID
+     */
+    public void evict(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(userId);
+            }
+        });
+    }
+
+    private void remove(UUID userId) {
+        synchronized (this.profiles) {
+            this.generation++;
+            this.profiles.remove(userId);
+        }
+    }
+
+    /**
+     * Drop expired entries, then least recently used ones, until the cache fits its bound.
+     */
+    private void evictOverflow(int maxEntries, long now) {
+        if (this.profiles.size() <= maxEntries) {
+            return;
+        }
+        this.profiles.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        final var iterator = this.profiles.values().iterator();
+        while ((this.profiles.size() > maxEntries) && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        log.debug("User profile cache trimmed to {} entries", this.profiles.size());
+    }
+
+    private record CachedProfile(UserResponse profile, long expiresAtMillis) {
+    }
+}
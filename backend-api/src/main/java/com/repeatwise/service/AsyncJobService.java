@@ -2,6 +2,7 @@ package com.repeatwise.service;
 
 import java.util.UUID;
 
+import com.repeatwise.dto.response.job.AsyncJobResponseDto;
 import com.repeatwise.entity.AsyncJob;
 import com.repeatwise.enums.AsyncJobStatus;
 import com.repeatwise.enums.AsyncJobType;
@@ -19,6 +20,11 @@ public interface AsyncJobService {
 
     AsyncJobResponse toResponse(AsyncJob job);
 
+    /**
+     * DTO của job cho API: đường dẫn file được thay bằng URL tải về.
+     */
+    AsyncJobResponseDto toDto(AsyncJob job);
+
     /**
      * DTO trả về cho client.
      */
@@ -26,6 +32,7 @@ public interface AsyncJobService {
             UUID jobId,
             AsyncJobType jobType,
             AsyncJobStatus status,
+            UUID folderId,
             Integer totalRows,
             Integer processedRows,
             Integer successCount,
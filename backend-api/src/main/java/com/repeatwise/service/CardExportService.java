@@ -1,6 +1,9 @@
 package com.repeatwise.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.UUID;
 
 import org.springframework.core.io.Resource;
@@ -15,36 +18,68 @@ import com.repeatwise.enums.ExportScope;
 public interface CardExportService {
 
     /**
-     * Export đồng bộ (<= ngưỡng) trả về file Resource.
+     * Export đồng bộ (<= ngưỡng): trả về file kết quả để gửi trong response.
      */
     ExportResult exportSync(UUID deckId, UUID userId, ExportFormat format, ExportScope scope);
 
+    /**
+     * Chuẩn bị export: kiểm tra deck và tính khóa nội dung (dùng làm ETag) mà chưa đếm thẻ hay sinh file.
+     */
+    ExportRequest prepareExport(UUID deckId, UUID userId, ExportFormat format, ExportScope scope);
+
     /**
      * Quyết định sync/async dựa trên kích thước dữ liệu.
      */
-    ExportResponse exportCards(UUID deckId, UUID userId, ExportFormat format, ExportScope scope);
+    ExportResponse exportCards(ExportRequest request);
 
     /**
      * Khởi tạo job export bất đồng bộ (> ngưỡng).
      */
     AsyncJob startAsyncExport(UUID deckId, UUID userId, ExportFormat format, ExportScope scope);
 
+    /**
+     * Khởi tạo job export toàn bộ deck trong cây thư mục: ZIP gồm một CSV mỗi deck, hoặc XLSX một sheet
+     * mỗi deck.
+     */
+    AsyncJob startFolderExport(UUID folderId, UUID userId, ExportFormat format, ExportScope scope);
+
     /**
      * Tải file export đã sinh.
      */
     Resource loadExportFile(UUID jobId, UUID userId);
 
+    /**
+     * Ghi nội dung export trực tiếp ra stream đích; không đóng stream.
+     */
+    @FunctionalInterface
+    interface ExportWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Export đã chuẩn bị: {@code today} là ngày dùng cho cả khóa nội dung và bộ lọc DUE_ONLY,
+     * {@code contentKey} là khóa nội dung của bản export.
+     */
+    record ExportRequest(
+            UUID deckId,
+            UUID userId,
+            ExportFormat format,
+            ExportScope scope,
+            LocalDate today,
+            String contentKey) {
+    }
+
     /**
      * Thông tin export đồng bộ.
      */
     record ExportResult(
-            Resource resource,
+            Resource file,
             String filename,
             String contentType,
-            long size,
             UUID jobId,
             Path filePath,
-            long totalRows) {
+            long totalRows,
+            String etag) {
     }
 
     record ExportResponse(
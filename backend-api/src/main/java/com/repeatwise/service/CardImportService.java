@@ -41,6 +41,15 @@ public interface CardImportService {
      */
     AsyncJob startAsyncImport(UUID deckId, UUID userId, MultipartFile file, DuplicateHandlingPolicy policy);
 
+    /**
+     * Tiếp tục job import đã hết thời gian hoặc thất bại từ checkpoint cuối cùng.
+     *
+     * @param jobId  mã job import
+     * @param userId người dùng
+     * @return job đã được đưa lại vào hàng đợi
+     */
+    AsyncJob resumeImport(UUID jobId, UUID userId);
+
     /**
      * Lấy resource báo cáo lỗi.
      */
@@ -6,8 +6,6 @@ import java.util.UUID;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.repeatwise.enums.ExportFormat;
-
 /**
  * Service lưu trữ file cho import/export.
  */
@@ -17,7 +15,15 @@ public interface FileStorageService {
 
     Path resolveImportErrorReport(UUID jobId);
 
-    Path resolveExportFile(UUID jobId, ExportFormat format);
+    /**
+     * Thư mục chứa file export đã sinh, đặt tên theo khóa nội dung.
+     */
+    Path resolveExportDir();
+
+    /**
+     * Thư mục chứa file export của folder, đặt tên theo job; nằm ngoài bộ nhớ đệm export.
+     */
+    Path resolveFolderExportDir();
 
     Resource loadAsResource(Path path);
 
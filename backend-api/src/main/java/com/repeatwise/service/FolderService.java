@@ -1,5 +1,6 @@
 package com.repeatwise.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -8,6 +9,8 @@ import com.repeatwise.dto.request.folder.MoveFolderRequest;
 import com.repeatwise.dto.request.folder.UpdateFolderRequest;
 import com.repeatwise.dto.response.folder.FolderResponse;
 import com.repeatwise.dto.response.folder.FolderStatsResponse;
+import com.repeatwise.dto.response.folder.FolderTreeResponse;
+import com.repeatwise.entity.AsyncJob;
 import com.repeatwise.entity.Folder;
 
 /**
@@ -45,15 +48,16 @@ public interface FolderService {
     FolderResponse moveFolder(UUID folderId, MoveFolderRequest request, UUID userId);
 
     /**
-     * UC-010: Copy a folder and its subtree (sync mode for small folders)
+     * UC-010: Copy a folder and its subtree. Small folders are copied synchronously,
+     * larger ones (up to the copy limit) in a background job.
      *
      * @param folderId            ID of the folder to copy
      * @param destinationFolderId ID of the destination parent folder (null for root)
      * @param newName             Optional new name for copied folder
      * @param userId              ID of the authenticated user
-     * @return FolderResponse with copied folder details
+     * @return Copied folder (sync) or the job performing the copy (async)
      */
-    FolderResponse copyFolder(UUID folderId, UUID destinationFolderId, String newName, UUID userId);
+    CopyResult copyFolder(UUID folderId, UUID destinationFolderId, String newName, UUID userId);
 
     /**
      * UC-011: Soft delete a folder and its entire subtree
@@ -64,6 +68,15 @@ public interface FolderService {
      */
     DeletionSummary deleteFolder(UUID folderId, UUID userId);
 
+    /**
+     * UC-011: Soft delete a folder subtree in a background job (for very large trees)
+     *
+     * @param folderId ID of the folder to delete
+     * @param userId   ID of the authenticated user
+     * @return Pending job whose progress is exposed through the job API
+     */
+    AsyncJob startDeleteFolderJob(UUID folderId, UUID userId);
+
     /**
      * Get a single folder by ID
      *
@@ -81,6 +94,24 @@ public interface FolderService {
      */
     List<FolderResponse> getAllFolders(UUID userId);
 
+    /**
+     * Current version of a user's folder tree, read without loading the tree
+     *
+     * @param userId ID of the authenticated user
+     * @return ETag and sync cursor of the tree
+     */
+    TreeVersion getTreeVersion(UUID userId);
+
+    /**
+     * Get the folder tree of a user with its decks, or only the changes after a sync cursor
+     *
+     * @param userId  ID of the authenticated user
+     * @param since   Cursor returned by a previous call (null for the full tree)
+     * @param version Tree version read before the tree, its cursor is returned to the client
+     * @return Nested tree (full) or changed and removed items (delta)
+     */
+    FolderTreeResponse getFolderTree(UUID userId, LocalDateTime since, TreeVersion version);
+
     /**
      * Get all root-level folders for a user
      *
@@ -107,6 +138,15 @@ public interface FolderService {
      */
     FolderResponse restoreFolder(UUID folderId, UUID userId);
 
+    /**
+     * Restore a soft-deleted folder subtree in a background job (for very large trees)
+     *
+     * @param folderId ID of the folder to restore
+     * @param userId   ID of the authenticated user
+     * @return Pending job whose progress is exposed through the job API
+     */
+    AsyncJob startRestoreFolderJob(UUID folderId, UUID userId);
+
     /**
      * Get folder entity by ID (internal use)
      *
@@ -132,6 +172,27 @@ public interface FolderService {
     record DeletionSummary(
             int deletedFolders,
             int deletedDecks,
+            int deletedCards,
             String message) {
     }
+
+    /**
+     * Version of a folder tree: ETag for conditional requests and cursor for delta sync
+     */
+    record TreeVersion(
+            String etag,
+            LocalDateTime cursor) {
+    }
+
+    /**
+     * Result of a copy: either the copied folder or the background job copying it
+     */
+    record CopyResult(
+            FolderResponse folder,
+            AsyncJob job) {
+
+        public boolean isAsync() {
+            return this.job != null;
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.repeatwise.service;
+
+import java.util.UUID;
+
+import com.repeatwise.entity.Folder;
+import com.repeatwise.entity.FolderStats;
+
+/**
+ * Folder statistics counters (UC-012).
+ * Counters are kept up to date from domain events; the methods here compute them from scratch.
+ */
+public interface FolderStatsService {
+
+    /**
+     * Compute statistics of a folder subtree from its folders, decks and cards without storing them
+     *
+     * @param userId ID of the folder owner
+     * @param folder Root of the subtree
+     * @return Unsaved FolderStats with all counters filled
+     */
+    FolderStats computeStats(UUID userId, Folder folder);
+
+    /**
+     * Recompute and store the counters of every folder in a subtree, in the caller's transaction
+     *
+     * @param userId ID of the folder owner
+     * @param path   Path of the subtree root
+     */
+    void rebuildSubtree(UUID userId, String path);
+
+    /**
+     * Same as {@link #rebuildSubtree(UUID, String)} in a transaction of its own,
+     * for explicit refreshes requested from read-only callers
+     *
+     * @param userId ID of the folder owner
+     * @param path   Path of the subtree root
+     */
+    void refreshSubtree(UUID userId, String path);
+}
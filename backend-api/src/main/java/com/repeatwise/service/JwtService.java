@@ -3,6 +3,8 @@ package com.repeatwise.service;
 import com.repeatwise.entity.User;
 import com.repeatwise.exception.RepeatWiseException;
 
+import io.jsonwebtoken.Claims;
+
 /**
  * Service interface for JWT token operations.
  * Handles generation and validation of access tokens.
@@ -19,6 +21,18 @@ public interface JwtService {
      */
     String generateAccessToken(User user);
 
+    /**
+     * Verify JWT token and return its claims in a single parse.
+     * Checks signature, expiration, issuer, and audience.
+     * Prefer this over calling {@link #validateToken(String)} and the extract methods separately,
+     * since each of those parses the token again.
+     *
+     * @param token JWT token
+     * @return Verified claims
+     * @throws RepeatWiseException if token is invalid or expired
+     */
+    Claims parseClaims(String token);
+
     /**
      * Extract user ID from JWT token.
      *
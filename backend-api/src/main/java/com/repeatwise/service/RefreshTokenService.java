@@ -12,7 +12,7 @@ public interface RefreshTokenService {
 
     /**
      * Generate and save a new refresh token for user.
-     * Token is hashed with BCrypt before storing in database.
+     * Token has the form {@code <selector>.<verifier>}; only a SHA-256 hash of the verifier is stored.
      * Expires in 7 days.
      *
      * @param user       User to generate token for
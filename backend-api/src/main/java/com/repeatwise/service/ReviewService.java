@@ -0,0 +1,45 @@
+package com.repeatwise.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.repeatwise.dto.request.review.ReviewCardRequest;
+import com.repeatwise.dto.response.review.ReviewBatchResponse;
+import com.repeatwise.dto.response.review.ReviewSessionResponse;
+import com.repeatwise.enums.ReviewScope;
+
+/**
+ * Service ôn tập thẻ theo SRS.
+ */
+public interface ReviewService {
+
+    /**
+     * Lấy phiên ôn tập: các thẻ đến hạn trong phạm vi (toàn bộ, thư mục hoặc deck), giới hạn theo số thẻ mới
+     * và số lượt ôn còn lại trong ngày, sắp xếp theo thứ tự ôn trong cài đặt SRS.
+     *
+     * @param scopeId ID thư mục (FOLDER) hoặc deck (DECK); bỏ qua với ALL
+     */
+    ReviewSessionResponse getReviewSession(UUID userId, ReviewScope scope, UUID scopeId);
+
+    /**
+     * Lấy trang tiếp theo của hàng đợi ôn tập trong ngày (toàn bộ thẻ). Hàng đợi được chọn một lần cho mỗi
+     * ngày theo múi giờ của người dùng, ở lần truy cập đầu tiên trong ngày; thẻ đã đánh giá được bỏ khỏi hàng
+     * đợi.
+     *
+     * @param limit Số thẻ tối đa của trang
+     */
+    ReviewSessionResponse getReviewQueue(UUID userId, int limit);
+
+    /**
+     * Chọn trước hàng đợi ôn tập của ngày hiện tại theo múi giờ của người dùng nếu chưa có; gọi bởi job
+     * chuyển ngày để lần truy cập đầu tiên trong ngày không phải dựng hàng đợi.
+     */
+    void prepareReviewQueue(UUID userId);
+
+    /**
+     * Áp dụng một loạt đánh giá (thường được ghi offline) theo đúng thứ tự gửi lên, trong một transaction.
+     * Mỗi đánh giá mang reviewId do client sinh ra: gửi lại cùng reviewId trả về kết quả đã ghi thay vì áp
+     * dụng lần nữa. Thẻ không còn tồn tại được bỏ qua, không làm hỏng cả batch.
+     */
+    ReviewBatchResponse submitReviews(UUID userId, List<ReviewCardRequest> reviews);
+}
@@ -11,6 +11,15 @@ import com.repeatwise.dto.response.user.UserResponse;
  */
 public interface UserService {
 
+    /**
+     * Get current user profile.
+     * Served from a short-TTL cache, so it may lag a concurrent update by a few seconds.
+     *
+     * @param userId User ID from authenticated context
+     * @return User profile
+     */
+    UserResponse getProfile(UUID userId);
+
     /**
      * Update user profile (UC-005).
      * Updates name, timezone, language, and theme.
@@ -5,10 +5,12 @@ import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.repeatwise.dto.response.job.AsyncJobResponseDto;
 import com.repeatwise.entity.AsyncJob;
 import com.repeatwise.enums.AsyncJobStatus;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.job.JobProgressRegistry;
 import com.repeatwise.repository.AsyncJobRepository;
 import com.repeatwise.service.AsyncJobService;
 
@@ -22,6 +24,7 @@ import lombok.RequiredArgsConstructor;
 public class AsyncJobServiceImpl implements AsyncJobService {
 
     private final AsyncJobRepository asyncJobRepository;
+    private final JobProgressRegistry jobProgressRegistry;
 
     @Override
     @Transactional(readOnly = true)
@@ -46,29 +49,63 @@ public class AsyncJobServiceImpl implements AsyncJobService {
         return this.asyncJobRepository.save(job);
     }
 
+    /**
+     * Counters of a job still running on this instance come from the in-memory registry, which is ahead of
+     * the periodically flushed row.
+     */
     @Override
     public AsyncJobResponse toResponse(AsyncJob job) {
-        final var total = safe(job.getTotalRows());
-        final var processed = safe(job.getProcessedRows());
-        final var success = safe(job.getSuccessCount());
-        final var skipped = safe(job.getSkippedCount());
-        final var failed = safe(job.getFailedCount());
+        final var live = job.getStatus().isTerminal() ? null : this.jobProgressRegistry.find(job.getId()).orElse(null);
+        final var snapshot = live != null ? live.snapshot() : null;
+        final var total = snapshot != null ? snapshot.totalRows() : safe(job.getTotalRows());
+        final var processed = snapshot != null ? snapshot.processedRows() : safe(job.getProcessedRows());
+        final var success = snapshot != null ? snapshot.successCount() : safe(job.getSuccessCount());
+        final var skipped = snapshot != null ? snapshot.skippedCount() : safe(job.getSkippedCount());
+        final var failed = snapshot != null ? snapshot.failedCount() : safe(job.getFailedCount());
         final var progress = total > 0 ? Math.min(100, (processed * 100) / total) : null;
         return new AsyncJobResponse(
                 job.getId(),
                 job.getJobType(),
                 job.getStatus(),
+                job.getFolderId(),
                 nullable(total),
                 nullable(processed),
                 nullable(success),
                 nullable(skipped),
                 nullable(failed),
                 progress,
-                job.getMessage(),
+                live != null ? this.jobProgressRegistry.message(live, snapshot) : job.getMessage(),
                 job.getResultPath(),
                 job.getErrorReportPath());
     }
 
+    @Override
+    public AsyncJobResponseDto toDto(AsyncJob job) {
+        final var response = toResponse(job);
+        final String jobIdStr = response.jobId().toString();
+        final String downloadUrl = response.resultPath() != null
+                ? "/v1/exports/%s/download".formatted(jobIdStr)
+                : null;
+        final String errorReportUrl = response.errorReportPath() != null
+                ? "/v1/imports/%s/error-report".formatted(jobIdStr)
+                : null;
+        return AsyncJobResponseDto.builder()
+                .jobId(jobIdStr)
+                .jobType(response.jobType().name())
+                .status(response.status().name())
+                .folderId(response.folderId() != null ? response.folderId().toString() : null)
+                .totalRows(response.totalRows())
+                .processedRows(response.processedRows())
+                .successCount(response.successCount())
+                .skippedCount(response.skippedCount())
+                .failedCount(response.failedCount())
+                .progress(response.progress())
+                .message(response.message())
+                .downloadUrl(downloadUrl)
+                .errorReportUrl(errorReportUrl)
+                .build();
+    }
+
     private int safe(Integer value) {
         return value == null ? 0 : value;
     }
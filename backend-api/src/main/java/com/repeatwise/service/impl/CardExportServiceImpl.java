@@ -1,50 +1,82 @@
 package com.repeatwise.service.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.WorkbookUtil;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import com.repeatwise.config.properties.AppProperties;
 import com.repeatwise.entity.AsyncJob;
-import com.repeatwise.entity.Card;
-import com.repeatwise.entity.CardBoxPosition;
 import com.repeatwise.entity.Deck;
+import com.repeatwise.entity.Folder;
 import com.repeatwise.enums.AsyncJobStatus;
 import com.repeatwise.enums.AsyncJobType;
 import com.repeatwise.enums.ExportFormat;
 import com.repeatwise.enums.ExportScope;
+import com.repeatwise.event.AsyncJobChangedEvent;
 import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.export.ExportResultCache;
 import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.job.JobProgressRegistry;
 import com.repeatwise.repository.AsyncJobRepository;
+import com.repeatwise.repository.CardBoxPositionRepository;
 import com.repeatwise.repository.CardRepository;
 import com.repeatwise.repository.DeckRepository;
+import com.repeatwise.repository.FolderRepository;
+import com.repeatwise.repository.projection.CardExportProjection;
 import com.repeatwise.service.CardExportService;
 import com.repeatwise.service.FileStorageService;
 
@@ -61,65 +93,82 @@ public class CardExportServiceImpl implements CardExportService {
             "Front", "Back", "Box", "DueDate", "ReviewCount", "Status", "CreatedAt"
     };
 
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int XLSX_ROW_WINDOW = 100;
+    private static final int MAX_SHEET_NAME = 31;
+
+    /** Part of every export cache key; bump when the layout of exported files changes. */
+    private static final int EXPORT_LAYOUT_VERSION = 1;
+
+    /** Keyset cursor before the first card of any deck. */
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID KEYSET_START_ID = new UUID(0L, 0L);
+
     private static final DateTimeFormatter FILE_TS_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
 
     private final DeckRepository deckRepository;
     private final CardRepository cardRepository;
+    private final FolderRepository folderRepository;
+    private final CardBoxPositionRepository cardBoxPositionRepository;
     private final AsyncJobRepository asyncJobRepository;
     private final FileStorageService fileStorageService;
     private final MessageSource messageSource;
     private final AppProperties appProperties;
     private final TransactionTemplate transactionTemplate;
     private final Executor jobExecutor;
+    private final Executor exportReadExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JobProgressRegistry jobProgressRegistry;
+    private final ExportResultCache exportResultCache;
 
     public CardExportServiceImpl(
             DeckRepository deckRepository,
             CardRepository cardRepository,
+            FolderRepository folderRepository,
+            CardBoxPositionRepository cardBoxPositionRepository,
             AsyncJobRepository asyncJobRepository,
             FileStorageService fileStorageService,
             MessageSource messageSource,
             AppProperties appProperties,
             PlatformTransactionManager transactionManager,
-            @Qualifier("jobTaskExecutor") Executor jobExecutor) {
+            @Qualifier("jobTaskExecutor") Executor jobExecutor,
+            @Qualifier("exportReadExecutor") Executor exportReadExecutor,
+            ApplicationEventPublisher eventPublisher,
+            JobProgressRegistry jobProgressRegistry,
+            ExportResultCache exportResultCache) {
         this.deckRepository = deckRepository;
         this.cardRepository = cardRepository;
+        this.folderRepository = folderRepository;
+        this.cardBoxPositionRepository = cardBoxPositionRepository;
         this.asyncJobRepository = asyncJobRepository;
         this.fileStorageService = fileStorageService;
         this.messageSource = messageSource;
         this.appProperties = appProperties;
         this.transactionTemplate = new TransactionTemplate(transactionManager);
         this.jobExecutor = jobExecutor;
+        this.exportReadExecutor = exportReadExecutor;
+        this.eventPublisher = eventPublisher;
+        this.jobProgressRegistry = jobProgressRegistry;
+        this.exportResultCache = exportResultCache;
     }
 
     @Override
     public ExportResult exportSync(UUID deckId, UUID userId, ExportFormat format, ExportScope scope) {
         final var deck = getDeckOrThrow(deckId, userId);
         final var limits = this.appProperties.getLimits();
-        final var total = countCards(deckId, userId, scope);
+        final var today = LocalDate.now();
+        final var total = countCards(deckId, userId, scope, today);
         validateCounts(total, limits);
 
-        final var cards = loadCards(deckId, userId, scope);
-        final byte[] data = switch (format) {
-        case CSV -> generateCsv(cards, userId);
-        case XLSX -> generateXlsx(cards, userId);
-        };
-        final var filename = buildFilename(deck.getName(), format);
-        final var contentType = format.getContentType();
-        return new ExportResult(
-                new ByteArrayResource(data),
-                filename,
-                contentType,
-                data.length,
-                null,
-                null,
-                total);
+        final var key = cacheKey(deckId, userId, format, scope, today);
+        return syncResult(deck, userId, format, scope, today, total, key, this.exportResultCache.find(key, format));
     }
 
     @Override
     public AsyncJob startAsyncExport(UUID deckId, UUID userId, ExportFormat format, ExportScope scope) {
         final var locale = LocaleContextHolder.getLocale();
         final var limits = this.appProperties.getLimits();
-        final var total = countCards(deckId, userId, scope);
+        final var total = countCards(deckId, userId, scope, LocalDate.now());
         validateCounts(total, limits);
 
         if (total == 0L) {
@@ -131,8 +180,30 @@ public class CardExportServiceImpl implements CardExportService {
                     "Use synchronous export for small datasets");
         }
 
-        final var job = createExportJob(deckId, userId, format, scope, total);
-        submitAsyncExport(job.getId(), locale);
+        final var job = createExportJob(AsyncJobType.EXPORT_CARDS, deckId, null, userId, format, scope, total);
+        submitAsyncExport(job.getId(), userId, locale);
+        return job;
+    }
+
+    @Override
+    public AsyncJob startFolderExport(UUID folderId, UUID userId, ExportFormat format, ExportScope scope) {
+        final var locale = LocaleContextHolder.getLocale();
+        final var folder = this.folderRepository.findByIdAndUserId(folderId, userId)
+                .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.FOLDER_NOT_FOUND, folderId));
+        final var limits = this.appProperties.getLimits();
+        final var total = scope == ExportScope.DUE_ONLY
+                ? this.cardBoxPositionRepository.countDueInFolderSubtree(userId, folder.getPath(), LocalDate.now())
+                : this.cardRepository.countActiveInFolderSubtree(userId, folder.getPath());
+        if (total > limits.getMaxFolderExportRows()) {
+            throw new RepeatWiseException(RepeatWiseError.EXPORT_TOO_MANY_CARDS, total,
+                    limits.getMaxFolderExportRows());
+        }
+        if (total == 0L) {
+            throw new RepeatWiseException(RepeatWiseError.RESOURCE_NOT_FOUND, message("export.no.cards"));
+        }
+
+        final var job = createExportJob(AsyncJobType.EXPORT_FOLDER, null, folderId, userId, format, scope, total);
+        this.jobExecutor.execute(() -> runFolderExport(job.getId(), userId, locale));
         return job;
     }
 
@@ -141,67 +212,273 @@ public class CardExportServiceImpl implements CardExportService {
         final var job = this.asyncJobRepository.findByIdAndUserId(jobId, userId)
                 .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
         final var path = job.getResultPath();
-        if (path == null) {
+        if (path == null || !Files.exists(Path.of(path))) {
+            // Deck results live in the export cache and may have been evicted
             throw new RepeatWiseException(RepeatWiseError.EXPORT_FILE_EXPIRED);
         }
         return this.fileStorageService.loadAsResource(Path.of(path));
     }
 
     @Override
-    public ExportResponse exportCards(UUID deckId, UUID userId, ExportFormat format, ExportScope scope) {
+    public ExportRequest prepareExport(UUID deckId, UUID userId, ExportFormat format, ExportScope scope) {
+        getDeckOrThrow(deckId, userId);
+        final var today = LocalDate.now();
+        return new ExportRequest(deckId, userId, format, scope, today,
+                cacheKey(deckId, userId, format, scope, today));
+    }
+
+    @Override
+    public ExportResponse exportCards(ExportRequest request) {
         final var limits = this.appProperties.getLimits();
-        final var total = countCards(deckId, userId, scope);
+        final var deckId = request.deckId();
+        final var userId = request.userId();
+        final var total = countCards(deckId, userId, request.scope(), request.today());
         validateCounts(total, limits);
 
-        if (total == 0) {
-            final var result = exportSync(deckId, userId, format, scope);
-            return new ExportResponse(result, null);
-        }
-
-        if (total > limits.getExportSyncThreshold()) {
-            final var job = startAsyncExport(deckId, userId, format, scope);
+        // A stored result is served right away, whatever the size of the deck
+        final var cached = this.exportResultCache.find(request.contentKey(), request.format());
+        if (cached.isEmpty() && total > limits.getExportSyncThreshold()) {
+            final var job = startAsyncExport(deckId, userId, request.format(), request.scope());
             return new ExportResponse(null, job);
         }
 
-        final var result = exportSync(deckId, userId, format, scope);
+        final var deck = getDeckOrThrow(deckId, userId);
+        final var result = syncResult(deck, userId, request.format(), request.scope(), request.today(), total,
+                request.contentKey(), cached);
         return new ExportResponse(result, null);
     }
 
-    private void submitAsyncExport(UUID jobId, Locale locale) {
-        this.jobExecutor.execute(() -> runAsyncExport(jobId, locale));
+    private ExportResult syncResult(Deck deck, UUID userId, ExportFormat format, ExportScope scope, LocalDate today,
+            long total, String key, Optional<Path> cached) {
+        final var path = cached.orElseGet(() -> this.exportResultCache.store(key, format,
+                out -> writeExport(format, new ExportRows(deck.getId(), userId, scope, today, page -> { }), out)));
+        // Found or stored just now, so the cache keeps the file while the response is being sent
+        return new ExportResult(
+                this.fileStorageService.loadAsResource(path),
+                buildFilename(deck.getName(), format),
+                format.getContentType(),
+                null,
+                path,
+                total,
+                key);
+    }
+
+    /**
+     * Key of the export result for the deck's current content. DUE_ONLY results also depend on {@code today},
+     * the same day their rows are filtered by.
+     */
+    private String cacheKey(UUID deckId, UUID userId, ExportFormat format, ExportScope scope, LocalDate today) {
+        final var version = this.cardRepository.findContentVersion(deckId, userId);
+        var contentVersion = String.join(":", String.valueOf(EXPORT_LAYOUT_VERSION),
+                String.valueOf(version.getCardCount()),
+                String.valueOf(version.getCardsUpdatedAt()),
+                String.valueOf(version.getPositionsUpdatedAt()));
+        if (scope == ExportScope.DUE_ONLY) {
+            contentVersion += ":" + today;
+        }
+        return ExportResultCache.key(deckId, userId, format, scope, contentVersion);
     }
 
-    private void runAsyncExport(UUID jobId, Locale locale) {
+    private void submitAsyncExport(UUID jobId, UUID userId, Locale locale) {
+        this.jobExecutor.execute(() -> runAsyncExport(jobId, userId, locale));
+    }
+
+    private void runAsyncExport(UUID jobId, UUID userId, Locale locale) {
         LocaleContextHolder.setLocale(locale);
         try {
-            this.transactionTemplate.executeWithoutResult(status -> {
-                final var job = this.asyncJobRepository.findById(jobId)
-                        .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
-                job.setStatus(AsyncJobStatus.RUNNING);
-                job.setStartedAt(LocalDateTime.now());
-                job.setMessage(message("export.running"));
-                this.asyncJobRepository.save(job);
-
-                final var cards = loadCards(job.getDeckId(), job.getUserId(), ExportScope.valueOf(job.getExportScope()));
-                final var format = ExportFormat.valueOf(job.getExportFormat());
-                final var path = this.fileStorageService.resolveExportFile(jobId, format);
-                writeFile(format, cards, job.getUserId(), path);
-
-                job.setStatus(AsyncJobStatus.COMPLETED);
-                job.setCompletedAt(LocalDateTime.now());
-                job.setResultPath(path.toString());
-                job.setSuccessCount(cards.size());
-                job.setProcessedRows(cards.size());
-                job.setMessage(message("export.completed"));
-                this.asyncJobRepository.save(job);
-            });
+            final var job = markExportRunning(jobId);
+            final var total = Optional.ofNullable(job.getTotalRows()).orElse(0);
+            final var progress = this.jobProgressRegistry.track(jobId, userId, total, "export.running", locale);
+            final var processed = new AtomicInteger();
+            final var scope = ExportScope.valueOf(job.getExportScope());
+            final var today = LocalDate.now();
+            final var rows = new ExportRows(job.getDeckId(), userId, scope, today,
+                    page -> progress.update(processed.addAndGet(page), total));
+            final var format = ExportFormat.valueOf(job.getExportFormat());
+            final var key = cacheKey(job.getDeckId(), userId, format, scope, today);
+            final var path = this.exportResultCache.store(key, format, out -> writeExport(format, rows, out));
+
+            markExportCompleted(jobId, path, rows.read());
             log.info("Export job {} completed", jobId);
         } catch (RepeatWiseException ex) {
             markExportFailed(jobId, ex.getError(), ex.getMessageArgs());
         } catch (Exception ex) {
             log.error("Export job {} failed", jobId, ex);
             markExportFailed(jobId, RepeatWiseError.INTERNAL_SERVER_ERROR);
+        } finally {
+            this.jobProgressRegistry.untrack(jobId);
+            this.eventPublisher.publishEvent(new AsyncJobChangedEvent(userId, jobId));
+        }
+    }
+
+    private void runFolderExport(UUID jobId, UUID userId, Locale locale) {
+        LocaleContextHolder.setLocale(locale);
+        Path temp = null;
+        try {
+            final var job = markExportRunning(jobId);
+            final var total = Optional.ofNullable(job.getTotalRows()).orElse(0);
+            final var progress = this.jobProgressRegistry.track(jobId, userId, total, "export.running", locale);
+            final var processed = new AtomicInteger();
+            final var format = ExportFormat.valueOf(job.getExportFormat());
+            final var scope = ExportScope.valueOf(job.getExportScope());
+            final var decks = this.transactionTemplate.execute(status -> folderExportDecks(job.getFolderId(), userId));
+            // Folder results are named by job and kept out of the export cache, which would evict them; they
+            // are written to a temp file and moved into place so a download never sees a partial archive
+            final var dir = this.fileStorageService.resolveFolderExportDir();
+            temp = Files.createTempFile(dir, jobId + "-", ".tmp");
+
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), WRITE_BUFFER_SIZE);
+                    FolderExportSink sink = format == ExportFormat.CSV ? new ZipSink(out) : new WorkbookSink(out)) {
+                writeFolderExport(decks, userId, scope, LocalDate.now(), sink,
+                        page -> progress.update(processed.addAndGet(page), total));
+            }
+            final var path = dir.resolve(jobId + "." + (format == ExportFormat.CSV ? "zip" : format.getExtension()));
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            markExportCompleted(jobId, path, processed.get());
+            log.info("Folder export job {} completed: {} decks, {} cards", jobId, decks.size(), processed.get());
+        } catch (RepeatWiseException ex) {
+            this.fileStorageService.deleteQuietly(temp);
+            markExportFailed(jobId, ex.getError(), ex.getMessageArgs());
+        } catch (Exception ex) {
+            log.error("Folder export job {} failed", jobId, ex);
+            this.fileStorageService.deleteQuietly(temp);
+            markExportFailed(jobId, RepeatWiseError.EXPORT_GENERATION_FAILED);
+        } finally {
+            this.jobProgressRegistry.untrack(jobId);
+            this.eventPublisher.publishEvent(new AsyncJobChangedEvent(userId, jobId));
+        }
+    }
+
+    /**
+     * Render decks on the read pool and append them to {@code sink} in order. At most
+     * {@code exportParallelism} decks are in flight, each spooled to its own temp CSV, so memory and open
+     * connections stay bounded however large the folder is.
+     */
+    private void writeFolderExport(List<FolderExportDeck> decks, UUID userId, ExportScope scope, LocalDate today,
+            FolderExportSink sink, IntConsumer onPage) throws IOException {
+        final var parallelism = Math.max(1, this.appProperties.getLimits().getExportParallelism());
+        final Deque<CompletableFuture<Path>> window = new ArrayDeque<>();
+        var next = 0;
+        try {
+            for (final FolderExportDeck deck : decks) {
+                while (next < decks.size() && window.size() < parallelism) {
+                    window.add(spoolDeck(decks.get(next++).deckId(), userId, scope, today, onPage));
+                }
+                final var part = awaitPart(window.poll());
+                try {
+                    sink.add(deck.name(), part);
+                } finally {
+                    this.fileStorageService.deleteQuietly(part);
+                }
+            }
+        } finally {
+            // Parts still in flight after a failure are deleted as soon as they finish
+            window.forEach(pending -> pending.thenAccept(this.fileStorageService::deleteQuietly));
+        }
+    }
+
+    private CompletableFuture<Path> spoolDeck(UUID deckId, UUID userId, ExportScope scope, LocalDate today,
+            IntConsumer onPage) {
+        return CompletableFuture.supplyAsync(() -> {
+            Path part = null;
+            try {
+                // The .tmp suffix keeps spooled parts out of export cache eviction
+                part = Files.createTempFile(this.fileStorageService.resolveExportDir(), "deck-", ".tmp");
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), WRITE_BUFFER_SIZE)) {
+                    writeCsv(new ExportRows(deckId, userId, scope, today, onPage), out);
+                }
+                return part;
+            } catch (IOException ex) {
+                this.fileStorageService.deleteQuietly(part);
+                throw new UncheckedIOException(ex);
+            }
+        }, this.exportReadExecutor);
+    }
+
+    private Path awaitPart(CompletableFuture<Path> part) throws IOException {
+        try {
+            return part.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Decks of the folder subtree with their entry names: the folder path from the exported folder down,
+     * then the deck name. Names are sanitized for ZIP entries and made unique.
+     */
+    private List<FolderExportDeck> folderExportDecks(UUID folderId, UUID userId) {
+        final var root = this.folderRepository.findByIdAndUserId(folderId, userId)
+                .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.FOLDER_NOT_FOUND, folderId));
+        final Map<UUID, Folder> folders = this.folderRepository.findSubtree(userId, root.getPath()).stream()
+                .collect(Collectors.toMap(Folder::getId, Function.identity()));
+
+        final var used = new HashSet<String>();
+        return this.deckRepository.findActiveByFolderSubtree(userId, root.getPath()).stream()
+                .map(deck -> new FolderExportDeck(deck.getId(),
+                        entryDirectory(folders.get(deck.getFolder().getId()), root, folders)
+                                + sanitizeEntryName(deck.getName())))
+                .sorted(Comparator.comparing(FolderExportDeck::name))
+                .map(deck -> new FolderExportDeck(deck.deckId(), uniqueName(deck.name(), used)))
+                .toList();
+    }
+
+    private String entryDirectory(Folder folder, Folder root, Map<UUID, Folder> folders) {
+        final var names = new ArrayDeque<String>();
+        var current = folder;
+        while (current != null) {
+            names.push(sanitizeEntryName(current.getName()));
+            if (current.getId().equals(root.getId()) || current.getParentFolder() == null) {
+                break;
+            }
+            current = folders.get(current.getParentFolder().getId());
+        }
+        return String.join("/", names) + "/";
+    }
+
+    private static String sanitizeEntryName(String name) {
+        final var sanitized = name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").strip();
+        return sanitized.isEmpty() || sanitized.chars().allMatch(ch -> ch == '.') ? "_" : sanitized;
+    }
+
+    private static String uniqueName(String name, Set<String> used) {
+        var candidate = name;
+        for (int i = 2; !used.add(candidate.toLowerCase(Locale.ROOT)); i++) {
+            candidate = name + " (" + i + ")";
         }
+        return candidate;
+    }
+
+    private AsyncJob markExportRunning(UUID jobId) {
+        return this.transactionTemplate.execute(status -> {
+            final var found = this.asyncJobRepository.findById(jobId)
+                    .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
+            found.setStatus(AsyncJobStatus.RUNNING);
+            found.setStartedAt(LocalDateTime.now());
+            found.setMessage(message("export.running"));
+            return this.asyncJobRepository.save(found);
+        });
+    }
+
+    private void markExportCompleted(UUID jobId, Path path, int rows) {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            final var found = this.asyncJobRepository.findById(jobId)
+                    .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
+            found.setStatus(AsyncJobStatus.COMPLETED);
+            found.setCompletedAt(LocalDateTime.now());
+            found.setResultPath(path.toString());
+            found.setSuccessCount(rows);
+            found.setProcessedRows(rows);
+            found.setMessage(message("export.completed"));
+            this.asyncJobRepository.save(found);
+        });
     }
 
     private void markExportFailed(UUID jobId, RepeatWiseError error, Object... args) {
@@ -221,101 +498,115 @@ public class CardExportServiceImpl implements CardExportService {
         }
     }
 
-    private long countCards(UUID deckId, UUID userId, ExportScope scope) {
+    private long countCards(UUID deckId, UUID userId, ExportScope scope, LocalDate today) {
         return scope == ExportScope.DUE_ONLY
-                ? this.cardRepository.countDueCardsByDeckIdAndUserId(deckId, userId)
+                ? this.cardRepository.countDueCardsByDeckIdAndUserId(deckId, userId, today)
                 : this.cardRepository.countActiveByDeckIdAndUserId(deckId, userId);
     }
 
-    private List<Card> loadCards(UUID deckId, UUID userId, ExportScope scope) {
-        final var cards = this.cardRepository.findActiveWithPositionsByDeckIdAndUserId(deckId, userId);
-        if (scope == ExportScope.ALL) {
-            return cards;
+    private void writeExport(ExportFormat format, Iterable<CardExportProjection> rows, OutputStream out)
+            throws IOException {
+        switch (format) {
+        case CSV -> writeCsv(rows, out);
+        case XLSX -> writeXlsx(rows, out);
         }
-        final var today = LocalDate.now();
-        return cards.stream()
-                .filter(card -> positionFor(card, userId)
-                        .map(pos -> !pos.getDueDate().isAfter(today))
-                        .orElse(false))
-                .toList();
     }
 
-    private byte[] generateCsv(List<Card> cards, UUID userId) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                Writer writer = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
-                CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
-                        .setHeader(CSV_HEADERS)
-                        .build())) {
-            for (final Card card : cards) {
-                final var position = positionFor(card, userId).orElse(null);
-                printer.printRecord(
-                        card.getFront(),
-                        card.getBack(),
-                        position != null ? position.getCurrentBox() : "",
-                        position != null ? position.getDueDate() : "",
-                        position != null ? position.getReviewCount() : "",
-                        position != null ? statusOf(position) : "",
-                        card.getCreatedAt());
-            }
-            printer.flush();
-            return baos.toByteArray();
-        } catch (IOException ex) {
-            throw new RepeatWiseException(RepeatWiseError.EXPORT_GENERATION_FAILED, ex);
+    /**
+     * Stream rows as CSV. The caller owns {@code out}, so the printer is flushed but not closed.
+     */
+    private void writeCsv(Iterable<CardExportProjection> rows, OutputStream out) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        final var printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
+                .setHeader(CSV_HEADERS)
+                .build());
+        for (final CardExportProjection card : rows) {
+            final var hasPosition = card.getCurrentBox() != null;
+            printer.printRecord(
+                    card.getFront(),
+                    card.getBack(),
+                    hasPosition ? card.getCurrentBox() : "",
+                    hasPosition ? card.getDueDate() : "",
+                    hasPosition ? card.getReviewCount() : "",
+                    hasPosition ? statusOf(card) : "",
+                    card.getCreatedAt());
         }
+        printer.flush();
     }
 
-    private byte[] generateXlsx(List<Card> cards, UUID userId) {
-        try (SXSSFWorkbook workbook = new SXSSFWorkbook();
-                ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            final var sheet = workbook.createSheet("Cards");
-            final var header = sheet.createRow(0);
-            for (int i = 0; i < CSV_HEADERS.length; i++) {
-                final Cell cell = header.createCell(i);
-                cell.setCellValue(CSV_HEADERS[i]);
-            }
-            final CellStyle dateStyle = workbook.createCellStyle();
-            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-MM-dd"));
-
-            var rowIndex = 1;
-            for (final Card card : cards) {
-                final Row row = sheet.createRow(rowIndex++);
-                final var position = positionFor(card, userId).orElse(null);
-                row.createCell(0).setCellValue(card.getFront());
-                row.createCell(1).setCellValue(card.getBack());
-                if (position != null) {
-                    row.createCell(2).setCellValue(position.getCurrentBox());
-                    final var dueCell = row.createCell(3);
-                    dueCell.setCellValue(position.getDueDate());
-                    dueCell.setCellStyle(dateStyle);
-                    row.createCell(4).setCellValue(position.getReviewCount());
-                    row.createCell(5).setCellValue(statusOf(position));
+    /**
+     * Stream rows as XLSX. Only {@link #XLSX_ROW_WINDOW} rows stay in memory; older rows are spilled to a
+     * compressed temp file that is deleted once the workbook has been written to {@code out}.
+     */
+    private void writeXlsx(Iterable<CardExportProjection> rows, OutputStream out) throws IOException {
+        try (SXSSFWorkbook workbook = newWorkbook()) {
+            try {
+                final var sheet = createCardSheet(workbook, "Cards");
+                final var dateStyle = dateStyle(workbook);
+                var rowIndex = 1;
+                for (final CardExportProjection card : rows) {
+                    final var hasPosition = card.getCurrentBox() != null;
+                    fillRow(sheet.createRow(rowIndex++), dateStyle, card.getFront(), card.getBack(),
+                            card.getCurrentBox(), hasPosition ? card.getDueDate() : null,
+                            card.getReviewCount(), hasPosition ? statusOf(card) : null,
+                            card.getCreatedAt().toString());
                 }
-                row.createCell(6).setCellValue(card.getCreatedAt().toString());
+                workbook.write(out);
+                out.flush();
+            } finally {
+                workbook.dispose();
             }
-            workbook.write(baos);
-            return baos.toByteArray();
-        } catch (IOException ex) {
-            throw new RepeatWiseException(RepeatWiseError.EXPORT_GENERATION_FAILED, ex);
         }
     }
 
-    private void writeFile(ExportFormat format, List<Card> cards, UUID userId, Path path) {
-        final byte[] data = switch (format) {
-        case CSV -> generateCsv(cards, userId);
-        case XLSX -> generateXlsx(cards, userId);
-        };
-        try {
-            Files.write(path, data);
-        } catch (IOException ex) {
-            throw new RepeatWiseException(RepeatWiseError.EXPORT_GENERATION_FAILED, ex);
+    private static SXSSFWorkbook newWorkbook() {
+        final var workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+
+    private static Sheet createCardSheet(SXSSFWorkbook workbook, String name) {
+        final var sheet = workbook.createSheet(name);
+        final var header = sheet.createRow(0);
+        for (int i = 0; i < CSV_HEADERS.length; i++) {
+            final Cell cell = header.createCell(i);
+            cell.setCellValue(CSV_HEADERS[i]);
         }
+        return sheet;
     }
 
-    private AsyncJob createExportJob(UUID deckId, UUID userId, ExportFormat format, ExportScope scope, long total) {
+    private static CellStyle dateStyle(SXSSFWorkbook workbook) {
+        final CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-MM-dd"));
+        return dateStyle;
+    }
+
+    /**
+     * Fill one card row in the {@link #CSV_HEADERS} column order. SRS columns stay empty for cards the user
+     * has no position for.
+     */
+    private static void fillRow(Row row, CellStyle dateStyle, String front, String back, Integer box,
+            LocalDate dueDate, Integer reviewCount, String status, String createdAt) {
+        row.createCell(0).setCellValue(front);
+        row.createCell(1).setCellValue(back);
+        if (box != null) {
+            row.createCell(2).setCellValue(box);
+            final var dueCell = row.createCell(3);
+            dueCell.setCellValue(dueDate);
+            dueCell.setCellStyle(dateStyle);
+            row.createCell(4).setCellValue(reviewCount);
+            row.createCell(5).setCellValue(status);
+        }
+        row.createCell(6).setCellValue(createdAt);
+    }
+
+    private AsyncJob createExportJob(AsyncJobType jobType, UUID deckId, UUID folderId, UUID userId,
+            ExportFormat format, ExportScope scope, long total) {
         final var job = new AsyncJob();
         job.setDeckId(deckId);
+        job.setFolderId(folderId);
         job.setUserId(userId);
-        job.setJobType(AsyncJobType.EXPORT_CARDS);
+        job.setJobType(jobType);
         job.setStatus(AsyncJobStatus.PENDING);
         job.setExportFormat(format.name());
         job.setExportScope(scope.name());
@@ -331,20 +622,11 @@ public class CardExportServiceImpl implements CardExportService {
                 .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.DECK_NOT_FOUND, deckId));
     }
 
-    private Optional<CardBoxPosition> positionFor(Card card, UUID userId) {
-        if (card.getCardBoxPositions() == null) {
-            return Optional.empty();
-        }
-        return card.getCardBoxPositions().stream()
-                .filter(pos -> pos.getDeletedAt() == null && pos.getUser().getId().equals(userId))
-                .findFirst();
-    }
-
-    private String statusOf(CardBoxPosition position) {
-        if (position.getReviewCount() == null || position.getReviewCount() == 0) {
+    private String statusOf(CardExportProjection card) {
+        if (card.getReviewCount() == null || card.getReviewCount() == 0) {
             return "NEW";
         }
-        return position.getCurrentBox() >= 5 ? "MATURE" : "LEARNING";
+        return card.getCurrentBox() >= 5 ? "MATURE" : "LEARNING";
     }
 
     private String buildFilename(String deckName, ExportFormat format) {
@@ -356,5 +638,173 @@ public class CardExportServiceImpl implements CardExportService {
     private String message(String key, Object... args) {
         return this.messageSource.getMessage(key, args, LocaleContextHolder.getLocale());
     }
+
+    private record FolderExportDeck(UUID deckId, String name) {
+    }
+
+    /**
+     * Destination of a folder export. Each deck arrives as a spooled CSV part named after its folder path.
+     */
+    private interface FolderExportSink extends Closeable {
+        void add(String name, Path deckCsv) throws IOException;
+    }
+
+    /**
+     * ZIP archive with one CSV entry per deck, copied from the spooled part as is.
+     */
+    private static final class ZipSink implements FolderExportSink {
+
+        private final ZipOutputStream zip;
+
+        private ZipSink(OutputStream out) {
+            this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void add(String name, Path deckCsv) throws IOException {
+            this.zip.putNextEntry(new ZipEntry(name + "." + ExportFormat.CSV.getExtension()));
+            Files.copy(deckCsv, this.zip);
+            this.zip.closeEntry();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.zip.close();
+        }
+    }
+
+    /**
+     * Streaming workbook with one sheet per deck, filled from the spooled part. Sheet names are capped at 31
+     * characters by Excel, so long paths keep their tail (the deck name) and get a counter when they clash.
+     */
+    private static final class WorkbookSink implements FolderExportSink {
+
+        private static final CSVFormat PART_FORMAT = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .build();
+
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook = newWorkbook();
+        private final CellStyle dateStyle = dateStyle(this.workbook);
+
+        private WorkbookSink(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void add(String name, Path deckCsv) throws IOException {
+            final var sheet = createCardSheet(this.workbook, sheetName(name));
+            try (Reader reader = Files.newBufferedReader(deckCsv, StandardCharsets.UTF_8);
+                    CSVParser parser = PART_FORMAT.parse(reader)) {
+                var rowIndex = 1;
+                for (final CSVRecord record : parser) {
+                    final var box = record.get("Box");
+                    final var hasPosition = !box.isEmpty();
+                    fillRow(sheet.createRow(rowIndex++), this.dateStyle, record.get("Front"), record.get("Back"),
+                            hasPosition ? Integer.valueOf(box) : null,
+                            hasPosition ? LocalDate.parse(record.get("DueDate")) : null,
+                            hasPosition ? Integer.valueOf(record.get("ReviewCount")) : null,
+                            record.get("Status"), record.get("CreatedAt"));
+                }
+            }
+        }
+
+        private String sheetName(String name) {
+            final var flat = name.replace('/', '-');
+            var candidate = WorkbookUtil.createSafeSheetName(tail(flat, MAX_SHEET_NAME));
+            for (int i = 2; this.workbook.getSheet(candidate) != null; i++) {
+                final var suffix = " (" + i + ")";
+                candidate = WorkbookUtil.createSafeSheetName(tail(flat, MAX_SHEET_NAME - suffix.length()) + suffix);
+            }
+            return candidate;
+        }
+
+        private static String tail(String value, int length) {
+            return value.length() <= length ? value : value.substring(value.length() - length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.workbook.write(this.out);
+                this.out.flush();
+            } finally {
+                this.workbook.dispose();
+                this.workbook.close();
+            }
+        }
+    }
+
+    /**
+     * Rows of one export, read lazily in pages of {@code exportBatchSize} with a (createdAt, id) keyset
+     * cursor. Only the current page is held in memory and every page query runs on its own, so a long
+     * export keeps no transaction open. {@code onPage} receives the size of each page as it is read.
+     */
+    private final class ExportRows implements Iterable<CardExportProjection> {
+
+        private final UUID deckId;
+        private final UUID userId;
+        private final boolean dueOnly;
+        private final LocalDate today;
+        private final IntConsumer onPage;
+        private int read;
+
+        private ExportRows(UUID deckId, UUID userId, ExportScope scope, LocalDate today, IntConsumer onPage) {
+            this.deckId = deckId;
+            this.userId = userId;
+            this.dueOnly = scope == ExportScope.DUE_ONLY;
+            this.today = today;
+            this.onPage = onPage;
+        }
+
+        int read() {
+            return this.read;
+        }
+
+        @Override
+        public Iterator<CardExportProjection> iterator() {
+            final var pageSize = CardExportServiceImpl.this.appProperties.getLimits().getExportBatchSize();
+            return new Iterator<>() {
+                private List<CardExportProjection> page = List.of();
+                private int index;
+                private boolean exhausted;
+                private LocalDateTime afterCreatedAt = KEYSET_START;
+                private UUID afterId = KEYSET_START_ID;
+
+                @Override
+                public boolean hasNext() {
+                    if (this.index < this.page.size()) {
+                        return true;
+                    }
+                    if (this.exhausted) {
+                        return false;
+                    }
+                    this.page = CardExportServiceImpl.this.cardRepository.findExportPage(ExportRows.this.deckId,
+                            ExportRows.this.userId, ExportRows.this.dueOnly, ExportRows.this.today,
+                            this.afterCreatedAt, this.afterId, PageRequest.of(0, pageSize));
+                    this.index = 0;
+                    this.exhausted = this.page.size() < pageSize;
+                    if (this.page.isEmpty()) {
+                        return false;
+                    }
+                    final var last = this.page.get(this.page.size() - 1);
+                    this.afterCreatedAt = last.getCreatedAt();
+                    this.afterId = last.getId();
+                    ExportRows.this.read += this.page.size();
+                    ExportRows.this.onPage.accept(this.page.size());
+                    return true;
+                }
+
+                @Override
+                public CardExportProjection next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return this.page.get(this.index++);
+                }
+            };
+        }
+    }
 }
 
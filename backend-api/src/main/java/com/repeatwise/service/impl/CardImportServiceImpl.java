@@ -1,6 +1,5 @@
 package com.repeatwise.service.impl;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -8,7 +7,10 @@ import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -21,21 +23,22 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -48,21 +51,30 @@ import com.repeatwise.csv.GenericCsvService;
 import com.repeatwise.csv.CsvUtils;
 import com.repeatwise.entity.AsyncJob;
 import com.repeatwise.entity.Card;
-import com.repeatwise.entity.CardBoxPosition;
 import com.repeatwise.entity.Deck;
 import com.repeatwise.enums.AsyncJobStatus;
 import com.repeatwise.enums.AsyncJobType;
 import com.repeatwise.enums.DuplicateHandlingPolicy;
+import com.repeatwise.event.AsyncJobChangedEvent;
+import com.repeatwise.event.CardsImportedEvent;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.job.JobOwner;
+import com.repeatwise.job.JobProgress;
+import com.repeatwise.job.JobProgressRegistry;
 import com.repeatwise.repository.AsyncJobRepository;
-import com.repeatwise.repository.CardBoxPositionRepository;
 import com.repeatwise.repository.CardRepository;
 import com.repeatwise.repository.DeckRepository;
+import com.repeatwise.repository.JdbcBulkInsertRepository;
+import com.repeatwise.repository.JdbcBulkInsertRepository.CardRow;
+import com.repeatwise.repository.projection.CardContentHashProjection;
 import com.repeatwise.service.CardImportService;
 import com.repeatwise.service.FileStorageService;
+import com.repeatwise.util.ContentHash;
 import com.repeatwise.util.TextUtils;
+import com.repeatwise.xlsx.XlsxStreamReader;
 
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -75,10 +87,14 @@ public class CardImportServiceImpl implements CardImportService {
     private static final String HEADER_FRONT = "front";
     private static final String HEADER_BACK = "back";
     private static final int MAX_CONTENT_LENGTH = 5000;
+    private static final List<AsyncJobStatus> RESUMABLE_STATUSES = List.of(AsyncJobStatus.TIMEOUT,
+            AsyncJobStatus.FAILED);
+    private static final List<AsyncJobStatus> ACTIVE_STATUSES = List.of(AsyncJobStatus.PENDING,
+            AsyncJobStatus.RUNNING);
 
     private final DeckRepository deckRepository;
     private final CardRepository cardRepository;
-    private final CardBoxPositionRepository cardBoxPositionRepository;
+    private final JdbcBulkInsertRepository jdbcBulkInsertRepository;
     private final AsyncJobRepository asyncJobRepository;
     private final FileStorageService fileStorageService;
     private final MessageSource messageSource;
@@ -86,38 +102,29 @@ public class CardImportServiceImpl implements CardImportService {
     private final TransactionTemplate transactionTemplate;
     private final Executor jobExecutor;
     private final GenericCsvService genericCsvService;
-
-    @Override
-    public ImportResponse importCards(UUID deckId, UUID userId, MultipartFile file, DuplicateHandlingPolicy policy) {
-        final var locale = LocaleContextHolder.getLocale();
-        final var parsed = parseFile(file);
-        final var limits = this.appProperties.getLimits();
-        validateFileStats(parsed.totalRows(), file.getSize(), limits);
-
-        if (parsed.totalRows() > limits.getImportSyncThreshold()) {
-            final var job = startAsyncInternal(deckId, userId, file, policy, parsed, locale, limits);
-            return new ImportResponse(null, job);
-        }
-
-        final var result = runSyncImport(deckId, userId, policy, parsed, locale, limits);
-        final var job = this.asyncJobRepository.findById(result.jobId()).orElse(null);
-        return new ImportResponse(result, job);
-    }
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final JobProgressRegistry jobProgressRegistry;
+    private final JobOwner jobOwner;
 
     public CardImportServiceImpl(
             DeckRepository deckRepository,
             CardRepository cardRepository,
-            CardBoxPositionRepository cardBoxPositionRepository,
+            JdbcBulkInsertRepository jdbcBulkInsertRepository,
             AsyncJobRepository asyncJobRepository,
             FileStorageService fileStorageService,
             MessageSource messageSource,
             AppProperties appProperties,
-            org.springframework.transaction.PlatformTransactionManager transactionManager,
-            @org.springframework.beans.factory.annotation.Qualifier("jobTaskExecutor") Executor jobExecutor,
-            GenericCsvService genericCsvService) {
+            PlatformTransactionManager transactionManager,
+            @Qualifier("jobTaskExecutor") Executor jobExecutor,
+            GenericCsvService genericCsvService,
+            ApplicationEventPublisher eventPublisher,
+            EntityManager entityManager,
+            JobProgressRegistry jobProgressRegistry,
+            JobOwner jobOwner) {
         this.deckRepository = deckRepository;
         this.cardRepository = cardRepository;
-        this.cardBoxPositionRepository = cardBoxPositionRepository;
+        this.jdbcBulkInsertRepository = jdbcBulkInsertRepository;
         this.asyncJobRepository = asyncJobRepository;
         this.fileStorageService = fileStorageService;
         this.messageSource = messageSource;
@@ -125,32 +132,99 @@ public class CardImportServiceImpl implements CardImportService {
         this.transactionTemplate = new TransactionTemplate(transactionManager);
         this.jobExecutor = jobExecutor;
         this.genericCsvService = genericCsvService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.jobProgressRegistry = jobProgressRegistry;
+        this.jobOwner = jobOwner;
+    }
+
+    @Override
+    public ImportResponse importCards(UUID deckId, UUID userId, MultipartFile file, DuplicateHandlingPolicy policy) {
+        final var locale = LocaleContextHolder.getLocale();
+        final var limits = this.appProperties.getLimits();
+        final var upload = inspectFile(file, limits);
+
+        if (upload.totalRows() > limits.getImportSyncThreshold()) {
+            final var job = startAsyncInternal(deckId, userId, file, policy, upload, locale, limits);
+            return new ImportResponse(null, job);
+        }
+
+        final var result = runSyncImport(deckId, userId, policy, upload, locale, limits);
+        final var job = this.asyncJobRepository.findById(result.jobId()).orElse(null);
+        return new ImportResponse(result, job);
     }
 
     @Override
     public ImportResult importSync(UUID deckId, UUID userId, MultipartFile file, DuplicateHandlingPolicy policy) {
         final var locale = LocaleContextHolder.getLocale();
-        final var parsed = parseFile(file);
         final var limits = this.appProperties.getLimits();
-        validateFileStats(parsed.totalRows(), file.getSize(), limits);
-        if (parsed.totalRows() > limits.getImportSyncThreshold()) {
-            throw new RepeatWiseException(RepeatWiseError.IMPORT_TOO_MANY_ROWS, parsed.totalRows(),
+        final var upload = inspectFile(file, limits);
+        if (upload.totalRows() > limits.getImportSyncThreshold()) {
+            throw new RepeatWiseException(RepeatWiseError.IMPORT_TOO_MANY_ROWS, upload.totalRows(),
                     limits.getImportSyncThreshold());
         }
-        return runSyncImport(deckId, userId, policy, parsed, locale, limits);
+        return runSyncImport(deckId, userId, policy, upload, locale, limits);
     }
 
     @Override
     public AsyncJob startAsyncImport(UUID deckId, UUID userId, MultipartFile file, DuplicateHandlingPolicy policy) {
         final var locale = LocaleContextHolder.getLocale();
-        final var parsed = parseFile(file);
         final var limits = this.appProperties.getLimits();
-        validateFileStats(parsed.totalRows(), file.getSize(), limits);
-        if (parsed.totalRows() <= limits.getImportSyncThreshold()) {
-            final var result = runSyncImport(deckId, userId, policy, parsed, locale, limits);
+        final var upload = inspectFile(file, limits);
+        if (upload.totalRows() <= limits.getImportSyncThreshold()) {
+            final var result = runSyncImport(deckId, userId, policy, upload, locale, limits);
             return this.asyncJobRepository.findById(result.jobId()).orElse(null);
         }
-        return startAsyncInternal(deckId, userId, file, policy, parsed, locale, limits);
+        return startAsyncInternal(deckId, userId, file, policy, upload, locale, limits);
+    }
+
+    /**
+     * The status check and the switch back to PENDING are one conditional update, so of two concurrent resume
+     * requests only one gets the job.
+     */
+    @Override
+    public AsyncJob resumeImport(UUID jobId, UUID userId) {
+        final var locale = LocaleContextHolder.getLocale();
+        final var job = this.transactionTemplate.execute(status -> {
+            final var found = this.asyncJobRepository
+                    .findByIdAndUserIdAndJobType(jobId, userId, AsyncJobType.IMPORT_CARDS)
+                    .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
+            final var requeued = this.asyncJobRepository.requeue(jobId, userId, this.jobOwner.id(),
+                    RESUMABLE_STATUSES, AsyncJobStatus.PENDING,
+                    buildMessage(locale, "import.resumed", found.getCheckpointRow()), LocalDateTime.now());
+            if (requeued != 1) {
+                throw new RepeatWiseException(RepeatWiseError.JOB_NOT_RESUMABLE, jobId);
+            }
+            this.entityManager.refresh(found);
+            return found;
+        });
+        submitAsyncImport(jobId, locale);
+        return job;
+    }
+
+    /**
+     * Async imports left pending or running by a stopped instance continue from their last checkpoint. Only
+     * jobs whose owner stopped sending heartbeats are taken over, each with a conditional claim, so a job still
+     * running on another instance (rolling or multi-instance deploys) is left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedImports() {
+        final var staleBefore = heartbeatStaleBefore();
+        final var jobs = this.asyncJobRepository.findStale(AsyncJobType.IMPORT_CARDS, ACTIVE_STATUSES,
+                staleBefore);
+        for (final AsyncJob job : jobs) {
+            if (job.getPayloadPath() == null) {
+                continue;
+            }
+            final var claimed = this.transactionTemplate.execute(status -> this.asyncJobRepository.claim(
+                    job.getId(), this.jobOwner.id(), ACTIVE_STATUSES, AsyncJobStatus.PENDING, staleBefore,
+                    LocalDateTime.now()));
+            if (claimed == null || claimed != 1) {
+                continue;
+            }
+            log.info("Resuming import job {} from row {}", job.getId(), job.getCheckpointRow());
+            submitAsyncImport(job.getId(), LocaleContextHolder.getLocale());
+        }
     }
 
     @Override
@@ -173,26 +247,26 @@ public class CardImportServiceImpl implements CardImportService {
         this.jobExecutor.execute(() -> runAsyncImport(jobId, locale));
     }
 
-    private ImportResult runSyncImport(UUID deckId, UUID userId, DuplicateHandlingPolicy policy, ParsedFile parsed,
+    private ImportResult runSyncImport(UUID deckId, UUID userId, DuplicateHandlingPolicy policy, UploadedFile upload,
             Locale locale, Limits limits) {
         final var deck = getDeckOrThrow(deckId, userId);
-        final var job = createJob(deckId, userId, policy, parsed.totalRows(), AsyncJobStatus.RUNNING);
-        final var result = executeImport(deck, userId, policy, parsed.rows(), job, locale, limits);
+        final var job = createJob(deckId, userId, policy, upload.totalRows(), AsyncJobStatus.RUNNING);
+        final var result = executeImport(deck, userId, policy, upload.source(), upload.totalRows(), job, locale,
+                limits);
         finalizeJob(job, result, locale);
-        maybeWriteErrorReport(job, result.errors(), locale);
         return new ImportResult(
                 result.imported(),
                 result.skipped(),
                 result.failed(),
-                parsed.totalRows(),
+                upload.totalRows(),
                 policy,
-                Optional.ofNullable(job.getErrorReportPath()).map(Path::of).orElse(null),
+                result.errorReportPath(),
                 job.getId());
     }
 
     private AsyncJob startAsyncInternal(UUID deckId, UUID userId, MultipartFile file, DuplicateHandlingPolicy policy,
-            ParsedFile parsed, Locale locale, Limits limits) {
-        final var job = createJob(deckId, userId, policy, parsed.totalRows(), AsyncJobStatus.PENDING);
+            UploadedFile upload, Locale locale, Limits limits) {
+        final var job = createJob(deckId, userId, policy, upload.totalRows(), AsyncJobStatus.PENDING);
         final var payloadPath = this.fileStorageService.saveImportUpload(job.getId(), file);
         job.setPayloadPath(payloadPath.toString());
         job.setMessage(buildMessage(locale, "import.pending"));
@@ -202,31 +276,56 @@ public class CardImportServiceImpl implements CardImportService {
         return job;
     }
 
+    /**
+     * Claim the job before running it: the run is skipped if another instance took the job over meanwhile.
+     */
     private void runAsyncImport(UUID jobId, Locale locale) {
         LocaleContextHolder.setLocale(locale);
-        this.transactionTemplate.executeWithoutResult(status -> {
+        final var started = this.transactionTemplate.execute(status -> {
+            final var now = LocalDateTime.now();
+            if (this.asyncJobRepository.claim(jobId, this.jobOwner.id(), List.of(AsyncJobStatus.PENDING),
+                    AsyncJobStatus.RUNNING, heartbeatStaleBefore(), now) != 1) {
+                return null;
+            }
             final var job = this.asyncJobRepository.findById(jobId)
                     .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
-            job.setStatus(AsyncJobStatus.RUNNING);
-            job.setStartedAt(LocalDateTime.now());
-            job.setMessage(buildMessage(locale, "import.running", 0, Optional.ofNullable(job.getTotalRows()).orElse(0)));
-            this.asyncJobRepository.save(job);
+            job.setStartedAt(now);
+            job.setMessage(buildMessage(locale, "import.running", job.getCheckpointRow(),
+                    Optional.ofNullable(job.getTotalRows()).orElse(0)));
+            return this.asyncJobRepository.save(job);
         });
+        if (started == null) {
+            log.info("Import job {} is claimed by another instance; skipping", jobId);
+            return;
+        }
+        this.jobProgressRegistry.track(jobId, started.getUserId(),
+                Optional.ofNullable(started.getTotalRows()).orElse(0), "import.running", locale);
+        try {
+            completeAsyncImport(jobId, locale);
+        } finally {
+            this.jobProgressRegistry.untrack(jobId);
+            this.eventPublisher.publishEvent(new AsyncJobChangedEvent(started.getUserId(), jobId));
+        }
+    }
 
+    private void completeAsyncImport(UUID jobId, Locale locale) {
         ImportComputation result = null;
-        RepeatWiseError errorToRaise = null;
         try {
             result = doAsyncImport(jobId, locale);
         } catch (RepeatWiseException ex) {
-            errorToRaise = ex.getError();
+            if (ex.getError() == RepeatWiseError.JOB_CLAIMED_ELSEWHERE) {
+                // The new owner runs the job from the last committed checkpoint and writes its final state
+                log.warn("Import job {} was taken over by another instance; stopping", jobId);
+                return;
+            }
             if (ex.getError() != RepeatWiseError.JOB_TIMEOUT) {
                 log.error("Import job {} thất bại: {}", jobId, ex.getMessage(), ex);
                 markJobFailed(jobId, ex.getError(), ex.getMessageArgs());
             } else {
+                // ChunkedImport has already marked the job TIMEOUT
                 log.warn("Import job {} hết thời gian xử lý", jobId);
             }
         } catch (Exception ex) {
-            errorToRaise = RepeatWiseError.INTERNAL_SERVER_ERROR;
             log.error("Import job {} lỗi hệ thống", jobId, ex);
             markJobFailed(jobId, RepeatWiseError.INTERNAL_SERVER_ERROR);
         }
@@ -246,27 +345,26 @@ public class CardImportServiceImpl implements CardImportService {
                 job.setErrorReportPath(computation.errorReportPath() != null ? computation.errorReportPath().toString() : null);
                 this.asyncJobRepository.save(job);
             });
-        } else if (errorToRaise == RepeatWiseError.JOB_TIMEOUT) {
-            markJobTimeout(jobId);
         }
     }
 
+    /**
+     * Runs outside a surrounding transaction: every chunk commits on its own together with the job checkpoint.
+     */
     private ImportComputation doAsyncImport(UUID jobId, Locale locale) {
         final var limits = this.appProperties.getLimits();
-        return this.transactionTemplate.execute(status -> {
-            final var job = this.asyncJobRepository.findById(jobId)
-                    .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
-            final var deck = getDeckOrThrow(job.getDeckId(), job.getUserId());
-            final var policy = DuplicateHandlingPolicy.valueOf(job.getDuplicatePolicy());
-            final var rows = readRowsFromPayload(job);
-            final var result = executeImport(deck, job.getUserId(), policy, rows, job, locale, limits);
-            maybeWriteErrorReport(job, result.errors(), locale);
-            return new ImportComputation(result.imported(), result.skipped(), result.failed(), rows.size(),
-                    Optional.ofNullable(job.getErrorReportPath()).map(Path::of).orElse(null));
-        });
+        final var job = this.asyncJobRepository.findById(jobId)
+                .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
+        final var deck = getDeckOrThrow(job.getDeckId(), job.getUserId());
+        final var policy = DuplicateHandlingPolicy.valueOf(job.getDuplicatePolicy());
+        final var totalRows = Optional.ofNullable(job.getTotalRows()).orElse(0);
+        final var result = executeImport(deck, job.getUserId(), policy, payloadSource(job), totalRows, job,
+                locale, limits);
+        return new ImportComputation(result.imported(), result.skipped(), result.failed(), result.processed(),
+                result.errorReportPath());
     }
 
-    private List<CsvRecord<ImportRow>> readRowsFromPayload(AsyncJob job) {
+    private ImportRowSource payloadSource(AsyncJob job) {
         final var payloadPath = job.getPayloadPath();
         if (payloadPath == null) {
             throw new RepeatWiseException(RepeatWiseError.IMPORT_INVALID_FORMAT);
@@ -275,153 +373,100 @@ public class CardImportServiceImpl implements CardImportService {
         if (!Files.exists(path)) {
             throw new RepeatWiseException(RepeatWiseError.IMPORT_INVALID_FORMAT);
         }
-        try (InputStream inputStream = Files.newInputStream(path)) {
-            final var extension = StringUtils.substringAfterLast(path.getFileName().toString(), ".").toLowerCase(Locale.ROOT);
-            if ("csv".equals(extension)) {
-                return parseCsv(inputStream);
-            }
-            if ("xlsx".equals(extension)) {
-                return parseXlsx(inputStream);
-            }
-            throw new RepeatWiseException(RepeatWiseError.IMPORT_INVALID_FORMAT);
-        } catch (IOException ex) {
-            throw new RepeatWiseException(RepeatWiseError.IMPORT_INVALID_FORMAT, ex);
+        final var extension = extensionOf(path.getFileName().toString());
+        if ("xlsx".equals(extension)) {
+            return (chunkSize, consumer) -> parseXlsx(path, chunkSize, consumer);
         }
+        return (chunkSize, consumer) -> {
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                return readRows(inputStream, extension, chunkSize, consumer);
+            }
+        };
     }
 
+    /**
+     * Stream rows from {@code source} in chunks of {@code importBatchSize}: each chunk is validated, checked for
+     * duplicates and written before the next one is read, so memory stays bounded by the chunk size. A job that
+     * already has a checkpoint skips the rows committed by its earlier run and keeps their counters.
+     */
     private ImportProcessingResult executeImport(
             Deck deck,
             UUID userId,
             DuplicateHandlingPolicy policy,
-            List<CsvRecord<ImportRow>> records,
+            ImportRowSource source,
+            int totalRows,
             AsyncJob job,
             Locale locale,
             Limits limits) {
-        final var start = LocalDateTime.now();
-        final var existingCards = loadExistingCards(deck.getId(), userId);
-        final var keyToCard = buildCardIndex(existingCards);
-        final var cardsToCreate = new ArrayList<Card>();
-        final var cardsToUpdate = new ArrayList<Card>();
-        final var errors = new ArrayList<RowError>();
-        final var updatedIds = new HashSet<UUID>();
-        final var deckMaxCards = limits.getMaxCardsPerDeck();
-        final long currentCount = this.cardRepository.countActiveByDeckIdAndUserId(deck.getId(), userId);
-
-        var imported = 0;
-        var skipped = 0;
-        var failed = 0;
-        var processed = 0;
-
-        for (final CsvRecord<ImportRow> record : records) {
-            processed++;
-            final int rowNumber = record.rowNumber();
-            final var check = validateRow(record.data(), rowNumber);
-            if (check.isInvalid()) {
-                failed++;
-                errors.add(check.error());
-                continue;
-            }
-            if (check.shouldSkip()) {
-                skipped++;
-                continue;
-            }
-            final var key = buildKey(check.front(), check.back());
-            if (keyToCard.containsKey(key)) {
-                final var existing = keyToCard.get(key);
-                switch (policy) {
-                case SKIP -> skipped++;
-                case REPLACE -> {
-                    if (existing.getDeletedAt() != null) {
-                        skipped++;
-                        break;
-                    }
-                    if (updatedIds.add(existing.getId())) {
-                        existing.setFront(check.front());
-                        existing.setBack(check.back());
-                        existing.setUpdatedAt(LocalDateTime.now());
-                        cardsToUpdate.add(existing);
-                    }
-                    imported++;
-                }
-                case KEEP_BOTH -> {
-                    if (wouldExceedCapacity(currentCount, cardsToCreate.size(), deckMaxCards)) {
-                        failed++;
-                        errors.add(new RowError(rowNumber, "error.import.deck.capacity.exceeded",
-                                new Object[] { deckMaxCards }));
-                        break;
-                    }
-                    final var newCard = buildNewCard(deck, check.front(), check.back());
-                    cardsToCreate.add(newCard);
-                    if (policy != DuplicateHandlingPolicy.KEEP_BOTH) {
-                        keyToCard.putIfAbsent(key, newCard);
-                    }
-                    imported++;
-                }
-                default -> throw new IllegalStateException("Unsupported policy " + policy);
-                }
-            } else {
-                if (wouldExceedCapacity(currentCount, cardsToCreate.size(), deckMaxCards)) {
-                    failed++;
-                    errors.add(new RowError(rowNumber, "error.import.deck.capacity.exceeded",
-                            new Object[] { deckMaxCards }));
-                    continue;
-                }
-                final var card = buildNewCard(deck, check.front(), check.back());
-                cardsToCreate.add(card);
-                if (policy != DuplicateHandlingPolicy.KEEP_BOTH) {
-                    keyToCard.put(key, card);
-                }
-                imported++;
-            }
-            if (job != null && shouldUpdateProgress(processed, limits.getImportBatchSize())) {
-                updateJobProgress(job.getId(), processed, imported, skipped, failed, records.size(), locale);
-            }
-            if (Duration.between(start, LocalDateTime.now()).toMinutes() >= limits.getAsyncJobTimeoutMinutes()) {
-                markJobTimeout(job != null ? job.getId() : null);
-                throw new RepeatWiseException(RepeatWiseError.JOB_TIMEOUT);
-            }
+        final var existingCount = this.cardRepository.countActiveByDeckIdAndUserId(deck.getId(), userId);
+        final var keyIndex = loadContentIndex(deck.getId(), userId);
+
+        try (var errorReport = new ImportErrorReport(job, locale)) {
+            final var chunkedImport = new ChunkedImport(deck, userId, policy, keyIndex, existingCount, errorReport,
+                    job, totalRows, limits);
+            readSource(source, limits.getImportBatchSize(), chunkedImport::process);
+            return new ImportProcessingResult(chunkedImport.imported, chunkedImport.skipped, chunkedImport.failed,
+                    chunkedImport.processed, errorReport.path());
         }
+    }
 
-        persistChanges(deck, cardsToCreate, cardsToUpdate);
-        return new ImportProcessingResult(imported, skipped, failed, errors);
+    /**
+     * Write one chunk and detach everything it loaded, so the persistence context does not grow with the file.
+     */
+    private void persistChunk(Deck deck, UUID userId, List<CardRow> cardsToCreate,
+            Map<UUID, RowValidation> cardsToUpdate, Runnable checkpoint) {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            persistChanges(deck, userId, cardsToCreate, cardsToUpdate);
+            checkpoint.run();
+            this.entityManager.flush();
+        });
+        this.entityManager.clear();
     }
 
-    private void persistChanges(Deck deck, List<Card> cardsToCreate, List<Card> cardsToUpdate) {
+    private void persistChanges(Deck deck, UUID userId, List<CardRow> cardsToCreate,
+            Map<UUID, RowValidation> cardsToUpdate) {
         if (!cardsToUpdate.isEmpty()) {
-            this.cardRepository.saveAll(cardsToUpdate);
+            final var now = LocalDateTime.now();
+            final var existing = this.cardRepository.findAllById(cardsToUpdate.keySet());
+            for (final Card card : existing) {
+                final var row = cardsToUpdate.get(card.getId());
+                if (!row.front().equals(card.getFront()) || !row.back().equals(card.getBack())) {
+                    // Hash collision with a different card: leave it untouched
+                    log.warn("Import into deck {}: content hash collision with card {}", deck.getId(), card.getId());
+                    continue;
+                }
+                card.setFront(row.front());
+                card.setBack(row.back());
+                card.setUpdatedAt(now);
+            }
+            this.cardRepository.saveAll(existing);
         }
         if (!cardsToCreate.isEmpty()) {
-            final var savedCards = this.cardRepository.saveAll(cardsToCreate);
-            final var positions = new ArrayList<CardBoxPosition>(savedCards.size());
-            final var owner = deck.getUser();
-            for (final Card card : savedCards) {
-                positions.add(CardBoxPosition.createNew(card, owner));
-            }
-            this.cardBoxPositionRepository.saveAll(positions);
+            // IDs are generated client-side, so cards and positions are written as plain JDBC batches
+            final var now = LocalDateTime.now();
+            final var today = LocalDate.now();
+            final var batchSize = this.appProperties.getLimits().getImportBatchSize();
+            this.jdbcBulkInsertRepository.insertCards(cardsToCreate, batchSize, now);
+            this.jdbcBulkInsertRepository.insertNewCardBoxPositions(
+                    cardsToCreate.stream().map(CardRow::id).toList(), userId, today, batchSize, now);
+            this.eventPublisher.publishEvent(
+                    new CardsImportedEvent(userId, deck.getId(), cardsToCreate.size(), today));
         }
     }
 
-    private boolean shouldUpdateProgress(int processed, int batch) {
-        return processed % Math.max(1, batch / 2) == 0;
-    }
-
     private boolean wouldExceedCapacity(long current, int pendingCreates, int maxCards) {
         return (current + pendingCreates + 1L) > maxCards;
     }
 
-    private Card buildNewCard(Deck deck, String front, String back) {
-        final var card = new Card();
-        card.setDeck(deck);
-        card.setFront(front);
-        card.setBack(back);
-        return card;
+    private CardRow buildNewCard(Deck deck, String front, String back) {
+        return new CardRow(UUID.randomUUID(), deck.getId(), front, back);
     }
 
     private RowValidation validateRow(ImportRow row, int rowNumber) {
         final var front = TextUtils.trimToNull(row.front());
         final var back = TextUtils.trimToNull(row.back());
         if (front == null && back == null) {
-            return RowValidation.skip();
+            return RowValidation.skipped();
         }
         if (front == null) {
             return RowValidation.invalid(new RowError(rowNumber, "error.import.row.front.empty", new Object[] { rowNumber }));
@@ -440,42 +485,27 @@ public class CardImportServiceImpl implements CardImportService {
         return RowValidation.valid(front, back);
     }
 
-    private void updateJobProgress(UUID jobId, int processed, int imported, int skipped, int failed, int total, Locale locale) {
-        this.transactionTemplate.executeWithoutResult(status -> {
-            final var job = this.asyncJobRepository.findById(jobId)
-                    .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
-            job.setProcessedRows(processed);
-            job.setSuccessCount(imported);
-            job.setSkippedCount(skipped);
-            job.setFailedCount(failed);
-            job.setMessage(buildMessage(locale, "import.running", processed, total));
-            this.asyncJobRepository.save(job);
-        });
-    }
-
     private void markJobFailed(UUID jobId, RepeatWiseError error, Object... args) {
-        this.transactionTemplate.executeWithoutResult(status -> {
-            final var job = this.asyncJobRepository.findById(jobId)
-                    .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
-            job.setStatus(AsyncJobStatus.FAILED);
-            job.setCompletedAt(LocalDateTime.now());
-            job.setMessage(buildMessage(LocaleContextHolder.getLocale(), error.getMessageKey(), args));
-            this.asyncJobRepository.save(job);
-        });
+        finishJob(jobId, AsyncJobStatus.FAILED, error.getMessageKey(), args);
     }
 
     private void markJobTimeout(UUID jobId) {
         if (jobId == null) {
             return;
         }
-        this.transactionTemplate.executeWithoutResult(status -> {
-            final var job = this.asyncJobRepository.findById(jobId)
-                    .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
-            job.setStatus(AsyncJobStatus.TIMEOUT);
-            job.setCompletedAt(LocalDateTime.now());
-            job.setMessage(buildMessage(LocaleContextHolder.getLocale(), "error.job.timeout"));
-            this.asyncJobRepository.save(job);
-        });
+        finishJob(jobId, AsyncJobStatus.TIMEOUT, "error.job.timeout");
+    }
+
+    /**
+     * Writes the final state only while this instance still owns the job; a new owner finishes it otherwise.
+     */
+    private void finishJob(UUID jobId, AsyncJobStatus status, String messageKey, Object... args) {
+        final var message = buildMessage(LocaleContextHolder.getLocale(), messageKey, args);
+        final Integer updated = this.transactionTemplate.execute(tx -> this.asyncJobRepository.finish(jobId,
+                this.jobOwner.id(), status, message, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            log.warn("Import job {} is owned by another instance; not marking it {}", jobId, status);
+        }
     }
 
     private void finalizeJob(AsyncJob job, ImportProcessingResult result, Locale locale) {
@@ -486,6 +516,7 @@ public class CardImportServiceImpl implements CardImportService {
         job.setSkippedCount(result.skipped());
         job.setFailedCount(result.failed());
         job.setMessage(buildMessage(locale, "success.card.imported", result.imported()));
+        job.setErrorReportPath(result.errorReportPath() != null ? result.errorReportPath().toString() : null);
         this.asyncJobRepository.save(job);
     }
 
@@ -502,28 +533,13 @@ public class CardImportServiceImpl implements CardImportService {
         job.setSkippedCount(0);
         job.setFailedCount(0);
         job.setStartedAt(LocalDateTime.now());
+        job.setOwner(this.jobOwner.id());
+        job.setHeartbeatAt(job.getStartedAt());
         return this.asyncJobRepository.save(job);
     }
 
-    private void maybeWriteErrorReport(AsyncJob job, List<RowError> errors, Locale locale) {
-        if (errors.isEmpty()) {
-            return;
-        }
-        final var path = this.fileStorageService.resolveImportErrorReport(job.getId());
-        try (var writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
-                var printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
-                        .setHeader("Row", "Message")
-                        .build())) {
-            for (final RowError error : errors) {
-                final var message = buildMessage(locale, error.messageKey(), error.args());
-                printer.printRecord(error.rowNumber(), message);
-            }
-            printer.flush();
-            job.setErrorReportPath(path.toString());
-            this.asyncJobRepository.save(job);
-        } catch (IOException ex) {
-            throw new RepeatWiseException(RepeatWiseError.INTERNAL_SERVER_ERROR, ex);
-        }
+    private LocalDateTime heartbeatStaleBefore() {
+        return LocalDateTime.now().minusSeconds(this.appProperties.getLimits().getJobHeartbeatStaleSeconds());
     }
 
     private String buildMessage(Locale locale, String key, Object... args) {
@@ -535,98 +551,106 @@ public class CardImportServiceImpl implements CardImportService {
                 .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.DECK_NOT_FOUND, deckId));
     }
 
-    private List<Card> loadExistingCards(UUID deckId, UUID userId) {
+    /**
+     * Index existing cards by content hash, computed by the database so no card text is loaded.
+     */
+    private Map<Long, UUID> loadContentIndex(UUID deckId, UUID userId) {
         try {
-            return this.cardRepository.findActiveByDeckIdAndUserId(deckId, userId);
+            final var hashes = this.cardRepository.findContentHashesByDeckIdAndUserId(deckId, userId);
+            final Map<Long, UUID> index = new HashMap<>(Math.max(16, hashes.size() * 4 / 3 + 1));
+            for (final CardContentHashProjection hash : hashes) {
+                index.put(hash.getContentHash(), hash.getId());
+            }
+            return index;
         } catch (DataAccessException ex) {
             throw new RepeatWiseException(RepeatWiseError.INTERNAL_SERVER_ERROR, ex);
         }
     }
 
-    private Map<String, Card> buildCardIndex(List<Card> cards) {
-        final Map<String, Card> index = new HashMap<>();
-        for (final Card card : cards) {
-            index.put(buildKey(card.getFront(), card.getBack()), card);
-        }
-        return index;
-    }
-
-    private String buildKey(String front, String back) {
-        return front + "||" + back;
-    }
-
-    private ParsedFile parseFile(MultipartFile file) {
+    /**
+     * Validate an upload and count its rows in a streaming pass; rows are read again chunk by chunk on import.
+     */
+    private UploadedFile inspectFile(MultipartFile file, Limits limits) {
         requireFile(file);
-        final var filename = file.getOriginalFilename();
-        final var extension = StringUtils.substringAfterLast(StringUtils.defaultString(filename), ".").toLowerCase(Locale.ROOT);
-        try (InputStream inputStream = file.getInputStream()) {
-            if ("csv".equals(extension)) {
-                final var records = parseCsv(inputStream);
-                return new ParsedFile(records.size(), records);
+        validateFileSize(file.getSize(), limits);
+        final var extension = extensionOf(file.getOriginalFilename());
+        final ImportRowSource source = (chunkSize, consumer) -> {
+            try (InputStream inputStream = file.getInputStream()) {
+                return readRows(inputStream, extension, chunkSize, consumer);
             }
-            if ("xlsx".equals(extension)) {
-                final var records = parseXlsx(inputStream);
-                return new ParsedFile(records.size(), records);
-            }
-            throw new RepeatWiseException(RepeatWiseError.IMPORT_INVALID_FORMAT);
+        };
+        final var totalRows = readSource(source, limits.getImportBatchSize(), chunk -> {
+        });
+        validateRowCount(totalRows, limits);
+        return new UploadedFile(source, totalRows);
+    }
+
+    private int readSource(ImportRowSource source, int chunkSize, Consumer<List<CsvRecord<ImportRow>>> consumer) {
+        try {
+            return source.read(chunkSize, consumer);
         } catch (IOException ex) {
             throw new RepeatWiseException(RepeatWiseError.IMPORT_INVALID_FORMAT, ex);
         }
     }
 
-    private List<CsvRecord<ImportRow>> parseCsv(InputStream inputStream) {
+    private int readRows(InputStream inputStream, String extension, int chunkSize,
+            Consumer<List<CsvRecord<ImportRow>>> consumer) throws IOException {
+        if ("csv".equals(extension)) {
+            return parseCsv(inputStream, chunkSize, consumer);
+        }
+        if ("xlsx".equals(extension)) {
+            return parseXlsx(inputStream, chunkSize, consumer);
+        }
+        throw new RepeatWiseException(RepeatWiseError.IMPORT_INVALID_FORMAT);
+    }
+
+    private String extensionOf(String filename) {
+        return StringUtils.substringAfterLast(StringUtils.defaultString(filename), ".").toLowerCase(Locale.ROOT);
+    }
+
+    private int parseCsv(InputStream inputStream, int chunkSize, Consumer<List<CsvRecord<ImportRow>>> consumer) {
         final var schema = CsvSchema.builder()
                 .headers(List.of("Front", "Back"))
                 .skipHeaderRecord(true)
                 .includeHeader(false)
                 .build();
         final var helper = CardImportCsvHelper.INSTANCE;
-        return this.genericCsvService.read(inputStream, schema, helper);
+        return this.genericCsvService.readInChunks(inputStream, schema, helper, chunkSize, consumer);
     }
 
-    private List<CsvRecord<ImportRow>> parseXlsx(InputStream inputStream) throws IOException {
-        try (Workbook workbook = WorkbookFactory.create(new BufferedInputStream(inputStream))) {
-            final Sheet sheet = workbook.getNumberOfSheets() > 0 ? workbook.getSheetAt(0) : null;
-            if (sheet == null) {
-                return List.of();
-            }
-            final var headerRow = sheet.getRow(sheet.getFirstRowNum());
-            if (headerRow == null) {
-                throw new RepeatWiseException(RepeatWiseError.IMPORT_MISSING_COLUMNS);
-            }
-            final var headerIndexes = resolveHeaderIndexes(headerRow);
-            final var frontIndex = headerIndexes.frontIndex();
-            final var backIndex = headerIndexes.backIndex();
-            if (frontIndex < 0 || backIndex < 0) {
-                throw new RepeatWiseException(RepeatWiseError.IMPORT_MISSING_COLUMNS, List.of("Front", "Back"));
-            }
-            final var formatter = new DataFormatter();
-            final List<CsvRecord<ImportRow>> rows = new ArrayList<>();
-            for (int i = headerRow.getRowNum() + 1; i <= sheet.getLastRowNum(); i++) {
-                final Row row = sheet.getRow(i);
-                final var front = row != null && frontIndex >= 0 ? formatter.formatCellValue(row.getCell(frontIndex)) : null;
-                final var back = row != null && backIndex >= 0 ? formatter.formatCellValue(row.getCell(backIndex)) : null;
-                final var data = new ImportRow(front, back);
-                final Map<String, String> raw = new HashMap<>();
-                raw.put(HEADER_FRONT, front);
-                raw.put(HEADER_BACK, back);
-                rows.add(new CsvRecord<>(i + 1, data, raw));
-            }
-            return rows;
+    /**
+     * The SAX reader needs random access to the zip entries, so an uploaded stream is spooled to a temp file first.
+     */
+    private int parseXlsx(InputStream inputStream, int chunkSize, Consumer<List<CsvRecord<ImportRow>>> consumer)
+            throws IOException {
+        final var file = Files.createTempFile("import-", ".xlsx");
+        try {
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+            return parseXlsx(file, chunkSize, consumer);
+        } finally {
+            Files.deleteIfExists(file);
         }
     }
 
-    private HeaderIndexes resolveHeaderIndexes(Row row) {
+    private int parseXlsx(Path file, int chunkSize, Consumer<List<CsvRecord<ImportRow>>> consumer)
+            throws IOException {
+        final var rows = new XlsxImportRows(chunkSize, consumer);
+        XlsxStreamReader.readFirstSheet(file, rows::accept);
+        return rows.finish();
+    }
+
+    /**
+     * Header row is the first row of the sheet; Front/Back columns are matched case-insensitively.
+     */
+    private HeaderIndexes resolveHeaderIndexes(Map<Integer, String> headerCells) {
         var frontIndex = -1;
         var backIndex = -1;
-        final var formatter = new DataFormatter();
-        for (int i = row.getFirstCellNum(); i < row.getLastCellNum(); i++) {
-            final var cellValue = formatter.formatCellValue(row.getCell(i));
-            final var normalized = StringUtils.lowerCase(StringUtils.trim(cellValue));
+        for (final Map.Entry<Integer, String> cell : headerCells.entrySet()) {
+            final var normalized = StringUtils.lowerCase(StringUtils.trim(cell.getValue()));
             if (HEADER_FRONT.equals(normalized)) {
-                frontIndex = i;
+                frontIndex = cell.getKey();
             } else if (HEADER_BACK.equals(normalized)) {
-                backIndex = i;
+                backIndex = cell.getKey();
             }
         }
         return new HeaderIndexes(frontIndex, backIndex);
@@ -638,7 +662,14 @@ public class CardImportServiceImpl implements CardImportService {
         }
     }
 
-    private void validateFileStats(int totalRows, long sizeBytes, Limits limits) {
+    private void validateFileSize(long sizeBytes, Limits limits) {
+        final var maxBytes = limits.getMaxFileSizeMb() * 1024L * 1024L;
+        if (sizeBytes > maxBytes) {
+            throw new RepeatWiseException(RepeatWiseError.IMPORT_FILE_TOO_LARGE, limits.getMaxFileSizeMb());
+        }
+    }
+
+    private void validateRowCount(int totalRows, Limits limits) {
         final var maxRows = limits.getMaxImportRows();
         if (totalRows == 0) {
             throw new RepeatWiseException(RepeatWiseError.IMPORT_EMPTY_FILE);
@@ -646,13 +677,18 @@ public class CardImportServiceImpl implements CardImportService {
         if (totalRows > maxRows) {
             throw new RepeatWiseException(RepeatWiseError.IMPORT_TOO_MANY_ROWS, totalRows, maxRows);
         }
-        final var maxBytes = limits.getMaxFileSizeMb() * 1024L * 1024L;
-        if (sizeBytes > maxBytes) {
-            throw new RepeatWiseException(RepeatWiseError.IMPORT_FILE_TOO_LARGE, limits.getMaxFileSizeMb());
-        }
     }
 
-    private record ParsedFile(int totalRows, List<CsvRecord<ImportRow>> rows) {
+    /**
+     * Re-readable stream of import rows, delivered in chunks.
+     */
+    @FunctionalInterface
+    private interface ImportRowSource {
+
+        int read(int chunkSize, Consumer<List<CsvRecord<ImportRow>>> consumer) throws IOException;
+    }
+
+    private record UploadedFile(ImportRowSource source, int totalRows) {
     }
 
     private record ImportRow(String front, String back) {
@@ -683,10 +719,232 @@ public class CardImportServiceImpl implements CardImportService {
         }
     }
 
+    /**
+     * Import state carried from one chunk to the next: counters and the duplicate index.
+     */
+    private final class ChunkedImport {
+
+        private final Deck deck;
+        private final UUID userId;
+        private final DuplicateHandlingPolicy policy;
+        private final Map<Long, UUID> keyIndex;
+        private final long existingCount;
+        private final ImportErrorReport errorReport;
+        private final AsyncJob job;
+        private final int totalRows;
+        private final Limits limits;
+        private final LocalDateTime start = LocalDateTime.now();
+        // Cards created or replaced by this import; each is written at most once
+        private final Set<UUID> writtenIds = new HashSet<>();
+        private final int resumeFrom;
+        private final JobProgress progress;
+
+        private int rowsRead;
+        private int imported;
+        private int skipped;
+        private int failed;
+        private int processed;
+        private int created;
+
+        private ChunkedImport(Deck deck, UUID userId, DuplicateHandlingPolicy policy, Map<Long, UUID> keyIndex,
+                long existingCount, ImportErrorReport errorReport, AsyncJob job, int totalRows, Limits limits) {
+            this.deck = deck;
+            this.userId = userId;
+            this.policy = policy;
+            this.keyIndex = keyIndex;
+            this.existingCount = existingCount;
+            this.errorReport = errorReport;
+            this.job = job;
+            this.totalRows = totalRows;
+            this.limits = limits;
+            this.resumeFrom = job != null ? job.getCheckpointRow() : 0;
+            if (this.resumeFrom > 0) {
+                this.processed = this.resumeFrom;
+                this.imported = Optional.ofNullable(job.getSuccessCount()).orElse(0);
+                this.skipped = Optional.ofNullable(job.getSkippedCount()).orElse(0);
+                this.failed = Optional.ofNullable(job.getFailedCount()).orElse(0);
+            }
+            this.progress = job != null ? CardImportServiceImpl.this.jobProgressRegistry.find(job.getId()).orElse(null)
+                    : null;
+        }
+
+        void process(List<CsvRecord<ImportRow>> chunk) {
+            final var rows = pendingRows(chunk);
+            if (rows.isEmpty()) {
+                return;
+            }
+            final var cardsToCreate = new ArrayList<CardRow>();
+            final Map<UUID, RowValidation> cardsToUpdate = new HashMap<>();
+            for (final CsvRecord<ImportRow> record : rows) {
+                this.processed++;
+                processRow(record, cardsToCreate, cardsToUpdate);
+                if (this.progress != null) {
+                    this.progress.update(this.processed, this.imported, this.skipped, this.failed);
+                }
+                if (Duration.between(this.start, LocalDateTime.now()).toMinutes()
+                        >= this.limits.getAsyncJobTimeoutMinutes()) {
+                    markJobTimeout(this.job != null ? this.job.getId() : null);
+                    throw new RepeatWiseException(RepeatWiseError.JOB_TIMEOUT);
+                }
+            }
+
+            persistChunk(this.deck, this.userId, cardsToCreate, cardsToUpdate, this::saveCheckpoint);
+            log.debug("Import into deck {} for user {}: {}/{} rows processed", this.deck.getId(), this.userId,
+                    this.processed, this.totalRows);
+        }
+
+        /**
+         * Rows of {@code chunk} that were not committed by an earlier run of the job.
+         */
+        private List<CsvRecord<ImportRow>> pendingRows(List<CsvRecord<ImportRow>> chunk) {
+            final var committed = Math.max(0, Math.min(chunk.size(), this.resumeFrom - this.rowsRead));
+            this.rowsRead += chunk.size();
+            return chunk.subList(committed, chunk.size());
+        }
+
+        /**
+         * Runs in the chunk transaction, so the job counters and checkpoint commit together with the cards.
+         * Live progress between checkpoints is published to the progress registry instead. A job taken over by
+         * another instance rejects the checkpoint, which rolls the chunk back.
+         */
+        private void saveCheckpoint() {
+            this.errorReport.commit();
+            if (this.job != null) {
+                final var reportPath = this.errorReport.path();
+                final var saved = CardImportServiceImpl.this.asyncJobRepository.saveCheckpoint(this.job.getId(),
+                        CardImportServiceImpl.this.jobOwner.id(), this.processed, this.imported, this.skipped,
+                        this.failed, reportPath != null ? reportPath.toString() : null, LocalDateTime.now());
+                if (saved != 1) {
+                    throw new RepeatWiseException(RepeatWiseError.JOB_CLAIMED_ELSEWHERE, this.job.getId());
+                }
+            }
+        }
+
+        private void processRow(CsvRecord<ImportRow> record, List<CardRow> cardsToCreate,
+                Map<UUID, RowValidation> cardsToUpdate) {
+            final int rowNumber = record.rowNumber();
+            final var check = validateRow(record.data(), rowNumber);
+            if (check.isInvalid()) {
+                this.failed++;
+                this.errorReport.add(check.error());
+                return;
+            }
+            if (check.shouldSkip()) {
+                this.skipped++;
+                return;
+            }
+            final var key = ContentHash.of(check.front(), check.back());
+            if (this.keyIndex.containsKey(key) && this.policy != DuplicateHandlingPolicy.KEEP_BOTH) {
+                if (this.policy == DuplicateHandlingPolicy.SKIP) {
+                    this.skipped++;
+                    return;
+                }
+                // REPLACE; cards written earlier in this import are left as they are
+                final var existingId = this.keyIndex.get(key);
+                if (this.writtenIds.add(existingId)) {
+                    cardsToUpdate.put(existingId, check);
+                }
+                this.imported++;
+                return;
+            }
+            if (wouldExceedCapacity(this.existingCount, this.created, this.limits.getMaxCardsPerDeck())) {
+                this.failed++;
+                this.errorReport.add(new RowError(rowNumber, "error.import.deck.capacity.exceeded",
+                        new Object[] { this.limits.getMaxCardsPerDeck() }));
+                return;
+            }
+            final var card = buildNewCard(this.deck, check.front(), check.back());
+            cardsToCreate.add(card);
+            if (this.policy != DuplicateHandlingPolicy.KEEP_BOTH) {
+                this.keyIndex.put(key, card.id());
+                this.writtenIds.add(card.id());
+            }
+            this.created++;
+            this.imported++;
+        }
+    }
+
+    /**
+     * Error report written chunk by chunk: errors are buffered until their chunk commits, so a resumed job
+     * appends to the report of its earlier run without repeating rows. The file is created on the first error.
+     */
+    private final class ImportErrorReport implements AutoCloseable {
+
+        private final UUID jobId;
+        private final Locale locale;
+        private final List<RowError> pending = new ArrayList<>();
+        private Path path;
+        private CSVPrinter printer;
+
+        private ImportErrorReport(AsyncJob job, Locale locale) {
+            this.jobId = job != null ? job.getId() : null;
+            this.locale = locale;
+            if (job != null && job.getCheckpointRow() > 0 && job.getErrorReportPath() != null) {
+                this.path = Path.of(job.getErrorReportPath());
+            }
+        }
+
+        void add(RowError error) {
+            if (this.jobId != null) {
+                this.pending.add(error);
+            }
+        }
+
+        /**
+         * Write the errors of the chunk being committed.
+         */
+        void commit() {
+            if (this.pending.isEmpty()) {
+                return;
+            }
+            try {
+                if (this.printer == null) {
+                    this.printer = open();
+                }
+                for (final RowError error : this.pending) {
+                    this.printer.printRecord(error.rowNumber(),
+                            buildMessage(this.locale, error.messageKey(), error.args()));
+                }
+                this.printer.flush();
+                this.pending.clear();
+            } catch (IOException ex) {
+                throw new RepeatWiseException(RepeatWiseError.INTERNAL_SERVER_ERROR, ex);
+            }
+        }
+
+        private CSVPrinter open() throws IOException {
+            if (this.path != null && Files.exists(this.path)) {
+                return new CSVPrinter(Files.newBufferedWriter(this.path, StandardCharsets.UTF_8,
+                        StandardOpenOption.APPEND), CSVFormat.DEFAULT);
+            }
+            this.path = CardImportServiceImpl.this.fileStorageService.resolveImportErrorReport(this.jobId);
+            return new CSVPrinter(Files.newBufferedWriter(this.path, StandardCharsets.UTF_8),
+                    CSVFormat.DEFAULT.builder()
+                            .setHeader("Row", "Message")
+                            .build());
+        }
+
+        Path path() {
+            return this.path;
+        }
+
+        @Override
+        public void close() {
+            if (this.printer == null) {
+                return;
+            }
+            try {
+                this.printer.close();
+            } catch (IOException ex) {
+                throw new RepeatWiseException(RepeatWiseError.INTERNAL_SERVER_ERROR, ex);
+            }
+        }
+    }
+
     private record RowError(int rowNumber, String messageKey, Object[] args) {
     }
 
-    private record ImportProcessingResult(int imported, int skipped, int failed, List<RowError> errors) {
+    private record ImportProcessingResult(int imported, int skipped, int failed, int processed, Path errorReportPath) {
     }
 
     private record ImportComputation(int imported, int skipped, int failed, int totalRows, Path errorReportPath) {
@@ -695,13 +953,71 @@ public class CardImportServiceImpl implements CardImportService {
     private record HeaderIndexes(int frontIndex, int backIndex) {
     }
 
+    /**
+     * Turns streamed sheet rows into import rows and hands them on in chunks.
+     * Rows missing from the sheet between two present rows count as empty rows.
+     */
+    private final class XlsxImportRows {
+
+        private final int chunkSize;
+        private final Consumer<List<CsvRecord<ImportRow>>> consumer;
+        private HeaderIndexes header;
+        private int lastRowIndex;
+        private int total;
+        private List<CsvRecord<ImportRow>> chunk;
+
+        private XlsxImportRows(int chunkSize, Consumer<List<CsvRecord<ImportRow>>> consumer) {
+            this.chunkSize = Math.max(1, chunkSize);
+            this.consumer = consumer;
+            this.chunk = new ArrayList<>(this.chunkSize);
+        }
+
+        void accept(int rowIndex, Map<Integer, String> cells) {
+            if (this.header == null) {
+                this.header = resolveHeaderIndexes(cells);
+                if (this.header.frontIndex() < 0 || this.header.backIndex() < 0) {
+                    throw new RepeatWiseException(RepeatWiseError.IMPORT_MISSING_COLUMNS, List.of("Front", "Back"));
+                }
+                this.lastRowIndex = rowIndex;
+                return;
+            }
+            for (int missing = this.lastRowIndex + 1; missing < rowIndex; missing++) {
+                add(missing, null, null);
+            }
+            add(rowIndex,
+                    cells.getOrDefault(this.header.frontIndex(), ""),
+                    cells.getOrDefault(this.header.backIndex(), ""));
+            this.lastRowIndex = rowIndex;
+        }
+
+        int finish() {
+            if (!this.chunk.isEmpty()) {
+                this.consumer.accept(this.chunk);
+                this.chunk = new ArrayList<>(this.chunkSize);
+            }
+            return this.total;
+        }
+
+        private void add(int rowIndex, String front, String back) {
+            final Map<String, String> raw = new HashMap<>();
+            raw.put(HEADER_FRONT, front);
+            raw.put(HEADER_BACK, back);
+            this.chunk.add(new CsvRecord<>(rowIndex + 1, new ImportRow(front, back), raw));
+            this.total++;
+            if (this.chunk.size() >= this.chunkSize) {
+                this.consumer.accept(this.chunk);
+                this.chunk = new ArrayList<>(this.chunkSize);
+            }
+        }
+    }
+
     private record RowValidation(boolean invalid, boolean skip, String front, String back, RowError error) {
 
         static RowValidation invalid(RowError error) {
             return new RowValidation(true, false, null, null, error);
         }
 
-        static RowValidation skip() {
+        static RowValidation skipped() {
             return new RowValidation(false, true, null, null, null);
         }
 
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,8 @@ import com.repeatwise.entity.Card;
 import com.repeatwise.entity.CardBoxPosition;
 import com.repeatwise.entity.Deck;
 import com.repeatwise.entity.User;
+import com.repeatwise.event.CardStateChangedEvent;
+import com.repeatwise.event.CardStateChangedEvent.CardState;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
 import com.repeatwise.mapper.CardMapper;
@@ -42,6 +45,7 @@ public class CardServiceImpl implements CardService {
     private final CardBoxPositionRepository cardBoxPositionRepository;
     private final CardMapper cardMapper;
     private final MessageSource messageSource;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -52,7 +56,8 @@ public class CardServiceImpl implements CardService {
         var card = buildCardForCreation(request, deck);
 
         card = this.cardRepository.save(card);
-        initializePosition(card, deck.getUser());
+        final var position = initializePosition(card, deck.getUser());
+        this.eventPublisher.publishEvent(CardStateChangedEvent.created(userId, deck.getId(), position));
 
         log.info("Card {} created in deck {} by user {}", card.getId(), deck.getId(), userId);
         return this.cardMapper.toResponse(card);
@@ -103,9 +108,20 @@ public class CardServiceImpl implements CardService {
         final var card = this.cardRepository.findActiveWithPositionsByIdAndUserId(cardId, userId)
                 .orElseGet(() -> handleCardNotFoundOrDeleted(cardId, userId));
 
+        final var previousState = card.getCardBoxPositions().stream()
+                .filter(position -> position.getDeletedAt() == null)
+                .filter(position -> userId.equals(position.getUser().getId()))
+                .findFirst()
+                .map(CardState::of)
+                .orElse(null);
+
         final var now = LocalDateTime.now();
         markCardDeleted(card, now);
         this.cardRepository.save(card);
+        if (previousState != null) {
+            this.eventPublisher.publishEvent(
+                    CardStateChangedEvent.deleted(userId, card.getDeck().getId(), previousState));
+        }
 
         final var locale = LocaleContextHolder.getLocale();
         final var message = this.messageSource.getMessage("success.card.deleted", null, locale);
@@ -134,10 +150,11 @@ public class CardServiceImpl implements CardService {
         return card;
     }
 
-    private void initializePosition(Card card, User owner) {
+    private CardBoxPosition initializePosition(Card card, User owner) {
         final CardBoxPosition position = CardBoxPosition.createNew(card, owner);
         card.getCardBoxPositions().add(position);
         this.cardBoxPositionRepository.save(position);
+        return position;
     }
 
     private Deck getDeckOrThrow(UUID deckId, UUID userId) {
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,7 @@ import com.repeatwise.entity.Card;
 import com.repeatwise.entity.Deck;
 import com.repeatwise.entity.Folder;
 import com.repeatwise.entity.User;
+import com.repeatwise.event.DeckMovedEvent;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
 import com.repeatwise.mapper.DeckMapper;
@@ -49,6 +51,7 @@ public class DeckServiceImpl implements DeckService {
     private final FolderService folderService;
     private final DeckMapper deckMapper;
     private final MessageSource messageSource;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -73,6 +76,7 @@ public class DeckServiceImpl implements DeckService {
         deck.setCards(new ArrayList<>());
 
         deck = this.deckRepository.save(deck);
+        this.eventPublisher.publishEvent(DeckMovedEvent.created(userId, deck.getId(), request.getFolderId()));
 
         log.info("Created deck {} ({}) for user {}", deck.getName(), deck.getId(), userId);
 
@@ -142,6 +146,7 @@ public class DeckServiceImpl implements DeckService {
         deck.setUpdatedAt(LocalDateTime.now());
 
         final var savedDeck = this.deckRepository.save(deck);
+        this.eventPublisher.publishEvent(new DeckMovedEvent(userId, deckId, currentFolderId, targetFolderId));
 
         log.info("Deck {} moved to folder {} by user {}", deckId, targetFolderId, userId);
 
@@ -179,6 +184,7 @@ public class DeckServiceImpl implements DeckService {
         copyCards(cardsToCopy, newDeck);
 
         final var savedDeck = this.deckRepository.save(newDeck);
+        this.eventPublisher.publishEvent(DeckMovedEvent.created(userId, savedDeck.getId(), destinationFolderId));
 
         final var locale = LocaleContextHolder.getLocale();
         final var message = this.messageSource.getMessage(
@@ -201,6 +207,8 @@ public class DeckServiceImpl implements DeckService {
         final var now = LocalDateTime.now();
         deck.setDeletedAt(now);
         this.deckRepository.save(deck);
+        this.eventPublisher.publishEvent(DeckMovedEvent.deleted(userId, deckId,
+                deck.getFolder() != null ? deck.getFolder().getId() : null));
 
         final var locale = LocaleContextHolder.getLocale();
         final var message = this.messageSource.getMessage(
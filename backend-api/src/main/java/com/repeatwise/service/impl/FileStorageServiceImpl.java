@@ -14,7 +14,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.repeatwise.config.properties.AppProperties;
-import com.repeatwise.enums.ExportFormat;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
 import com.repeatwise.service.FileStorageService;
@@ -37,6 +36,7 @@ public class FileStorageServiceImpl implements FileStorageService {
     private Path importUploadBase;
     private Path importErrorBase;
     private Path exportBase;
+    private Path folderExportBase;
 
     @PostConstruct
     void init() {
@@ -45,11 +45,13 @@ public class FileStorageServiceImpl implements FileStorageService {
         this.importUploadBase = this.basePath.resolve(storage.getImportUploadsDir()).normalize();
         this.importErrorBase = this.basePath.resolve(storage.getImportErrorDir()).normalize();
         this.exportBase = this.basePath.resolve(storage.getExportDir()).normalize();
+        this.folderExportBase = this.basePath.resolve(storage.getFolderExportDir()).normalize();
 
         createDirectories(this.basePath);
         createDirectories(this.importUploadBase);
         createDirectories(this.importErrorBase);
         createDirectories(this.exportBase);
+        createDirectories(this.folderExportBase);
     }
 
     @Override
@@ -74,9 +76,15 @@ public class FileStorageServiceImpl implements FileStorageService {
     }
 
     @Override
-    public Path resolveExportFile(UUID jobId, ExportFormat format) {
+    public Path resolveExportDir() {
         createDirectories(this.exportBase);
-        return this.exportBase.resolve(jobId + "." + format.getExtension());
+        return this.exportBase;
+    }
+
+    @Override
+    public Path resolveFolderExportDir() {
+        createDirectories(this.folderExportBase);
+        return this.folderExportBase;
     }
 
     @Override
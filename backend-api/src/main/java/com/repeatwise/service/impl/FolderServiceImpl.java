@@ -2,34 +2,63 @@ package com.repeatwise.service.impl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.repeatwise.dto.request.folder.CreateFolderRequest;
 import com.repeatwise.dto.request.folder.MoveFolderRequest;
 import com.repeatwise.dto.request.folder.UpdateFolderRequest;
 import com.repeatwise.dto.response.folder.FolderResponse;
 import com.repeatwise.dto.response.folder.FolderStatsResponse;
+import com.repeatwise.dto.response.folder.FolderTreeDeck;
+import com.repeatwise.dto.response.folder.FolderTreeNode;
+import com.repeatwise.dto.response.folder.FolderTreeResponse;
+import com.repeatwise.entity.AsyncJob;
+import com.repeatwise.entity.Deck;
 import com.repeatwise.entity.Folder;
-import com.repeatwise.entity.FolderStats;
 import com.repeatwise.entity.User;
+import com.repeatwise.enums.AsyncJobStatus;
+import com.repeatwise.enums.AsyncJobType;
+import com.repeatwise.event.AsyncJobChangedEvent;
+import com.repeatwise.event.FolderSubtreeChangedEvent;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.job.JobProgressRegistry;
 import com.repeatwise.mapper.FolderMapper;
+import com.repeatwise.repository.AsyncJobRepository;
+import com.repeatwise.repository.CardRepository;
 import com.repeatwise.repository.DeckRepository;
 import com.repeatwise.repository.FolderRepository;
 import com.repeatwise.repository.FolderStatsRepository;
+import com.repeatwise.repository.JdbcBulkInsertRepository;
+import com.repeatwise.repository.JdbcBulkInsertRepository.CardRow;
+import com.repeatwise.repository.JdbcBulkInsertRepository.DeckRow;
+import com.repeatwise.repository.JdbcBulkInsertRepository.FolderRow;
 import com.repeatwise.repository.CardBoxPositionRepository;
-import com.repeatwise.repository.projection.FolderCardStatsProjection;
+import com.repeatwise.repository.projection.CardContentProjection;
+import com.repeatwise.repository.projection.DeckTreeItemProjection;
+import com.repeatwise.repository.projection.FolderTreeNodeProjection;
 import com.repeatwise.repository.UserRepository;
+import com.repeatwise.service.AsyncJobService;
 import com.repeatwise.service.FolderService;
+import com.repeatwise.service.FolderStatsService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,15 +73,31 @@ public class FolderServiceImpl implements FolderService {
 
     private static final int MAX_FOLDER_DEPTH = 10;
     private static final int MAX_COPY_ITEMS = 500;
+    private static final int SYNC_COPY_ITEMS = 50;
+    private static final int SYNC_COPY_CARDS = 1_000;
+    private static final int COPY_BATCH_SIZE = 500;
     private static final String PATH_DELIMITER = "/";
 
+    /** Keyset cursor before the first card of any deck. */
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID KEYSET_START_ID = new UUID(0L, 0L);
+
     private final FolderRepository folderRepository;
     private final DeckRepository deckRepository;
     private final FolderStatsRepository folderStatsRepository;
+    private final FolderStatsService folderStatsService;
     private final CardBoxPositionRepository cardBoxPositionRepository;
+    private final CardRepository cardRepository;
     private final UserRepository userRepository;
+    private final JdbcBulkInsertRepository jdbcBulkInsertRepository;
+    private final AsyncJobRepository asyncJobRepository;
+    private final AsyncJobService asyncJobService;
     private final FolderMapper folderMapper;
     private final MessageSource messageSource;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor jobTaskExecutor;
+    private final JobProgressRegistry jobProgressRegistry;
 
     @Override
     @Transactional
@@ -104,6 +149,8 @@ public class FolderServiceImpl implements FolderService {
 
         // Save folder
         final var savedFolder = this.folderRepository.save(folder);
+        this.eventPublisher.publishEvent(
+                FolderSubtreeChangedEvent.of(userId, savedFolder.getId(), FolderSubtreeChangedEvent.Change.CREATED));
 
         log.info("Created folder {} with ID {} for user {}", savedFolder.getName(), savedFolder.getId(), userId);
 
@@ -215,54 +262,81 @@ public class FolderServiceImpl implements FolderService {
 
         // Perform move operation
         final var oldPath = sourceFolder.getPath();
-        final var parentChanged = !Objects.equals(oldParentId, targetParentId);
+        final var sortOrder = getNextSortOrder(userId, targetParentId);
+        final var newPath = (targetParent != null ? targetParent.getPath() : "") + PATH_DELIMITER + folderId;
+        final var now = LocalDateTime.now();
 
-        if (parentChanged) {
-            sourceFolder.setSortOrder(getNextSortOrder(userId, targetParentId));
+        // Guard target parent first so a concurrent move of it (e.g. into our subtree) conflicts
+        if ((targetParent != null)
+                && (this.folderRepository.bumpVersion(targetParentId, targetParent.getVersion()) == 0)) {
+            throw new RepeatWiseException(RepeatWiseError.FOLDER_CONCURRENT_MODIFICATION, targetParentId);
         }
 
-        sourceFolder.setParentFolder(targetParent);
-        sourceFolder.buildPath(); // Rebuild path based on new parent
-        final var newPath = sourceFolder.getPath();
+        // Move the folder itself only if nobody moved it since we read it
+        if (this.folderRepository.relocateFolder(folderId, sourceFolder.getVersion(), targetParent, newPath, newDepth,
+                sortOrder, now) == 0) {
+            throw new RepeatWiseException(RepeatWiseError.FOLDER_CONCURRENT_MODIFICATION, folderId);
+        }
 
-        final var now = LocalDateTime.now();
-        sourceFolder.setUpdatedAt(now);
-        this.folderRepository.save(sourceFolder);
+        // Rewrite all descendants' paths and depths in a single statement
+        final var oldPrefix = oldPath + PATH_DELIMITER;
+        final var descendantsMoved = this.folderRepository.rewriteSubtreePath(
+                userId,
+                oldPrefix,
+                oldPrefix.length(),
+                newPath + PATH_DELIMITER,
+                depthDelta,
+                now);
+
+        this.eventPublisher.publishEvent(FolderSubtreeChangedEvent.moved(userId, folderId, oldParentId));
 
-        // Update all descendants' paths and depths
-        final var descendants = this.folderRepository.findDescendantsByPath(userId, oldPath + PATH_DELIMITER);
-        for (final Folder descendant : descendants) {
-            // Update path by replacing old prefix with new prefix
-            final var updatedPath = descendant.getPath().replaceFirst("^" + oldPath, newPath);
-            descendant.setPath(updatedPath);
+        log.info("Moved folder {} with {} descendants to new parent {} for user {}",
+                folderId, descendantsMoved, targetParentId, userId);
 
-            // Update depth
-            descendant.setDepth(descendant.getDepth() + depthDelta);
+        // Bulk statements bypass the persistence context; re-read the moved folder
+        return this.folderMapper.toResponse(getFolderEntityByIdInternal(folderId, userId));
+    }
 
-            descendant.setUpdatedAt(now);
+    @Override
+    public CopyResult copyFolder(UUID folderId, UUID destinationFolderId, String newName, UUID userId) {
+        log.debug("Copying folder {} to destination {} for user {}", folderId, destinationFolderId, userId);
 
-            this.folderRepository.save(descendant);
+        final var plan = planCopy(folderId, destinationFolderId, newName, userId);
+
+        if ((plan.totalItems() > SYNC_COPY_ITEMS) || (plan.totalCards() > SYNC_COPY_CARDS)) {
+            final var job = submitFolderJob(AsyncJobType.COPY_FOLDER, plan.copyId(), userId, "folder.copy.pending",
+                    RepeatWiseError.FOLDER_COPY_FAILED, jobId -> {
+                        try {
+                            final var outcome = executeCopy(plan, userId, jobId);
+                            return new FolderJobOutcome(outcome.total(), copiedMessage(plan, outcome));
+                        } catch (RuntimeException ex) {
+                            discardPartialCopy(plan, userId);
+                            throw ex;
+                        }
+                    });
+            log.info("Copying folder {} ({} items, {} cards) for user {} in job {}", folderId, plan.totalItems(),
+                    plan.totalCards(), userId, job.getId());
+            return new CopyResult(null, job);
         }
 
-        log.info("Moved folder {} to new parent {} for user {}", folderId, targetParentId, userId);
+        final var response = this.transactionTemplate.execute(status -> {
+            final var outcome = executeCopy(plan, userId, null);
+            return this.folderMapper.toResponse(getFolderEntityByIdInternal(outcome.folderId(), userId));
+        });
 
-        return this.folderMapper.toResponse(sourceFolder);
-    }
+        log.info("Copied folder {} to destination {} for user {}", folderId, destinationFolderId, userId);
 
-    @Override
-    @Transactional
-    public FolderResponse copyFolder(UUID folderId, UUID destinationFolderId, String newName, UUID userId) {
-        log.debug("Copying folder {} to destination {} for user {}", folderId, destinationFolderId, userId);
+        return new CopyResult(response, null);
+    }
 
-        // Get source folder
+    /**
+     * Validate a copy request (BR-COPY-01..03) and fix the name and ID of the copied root.
+     */
+    private CopyPlan planCopy(UUID folderId, UUID destinationFolderId, String newName, UUID userId) {
         final var sourceFolder = getFolderEntityByIdInternal(folderId, userId);
+        final var sourcePath = sourceFolder.getPath();
 
-        // Count total items in subtree
-        final var sourcePath = sourceFolder.getPath() + PATH_DELIMITER;
-        final var totalItems = this.folderRepository.countItemsInSubtree(userId, sourcePath) + 1; // +1 for source
-                                                                                                   // folder itself
-
-        // Validate size limit (BR-COPY-01, BR-COPY-02, BR-COPY-03)
+        final var totalItems = this.folderRepository.countItemsInSubtree(userId, sourcePath);
         if (totalItems > MAX_COPY_ITEMS) {
             throw new RepeatWiseException(
                     RepeatWiseError.FOLDER_TOO_LARGE,
@@ -270,17 +344,13 @@ public class FolderServiceImpl implements FolderService {
                     MAX_COPY_ITEMS);
         }
 
-        // Get destination parent
-        Folder destinationParent = null;
         var destinationDepth = 0;
-
         if (destinationFolderId != null) {
-            destinationParent = getFolderEntityByIdInternal(destinationFolderId, userId);
-            destinationDepth = destinationParent.getDepth();
+            destinationDepth = getFolderEntityByIdInternal(destinationFolderId, userId).getDepth();
         }
 
         // Validate max depth constraint
-        final var maxSourceDepth = this.folderRepository.getMaxDepthInSubtree(userId, sourcePath);
+        final var maxSourceDepth = this.folderRepository.getMaxDepthInSubtree(userId, sourcePath + PATH_DELIMITER);
         final var sourceSubtreeHeight = (maxSourceDepth != null ? maxSourceDepth : sourceFolder.getDepth())
                 - sourceFolder.getDepth();
         final var newMaxDepth = destinationDepth + 1 + sourceSubtreeHeight;
@@ -292,16 +362,19 @@ public class FolderServiceImpl implements FolderService {
                     MAX_FOLDER_DEPTH);
         }
 
-        // Generate unique name at destination
-        final var copyName = newName != null ? newName
-                : generateUniqueCopyName(sourceFolder.getName(), destinationFolderId, userId);
-
-        // Perform recursive copy
-        final var copiedFolder = copyFolderRecursive(sourceFolder, destinationParent, copyName, userId);
-
-        log.info("Copied folder {} to destination {} for user {}", folderId, destinationFolderId, userId);
+        final String copyName;
+        if (newName != null) {
+            copyName = newName.trim();
+            if (folderNameExists(userId, destinationFolderId, copyName)) {
+                throw new RepeatWiseException(RepeatWiseError.FOLDER_NAME_ALREADY_EXISTS, copyName);
+            }
+        } else {
+            copyName = generateUniqueCopyName(sourceFolder.getName(), destinationFolderId, userId);
+        }
 
-        return this.folderMapper.toResponse(copiedFolder);
+        final var totalCards = this.cardRepository.countActiveInFolderSubtree(userId, sourcePath);
+        return new CopyPlan(folderId, sourcePath, destinationFolderId, copyName, UUID.randomUUID(), totalItems,
+                totalCards);
     }
 
     private String generateUniqueCopyName(String baseName, UUID parentId, UUID userId) {
@@ -316,32 +389,169 @@ public class FolderServiceImpl implements FolderService {
         return copyName;
     }
 
-    private Folder copyFolderRecursive(Folder source, Folder newParent, String newName, UUID userId) {
-        final var user = getUserOrThrow(userId);
+    /**
+     * Copy engine: read the source folders and decks with one query each, assign new IDs and paths in memory
+     * and batch-insert them, then copy the cards deck by deck in keyset pages of {@code COPY_BATCH_SIZE}
+     * with fresh SRS positions. The structure and every card page are written in their own transaction, so
+     * a job never holds one transaction (or more than one page of card content) for the whole subtree; a
+     * synchronous copy runs all of them inside its enclosing transaction. Card pages report progress to
+     * {@code jobId} when running as a job.
+     */
+    private CopyOutcome executeCopy(CopyPlan plan, UUID userId, UUID jobId) {
+        final var now = LocalDateTime.now();
+        final var structure = this.transactionTemplate.execute(status -> copyStructure(plan, userId, now));
+        final var total = Math.toIntExact(structure.folders() + structure.deckCopies().size() + plan.totalCards());
+        var processed = structure.folders() + structure.deckCopies().size();
+        reportCopyProgress(jobId, userId, processed, total);
+
+        final var today = LocalDate.now();
+        var cards = 0;
+        for (final var deckCopy : structure.deckCopies().entrySet()) {
+            var afterCreatedAt = KEYSET_START;
+            var afterId = KEYSET_START_ID;
+            while (true) {
+                final var cursorCreatedAt = afterCreatedAt;
+                final var cursorId = afterId;
+                // Copies are stamped one microsecond apart in source order, so they keep the source card order
+                final var createdAt = now.plus(cards, ChronoUnit.MICROS);
+                final var page = this.transactionTemplate.execute(status -> copyCardPage(deckCopy.getKey(),
+                        deckCopy.getValue(), cursorCreatedAt, cursorId, userId, today, createdAt));
+                cards += page.size();
+                processed += page.size();
+                reportCopyProgress(jobId, userId, processed, Math.max(processed, total));
+                if (page.size() < COPY_BATCH_SIZE) {
+                    break;
+                }
+                final var last = page.get(page.size() - 1);
+                afterCreatedAt = last.getCreatedAt();
+                afterId = last.getId();
+            }
+        }
 
-        // Create new folder
-        var copiedFolder = Folder.builder()
-                .user(user)
-                .parentFolder(newParent)
-                .name(newName)
-                .description(source.getDescription())
-                .sortOrder(getNextSortOrder(userId, newParent != null ? newParent.getId() : null))
-                .build();
+        this.eventPublisher.publishEvent(
+                FolderSubtreeChangedEvent.of(userId, plan.copyId(), FolderSubtreeChangedEvent.Change.COPIED));
 
-        copiedFolder.buildPath();
+        return new CopyOutcome(plan.copyId(), structure.folders(), structure.deckCopies().size(), cards);
+    }
 
-        copiedFolder = this.folderRepository.save(copiedFolder);
+    /**
+     * Insert copies of the source folders and decks.
+     *
+     * @return Number of copied folders and the copy of each source deck
+     */
+    private CopyStructure copyStructure(CopyPlan plan, UUID userId, LocalDateTime now) {
+        final var destination = plan.destinationFolderId() != null
+                ? getFolderEntityByIdInternal(plan.destinationFolderId(), userId)
+                : null;
+        final var sourceFolders = this.folderRepository.findSubtree(userId, plan.sourcePath());
+        if (sourceFolders.isEmpty() || !sourceFolders.get(0).getId().equals(plan.sourceFolderId())) {
+            throw new RepeatWiseException(RepeatWiseError.FOLDER_NOT_FOUND, plan.sourceFolderId());
+        }
 
-        // Copy child folders recursively
-        final var children = this.folderRepository.findChildrenByUserIdAndParentId(userId, source.getId());
-        for (final Folder child : children) {
-            copyFolderRecursive(child, copiedFolder, child.getName(), userId);
+        final Map<UUID, FolderRow> folderCopies = new HashMap<>();
+        final List<FolderRow> folderRows = new ArrayList<>(sourceFolders.size());
+        for (final Folder source : sourceFolders) {
+            final FolderRow row;
+            if (source.getId().equals(plan.sourceFolderId())) {
+                final var parentPath = destination != null ? destination.getPath() : "";
+                row = new FolderRow(
+                        plan.copyId(),
+                        userId,
+                        plan.destinationFolderId(),
+                        plan.copyName(),
+                        source.getDescription(),
+                        destination != null ? destination.getDepth() + 1 : 0,
+                        parentPath + PATH_DELIMITER + plan.copyId(),
+                        getNextSortOrder(userId, plan.destinationFolderId()));
+            } else {
+                final var parent = folderCopies.get(source.getParentFolder().getId());
+                if (parent == null) {
+                    continue;
+                }
+                final var id = UUID.randomUUID();
+                row = new FolderRow(
+                        id,
+                        userId,
+                        parent.id(),
+                        source.getName(),
+                        source.getDescription(),
+                        parent.depth() + 1,
+                        parent.path() + PATH_DELIMITER + id,
+                        source.getSortOrder());
+            }
+            folderCopies.put(source.getId(), row);
+            folderRows.add(row);
         }
 
-        // Copy decks in this folder (if DeckRepository is available)
-        // This would be implemented when deck copying is ready
+        final Map<UUID, UUID> deckCopies = new LinkedHashMap<>();
+        final List<DeckRow> deckRows = new ArrayList<>();
+        for (final Deck deck : this.deckRepository.findActiveByFolderSubtree(userId, plan.sourcePath())) {
+            final var folderCopy = folderCopies.get(deck.getFolder().getId());
+            if (folderCopy == null) {
+                continue;
+            }
+            final var id = UUID.randomUUID();
+            deckCopies.put(deck.getId(), id);
+            deckRows.add(new DeckRow(id, userId, folderCopy.id(), deck.getName(), deck.getDescription()));
+        }
 
-        return copiedFolder;
+        this.jdbcBulkInsertRepository.insertFolders(folderRows, COPY_BATCH_SIZE, now);
+        this.jdbcBulkInsertRepository.insertDecks(deckRows, COPY_BATCH_SIZE, now);
+        return new CopyStructure(folderRows.size(), deckCopies);
+    }
+
+    /**
+     * Copy the page of cards of {@code sourceDeckId} following the (createdAt, id) cursor into {@code deckId}.
+     * The copies are created from {@code createdAt} on, one microsecond apart.
+     *
+     * @return The source page, whose last card is the cursor of the next page
+     */
+    private List<CardContentProjection> copyCardPage(UUID sourceDeckId, UUID deckId, LocalDateTime afterCreatedAt,
+            UUID afterId, UUID userId, LocalDate today, LocalDateTime createdAt) {
+        final var page = this.cardRepository.findContentPage(sourceDeckId, afterCreatedAt, afterId,
+                PageRequest.of(0, COPY_BATCH_SIZE));
+        if (page.isEmpty()) {
+            return page;
+        }
+        final var cardRows = page.stream()
+                .map(card -> new CardRow(UUID.randomUUID(), deckId, card.getFront(), card.getBack()))
+                .toList();
+        this.jdbcBulkInsertRepository.insertCards(cardRows, COPY_BATCH_SIZE, createdAt);
+        this.jdbcBulkInsertRepository.insertNewCardBoxPositions(cardRows.stream().map(CardRow::id).toList(), userId,
+                today, COPY_BATCH_SIZE, createdAt);
+        return page;
+    }
+
+    /**
+     * A failed copy job keeps the pages it already committed. They are deleted for good, so a half-copied
+     * folder never reaches the trash, and without a stats event: the copy was never counted, since it is only
+     * announced once complete.
+     */
+    private void discardPartialCopy(CopyPlan plan, UUID userId) {
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> this.folderRepository.findById(plan.copyId())
+                    .ifPresent(copy -> this.folderRepository.deleteSubtree(userId, copy.getPath())));
+        } catch (RuntimeException ex) {
+            log.warn("Could not discard partial copy {} of folder {}", plan.copyId(), plan.sourceFolderId(), ex);
+        }
+    }
+
+    private void reportCopyProgress(UUID jobId, UUID userId, int processed, int total) {
+        if (jobId == null) {
+            return;
+        }
+        // Reported through the registry and its periodic flush rather than one job row update per page
+        this.jobProgressRegistry.find(jobId)
+                .orElseGet(() -> this.jobProgressRegistry.track(jobId, userId, total, "folder.copy.running",
+                        LocaleContextHolder.getLocale()))
+                .update(processed, total);
+    }
+
+    private String copiedMessage(CopyPlan plan, CopyOutcome outcome) {
+        return this.messageSource.getMessage(
+                "success.folder.copied",
+                new Object[] { plan.copyName(), outcome.folders(), outcome.decks(), outcome.cards() },
+                LocaleContextHolder.getLocale());
     }
 
     @Override
@@ -349,50 +559,55 @@ public class FolderServiceImpl implements FolderService {
     public DeletionSummary deleteFolder(UUID folderId, UUID userId) {
         log.debug("Soft deleting folder {} for user {}", folderId, userId);
 
-        // Get folder
         final var folder = getFolderEntityByIdInternal(folderId, userId);
-
-        final var now = LocalDateTime.now();
-
-        // Soft delete folder
-        folder.setDeletedAt(now);
-        this.folderRepository.save(folder);
-
-        // Soft delete all descendants
-        final var path = folder.getPath() + PATH_DELIMITER;
-        final var descendants = this.folderRepository.findDescendantsByPath(userId, path);
-        var foldersDeleted = 1; // Include the folder itself
-
-        for (final Folder descendant : descendants) {
-            descendant.setDeletedAt(now);
-            this.folderRepository.save(descendant);
-            foldersDeleted++;
-        }
-
-        // Soft delete all decks in folder tree
-        // Get all folder IDs in the subtree
-        final List<UUID> folderIds = new ArrayList<>();
-        folderIds.add(folderId);
-        descendants.forEach(d -> folderIds.add(d.getId()));
-
-        // Soft delete decks (if DeckRepository supports it)
-        final var decksDeleted = softDeleteDecksInFolders(folderIds, now);
+        final var counts = softDeleteSubtree(folder, userId);
 
         final var message = this.messageSource.getMessage(
                 "success.folder.deleted",
                 new Object[] { folder.getName() },
                 LocaleContextHolder.getLocale());
 
-        log.info("Soft deleted folder {} and {} descendants for user {}", folderId, foldersDeleted - 1, userId);
+        log.info("Soft deleted folder {} ({} folders, {} decks, {} cards) for user {}",
+                folderId, counts.folders(), counts.decks(), counts.cards(), userId);
 
-        return new DeletionSummary(foldersDeleted, decksDeleted, message);
+        return new DeletionSummary(counts.folders(), counts.decks(), counts.cards(), message);
     }
 
-    private int softDeleteDecksInFolders(List<UUID> folderIds, LocalDateTime deletedAt) {
-        if (folderIds.isEmpty()) {
-            return 0;
-        }
-        return this.deckRepository.softDeleteByFolderIds(folderIds, deletedAt);
+    @Override
+    public AsyncJob startDeleteFolderJob(UUID folderId, UUID userId) {
+        final var folder = getFolderEntityByIdInternal(folderId, userId);
+        final var folderName = folder.getName();
+        return submitFolderJob(AsyncJobType.DELETE_FOLDER, folderId, userId, null, RepeatWiseError.FOLDER_DELETE_FAILED,
+                jobId -> {
+                    final var counts = this.transactionTemplate.execute(
+                            status -> softDeleteSubtree(getFolderEntityByIdInternal(folderId, userId), userId));
+                    return new FolderJobOutcome(counts.total(), this.messageSource.getMessage(
+                            "success.folder.deleted", new Object[] { folderName }, LocaleContextHolder.getLocale()));
+                });
+    }
+
+    /**
+     * Soft delete the whole subtree with one statement per table, keyed on the path prefix.
+     * Leaves go first because each statement only follows parents that are still active.
+     */
+    private SubtreeCounts softDeleteSubtree(Folder folder, UUID userId) {
+        // Truncated to database precision so restore can match the cascade by deleted_at
+        final var deletedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        final var path = folder.getPath();
+
+        // Counted while the subtree is still active
+        this.eventPublisher.publishEvent(
+                FolderSubtreeChangedEvent.of(userId, folder.getId(), FolderSubtreeChangedEvent.Change.DELETED));
+        return softDeleteRows(userId, path, deletedAt);
+    }
+
+    private SubtreeCounts softDeleteRows(UUID userId, String path, LocalDateTime deletedAt) {
+        this.cardBoxPositionRepository.softDeleteByFolderSubtree(userId, path, deletedAt);
+        final var cards = this.cardRepository.softDeleteByFolderSubtree(userId, path, deletedAt);
+        final var decks = this.deckRepository.softDeleteByFolderSubtree(userId, path, deletedAt);
+        final var folders = this.folderRepository.softDeleteSubtree(userId, path, deletedAt);
+
+        return new SubtreeCounts(folders, decks, cards);
     }
 
     @Override
@@ -411,6 +626,130 @@ public class FolderServiceImpl implements FolderService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TreeVersion getTreeVersion(UUID userId) {
+        final var folders = this.folderRepository.getTreeSyncState(userId);
+        final var decks = this.deckRepository.getTreeSyncState(userId);
+
+        final var cursor = latest(folders.getLastModified(), decks.getLastModified());
+        // Row counts (soft-deleted included) catch permanent deletes that leave the last change untouched
+        final var changeMarker = cursor != null
+                ? ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), cursor)
+                : 0L;
+        final var etag = folders.getRowCount() + "-" + decks.getRowCount() + "-" + Long.toHexString(changeMarker);
+
+        return new TreeVersion(etag, cursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FolderTreeResponse getFolderTree(UUID userId, LocalDateTime since, TreeVersion version) {
+        final var cursor = version.cursor() != null ? version.cursor() : since;
+        if (since != null) {
+            return buildTreeDelta(userId, since, cursor);
+        }
+
+        // Rows arrive parents first with siblings in display order, so one pass builds the tree
+        final Map<UUID, FolderTreeNode> nodes = new HashMap<>();
+        final List<FolderTreeNode> roots = new ArrayList<>();
+        for (final FolderTreeNodeProjection row : this.folderRepository.findTreeNodes(userId)) {
+            final var node = toTreeNode(row);
+            node.setChildren(new ArrayList<>());
+            node.setDecks(new ArrayList<>());
+            nodes.put(row.getId(), node);
+
+            if (row.getParentFolderId() == null) {
+                roots.add(node);
+            } else {
+                final var parent = nodes.get(row.getParentFolderId());
+                if (parent != null) {
+                    parent.getChildren().add(node);
+                }
+            }
+        }
+
+        final List<FolderTreeDeck> rootDecks = new ArrayList<>();
+        for (final DeckTreeItemProjection row : this.deckRepository.findTreeItems(userId)) {
+            if (row.getFolderId() == null) {
+                rootDecks.add(toTreeDeck(row));
+            } else {
+                final var folder = nodes.get(row.getFolderId());
+                if (folder != null) {
+                    folder.getDecks().add(toTreeDeck(row));
+                }
+            }
+        }
+
+        return FolderTreeResponse.builder()
+                .cursor(cursor)
+                .delta(false)
+                .folders(roots)
+                .decks(rootDecks)
+                .build();
+    }
+
+    private FolderTreeResponse buildTreeDelta(UUID userId, LocalDateTime since, LocalDateTime cursor) {
+        final List<FolderTreeNode> folders = new ArrayList<>();
+        final List<UUID> deletedFolderIds = new ArrayList<>();
+        for (final FolderTreeNodeProjection row : this.folderRepository.findTreeNodesChangedSince(userId, since)) {
+            if (row.getDeletedAt() != null) {
+                deletedFolderIds.add(row.getId());
+            } else {
+                folders.add(toTreeNode(row));
+            }
+        }
+
+        final List<FolderTreeDeck> decks = new ArrayList<>();
+        final List<UUID> deletedDeckIds = new ArrayList<>();
+        for (final DeckTreeItemProjection row : this.deckRepository.findTreeItemsChangedSince(userId, since)) {
+            if (row.getDeletedAt() != null) {
+                deletedDeckIds.add(row.getId());
+            } else {
+                decks.add(toTreeDeck(row));
+            }
+        }
+
+        return FolderTreeResponse.builder()
+                .cursor(cursor)
+                .delta(true)
+                .folders(folders)
+                .decks(decks)
+                .deletedFolderIds(deletedFolderIds)
+                .deletedDeckIds(deletedDeckIds)
+                .build();
+    }
+
+    private static FolderTreeNode toTreeNode(FolderTreeNodeProjection row) {
+        return FolderTreeNode.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .description(row.getDescription())
+                .parentFolderId(row.getParentFolderId())
+                .depth(row.getDepth())
+                .path(row.getPath())
+                .sortOrder(row.getSortOrder())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private static FolderTreeDeck toTreeDeck(DeckTreeItemProjection row) {
+        return FolderTreeDeck.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .description(row.getDescription())
+                .folderId(row.getFolderId())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second != null && second.isAfter(first) ? second : first;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<FolderResponse> getRootFolders(UUID userId) {
@@ -437,97 +776,138 @@ public class FolderServiceImpl implements FolderService {
     public FolderResponse restoreFolder(UUID folderId, UUID userId) {
         log.debug("Restoring folder {} for user {}", folderId, userId);
 
-        // Find soft-deleted folder
-        final var folder = this.folderRepository.findDeletedByIdAndUserId(folderId, userId)
-                .orElseThrow(() -> new RepeatWiseException(
-                        RepeatWiseError.FOLDER_NOT_FOUND,
-                        folderId));
+        final var folder = getDeletedFolderOrThrow(folderId, userId);
+        final var counts = restoreSubtree(folder, userId);
 
-        // Restore folder
-        folder.setDeletedAt(null);
-        this.folderRepository.save(folder);
+        log.info("Restored folder {} ({} folders, {} decks, {} cards) for user {}",
+                folderId, counts.folders(), counts.decks(), counts.cards(), userId);
 
-        // Restore all descendants
-        final var path = folder.getPath() + PATH_DELIMITER;
-        final var descendants = this.folderRepository.findDescendantsByPath(userId, path);
+        return this.folderMapper.toResponse(getFolderEntityByIdInternal(folderId, userId));
+    }
 
-        final List<UUID> folderIds = new ArrayList<>();
-        folderIds.add(folderId);
+    @Override
+    public AsyncJob startRestoreFolderJob(UUID folderId, UUID userId) {
+        final var folder = getDeletedFolderOrThrow(folderId, userId);
+        final var folderName = folder.getName();
+        return submitFolderJob(AsyncJobType.RESTORE_FOLDER, folderId, userId, null,
+                RepeatWiseError.FOLDER_RESTORE_FAILED, jobId -> {
+                    final var counts = this.transactionTemplate.execute(
+                            status -> restoreSubtree(getDeletedFolderOrThrow(folderId, userId), userId));
+                    return new FolderJobOutcome(counts.total(), this.messageSource.getMessage(
+                            "success.folder.restored", new Object[] { folderName }, LocaleContextHolder.getLocale()));
+                });
+    }
 
-        for (final Folder descendant : descendants) {
-            descendant.setDeletedAt(null);
-            this.folderRepository.save(descendant);
-            folderIds.add(descendant.getId());
-        }
+    /**
+     * Restore everything removed by the same cascade as the folder (matched by its deleted_at),
+     * so items that were deleted on their own earlier stay in the trash.
+     */
+    private SubtreeCounts restoreSubtree(Folder folder, UUID userId) {
+        final var deletedAt = folder.getDeletedAt();
+        final var path = folder.getPath();
+
+        this.cardBoxPositionRepository.restoreByFolderSubtree(userId, path, deletedAt);
+        final var cards = this.cardRepository.restoreByFolderSubtree(userId, path, deletedAt);
+        final var decks = this.deckRepository.restoreByFolderSubtree(userId, path, deletedAt);
+        final var folders = this.folderRepository.restoreSubtree(userId, path, deletedAt);
+        this.eventPublisher.publishEvent(
+                FolderSubtreeChangedEvent.of(userId, folder.getId(), FolderSubtreeChangedEvent.Change.RESTORED));
+
+        return new SubtreeCounts(folders, decks, cards);
+    }
 
-        // Restore all decks in folder tree
-        if (!folderIds.isEmpty()) {
-            this.deckRepository.restoreByFolderIds(folderIds);
+    private Folder getDeletedFolderOrThrow(UUID folderId, UUID userId) {
+        return this.folderRepository.findDeletedByIdAndUserId(folderId, userId)
+                .orElseThrow(() -> new RepeatWiseException(
+                        RepeatWiseError.FOLDER_NOT_FOUND,
+                        folderId));
+    }
+
+    /**
+     * Run folder tree work on the job executor. The work manages its own transactions and returns the
+     * number of processed items and the completion message.
+     */
+    private AsyncJob submitFolderJob(AsyncJobType jobType, UUID folderId, UUID userId, String pendingMessageKey,
+            RepeatWiseError failure, Function<UUID, FolderJobOutcome> work) {
+        final var locale = LocaleContextHolder.getLocale();
+        final var job = new AsyncJob();
+        job.setJobType(jobType);
+        job.setStatus(AsyncJobStatus.PENDING);
+        job.setUserId(userId);
+        job.setFolderId(folderId);
+        if (pendingMessageKey != null) {
+            job.setMessage(this.messageSource.getMessage(pendingMessageKey, null, locale));
         }
+        final var savedJob = this.asyncJobService.save(job);
 
-        log.info("Restored folder {} and {} descendants for user {}", folderId, descendants.size(), userId);
+        this.jobTaskExecutor.execute(() -> runFolderJob(savedJob.getId(), userId, locale, failure, work));
+        return savedJob;
+    }
 
-        return this.folderMapper.toResponse(folder);
+    private void runFolderJob(UUID jobId, UUID userId, Locale locale, RepeatWiseError failure,
+            Function<UUID, FolderJobOutcome> work) {
+        LocaleContextHolder.setLocale(locale);
+        try {
+            updateJob(jobId, job -> {
+                job.setStatus(AsyncJobStatus.RUNNING);
+                job.setStartedAt(LocalDateTime.now());
+            });
+
+            final var outcome = work.apply(jobId);
+            updateJob(jobId, job -> {
+                job.setStatus(AsyncJobStatus.COMPLETED);
+                job.setCompletedAt(LocalDateTime.now());
+                job.setTotalRows(outcome.processed());
+                job.setProcessedRows(outcome.processed());
+                job.setSuccessCount(outcome.processed());
+                job.setMessage(outcome.message());
+            });
+        } catch (RuntimeException ex) {
+            log.error("Folder job {} failed", jobId, ex);
+            final var error = ex instanceof RepeatWiseException rwe ? rwe.getError() : failure;
+            final var args = ex instanceof RepeatWiseException rwe ? rwe.getMessageArgs() : new Object[0];
+            updateJob(jobId, job -> {
+                job.setStatus(AsyncJobStatus.FAILED);
+                job.setCompletedAt(LocalDateTime.now());
+                job.setMessage(this.messageSource.getMessage(error.getMessageKey(), args, locale));
+            });
+        } finally {
+            this.jobProgressRegistry.untrack(jobId);
+            this.eventPublisher.publishEvent(new AsyncJobChangedEvent(userId, jobId));
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    private void updateJob(UUID jobId, Consumer<AsyncJob> update) {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            final var job = this.asyncJobRepository.findById(jobId)
+                    .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, jobId));
+            update.accept(job);
+            this.asyncJobRepository.save(job);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public FolderStatsResponse getFolderStats(UUID folderId, UUID userId, boolean forceRefresh) {
         final var folder = getFolderEntityByIdInternal(folderId, userId);
-        final var folderIds = collectFolderIds(folder, userId);
-        final var deckIds = getActiveDeckIds(userId, folderIds);
-
-        final int totalDescendants = Math.max(folderIds.size() - 1, 0);
-        final int totalDecks = deckIds.size();
-
-        final var folderStats = this.folderStatsRepository.findByFolderIdAndUserId(folderId, userId)
-                .orElseGet(() -> FolderStats.builder()
-                        .folder(folder)
-                        .user(getUserOrThrow(userId))
-                        .build());
-
-        final boolean needsRecompute = forceRefresh || folderStats.isStale();
-        CardStatsAggregate aggregate = null;
-
-        if (needsRecompute) {
-            aggregate = computeCardStats(userId, deckIds);
-            folderStats.setTotalCardsCount(intValue(aggregate.totalCards()));
-            folderStats.setDueCardsCount(intValue(aggregate.dueCards()));
-            folderStats.setNewCardsCount(intValue(aggregate.newCards()));
-            folderStats.setLearningCardsCount(intValue(aggregate.learningCards()));
-            folderStats.setReviewCardsCount(intValue(aggregate.reviewCards()));
-            folderStats.setMatureCardsCount(intValue(aggregate.masteredCards()));
-            folderStats.setTotalFoldersCount(totalDescendants);
-            folderStats.setTotalDecksCount(totalDecks);
-            folderStats.refreshTimestamp();
-            this.folderStatsRepository.save(folderStats);
-        } else {
-            boolean structureUpdated = false;
-            if (!folderStats.getTotalFoldersCount().equals(totalDescendants)) {
-                folderStats.setTotalFoldersCount(totalDescendants);
-                structureUpdated = true;
-            }
-            if (!folderStats.getTotalDecksCount().equals(totalDecks)) {
-                folderStats.setTotalDecksCount(totalDecks);
-                structureUpdated = true;
-            }
-            if (structureUpdated) {
-                this.folderStatsRepository.save(folderStats);
-            }
+        if (forceRefresh) {
+            this.folderStatsService.refreshSubtree(userId, folder.getPath());
         }
 
-        // Ensure aggregate is available for completion rate when stats recomputed
-        if (aggregate == null) {
-            aggregate = new CardStatsAggregate(
-                    folderStats.getTotalCardsCount(),
-                    folderStats.getDueCardsCount(),
-                    folderStats.getNewCardsCount(),
-                    folderStats.getLearningCardsCount(),
-                    folderStats.getReviewCardsCount(),
-                    folderStats.getMatureCardsCount());
+        // Counters are maintained by domain events; a missing row is computed without being stored
+        final var today = LocalDate.now();
+        final var storedStats = this.folderStatsRepository.findByFolderIdAndUserId(folderId, userId);
+        final var folderStats = storedStats.orElseGet(() -> this.folderStatsService.computeStats(userId, folder));
+
+        var dueCards = folderStats.getDueCardsCount();
+        if (!folderStats.isDueCountedOn(today)) {
+            dueCards = intValue(this.cardBoxPositionRepository.countDueInFolderSubtree(userId, folder.getPath(),
+                    today));
         }
 
-        final double completionRate = calculateCompletionRate(aggregate.masteredCards(), aggregate.totalCards());
+        final double completionRate = calculateCompletionRate(folderStats.getMatureCardsCount(),
+                folderStats.getTotalCardsCount());
 
         return FolderStatsResponse.builder()
                 .folderId(folderId)
@@ -535,74 +915,55 @@ public class FolderServiceImpl implements FolderService {
                 .totalFolders(folderStats.getTotalFoldersCount())
                 .totalDecks(folderStats.getTotalDecksCount())
                 .totalCards(folderStats.getTotalCardsCount())
-                .dueCards(folderStats.getDueCardsCount())
+                .dueCards(dueCards)
                 .newCards(folderStats.getNewCardsCount())
                 .learningCards(folderStats.getLearningCardsCount())
                 .reviewCards(folderStats.getReviewCardsCount())
                 .masteredCards(folderStats.getMatureCardsCount())
                 .completionRate(completionRate)
-                .cached(!needsRecompute)
+                .cached(storedStats.isPresent() && !forceRefresh)
                 .lastUpdatedAt(folderStats.getLastComputedAt())
                 .build();
     }
 
-    private List<UUID> collectFolderIds(Folder folder, UUID userId) {
-        final List<UUID> ids = new ArrayList<>();
-        ids.add(folder.getId());
-        final var descendants = this.folderRepository.findDescendantsByPath(userId, folder.getPath() + PATH_DELIMITER);
-        descendants.forEach(descendant -> ids.add(descendant.getId()));
-        return ids;
-    }
-
-    private List<UUID> getActiveDeckIds(UUID userId, List<UUID> folderIds) {
-        if (folderIds.isEmpty()) {
-            return List.of();
+    private double calculateCompletionRate(long masteredCards, long totalCards) {
+        if (totalCards <= 0) {
+            return 0d;
         }
-        return this.deckRepository.findActiveDeckIdsByUserIdAndFolderIds(userId, folderIds);
+        final double rate = (masteredCards * 100.0d) / totalCards;
+        return Math.round(rate * 10d) / 10d;
     }
 
-    private CardStatsAggregate computeCardStats(UUID userId, List<UUID> deckIds) {
-        if (deckIds.isEmpty()) {
-            return CardStatsAggregate.empty();
-        }
+    private int intValue(long value) {
+        return Math.toIntExact(value);
+    }
 
-        final FolderCardStatsProjection projection = this.cardBoxPositionRepository.aggregateStats(userId, deckIds,
-                LocalDate.now());
+    private record SubtreeCounts(int folders, int decks, int cards) {
 
-        if (projection == null) {
-            return CardStatsAggregate.empty();
+        private int total() {
+            return this.folders + this.decks + this.cards;
         }
+    }
 
-        return new CardStatsAggregate(
-                projection.getTotalCards(),
-                projection.getDueCards(),
-                projection.getNewCards(),
-                projection.getLearningCards(),
-                projection.getReviewCards(),
-                projection.getMasteredCards());
+    private record FolderJobOutcome(int processed, String message) {
     }
 
-    private double calculateCompletionRate(long masteredCards, long totalCards) {
-        if (totalCards <= 0) {
-            return 0d;
-        }
-        final double rate = (masteredCards * 100.0d) / totalCards;
-        return Math.round(rate * 10d) / 10d;
+    private record CopyPlan(UUID sourceFolderId,
+            String sourcePath,
+            UUID destinationFolderId,
+            String copyName,
+            UUID copyId,
+            long totalItems,
+            long totalCards) {
     }
 
-    private int intValue(long value) {
-        return Math.toIntExact(value);
+    private record CopyStructure(int folders, Map<UUID, UUID> deckCopies) {
     }
 
-    private record CardStatsAggregate(long totalCards,
-            long dueCards,
-            long newCards,
-            long learningCards,
-            long reviewCards,
-            long masteredCards) {
+    private record CopyOutcome(UUID folderId, int folders, int decks, int cards) {
 
-        private static CardStatsAggregate empty() {
-            return new CardStatsAggregate(0L, 0L, 0L, 0L, 0L, 0L);
+        private int total() {
+            return this.folders + this.decks + this.cards;
         }
     }
 
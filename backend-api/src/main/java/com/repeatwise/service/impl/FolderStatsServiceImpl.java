@@ -0,0 +1,367 @@
+package com.repeatwise.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.repeatwise.entity.Folder;
+import com.repeatwise.entity.FolderStats;
+import com.repeatwise.event.CardStateChangedEvent;
+import com.repeatwise.event.CardStateChangedEvent.CardState;
+import com.repeatwise.event.CardsImportedEvent;
+import com.repeatwise.event.CardsReviewedEvent;
+import com.repeatwise.event.DeckMovedEvent;
+import com.repeatwise.event.FolderSubtreeChangedEvent;
+import com.repeatwise.repository.CardBoxPositionRepository;
+import com.repeatwise.repository.DeckRepository;
+import com.repeatwise.repository.FolderRepository;
+import com.repeatwise.repository.FolderStatsRepository;
+import com.repeatwise.repository.UserRepository;
+import com.repeatwise.repository.projection.FolderCardStatsProjection;
+import com.repeatwise.repository.projection.FolderSubtreeStatsProjection;
+import com.repeatwise.service.FolderStatsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains folder statistics counters.
+ *
+ * <p>Domain events are handled synchronously in the publisher's transaction, so counters commit or roll
+ * back together with the change that moved them. Each change becomes a delta added to the folder that
+ * directly contains it and to all of its ancestors with a single UPDATE over their paths.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FolderStatsServiceImpl implements FolderStatsService {
+
+    private static final String PATH_DELIMITER = "/";
+
+    private final FolderStatsRepository folderStatsRepository;
+    private final FolderRepository folderRepository;
+    private final DeckRepository deckRepository;
+    private final CardBoxPositionRepository cardBoxPositionRepository;
+    private final UserRepository userRepository;
+
+    @EventListener
+    @Transactional
+    public void onCardStateChanged(CardStateChangedEvent event) {
+        final var today = LocalDate.now();
+        final var delta = StatsDelta.ofCard(event.current(), today)
+                .minus(StatsDelta.ofCard(event.previous(), today));
+        this.deckRepository.findFolderPathByDeckId(event.deckId())
+                .ifPresent(path -> apply(event.userId(), path, delta, today));
+    }
+
+    /**
+     * A review batch is summed per folder first, so the batch costs one path lookup and one UPDATE per folder
+     * however many cards it rated.
+     */
+    @EventListener
+    @Transactional
+    public void onCardsReviewed(CardsReviewedEvent event) {
+        final var today = LocalDate.now();
+        final Map<UUID, StatsDelta> byDeck = new HashMap<>();
+        for (final var change : event.changes()) {
+            byDeck.merge(change.deckId(),
+                    StatsDelta.ofCard(change.current(), today).minus(StatsDelta.ofCard(change.previous(), today)),
+                    StatsDelta::plus);
+        }
+        byDeck.values().removeIf(StatsDelta::isZero);
+        if (byDeck.isEmpty()) {
+            return;
+        }
+        final Map<String, StatsDelta> byPath = new LinkedHashMap<>();
+        for (final var deck : this.deckRepository.findFolderPathsByDeckIds(byDeck.keySet())) {
+            byPath.merge(deck.getPath(), byDeck.get(deck.getDeckId()), StatsDelta::plus);
+        }
+        byPath.forEach((path, delta) -> apply(event.userId(), path, delta, today));
+    }
+
+    @EventListener
+    @Transactional
+    public void onCardsImported(CardsImportedEvent event) {
+        if (event.count() <= 0) {
+            return;
+        }
+        final var today = LocalDate.now();
+        final var delta = StatsDelta.ofCard(new CardState(1, 0, event.dueDate()), today).times(event.count());
+        this.deckRepository.findFolderPathByDeckId(event.deckId())
+                .ifPresent(path -> apply(event.userId(), path, delta, today));
+    }
+
+    @EventListener
+    @Transactional
+    public void onDeckMoved(DeckMovedEvent event) {
+        if (event.fromFolderId() == null && event.toFolderId() == null) {
+            return;
+        }
+        final var today = LocalDate.now();
+        final var delta = StatsDelta.ofCards(
+                this.cardBoxPositionRepository.aggregateDeckStats(event.userId(), event.deckId(), today))
+                .plus(StatsDelta.DECK);
+
+        applyToFolder(event.userId(), event.fromFolderId(), delta.negate(), today);
+        applyToFolder(event.userId(), event.toFolderId(), delta, today);
+    }
+
+    @EventListener
+    @Transactional
+    public void onFolderSubtreeChanged(FolderSubtreeChangedEvent event) {
+        final var userId = event.userId();
+        final var folder = this.folderRepository.findById(event.folderId()).orElse(null);
+        if (folder == null) {
+            return;
+        }
+        final var today = LocalDate.now();
+        final var parentId = folder.getParentFolder() != null ? folder.getParentFolder().getId() : null;
+
+        switch (event.change()) {
+            case CREATED -> {
+                this.folderStatsRepository.save(emptyStats(userId, folder, today));
+                applyToFolder(userId, parentId, StatsDelta.FOLDER, today);
+            }
+            case DELETED -> applyToFolder(userId, parentId, subtreeDelta(userId, folder, today).negate(), today);
+            case RESTORED, COPIED -> {
+                rebuildSubtree(userId, folder.getPath());
+                applyToFolder(userId, parentId, subtreeDelta(userId, folder, today), today);
+            }
+            case MOVED -> {
+                final var delta = subtreeDelta(userId, folder, today);
+                applyToFolder(userId, event.previousParentId(), delta.negate(), today);
+                applyToFolder(userId, parentId, delta, today);
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FolderStats computeStats(UUID userId, Folder folder) {
+        final var today = LocalDate.now();
+        final var stats = emptyStats(userId, folder, today);
+        this.folderStatsRepository.aggregateFolderStats(userId, folder.getPath(), today)
+                .ifPresent(row -> copyCounters(row, stats, today));
+        return stats;
+    }
+
+    @Override
+    @Transactional
+    public void rebuildSubtree(UUID userId, String path) {
+        final var today = LocalDate.now();
+        final var computed = this.folderStatsRepository.aggregateSubtreeStats(userId, path, today);
+        if (computed.isEmpty()) {
+            return;
+        }
+
+        final Map<UUID, FolderStats> existing = new HashMap<>();
+        this.folderStatsRepository.findByUserIdAndFolderIdIn(userId,
+                computed.stream().map(FolderSubtreeStatsProjection::getFolderId).toList())
+                .forEach(stats -> existing.put(stats.getFolder().getId(), stats));
+
+        final List<FolderStats> rows = new ArrayList<>(computed.size());
+        for (final FolderSubtreeStatsProjection row : computed) {
+            final var stats = existing.computeIfAbsent(row.getFolderId(), folderId ->
+                    emptyStats(userId, this.folderRepository.getReferenceById(folderId), today));
+            copyCounters(row, stats, today);
+            rows.add(stats);
+        }
+        this.folderStatsRepository.saveAll(rows);
+        log.debug("Rebuilt stats of {} folders under {} for user {}", rows.size(), path, userId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refreshSubtree(UUID userId, String path) {
+        rebuildSubtree(userId, path);
+    }
+
+    /**
+     * Contribution of an active subtree to its ancestors: the subtree root itself plus its counters
+     */
+    private StatsDelta subtreeDelta(UUID userId, Folder folder, LocalDate today) {
+        final var stats = this.folderStatsRepository.findByFolderIdAndUserId(folder.getId(), userId)
+                .orElseGet(() -> computeStats(userId, folder));
+        var delta = StatsDelta.of(stats);
+        if (!stats.isDueCountedOn(today)) {
+            delta = delta.withDueCards(Math.toIntExact(
+                    this.cardBoxPositionRepository.countDueInFolderSubtree(userId, folder.getPath(), today)));
+        }
+        return delta.plus(StatsDelta.FOLDER);
+    }
+
+    private void applyToFolder(UUID userId, UUID folderId, StatsDelta delta, LocalDate today) {
+        if (folderId == null) {
+            return;
+        }
+        this.folderRepository.findById(folderId)
+                .ifPresent(folder -> apply(userId, folder.getPath(), delta, today));
+    }
+
+    /**
+     * Add a delta to the folder at {@code path} and every ancestor (each prefix of the materialized path)
+     */
+    private void apply(UUID userId, String path, StatsDelta delta, LocalDate today) {
+        if (delta.isZero()) {
+            return;
+        }
+        this.folderStatsRepository.applyDelta(
+                userId,
+                ancestorPaths(path),
+                delta.folders(),
+                delta.decks(),
+                delta.cards(),
+                delta.dueCards(),
+                delta.newCards(),
+                delta.learningCards(),
+                delta.reviewCards(),
+                delta.matureCards(),
+                today);
+    }
+
+    static List<String> ancestorPaths(String path) {
+        final List<String> paths = new ArrayList<>();
+        var end = path.indexOf(PATH_DELIMITER, 1);
+        while (end > 0) {
+            paths.add(path.substring(0, end));
+            end = path.indexOf(PATH_DELIMITER, end + 1);
+        }
+        paths.add(path);
+        return paths;
+    }
+
+    private FolderStats emptyStats(UUID userId, Folder folder, LocalDate today) {
+        return FolderStats.builder()
+                .folder(folder)
+                .user(this.userRepository.getReferenceById(userId))
+                .dueCountedOn(today)
+                .build();
+    }
+
+    private static void copyCounters(FolderSubtreeStatsProjection source, FolderStats target, LocalDate today) {
+        target.setTotalFoldersCount(Math.toIntExact(source.getTotalFolders()));
+        target.setTotalDecksCount(Math.toIntExact(source.getTotalDecks()));
+        target.setTotalCardsCount(Math.toIntExact(source.getTotalCards()));
+        target.setDueCardsCount(Math.toIntExact(source.getDueCards()));
+        target.setNewCardsCount(Math.toIntExact(source.getNewCards()));
+        target.setLearningCardsCount(Math.toIntExact(source.getLearningCards()));
+        target.setReviewCardsCount(Math.toIntExact(source.getReviewCards()));
+        target.setMatureCardsCount(Math.toIntExact(source.getMasteredCards()));
+        target.setDueCountedOn(today);
+        target.setLastComputedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Signed change of every counter
+     */
+    record StatsDelta(int folders,
+            int decks,
+            int cards,
+            int dueCards,
+            int newCards,
+            int learningCards,
+            int reviewCards,
+            int matureCards) {
+
+        static final StatsDelta ZERO = new StatsDelta(0, 0, 0, 0, 0, 0, 0, 0);
+        static final StatsDelta FOLDER = new StatsDelta(1, 0, 0, 0, 0, 0, 0, 0);
+        static final StatsDelta DECK = new StatsDelta(0, 1, 0, 0, 0, 0, 0, 0);
+
+        /**
+         * One card in the given state, classified like the card statistics queries
+         */
+        static StatsDelta ofCard(CardState state, LocalDate today) {
+            if (state == null) {
+                return ZERO;
+            }
+            final var reviewed = state.reviewCount() > 0;
+            return new StatsDelta(
+                    0,
+                    0,
+                    1,
+                    (state.dueDate() != null) && !state.dueDate().isAfter(today) ? 1 : 0,
+                    reviewed ? 0 : 1,
+                    reviewed && (state.box() < 3) ? 1 : 0,
+                    reviewed && (state.box() >= 3) && (state.box() <= 4) ? 1 : 0,
+                    state.box() >= 5 ? 1 : 0);
+        }
+
+        static StatsDelta ofCards(FolderCardStatsProjection cards) {
+            if (cards == null) {
+                return ZERO;
+            }
+            return new StatsDelta(
+                    0,
+                    0,
+                    Math.toIntExact(cards.getTotalCards()),
+                    Math.toIntExact(cards.getDueCards()),
+                    Math.toIntExact(cards.getNewCards()),
+                    Math.toIntExact(cards.getLearningCards()),
+                    Math.toIntExact(cards.getReviewCards()),
+                    Math.toIntExact(cards.getMasteredCards()));
+        }
+
+        static StatsDelta of(FolderStats stats) {
+            return new StatsDelta(
+                    stats.getTotalFoldersCount(),
+                    stats.getTotalDecksCount(),
+                    stats.getTotalCardsCount(),
+                    stats.getDueCardsCount(),
+                    stats.getNewCardsCount(),
+                    stats.getLearningCardsCount(),
+                    stats.getReviewCardsCount(),
+                    stats.getMatureCardsCount());
+        }
+
+        StatsDelta plus(StatsDelta other) {
+            return new StatsDelta(
+                    this.folders + other.folders,
+                    this.decks + other.decks,
+                    this.cards + other.cards,
+                    this.dueCards + other.dueCards,
+                    this.newCards + other.newCards,
+                    this.learningCards + other.learningCards,
+                    this.reviewCards + other.reviewCards,
+                    this.matureCards + other.matureCards);
+        }
+
+        StatsDelta withDueCards(int due) {
+            return new StatsDelta(this.folders, this.decks, this.cards, due, this.newCards, this.learningCards,
+                    this.reviewCards, this.matureCards);
+        }
+
+        StatsDelta minus(StatsDelta other) {
+            return plus(other.negate());
+        }
+
+        StatsDelta negate() {
+            return times(-1);
+        }
+
+        StatsDelta times(int factor) {
+            return new StatsDelta(
+                    this.folders * factor,
+                    this.decks * factor,
+                    this.cards * factor,
+                    this.dueCards * factor,
+                    this.newCards * factor,
+                    this.learningCards * factor,
+                    this.reviewCards * factor,
+                    this.matureCards * factor);
+        }
+
+        boolean isZero() {
+            return equals(ZERO);
+        }
+    }
+}
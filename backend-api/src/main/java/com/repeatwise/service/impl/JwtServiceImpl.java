@@ -1,5 +1,6 @@
 package com.repeatwise.service.impl;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 
@@ -15,32 +16,34 @@ import com.repeatwise.service.JwtService;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of JwtService using jjwt library.
  * Handles JWT token generation and validation with HS256 algorithm.
+ * Signing key and parser are built once at startup; both are immutable and thread-safe.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class JwtServiceImpl implements JwtService {
 
     private final JwtProperties jwtProperties;
-
-    /**
-     * Generate secret key from configured secret string.
-     * Uses HS256 algorithm (HMAC with SHA-256).
-     *
-     * @return SecretKey for signing JWT tokens
-     */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(this.jwtProperties.getSecret().getBytes());
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    public JwtServiceImpl(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(this.signingKey)
+                .requireIssuer(jwtProperties.getIssuer())
+                .requireAudience(jwtProperties.getAudience())
+                .build();
     }
 
     /**
@@ -66,7 +69,7 @@ public class JwtServiceImpl implements JwtService {
                 .audience().add(this.jwtProperties.getAudience()).and()
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(this.signingKey)
                 .compact();
 
         log.debug("Generated access token for user: {}", user.getId());
@@ -74,19 +77,13 @@ public class JwtServiceImpl implements JwtService {
     }
 
     /**
-     * Extract all claims from JWT token.
-     *
-     * @param token JWT token
-     * @return Claims object
-     * @throws RepeatWiseException with error INVALID_TOKEN or TOKEN_EXPIRED
+     * Verify JWT token once and return its claims.
+     * Checks signature, expiration, issuer, and audience.
      */
-    private Claims extractAllClaims(String token) {
+    @Override
+    public Claims parseClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .requireIssuer(this.jwtProperties.getIssuer())
-                    .requireAudience(this.jwtProperties.getAudience())
-                    .build()
+            return this.jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (final ExpiredJwtException e) {
@@ -106,7 +103,7 @@ public class JwtServiceImpl implements JwtService {
      */
     @Override
     public String extractUserId(String token) {
-        final var claims = extractAllClaims(token);
+        final var claims = parseClaims(token);
         return claims.get("userId", String.class);
     }
 
@@ -115,7 +112,7 @@ public class JwtServiceImpl implements JwtService {
      */
     @Override
     public String extractEmail(String token) {
-        final var claims = extractAllClaims(token);
+        final var claims = parseClaims(token);
         return claims.get("email", String.class);
     }
 
@@ -126,7 +123,7 @@ public class JwtServiceImpl implements JwtService {
     @Override
     public boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
+            parseClaims(token);
             return true;
         } catch (final RepeatWiseException e) {
             return false;
@@ -139,7 +136,7 @@ public class JwtServiceImpl implements JwtService {
     @Override
     public boolean isTokenExpired(String token) {
         try {
-            final var claims = extractAllClaims(token);
+            final var claims = parseClaims(token);
             return claims.getExpiration().before(new Date());
         } catch (final RepeatWiseException e) {
             return e.getError() == RepeatWiseError.TOKEN_EXPIRED;
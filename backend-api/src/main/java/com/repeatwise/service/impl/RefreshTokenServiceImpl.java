@@ -1,7 +1,12 @@
 package com.repeatwise.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Base64;
+import java.util.HexFormat;
 
 import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.stereotype.Service;
@@ -27,33 +32,59 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
-    private static final int BCRYPT_COST_FACTOR = 12;
+    private static final int SELECTOR_BYTES = 12;
+    private static final int VERIFIER_BYTES = 32;
+    private static final char TOKEN_SEPARATOR = '.';
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtProperties jwtProperties;
 
     /**
-     * Generate a secure random refresh token.
-     * Uses UUID for simplicity and security.
+     * Generate a URL-safe random string from the given number of random bytes.
      *
-     * @return Random token string
+     * @param byteCount Number of random bytes
+     * @return Base64url encoded random string
      */
-    private String generateRandomToken() {
-        return UUID.randomUUID().toString();
+    private String generateRandomPart(int byteCount) {
+        final var bytes = new byte[byteCount];
+        SECURE_RANDOM.nextBytes(bytes);
+        return TOKEN_ENCODER.encodeToString(bytes);
+    }
+
+    /**
+     * Hash the verifier part of a token with SHA-256.
+     * The verifier carries 256 bits of entropy, so a fast hash is enough (no BCrypt needed).
+     *
+     * @param verifier Verifier part of the token
+     * @return Lowercase hex SHA-256 digest
+     */
+    private String hashVerifier(String verifier) {
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(verifier.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
     }
 
     /**
      * Generate and save a new refresh token for user.
-     * Token is hashed with BCrypt before storing.
+     * Token format is {@code <selector>.<verifier>}: the selector is stored as-is for an indexed lookup,
+     * the verifier is stored as a SHA-256 hash.
      */
     @Override
     @Transactional
     public String createRefreshToken(User user, String deviceId, String deviceInfo, String ipAddress) {
-        // Generate random token
-        final var tokenValue = generateRandomToken();
+        // Generate selector (lookup key) and verifier (secret)
+        final var selector = generateRandomPart(SELECTOR_BYTES);
+        final var verifier = generateRandomPart(VERIFIER_BYTES);
+        final var tokenValue = selector + TOKEN_SEPARATOR + verifier;
 
-        // Hash token with BCrypt
-        final var tokenHash = BCrypt.hashpw(tokenValue, BCrypt.gensalt(BCRYPT_COST_FACTOR));
+        // Hash verifier with SHA-256
+        final var tokenHash = hashVerifier(verifier);
 
         // Calculate expiry time (7 days from now)
         final var expiresAt = LocalDateTime.now()
@@ -63,6 +94,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         final var refreshToken = RefreshToken.builder()
                 .user(user)
                 .token(tokenHash)
+                .selector(selector)
                 .deviceId(deviceId)
                 .deviceInfo(deviceInfo)
                 .ipAddress(ipAddress)
@@ -81,20 +113,52 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     /**
      * Find refresh token entity by plain token (internal helper).
      * Does not throw exception if not found.
-     * Searches all tokens (including revoked/expired) for security checks.
+     * Returns revoked/expired tokens as well for security checks.
      *
      * @param token Plain text token
      * @return RefreshToken entity or null if not found
      */
     private RefreshToken findRefreshTokenByValue(String token) {
-        // Find all tokens (including revoked ones for security checks)
-        // (We need to check all because token is hashed)
-        final var candidates = this.refreshTokenRepository.findAll();
+        if (token == null) {
+            return null;
+        }
+
+        final var separatorIndex = token.indexOf(TOKEN_SEPARATOR);
+        if (separatorIndex < 0) {
+            return findLegacyRefreshToken(token);
+        }
+
+        // Single indexed lookup by selector, then one constant-time comparison of the verifier hash
+        final var selector = token.substring(0, separatorIndex);
+        final var verifier = token.substring(separatorIndex + 1);
+        final var candidate = this.refreshTokenRepository.findBySelector(selector).orElse(null);
+        if (candidate == null) {
+            return null;
+        }
+
+        final var expectedHash = candidate.getToken().getBytes(StandardCharsets.UTF_8);
+        final var actualHash = hashVerifier(verifier).getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(expectedHash, actualHash)) {
+            return null;
+        }
+
+        log.debug("Refresh token found for user: {}", candidate.getUser().getId());
+        return candidate;
+    }
+
+    /**
+     * Find a refresh token issued before the selector/verifier format.
+     * Only unexpired legacy rows are scanned; the set drains through rotation and expiry.
+     *
+     * @param token Plain text legacy token
+     * @return RefreshToken entity or null if not found
+     */
+    private RefreshToken findLegacyRefreshToken(String token) {
+        final var candidates = this.refreshTokenRepository.findUnexpiredLegacyTokens(LocalDateTime.now());
 
-        // Find matching token by comparing hash
         for (final var candidate : candidates) {
-            if (BCrypt.checkpw(token, candidate.getToken())) {
-                log.debug("Refresh token found for user: {}", candidate.getUser().getId());
+            if (matchesLegacyHash(token, candidate.getToken())) {
+                log.debug("Legacy refresh token found for user: {}", candidate.getUser().getId());
                 return candidate;
             }
         }
@@ -102,6 +166,17 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         return null;
     }
 
+    /**
+     * Compare a plain token against a legacy BCrypt hash, treating malformed hashes as a mismatch.
+     */
+    private boolean matchesLegacyHash(String token, String hash) {
+        try {
+            return BCrypt.checkpw(token, hash);
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /**
      * Validate refresh token and return associated RefreshToken entity.
      * Checks token hash, expiration, and revocation status.
@@ -0,0 +1,372 @@
+package com.repeatwise.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.dto.request.review.ReviewCardRequest;
+import com.repeatwise.dto.response.review.ReviewBatchResponse;
+import com.repeatwise.dto.response.review.ReviewResultResponse;
+import com.repeatwise.dto.response.review.ReviewSessionResponse;
+import com.repeatwise.entity.ReviewLog;
+import com.repeatwise.entity.UserStats;
+import com.repeatwise.entity.enums.Rating;
+import com.repeatwise.enums.ReviewScope;
+import com.repeatwise.enums.ReviewSubmitStatus;
+import com.repeatwise.event.CardsReviewedEvent;
+import com.repeatwise.event.CardStateChangedEvent.CardState;
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.mapper.CardMapper;
+import com.repeatwise.repository.CardBoxPositionRepository;
+import com.repeatwise.repository.DeckRepository;
+import com.repeatwise.repository.FolderRepository;
+import com.repeatwise.repository.JdbcReviewBatchRepository;
+import com.repeatwise.repository.JdbcReviewBatchRepository.PositionRow;
+import com.repeatwise.repository.JdbcReviewBatchRepository.ReviewLogRow;
+import com.repeatwise.repository.JdbcReviewQueueRepository;
+import com.repeatwise.repository.JdbcReviewQueueRepository.QueueState;
+import com.repeatwise.repository.ReviewLogRepository;
+import com.repeatwise.repository.SrsSettingsRepository;
+import com.repeatwise.repository.UserRepository;
+import com.repeatwise.repository.UserStatsRepository;
+import com.repeatwise.repository.projection.ReviewCardProjection;
+import com.repeatwise.repository.projection.ReviewPositionProjection;
+import com.repeatwise.service.ReviewService;
+import com.repeatwise.srs.SrsScheduler;
+import com.repeatwise.util.TimeZones;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ReviewService implementation: phiên ôn tập được dựng bằng một truy vấn trên chỉ mục due date; một batch
+ * đánh giá được tính trong bộ nhớ rồi ghi bằng JDBC batch trong một transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewServiceImpl implements ReviewService {
+
+    /** Placeholder for the scope parameters the session query does not read. */
+    private static final UUID NO_DECK = new UUID(0L, 0L);
+    private static final String NO_PATH = "";
+    /** Largest page of the daily review queue. */
+    private static final int MAX_QUEUE_PAGE_SIZE = 100;
+
+    private final CardBoxPositionRepository cardBoxPositionRepository;
+    private final DeckRepository deckRepository;
+    private final FolderRepository folderRepository;
+    private final SrsSettingsRepository srsSettingsRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final UserRepository userRepository;
+    private final ReviewLogRepository reviewLogRepository;
+    private final JdbcReviewBatchRepository jdbcReviewBatchRepository;
+    private final JdbcReviewQueueRepository jdbcReviewQueueRepository;
+    private final SrsScheduler srsScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CardMapper cardMapper;
+    private final AppProperties appProperties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewSessionResponse getReviewSession(UUID userId, ReviewScope scope, UUID scopeId) {
+        if (scope != ReviewScope.ALL && scopeId == null) {
+            throw new RepeatWiseException(RepeatWiseError.REVIEW_SCOPE_ID_REQUIRED);
+        }
+        var deckId = NO_DECK;
+        var path = NO_PATH;
+        switch (scope) {
+        case DECK -> deckId = this.deckRepository.findByIdAndUserId(scopeId, userId)
+                .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.DECK_NOT_FOUND, scopeId))
+                .getId();
+        case FOLDER -> path = this.folderRepository.findByIdAndUserId(scopeId, userId)
+                .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.FOLDER_NOT_FOUND, scopeId))
+                .getPath();
+        case ALL -> {
+        }
+        }
+
+        // Same day as the prebuilt queue: the user's local day, starting at their midnight in server time
+        final var zone = TimeZones.zoneOf(this.userRepository.findTimezoneById(userId).orElse(null));
+        final var today = LocalDate.now(zone);
+        final var rows = findSession(userId, scope, deckId, path, today, TimeZones.serverStartOfDay(today, zone));
+
+        final var cards = rows.stream()
+                .filter(row -> row.getCardId() != null)
+                .map(this.cardMapper::toResponseWithProgress)
+                .toList();
+        final var totalDue = rows.isEmpty() ? 0 : Math.toIntExact(rows.get(0).getTotalDue());
+        log.debug("Review session for user {} ({} {}): {} of {} due cards", userId, scope, scopeId,
+                cards.size(), totalDue);
+
+        return ReviewSessionResponse.builder()
+                .totalDueCards(totalDue)
+                .cardsInSession(cards.size())
+                .cards(cards)
+                .build();
+    }
+
+    /**
+     * Queues are normally prebuilt by the daily rollover; a queue still missing for the user's current day is
+     * built on first access.
+     */
+    @Override
+    @Transactional
+    public ReviewSessionResponse getReviewQueue(UUID userId, int limit) {
+        final var state = currentQueue(userId);
+        final var pageSize = Math.min(Math.max(limit, 1), MAX_QUEUE_PAGE_SIZE);
+        final var cards = this.cardBoxPositionRepository.findReviewQueuePage(userId, pageSize).stream()
+                .map(this.cardMapper::toResponseWithProgress)
+                .toList();
+        return ReviewSessionResponse.builder()
+                .totalDueCards(state.totalDue())
+                .cardsInSession(cards.size())
+                .cards(cards)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void prepareReviewQueue(UUID userId) {
+        currentQueue(userId);
+    }
+
+    /**
+     * Positions of all rated cards are read (and locked) with one query before the replay check, so a
+     * resubmission racing the original waits for it and then finds its ratings logged. Ratings are applied
+     * in request order on in-memory states; a card rated twice ends up with its last state, written once.
+     */
+    @Override
+    @Transactional
+    public ReviewBatchResponse submitReviews(UUID userId, List<ReviewCardRequest> reviews) {
+        final var settings = this.srsSettingsRepository.findByUserId(userId)
+                .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.SRS_SETTINGS_NOT_FOUND));
+        final var now = LocalDateTime.now();
+        final var zone = TimeZones.zoneOf(this.userRepository.findTimezoneById(userId).orElse(null));
+        final var today = TimeZones.localDate(now, zone);
+
+        final Map<UUID, ReviewState> states = new LinkedHashMap<>();
+        final var cardIds = reviews.stream().map(ReviewCardRequest::getCardId).distinct().toList();
+        for (final var position : this.cardBoxPositionRepository.lockReviewPositions(userId, cardIds)) {
+            states.put(position.getCardId(), new ReviewState(position));
+        }
+        final Map<UUID, ReviewResultResponse> logged = new HashMap<>();
+        final var reviewIds = reviews.stream().map(ReviewCardRequest::getReviewId).distinct().toList();
+        for (final var entry : this.reviewLogRepository.findByUserIdAndClientReviewIdIn(userId, reviewIds)) {
+            logged.put(entry.getClientReviewId(), loggedResult(entry, zone));
+        }
+
+        final List<ReviewResultResponse> results = new ArrayList<>(reviews.size());
+        final List<ReviewLogRow> logRows = new ArrayList<>();
+        var duplicates = 0;
+        var skipped = 0;
+        var reviewedToday = 0;
+        for (final var review : reviews) {
+            final var previous = logged.get(review.getReviewId());
+            if (previous != null) {
+                results.add(previous);
+                duplicates++;
+                continue;
+            }
+            final var state = states.get(review.getCardId());
+            if (state == null) {
+                results.add(ReviewResultResponse.builder()
+                        .reviewId(review.getReviewId())
+                        .status(ReviewSubmitStatus.CARD_NOT_FOUND)
+                        .cardId(review.getCardId())
+                        .rating(review.getRating())
+                        .build());
+                skipped++;
+                continue;
+            }
+
+            final var reviewedAt = (review.getReviewedAt() == null) || review.getReviewedAt().isAfter(now)
+                    ? now
+                    : review.getReviewedAt();
+            final var previousBox = state.box;
+            final var newBox = this.srsScheduler.nextBox(settings, previousBox, review.getRating());
+            final var intervalDays = this.srsScheduler.intervalDays(settings, previousBox, review.getRating());
+            final var reviewDay = TimeZones.localDate(reviewedAt, zone);
+            state.apply(newBox, intervalDays, review.getRating(), reviewedAt, reviewDay);
+            logRows.add(new ReviewLogRow(review.getCardId(), review.getRating().name(), previousBox,
+                    newBox, intervalDays, reviewedAt, review.getReviewId()));
+            if (reviewDay.equals(today)) {
+                reviewedToday++;
+            }
+
+            final var result = ReviewResultResponse.builder()
+                    .reviewId(review.getReviewId())
+                    .status(ReviewSubmitStatus.APPLIED)
+                    .cardId(review.getCardId())
+                    .rating(review.getRating())
+                    .previousBox(previousBox)
+                    .newBox(newBox)
+                    .intervalDays(intervalDays)
+                    .newDueDate(state.dueDate)
+                    .progressMade(newBox > previousBox)
+                    .build();
+            results.add(result);
+            logged.put(review.getReviewId(), result.toBuilder().status(ReviewSubmitStatus.DUPLICATE).build());
+        }
+
+        final var reviewed = states.values().stream().filter(ReviewState::isReviewed).toList();
+        this.jdbcReviewBatchRepository.updatePositions(reviewed.stream().map(ReviewState::toRow).toList(), now);
+        this.jdbcReviewBatchRepository.insertReviewLogs(logRows, userId);
+        recordStudyDay(userId, today, reviewedToday);
+        this.jdbcReviewQueueRepository.removeCards(userId,
+                reviewed.stream().map(state -> state.cardId).toList());
+        if (!reviewed.isEmpty()) {
+            this.eventPublisher.publishEvent(new CardsReviewedEvent(userId, reviewed.stream()
+                    .map(state -> new CardsReviewedEvent.Change(state.deckId, state.before, state.current()))
+                    .toList()));
+        }
+
+        log.info("User {} submitted {} reviews: {} applied to {} cards, {} duplicates, {} skipped", userId,
+                reviews.size(), logRows.size(), reviewed.size(), duplicates, skipped);
+        return ReviewBatchResponse.builder()
+                .appliedCount(logRows.size())
+                .duplicateCount(duplicates)
+                .skippedCount(skipped)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * A queue built for the user's current day is read as is. Otherwise its header row is locked and the queue
+     * rebuilt from the ALL-scope session, unless a concurrent request rebuilt it while this one waited.
+     */
+    private QueueState currentQueue(UUID userId) {
+        final var state = this.jdbcReviewQueueRepository.findState(userId)
+                .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.USER_NOT_FOUND, userId));
+        final var zone = TimeZones.zoneOf(state.timezone());
+        final var today = LocalDate.now(zone);
+        return today.equals(state.queueDate()) ? state : buildQueue(userId, zone, today);
+    }
+
+    private QueueState buildQueue(UUID userId, ZoneId zone, LocalDate today) {
+        final var queueDate = this.jdbcReviewQueueRepository.lockQueue(userId);
+        if (!today.equals(queueDate)) {
+            // Ratings are logged in server time, so the user's day starts at their local midnight in server time
+            final var dayStart = TimeZones.serverStartOfDay(today, zone);
+            final var rows = findSession(userId, ReviewScope.ALL, NO_DECK, NO_PATH, today, dayStart);
+            final var cardIds = rows.stream()
+                    .map(ReviewCardProjection::getCardId)
+                    .filter(Objects::nonNull)
+                    .toList();
+            final var totalDue = rows.isEmpty() ? 0 : Math.toIntExact(rows.get(0).getTotalDue());
+            this.jdbcReviewQueueRepository.replaceQueue(userId, today, totalDue, cardIds, LocalDateTime.now());
+            log.debug("Built review queue of user {} for {}: {} of {} due cards", userId, today, cardIds.size(),
+                    totalDue);
+        }
+        return this.jdbcReviewQueueRepository.findState(userId)
+                .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.USER_NOT_FOUND, userId));
+    }
+
+    private List<ReviewCardProjection> findSession(UUID userId, ReviewScope scope, UUID deckId, String path,
+            LocalDate today, LocalDateTime dayStart) {
+        final var defaults = this.appProperties.getSrs();
+        return this.cardBoxPositionRepository.findReviewSession(userId, scope.name(), deckId, path, today,
+                dayStart, defaults.getDefaultReviewOrder(), defaults.getDefaultNewCardsPerDay(),
+                defaults.getDefaultMaxReviewsPerDay());
+    }
+
+    /**
+     * Count today's ratings and extend the streak, both on the user's day; ratings made offline on earlier
+     * days only update positions
+     */
+    private void recordStudyDay(UUID userId, LocalDate today, int reviewedToday) {
+        if (reviewedToday == 0) {
+            return;
+        }
+        final var stats = this.userStatsRepository.findByUserId(userId)
+                .orElseGet(() -> UserStats.createDefault(this.userRepository.getReferenceById(userId)));
+        stats.resetDailyCounters(today);
+        stats.updateStreak(today);
+        stats.setCardsReviewedToday(stats.getCardsReviewedToday() + reviewedToday);
+        this.userStatsRepository.save(stats);
+    }
+
+    private static ReviewResultResponse loggedResult(ReviewLog entry, ZoneId zone) {
+        return ReviewResultResponse.builder()
+                .reviewId(entry.getClientReviewId())
+                .status(ReviewSubmitStatus.DUPLICATE)
+                .cardId(entry.getCard().getId())
+                .rating(entry.getRating())
+                .previousBox(entry.getPreviousBox())
+                .newBox(entry.getNewBox())
+                .intervalDays(entry.getIntervalDays())
+                .newDueDate(TimeZones.localDate(entry.getReviewedAt(), zone).plusDays(entry.getIntervalDays()))
+                .progressMade(entry.isProgressMade())
+                .build();
+    }
+
+    /**
+     * In-memory SRS state of one card while a batch is applied
+     */
+    private static final class ReviewState {
+
+        private final UUID positionId;
+        private final UUID cardId;
+        private final UUID deckId;
+        private final CardState before;
+        private int box;
+        private int intervalDays;
+        private LocalDate dueDate;
+        private int reviewCount;
+        private int lapseCount;
+        private LocalDateTime lastReviewedAt;
+
+        private ReviewState(ReviewPositionProjection position) {
+            this.positionId = position.getPositionId();
+            this.cardId = position.getCardId();
+            this.deckId = position.getDeckId();
+            this.box = position.getCurrentBox();
+            this.intervalDays = position.getIntervalDays();
+            this.dueDate = position.getDueDate();
+            this.reviewCount = position.getReviewCount();
+            this.lapseCount = position.getLapseCount();
+            this.before = current();
+        }
+
+        /**
+         * {@code reviewDay} is the user's day of {@code reviewedAt}, the same day the queue compares due dates with.
+         */
+        private void apply(int newBox, int newIntervalDays, Rating rating, LocalDateTime reviewedAt,
+                LocalDate reviewDay) {
+            this.box = newBox;
+            this.intervalDays = newIntervalDays;
+            this.dueDate = reviewDay.plusDays(newIntervalDays);
+            this.reviewCount++;
+            if (rating == Rating.AGAIN) {
+                this.lapseCount++;
+            }
+            this.lastReviewedAt = reviewedAt;
+        }
+
+        private boolean isReviewed() {
+            return this.lastReviewedAt != null;
+        }
+
+        private CardState current() {
+            return new CardState(this.box, this.reviewCount, this.dueDate);
+        }
+
+        private PositionRow toRow() {
+            return new PositionRow(this.positionId, this.box, this.intervalDays, this.dueDate, this.reviewCount,
+                    this.lapseCount, this.lastReviewedAt);
+        }
+    }
+}
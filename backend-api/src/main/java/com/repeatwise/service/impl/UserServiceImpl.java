@@ -16,6 +16,7 @@ import com.repeatwise.exception.RepeatWiseException;
 import com.repeatwise.mapper.UserMapper;
 import com.repeatwise.repository.RefreshTokenRepository;
 import com.repeatwise.repository.UserRepository;
+import com.repeatwise.security.UserProfileCache;
 import com.repeatwise.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -34,6 +35,18 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserMapper userMapper;
+    private final UserProfileCache userProfileCache;
+
+    /**
+     * Get current user profile through the short-TTL profile cache.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserResponse getProfile(UUID userId) {
+        return this.userProfileCache.get(userId, id -> this.userRepository.findById(id)
+                .map(this.userMapper::toResponse)
+                .orElseThrow(() -> new RepeatWiseException(RepeatWiseError.USER_NOT_FOUND, id)));
+    }
 
     /**
      * Update user profile (UC-005).
@@ -57,6 +70,7 @@ public class UserServiceImpl implements UserService {
 
         // Save updated user
         final var updatedUser = this.userRepository.save(user);
+        this.userProfileCache.evict(userId);
 
         log.info("Profile updated successfully for user: {}", userId);
         return this.userMapper.toResponse(updatedUser);
@@ -101,6 +115,7 @@ public class UserServiceImpl implements UserService {
         // Update password
         user.setPasswordHash(newPasswordHash);
         this.userRepository.save(user);
+        this.userProfileCache.evict(userId);
 
         // Revoke all refresh tokens (logout from all devices)
         this.refreshTokenRepository.revokeAllTokensByUser(user, LocalDateTime.now());
@@ -0,0 +1,102 @@
+package com.repeatwise.srs;
+
+import org.springframework.stereotype.Component;
+
+import com.repeatwise.entity.SrsSettings;
+import com.repeatwise.entity.enums.Rating;
+
+/**
+ * Leitner box scheduling over the seven boxes of the MVP (intervals 1/3/7/14/30/60/120 days).
+ * <p>
+ * AGAIN applies the forgotten card action, HARD keeps the box with a shorter interval, GOOD moves up one box
+ * and EASY two, capped at the last box. Every outcome is precomputed at startup into two flat tables indexed
+ * by forgotten card policy, box and rating, so a transition is one array read per answer. {@code total_boxes}
+ * is fixed at seven by the settings validation, so the tables are built for seven boxes.
+ */
+@Component
+public class LeitnerSrsScheduler implements SrsScheduler {
+
+    /** Review interval of each box (box 1 first), in days. */
+    private static final int[] BOX_INTERVAL_DAYS = { 1, 3, 7, 14, 30, 60, 120 };
+    private static final int BOX_COUNT = BOX_INTERVAL_DAYS.length;
+    /** A HARD rating keeps the box and shortens its interval to this share. */
+    private static final double HARD_INTERVAL_FACTOR = 0.7;
+    /** Largest {@code move_down_boxes} accepted by the SRS settings. */
+    private static final int MAX_MOVE_DOWN_BOXES = 3;
+    private static final Rating[] RATINGS = Rating.values();
+
+    /** Forgotten card policies: move to box 1, stay in box, then move down 1..MAX_MOVE_DOWN_BOXES boxes. */
+    private static final int MOVE_TO_BOX_1 = 0;
+    private static final int STAY_IN_BOX = 1;
+    private static final int POLICY_COUNT = 2 + MAX_MOVE_DOWN_BOXES;
+
+    private final int[] nextBoxes = new int[POLICY_COUNT * BOX_COUNT * RATINGS.length];
+    private final int[] intervals = new int[POLICY_COUNT * BOX_COUNT * RATINGS.length];
+
+    public LeitnerSrsScheduler() {
+        for (var policy = 0; policy < POLICY_COUNT; policy++) {
+            for (var box = 1; box <= BOX_COUNT; box++) {
+                for (final var rating : RATINGS) {
+                    final var index = index(policy, box, rating);
+                    final var nextBox = computeNextBox(policy, box, rating);
+                    this.nextBoxes[index] = nextBox;
+                    this.intervals[index] = computeIntervalDays(box, nextBox, rating);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int nextBox(SrsSettings settings, int box, Rating rating) {
+        return this.nextBoxes[index(policy(settings), box, rating)];
+    }
+
+    @Override
+    public int intervalDays(SrsSettings settings, int box, Rating rating) {
+        return this.intervals[index(policy(settings), box, rating)];
+    }
+
+    private static int index(int policy, int box, Rating rating) {
+        final var clampedBox = Math.min(Math.max(box, 1), BOX_COUNT);
+        return (((policy * BOX_COUNT) + clampedBox) - 1) * RATINGS.length + rating.ordinal();
+    }
+
+    private static int policy(SrsSettings settings) {
+        return switch (settings.getForgottenCardAction()) {
+        case MOVE_TO_BOX_1 -> MOVE_TO_BOX_1;
+        case STAY_IN_BOX -> STAY_IN_BOX;
+        case MOVE_DOWN_N_BOXES -> STAY_IN_BOX + Math.min(Math.max(settings.getMoveDownBoxes(), 1), MAX_MOVE_DOWN_BOXES);
+        };
+    }
+
+    private static int computeNextBox(int policy, int box, Rating rating) {
+        return switch (rating) {
+        case AGAIN -> switch (policy) {
+        case MOVE_TO_BOX_1 -> 1;
+        case STAY_IN_BOX -> box;
+        default -> Math.max(1, box - (policy - STAY_IN_BOX));
+        };
+        case HARD -> box;
+        case GOOD -> Math.min(box + 1, BOX_COUNT);
+        case EASY -> Math.min(box + 2, BOX_COUNT);
+        };
+    }
+
+    /**
+     * A forgotten card that keeps its box is due again the next day; HARD shortens the current interval;
+     * every other outcome takes the interval of the new box.
+     */
+    private static int computeIntervalDays(int box, int nextBox, Rating rating) {
+        if (rating == Rating.HARD) {
+            return Math.max(1, (int) Math.round(intervalOf(box) * HARD_INTERVAL_FACTOR));
+        }
+        if ((rating == Rating.AGAIN) && (nextBox == box)) {
+            return BOX_INTERVAL_DAYS[0];
+        }
+        return intervalOf(nextBox);
+    }
+
+    private static int intervalOf(int box) {
+        return BOX_INTERVAL_DAYS[box - 1];
+    }
+}
@@ -0,0 +1,23 @@
+package com.repeatwise.srs;
+
+import com.repeatwise.entity.SrsSettings;
+import com.repeatwise.entity.enums.Rating;
+
+/**
+ * Scheduling algorithm of the spaced repetition system: where a rated card goes and when it is due again.
+ * <p>
+ * Both methods are called once per rating on the review hot path (a batch applies hundreds of them), so
+ * implementations should answer from precomputed state without allocating.
+ */
+public interface SrsScheduler {
+
+    /**
+     * Box of a card in {@code box} after it is rated, under the user's settings.
+     */
+    int nextBox(SrsSettings settings, int box, Rating rating);
+
+    /**
+     * Days until a card in {@code box} is due again after it is rated, under the user's settings.
+     */
+    int intervalDays(SrsSettings settings, int box, Rating rating);
+}
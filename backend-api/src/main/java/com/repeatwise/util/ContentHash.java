@@ -0,0 +1,34 @@
+package com.repeatwise.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 64-bit hash of card content, used to detect duplicate cards without keeping their text in memory.
+ * The value is the first 8 bytes of the MD5 digest of {@code front || back}, read as a signed big-endian long,
+ * so it matches {@code CAST(CAST('x' || substr(md5(front || '||' || back), 1, 16) AS BIT(64)) AS BIGINT)}
+ * computed by PostgreSQL.
+ */
+public final class ContentHash {
+
+    private static final String SEPARATOR = "||";
+
+    private ContentHash() {
+        // Utility class
+    }
+
+    public static long of(String front, String back) {
+        final var digest = md5().digest((front + SEPARATOR + back).getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.repeatwise.util;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Helpers for the user's day: users store a zone ID ({@code users.timezone}) while timestamps are stored in
+ * server time.
+ */
+public final class TimeZones {
+
+    private TimeZones() {
+        // Utility class
+    }
+
+    /**
+     * Zone of a stored zone ID; a missing or unknown ID falls back to the server zone.
+     */
+    public static ZoneId zoneOf(String timezone) {
+        if (timezone == null) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(timezone);
+        } catch (DateTimeException ex) {
+            return ZoneId.systemDefault();
+        }
+    }
+
+    /**
+     * Day in {@code zone} of a server-time timestamp.
+     */
+    public static LocalDate localDate(LocalDateTime serverTime, ZoneId zone) {
+        return serverTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone).toLocalDate();
+    }
+
+    /**
+     * Server-time timestamp of the start of {@code day} in {@code zone}.
+     */
+    public static LocalDateTime serverStartOfDay(LocalDate day, ZoneId zone) {
+        return day.atStartOfDay(zone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
@@ -0,0 +1,118 @@
+package com.repeatwise.xlsx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Row-by-row reader for .xlsx files on top of POI's SAX event model.
+ *
+ * <p>Unlike {@code WorkbookFactory}, no workbook object model is built: the sheet XML is parsed as a stream and
+ * only the shared strings table is held in memory. Cell values are formatted the way {@link DataFormatter}
+ * formats them for the user model.</p>
+ */
+public final class XlsxStreamReader {
+
+    private XlsxStreamReader() {
+        // Utility class
+    }
+
+    /**
+     * Stream the first sheet of {@code file}, passing each present row to {@code handler} in order.
+     * Exceptions thrown by the handler are propagated as-is.
+     */
+    public static void readFirstSheet(Path file, RowHandler handler) throws IOException {
+        final OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException | UnsupportedFileFormatException ex) {
+            throw new IOException("Not a readable xlsx file", ex);
+        }
+        try {
+            final var reader = new XSSFReader(pkg);
+            final var sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            final var contentHandler = new XSSFSheetXMLHandler(
+                    reader.getStylesTable(),
+                    null,
+                    new ReadOnlySharedStringsTable(pkg),
+                    new RowCollector(handler),
+                    new DataFormatter(),
+                    false);
+            try (InputStream sheet = sheets.next()) {
+                final var parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(contentHandler);
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (SAXException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Malformed xlsx sheet", ex);
+        } catch (OpenXML4JException | ParserConfigurationException ex) {
+            throw new IOException("Not a readable xlsx file", ex);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    /**
+     * Receives the formatted cell values of one row, keyed by zero-based column index.
+     * Blank cells are absent from the map.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+
+        void row(int rowIndex, Map<Integer, String> cells);
+    }
+
+    private static final class RowCollector implements SheetContentsHandler {
+
+        private final RowHandler handler;
+        private Map<Integer, String> cells;
+        private int column;
+
+        private RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            this.cells = new HashMap<>();
+            this.column = -1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            this.handler.row(rowNum, this.cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // The reference is optional in the file format; without it the cell follows the previous one
+            this.column = cellReference != null ? new CellReference(cellReference).getCol() : this.column + 1;
+            this.cells.put(this.column, formattedValue);
+        }
+    }
+}
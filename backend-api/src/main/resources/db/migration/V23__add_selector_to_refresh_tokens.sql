@@ -0,0 +1,16 @@
+-- V23: Selector/verifier split for refresh tokens
+-- Purpose: Look up refresh tokens by an indexed selector instead of BCrypt-scanning every row
+
+ALTER TABLE refresh_tokens
+    ADD COLUMN IF NOT EXISTS selector VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_tokens_selector ON refresh_tokens (selector)
+    WHERE selector IS NOT NULL;
+
+-- Legacy rows (selector IS NULL) keep their BCrypt hash and are only matched while unexpired.
+-- They drain naturally through rotation and expiry within refresh-token-expiration-days.
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_legacy ON refresh_tokens (expires_at)
+    WHERE selector IS NULL;
+
+COMMENT ON COLUMN refresh_tokens.selector IS 'Public lookup part of the refresh token (NULL for legacy BCrypt tokens)';
+COMMENT ON COLUMN refresh_tokens.token IS 'SHA-256 hex of the verifier part (BCrypt hash for legacy tokens)';
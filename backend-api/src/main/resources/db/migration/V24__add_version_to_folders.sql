@@ -0,0 +1,10 @@
+-- V24: Optimistic locking for folder tree changes
+-- Purpose: Concurrent moves of overlapping subtrees must not corrupt materialized paths
+
+ALTER TABLE folders
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Subtree rewrites match on path prefix across active and soft-deleted rows
+CREATE INDEX IF NOT EXISTS idx_folders_user_path_all ON folders (user_id, path varchar_pattern_ops);
+
+COMMENT ON COLUMN folders.version IS 'Optimistic lock version, bumped on every structural change (move, path rewrite)';
@@ -0,0 +1,22 @@
+-- V25: Set-based soft delete / restore of folder subtrees
+-- Purpose: Cascade folders, decks, cards and card_box_position with a few bulk statements,
+--          optionally as an async job scoped to a folder instead of a deck
+
+ALTER TABLE async_jobs
+    ALTER COLUMN deck_id DROP NOT NULL;
+
+ALTER TABLE async_jobs
+    ADD COLUMN IF NOT EXISTS folder_id UUID;
+
+CREATE INDEX IF NOT EXISTS idx_async_jobs_folder ON async_jobs (folder_id)
+    WHERE folder_id IS NOT NULL;
+
+-- Restore matches rows removed by the same cascade through their shared deleted_at
+CREATE INDEX IF NOT EXISTS idx_decks_folder_deleted ON decks (folder_id, deleted_at)
+    WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_cards_deck_deleted ON cards (deck_id, deleted_at)
+    WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_card_box_user_card_deleted ON card_box_position (user_id, card_id, deleted_at)
+    WHERE deleted_at IS NOT NULL;
+
+COMMENT ON COLUMN async_jobs.folder_id IS 'Folder targeted by folder-level jobs (subtree delete/restore); NULL for deck jobs';
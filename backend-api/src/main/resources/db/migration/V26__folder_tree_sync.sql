@@ -0,0 +1,9 @@
+-- V26: Folder tree delta sync
+-- Purpose: Find folders and decks changed after a client sync cursor (updated_at) without scanning
+--          the user's whole tree. Soft-deleted rows are included so removals reach the client.
+
+CREATE INDEX IF NOT EXISTS idx_folders_user_updated ON folders (user_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_decks_user_updated ON decks (user_id, updated_at);
+
+COMMENT ON INDEX idx_folders_user_updated IS 'Delta sync of the folder tree (GET /v1/folders/tree?since=)';
+COMMENT ON INDEX idx_decks_user_updated IS 'Delta sync of the folder tree (GET /v1/folders/tree?since=)';
@@ -0,0 +1,63 @@
+-- V27: Incremental folder statistics
+-- Purpose: folder_stats becomes a set of counters maintained from domain events (card created/deleted/imported,
+--          review, deck and folder moves) and rolled up the ancestor path, instead of a 5-minute TTL cache
+--          recomputed on read. Every active folder gets an up-to-date row here.
+
+ALTER TABLE folder_stats
+    ADD COLUMN IF NOT EXISTS due_counted_on DATE;
+
+-- TTL lookups are gone
+DROP INDEX IF EXISTS idx_folder_stats_lookup;
+
+-- Rebuild all counters once: per-folder direct counts rolled up to every ancestor through the path prefix
+DELETE FROM folder_stats;
+
+WITH deck_cards AS (
+    SELECT d.folder_id,
+           COUNT(p.id) AS total_cards,
+           COUNT(p.id) FILTER (WHERE p.due_date <= CURRENT_DATE) AS due_cards,
+           COUNT(p.id) FILTER (WHERE p.review_count = 0) AS new_cards,
+           COUNT(p.id) FILTER (WHERE p.review_count > 0 AND p.current_box < 3) AS learning_cards,
+           COUNT(p.id) FILTER (WHERE p.review_count > 0 AND p.current_box BETWEEN 3 AND 4) AS review_cards,
+           COUNT(p.id) FILTER (WHERE p.current_box >= 5) AS mature_cards
+    FROM decks d
+    JOIN cards c ON c.deck_id = d.id AND c.deleted_at IS NULL
+    JOIN card_box_position p ON p.card_id = c.id AND p.user_id = d.user_id AND p.deleted_at IS NULL
+    WHERE d.deleted_at IS NULL
+      AND d.folder_id IS NOT NULL
+    GROUP BY d.folder_id
+),
+folder_decks AS (
+    SELECT folder_id, COUNT(*) AS total_decks
+    FROM decks
+    WHERE deleted_at IS NULL
+      AND folder_id IS NOT NULL
+    GROUP BY folder_id
+)
+INSERT INTO folder_stats (folder_id, user_id, total_cards_count, due_cards_count, new_cards_count,
+                          learning_cards_count, review_cards_count, mature_cards_count,
+                          total_folders_count, total_decks_count, due_counted_on, last_computed_at)
+SELECT f.id,
+       f.user_id,
+       COALESCE(SUM(dc.total_cards), 0),
+       COALESCE(SUM(dc.due_cards), 0),
+       COALESCE(SUM(dc.new_cards), 0),
+       COALESCE(SUM(dc.learning_cards), 0),
+       COALESCE(SUM(dc.review_cards), 0),
+       COALESCE(SUM(dc.mature_cards), 0),
+       COUNT(sub.id) - 1,
+       COALESCE(SUM(fd.total_decks), 0),
+       CURRENT_DATE,
+       CURRENT_TIMESTAMP
+FROM folders f
+JOIN folders sub ON sub.user_id = f.user_id
+    AND sub.deleted_at IS NULL
+    AND (sub.path = f.path OR sub.path LIKE f.path || '/%')
+LEFT JOIN deck_cards dc ON dc.folder_id = sub.id
+LEFT JOIN folder_decks fd ON fd.folder_id = sub.id
+WHERE f.deleted_at IS NULL
+GROUP BY f.id, f.user_id;
+
+COMMENT ON TABLE folder_stats IS 'Folder subtree counters maintained incrementally from domain events';
+COMMENT ON COLUMN folder_stats.due_counted_on IS 'Day due_cards_count refers to; rows of earlier days are recounted';
+COMMENT ON COLUMN folder_stats.last_computed_at IS 'Last counter update';
@@ -0,0 +1,6 @@
+-- V28: Import job checkpoints
+-- Purpose: async imports commit chunk by chunk; checkpoint_row is the number of source rows whose results are
+--          committed, so a timed-out, failed or interrupted job resumes after it instead of starting over.
+
+ALTER TABLE async_jobs
+    ADD COLUMN IF NOT EXISTS checkpoint_row INTEGER NOT NULL DEFAULT 0;
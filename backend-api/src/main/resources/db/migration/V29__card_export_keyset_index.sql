@@ -0,0 +1,6 @@
+-- V29: Keyset pagination for card export
+-- Purpose: Export pages through a deck ordered by (created_at, id); each page seeks straight to the
+--          row after the previous page's last card instead of scanning and sorting the whole deck
+
+CREATE INDEX IF NOT EXISTS idx_cards_deck_created_id ON cards (deck_id, created_at, id)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,11 @@
+-- V30: Idempotent batch review submission
+-- Purpose: offline clients tag every rating with their own review ID; a resubmitted batch finds the
+--          logged ratings by that ID and returns their results instead of applying them twice.
+
+ALTER TABLE review_logs
+    ADD COLUMN IF NOT EXISTS client_review_id UUID;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_review_logs_client_review ON review_logs (user_id, client_review_id)
+    WHERE client_review_id IS NOT NULL;
+
+COMMENT ON COLUMN review_logs.client_review_id IS 'Client-generated review ID, unique per user (batch submission)';
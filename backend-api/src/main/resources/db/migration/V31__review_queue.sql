@@ -0,0 +1,35 @@
+-- V31: Daily review queue
+-- Purpose: a user's review session for the day is picked once (ordering and daily limits applied) and
+--          stored in order; later session pages read the next items by position, and reviewed cards are
+--          deleted from the queue, so a page costs the same however large the due backlog is.
+
+CREATE TABLE review_queues (
+    user_id UUID PRIMARY KEY,
+    queue_date DATE NOT NULL,
+    total_due INTEGER NOT NULL DEFAULT 0,
+    remaining_count INTEGER NOT NULL DEFAULT 0,
+    built_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_review_queues_user FOREIGN KEY (user_id)
+        REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE review_queue_items (
+    user_id UUID NOT NULL,
+    position INTEGER NOT NULL,
+    card_id UUID NOT NULL,
+
+    CONSTRAINT pk_review_queue_items PRIMARY KEY (user_id, position),
+    CONSTRAINT fk_review_queue_items_queue FOREIGN KEY (user_id)
+        REFERENCES review_queues(user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_review_queue_items_card FOREIGN KEY (card_id)
+        REFERENCES cards(id) ON DELETE CASCADE
+);
+
+CREATE UNIQUE INDEX idx_review_queue_items_card ON review_queue_items (user_id, card_id);
+
+COMMENT ON TABLE review_queues IS 'Materialized daily review session per user';
+COMMENT ON COLUMN review_queues.queue_date IS 'Day the queue was built for, in the user timezone';
+COMMENT ON COLUMN review_queues.total_due IS 'Cards due when the queue was built (before daily limits)';
+COMMENT ON COLUMN review_queues.remaining_count IS 'Queued cards not reviewed yet';
+COMMENT ON TABLE review_queue_items IS 'Cards of the daily review queue in session order; removed once reviewed';
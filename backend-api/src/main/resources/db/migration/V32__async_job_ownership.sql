@@ -0,0 +1,11 @@
+-- V32: Async job ownership
+-- Purpose: an instance claims a job with a conditional update before running it and refreshes heartbeat_at
+--          while it runs. Startup recovery only takes over jobs whose heartbeat went stale, so a job still
+--          running on another instance is never run twice.
+
+ALTER TABLE async_jobs
+    ADD COLUMN IF NOT EXISTS owner VARCHAR(64),
+    ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP WITHOUT TIME ZONE;
+
+COMMENT ON COLUMN async_jobs.owner IS 'Instance that claimed the job; NULL until claimed';
+COMMENT ON COLUMN async_jobs.heartbeat_at IS 'Last sign of life from the owner (claim, progress flush, checkpoint)';
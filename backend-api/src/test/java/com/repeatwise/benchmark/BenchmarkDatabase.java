@@ -0,0 +1,61 @@
+package com.repeatwise.benchmark;
+
+import java.util.Properties;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * PostgreSQL connection for database benchmarks, migrated with the application's Flyway scripts.
+ * Point it at a disposable local instance (for example a throwaway {@code postgres} container):
+ * {@code -Dbenchmark.db.url=jdbc:postgresql://localhost:5432/repeatwise_bench -Dbenchmark.db.username=postgres
+ * -Dbenchmark.db.password=postgres}. Each trial works on its own user, which is deleted again afterwards.
+ */
+final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {
+    }
+
+    static DataSource migratedDataSource() {
+        // Same driver setting as the application data source
+        final var dataSource = dataSource(true);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        return dataSource;
+    }
+
+    static DataSource dataSource(boolean reWriteBatchedInserts) {
+        final var dataSource = new DriverManagerDataSource(
+                System.getProperty("benchmark.db.url", "jdbc:postgresql://localhost:5432/repeatwise_bench"),
+                System.getProperty("benchmark.db.username", "postgres"),
+                System.getProperty("benchmark.db.password", "postgres"));
+        final var properties = new Properties();
+        properties.setProperty("reWriteBatchedInserts", String.valueOf(reWriteBatchedInserts));
+        dataSource.setConnectionProperties(properties);
+        return dataSource;
+    }
+
+    static UUID createUser(JdbcTemplate jdbcTemplate) {
+        final var userId = UUID.randomUUID();
+        final var username = "bench_" + userId.toString().substring(0, 8);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, username, password_hash, name, timezone) \
+                VALUES (?, ?, ?, ?, ?, 'UTC')""",
+                userId, username + "@example.com", username, "$".repeat(60), "Benchmark");
+        return userId;
+    }
+
+    /**
+     * Remove a benchmark user; folders, decks, cards and positions cascade.
+     */
+    static void deleteUser(JdbcTemplate jdbcTemplate, UUID userId) {
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+}
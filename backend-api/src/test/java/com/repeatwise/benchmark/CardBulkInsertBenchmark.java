@@ -0,0 +1,123 @@
+package com.repeatwise.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.repeatwise.repository.JdbcBulkInsertRepository;
+import com.repeatwise.repository.JdbcBulkInsertRepository.CardRow;
+
+/**
+ * Database time of the bulk card import write path against PostgreSQL (see {@link BenchmarkDatabase}):
+ * 10,000 parsed rows written through {@link JdbcBulkInsertRepository} as cards plus fresh SRS positions,
+ * one transaction per chunk of {@code app.limits.import-batch-size} (1,000) rows, like
+ * {@code CardImportServiceImpl#persistChanges}. File parsing and duplicate detection are not included.
+ * {@code legacyStatementBatches} sends the same rows the way the previous {@code saveAll} path reached the
+ * database: JDBC batches of {@code hibernate.jdbc.batch_size} (20), one INSERT per row since Hibernate does not
+ * rewrite batches. It leaves out the entity lifecycle cost, so it is a lower bound for the old path.
+ * Every iteration imports into an empty deck, deleted again after the iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CardBulkInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int HIBERNATE_BATCH_SIZE = 20;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JdbcBulkInsertRepository jdbcBulkInsertRepository;
+    private TransactionTemplate unrewrittenTransactionTemplate;
+    private JdbcBulkInsertRepository unrewrittenBulkInsertRepository;
+    private UUID userId;
+    private UUID deckId;
+    private List<List<CardRow>> chunks;
+
+    @Setup
+    public void setUp() {
+        final var dataSource = BenchmarkDatabase.migratedDataSource();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.jdbcBulkInsertRepository = new JdbcBulkInsertRepository(this.jdbcTemplate);
+        final var unrewrittenDataSource = BenchmarkDatabase.dataSource(false);
+        this.unrewrittenTransactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(unrewrittenDataSource));
+        this.unrewrittenBulkInsertRepository = new JdbcBulkInsertRepository(new JdbcTemplate(unrewrittenDataSource));
+        this.userId = BenchmarkDatabase.createUser(this.jdbcTemplate);
+    }
+
+    @Setup(Level.Iteration)
+    public void createDeck() {
+        this.deckId = UUID.randomUUID();
+        this.jdbcTemplate.update("INSERT INTO decks (id, user_id, name) VALUES (?, ?, ?)",
+                this.deckId, this.userId, "Import " + this.deckId);
+        this.chunks = new ArrayList<>();
+        for (var start = 0; start < ROWS; start += CHUNK_SIZE) {
+            final List<CardRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (var row = start; row < start + CHUNK_SIZE; row++) {
+                chunk.add(new CardRow(UUID.randomUUID(), this.deckId, "Front of card " + row,
+                        "Back of card " + row + " with a somewhat longer answer text"));
+            }
+            this.chunks.add(chunk);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteDeck() {
+        this.jdbcTemplate.update("DELETE FROM decks WHERE id = ?", this.deckId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkDatabase.deleteUser(this.jdbcTemplate, this.userId);
+    }
+
+    @Benchmark
+    public int importTenThousandCards() {
+        return importChunks(this.transactionTemplate, this.jdbcBulkInsertRepository, CHUNK_SIZE);
+    }
+
+    @Benchmark
+    public int legacyStatementBatches() {
+        return importChunks(this.unrewrittenTransactionTemplate, this.unrewrittenBulkInsertRepository,
+                HIBERNATE_BATCH_SIZE);
+    }
+
+    private int importChunks(TransactionTemplate transactions, JdbcBulkInsertRepository repository, int batchSize) {
+        var imported = 0;
+        for (final var chunk : this.chunks) {
+            transactions.executeWithoutResult(status -> {
+                final var now = LocalDateTime.now();
+                repository.insertCards(chunk, batchSize, now);
+                repository.insertNewCardBoxPositions(chunk.stream().map(CardRow::id).toList(), this.userId,
+                        LocalDate.now(), batchSize, now);
+            });
+            imported += chunk.size();
+        }
+        return imported;
+    }
+}
@@ -0,0 +1,170 @@
+package com.repeatwise.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moving a folder with 999 descendants (a 1,000-folder subtree) between two root folders, and reading the
+ * user's folder tree, against PostgreSQL (see {@link BenchmarkDatabase}).
+ * {@code legacyPerRowMove} reproduces the previous behaviour (descendants loaded, then one UPDATE each, sent
+ * in Hibernate batches of 20); {@code bulkMove} issues the statements of the current
+ * {@code FolderServiceImpl#moveFolder} path: two version-guarded updates and one subtree rewrite.
+ * Each move runs in its own transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FolderMoveBenchmark {
+
+    private static final String PATH_DELIMITER = "/";
+    private static final int FAN_OUT = 10;
+    private static final int SUBTREE_SIZE = 1_000;
+    private static final int HIBERNATE_BATCH_SIZE = 20;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private UUID userId;
+    private UUID movedId;
+    private UUID[] parentIds;
+    private int moves;
+
+    @Setup
+    public void setUp() {
+        final var dataSource = BenchmarkDatabase.migratedDataSource();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.userId = BenchmarkDatabase.createUser(this.jdbcTemplate);
+
+        this.parentIds = new UUID[] {insertFolder(null, null, "Parent A", 0),
+                insertFolder(null, null, "Parent B", 1)};
+        this.movedId = insertFolder(this.parentIds[0], pathOf(this.parentIds[0]), "Moved", 0);
+
+        // Breadth-first: the moved folder gets FAN_OUT children, each of those FAN_OUT children, and so on
+        final List<UUID> level = new ArrayList<>(List.of(this.movedId));
+        var created = 1;
+        for (var index = 0; created < SUBTREE_SIZE; index++) {
+            final var parentId = level.get(index);
+            final var parentPath = this.jdbcTemplate.queryForObject("SELECT path FROM folders WHERE id = ?",
+                    String.class, parentId);
+            for (var child = 0; (child < FAN_OUT) && (created < SUBTREE_SIZE); child++, created++) {
+                level.add(insertFolder(parentId, parentPath, "Folder " + child, child));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkDatabase.deleteUser(this.jdbcTemplate, this.userId);
+    }
+
+    @Benchmark
+    public int legacyPerRowMove() {
+        return this.transactionTemplate.execute(status -> {
+            final var target = nextTarget();
+            final var newPath = relocate(target, false);
+            final var oldPrefix = pathOf(this.parentIds[1 - target]) + PATH_DELIMITER + this.movedId
+                    + PATH_DELIMITER;
+            final var descendants = this.jdbcTemplate.query("""
+                    SELECT id, path, depth FROM folders \
+                    WHERE user_id = ? AND path LIKE ? AND deleted_at IS NULL ORDER BY path""",
+                    (rs, rowNum) -> new Object[] {rs.getObject("id"), rs.getString("path"), rs.getInt("depth")},
+                    this.userId, oldPrefix + "%");
+            final var now = Timestamp.valueOf(LocalDateTime.now());
+            this.jdbcTemplate.batchUpdate("UPDATE folders SET path = ?, depth = ?, updated_at = ? WHERE id = ?",
+                    descendants, HIBERNATE_BATCH_SIZE, (ps, row) -> {
+                        ps.setString(1, newPath + PATH_DELIMITER + ((String) row[1]).substring(oldPrefix.length()));
+                        ps.setInt(2, (Integer) row[2]);
+                        ps.setTimestamp(3, now);
+                        ps.setObject(4, row[0]);
+                    });
+            return descendants.size();
+        });
+    }
+
+    @Benchmark
+    public int bulkMove() {
+        return this.transactionTemplate.execute(status -> {
+            final var target = nextTarget();
+            final var newPath = relocate(target, true);
+            final var oldPrefix = pathOf(this.parentIds[1 - target]) + PATH_DELIMITER + this.movedId
+                    + PATH_DELIMITER;
+            return this.jdbcTemplate.update("""
+                    UPDATE folders SET path = ? || SUBSTRING(path FROM ?), depth = depth + ?, \
+                    version = version + 1, updated_at = ? \
+                    WHERE user_id = ? AND path LIKE ?""",
+                    newPath + PATH_DELIMITER, oldPrefix.length() + 1, 0, Timestamp.valueOf(LocalDateTime.now()),
+                    this.userId, oldPrefix + "%");
+        });
+    }
+
+    @Benchmark
+    public int folderTree() {
+        return this.jdbcTemplate.query("""
+                SELECT id, parent_folder_id, name, description, depth, path, sort_order, updated_at, deleted_at \
+                FROM folders WHERE user_id = ? AND deleted_at IS NULL \
+                ORDER BY depth ASC, sort_order ASC, name ASC""",
+                (rs, rowNum) -> rs.getString("id"), this.userId).size();
+    }
+
+    /**
+     * Alternate between the two parents, so every move relocates the whole subtree.
+     */
+    private int nextTarget() {
+        return (this.moves++ & 1) == 0 ? 1 : 0;
+    }
+
+    /**
+     * Point the moved folder at its new parent; the bulk path guards target and folder by version first.
+     */
+    private String relocate(int target, boolean guarded) {
+        final var targetId = this.parentIds[target];
+        final var newPath = pathOf(targetId) + PATH_DELIMITER + this.movedId;
+        if (guarded) {
+            final var version = this.jdbcTemplate.queryForObject("SELECT version FROM folders WHERE id = ?",
+                    Long.class, targetId);
+            this.jdbcTemplate.update("UPDATE folders SET version = version + 1 WHERE id = ? AND version = ?",
+                    targetId, version);
+        }
+        this.jdbcTemplate.update("""
+                UPDATE folders SET parent_folder_id = ?, path = ?, version = version + 1, updated_at = ? \
+                WHERE id = ?""",
+                targetId, newPath, Timestamp.valueOf(LocalDateTime.now()), this.movedId);
+        return newPath;
+    }
+
+    private String pathOf(UUID folderId) {
+        return PATH_DELIMITER + folderId;
+    }
+
+    private UUID insertFolder(UUID parentId, String parentPath, String name, int sortOrder) {
+        final var folderId = UUID.randomUUID();
+        final var path = (parentPath != null ? parentPath : "") + PATH_DELIMITER + folderId;
+        this.jdbcTemplate.update("""
+                INSERT INTO folders (id, user_id, parent_folder_id, name, depth, path, sort_order) \
+                VALUES (?, ?, ?, ?, ?, ?, ?)""",
+                folderId, this.userId, parentId, name, path.split(PATH_DELIMITER).length - 2, path, sortOrder);
+        return folderId;
+    }
+}
@@ -0,0 +1,81 @@
+package com.repeatwise.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.repeatwise.config.properties.JwtProperties;
+import com.repeatwise.entity.User;
+import com.repeatwise.service.impl.JwtServiceImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request authentication CPU of the JWT filter path.
+ * {@code legacyValidateThenExtract} reproduces the previous behaviour (key and parser rebuilt per call,
+ * token parsed twice); {@code parseOnce} is the current {@link JwtServiceImpl#parseClaims(String)} path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private JwtProperties jwtProperties;
+    private JwtServiceImpl jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        this.jwtProperties = new JwtProperties();
+        this.jwtProperties.setSecret("benchmark-secret-key-with-at-least-256-bits-of-entropy");
+        this.jwtProperties.setAccessTokenExpirationMinutes(15);
+        this.jwtProperties.setIssuer("repeatwise-api");
+        this.jwtProperties.setAudience("repeatwise-app");
+        this.jwtService = new JwtServiceImpl(this.jwtProperties);
+
+        final var user = User.builder()
+                .email("bench@example.com")
+                .username("bench")
+                .build();
+        user.setId(UUID.randomUUID());
+        this.token = this.jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        legacyParse(this.token);
+        return legacyParse(this.token).get("userId", String.class);
+    }
+
+    @Benchmark
+    public String parseOnce() {
+        return this.jwtService.parseClaims(this.token).get("userId", String.class);
+    }
+
+    private Claims legacyParse(String jwt) {
+        final var key = Keys.hmacShaKeyFor(this.jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .requireIssuer(this.jwtProperties.getIssuer())
+                .requireAudience(this.jwtProperties.getAudience())
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+}
@@ -0,0 +1,83 @@
+package com.repeatwise.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.repeatwise.dto.response.user.UserResponse;
+import com.repeatwise.security.AuthenticatedUser;
+import com.repeatwise.service.UserService;
+
+import io.jsonwebtoken.Jwts;
+
+@ExtendWith(MockitoExtension.class)
+class UserControllerTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @InjectMocks
+    private UserController userController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(this.userController)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+        final var principal = AuthenticatedUser.fromClaims(Jwts.claims()
+                .add("userId", USER_ID.toString())
+                .add("email", "tester@example.com")
+                .add("username", "tester")
+                .build());
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Return the profile of the user named by the token claims")
+    void should_ReturnProfile_When_GetCurrentUser() throws Exception {
+        when(this.userService.getProfile(USER_ID)).thenReturn(UserResponse.builder()
+                .id(USER_ID)
+                .email("tester@example.com")
+                .username("tester")
+                .name("Tester")
+                .build());
+
+        this.mockMvc.perform(get("/v1/users/me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(USER_ID.toString()))
+                .andExpect(jsonPath("$.username").value("tester"))
+                .andExpect(jsonPath("$.name").value("Tester"));
+    }
+}
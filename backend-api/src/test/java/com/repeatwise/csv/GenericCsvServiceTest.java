@@ -0,0 +1,143 @@
+package com.repeatwise.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+
+class GenericCsvServiceTest {
+
+    private static final CsvSchema SCHEMA = CsvSchema.builder().build();
+
+    private final GenericCsvService genericCsvService = new GenericCsvService();
+
+    @Test
+    @DisplayName("Hand over full chunks and a final partial chunk in file order")
+    void should_SplitIntoChunks_When_RowsExceedChunkSize() {
+        final List<List<CsvRecord<String>>> chunks = new ArrayList<>();
+
+        final var total = this.genericCsvService.readInChunks(csv("front,back", "a,1", "b,2", "c,3", "d,4", "e,5"),
+                SCHEMA, new FrontHelper(), 2, chunks::add);
+
+        assertThat(total).isEqualTo(5);
+        assertThat(chunks).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(chunks.get(2).get(0).rowNumber()).isEqualTo(5);
+        assertThat(chunks.stream().flatMap(List::stream).map(CsvRecord::data))
+                .containsExactly("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    @DisplayName("Hand over no empty trailing chunk when rows fill the last chunk exactly")
+    void should_SkipEmptyChunk_When_RowsFillLastChunk() {
+        final List<List<CsvRecord<String>>> chunks = new ArrayList<>();
+
+        final var total = this.genericCsvService.readInChunks(csv("front,back", "a,1", "b,2", "c,3", "d,4"),
+                SCHEMA, new FrontHelper(), 2, chunks::add);
+
+        assertThat(total).isEqualTo(4);
+        assertThat(chunks).extracting(List::size).containsExactly(2, 2);
+    }
+
+    @Test
+    @DisplayName("Key values by trimmed lower-case headers and leave out columns a short row lacks")
+    void should_NormalizeHeaders_When_HeadersDifferInCaseAndSpacing() {
+        final List<CsvRecord<String>> records = new ArrayList<>();
+
+        this.genericCsvService.readInChunks(csv(" Front ,BACK", "a,1", "b"), SCHEMA, new FrontHelper(), 10,
+                records::addAll);
+
+        assertThat(records.get(0).rawValues()).containsExactlyInAnyOrderEntriesOf(Map.of("front", "a", "back", "1"));
+        assertThat(records.get(1).rawValues()).containsExactlyInAnyOrderEntriesOf(Map.of("front", "b"));
+    }
+
+    @Test
+    @DisplayName("Reject a file that lacks a required header")
+    void should_Throw_When_RequiredHeaderMissing() {
+        final var thrown = catchThrowable(() -> this.genericCsvService.readInChunks(csv("question,answer", "a,1"),
+                SCHEMA, new FrontHelper(), 10, chunk -> { }));
+
+        assertThat(thrown)
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.IMPORT_MISSING_COLUMNS);
+    }
+
+    @Test
+    @DisplayName("Propagate a consumer failure unchanged and stop reading")
+    void should_PropagateConsumerException_When_ChunkRejected() {
+        final var failure = new RepeatWiseException(RepeatWiseError.JOB_CLAIMED_ELSEWHERE);
+        final List<Integer> seen = new ArrayList<>();
+
+        final var thrown = catchThrowable(() -> this.genericCsvService.readInChunks(
+                csv("front,back", "a,1", "b,2", "c,3"), SCHEMA, new FrontHelper(), 1, chunk -> {
+                    seen.add(chunk.get(0).rowNumber());
+                    throw failure;
+                }));
+
+        assertThat(thrown).isSameAs(failure);
+        assertThat(seen).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Propagate an I/O failure of a consumer unchanged")
+    void should_PropagateIoFailure_When_ConsumerThrowsUncheckedIo() {
+        final var failure = new UncheckedIOException(new IOException("disk full"));
+
+        final var thrown = catchThrowable(() -> this.genericCsvService.readInChunks(csv("front,back", "a,1"),
+                SCHEMA, new FrontHelper(), 1, chunk -> {
+                    throw failure;
+                }));
+
+        assertThat(thrown).isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("Report a parser failure as an invalid import file")
+    void should_ThrowInvalidFormat_When_QuoteNotClosed() {
+        final var thrown = catchThrowable(() -> this.genericCsvService.readInChunks(
+                csv("front,back", "a,1", "\"b,2"), SCHEMA, new FrontHelper(), 10, chunk -> { }));
+
+        assertThat(thrown)
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.IMPORT_INVALID_FORMAT);
+    }
+
+    private static InputStream csv(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the front of each card; requires the "front" column.
+     */
+    private static final class FrontHelper implements CsvHelper<String> {
+
+        @Override
+        public String[] getHeaders() {
+            return new String[] { "Front" };
+        }
+
+        @Override
+        public String readRecord(Map<String, String> values) {
+            return values.get("front");
+        }
+
+        @Override
+        public Map<String, String> writeRecord(String value) {
+            return Map.of("front", value);
+        }
+    }
+}
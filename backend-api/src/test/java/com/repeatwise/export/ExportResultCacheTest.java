@@ -0,0 +1,127 @@
+package com.repeatwise.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.enums.ExportFormat;
+import com.repeatwise.enums.ExportScope;
+import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.service.FileStorageService;
+
+@ExtendWith(MockitoExtension.class)
+class ExportResultCacheTest {
+
+    private static final UUID DECK_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @TempDir
+    Path exportDir;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @InjectMocks
+    private ExportResultCache exportResultCache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(this.fileStorageService.resolveExportDir()).thenReturn(this.exportDir);
+        lenient().doAnswer(invocation -> Files.deleteIfExists(invocation.getArgument(0)))
+                .when(this.fileStorageService).deleteQuietly(any());
+        this.appProperties.getLimits().setExportCacheMaxMb(1);
+        this.appProperties.getLimits().setExportCacheMaxEntries(2);
+    }
+
+    @Test
+    @DisplayName("Derive the same key for identical requests and a new key when the content version changes")
+    void should_DeriveStableKey_When_RequestIsIdentical() {
+        final var key = ExportResultCache.key(DECK_ID, USER_ID, ExportFormat.CSV, ExportScope.ALL, "1:3:a:b");
+
+        assertThat(ExportResultCache.key(DECK_ID, USER_ID, ExportFormat.CSV, ExportScope.ALL, "1:3:a:b"))
+                .isEqualTo(key);
+        assertThat(ExportResultCache.key(DECK_ID, USER_ID, ExportFormat.CSV, ExportScope.ALL, "1:4:a:b"))
+                .isNotEqualTo(key);
+        assertThat(ExportResultCache.key(DECK_ID, USER_ID, ExportFormat.XLSX, ExportScope.ALL, "1:3:a:b"))
+                .isNotEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("Serve a stored result on the next lookup")
+    void should_FindStoredResult_When_KeyWasStored() throws IOException {
+        final var path = this.exportResultCache.store("k1", ExportFormat.CSV,
+                out -> out.write("a,b".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(this.exportResultCache.find("k1", ExportFormat.CSV)).contains(path);
+        assertThat(Files.readString(path)).isEqualTo("a,b");
+        assertThat(this.exportResultCache.find("k2", ExportFormat.CSV)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Evict the least recently used result when the cache holds too many entries")
+    void should_EvictLeastRecentlyUsed_When_EntryLimitExceeded() throws IOException {
+        final var first = this.exportResultCache.store("k1", ExportFormat.CSV, out -> out.write(1));
+        final var second = this.exportResultCache.store("k2", ExportFormat.CSV, out -> out.write(2));
+        Files.setLastModifiedTime(first, FileTime.from(Instant.now().minusSeconds(60)));
+        Files.setLastModifiedTime(second, FileTime.from(Instant.now().minusSeconds(120)));
+        this.exportResultCache.find("k1", ExportFormat.CSV);
+
+        this.exportResultCache.store("k3", ExportFormat.CSV, out -> out.write(3));
+
+        assertThat(first).exists();
+        assertThat(second).doesNotExist();
+        assertThat(this.exportResultCache.find("k3", ExportFormat.CSV)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Keep results that may still be streaming even when the cache is over its bounds")
+    void should_KeepRecentlyUsedResults_When_EntryLimitExceeded() throws IOException {
+        this.appProperties.getLimits().setExportStreamTimeoutMs(60_000);
+        final var stale = this.exportResultCache.store("k1", ExportFormat.CSV, out -> out.write(1));
+        final var streaming = this.exportResultCache.store("k2", ExportFormat.CSV, out -> out.write(2));
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minusSeconds(120)));
+
+        final var stored = this.exportResultCache.store("k3", ExportFormat.CSV, out -> out.write(3));
+        this.exportResultCache.store("k4", ExportFormat.CSV, out -> out.write(4));
+
+        assertThat(stale).doesNotExist();
+        assertThat(streaming).exists();
+        assertThat(stored).exists();
+    }
+
+    @Test
+    @DisplayName("Leave no file behind when rendering fails")
+    void should_RemoveTempFile_When_WriterFails() throws IOException {
+        assertThatThrownBy(() -> this.exportResultCache.store("k1", ExportFormat.CSV, out -> {
+            out.write(1);
+            throw new IOException("disk full");
+        })).isInstanceOf(RepeatWiseException.class);
+
+        try (var files = Files.list(this.exportDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
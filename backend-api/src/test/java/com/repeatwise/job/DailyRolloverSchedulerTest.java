@@ -0,0 +1,121 @@
+package com.repeatwise.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.repository.FolderStatsRepository;
+import com.repeatwise.repository.UserRepository;
+import com.repeatwise.repository.UserStatsRepository;
+import com.repeatwise.service.ReviewService;
+
+@ExtendWith(MockitoExtension.class)
+class DailyRolloverSchedulerTest {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final List<String> UTC = List.of("UTC");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @Mock
+    private FolderStatsRepository folderStatsRepository;
+
+    @Mock
+    private ReviewService reviewService;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DailyRolloverScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        this.appProperties.getLimits().setRolloverBatchSize(100);
+        this.appProperties.getLimits().setReviewQueuePrebuildDays(7);
+    }
+
+    @Test
+    @DisplayName("Bucket zones sharing a UTC offset together")
+    void should_BucketZonesByOffset_When_DayChanged() {
+        when(this.userRepository.findDistinctTimezones())
+                .thenReturn(List.of("Asia/Ho_Chi_Minh", "Europe/Paris", "Asia/Bangkok"));
+
+        final var buckets = this.scheduler.dueBuckets(Instant.parse("2025-01-15T17:00:00Z"));
+
+        assertThat(buckets).containsOnlyKeys(ZoneOffset.ofHours(7), ZoneOffset.ofHours(1));
+        assertThat(buckets.get(ZoneOffset.ofHours(7))).containsExactly("Asia/Ho_Chi_Minh", "Asia/Bangkok");
+    }
+
+    @Test
+    @DisplayName("Roll a bucket over once per local day and prebuild queues of active users")
+    void should_RollOverOnce_When_RunTwiceOnSameDay() {
+        when(this.userRepository.findDistinctTimezones()).thenReturn(UTC);
+        stubUserChunks();
+        when(this.userStatsRepository.findUserIdsStudiedSince(eq(List.of(USER_ID)), any()))
+                .thenReturn(List.of(USER_ID));
+
+        this.scheduler.rollOver();
+        this.scheduler.rollOver();
+
+        final var today = LocalDate.now(ZoneOffset.UTC);
+        verify(this.userStatsRepository).resetDailyCounters(List.of(USER_ID), today);
+        verify(this.userStatsRepository).breakStreaks(List.of(USER_ID), today.minusDays(1));
+        verify(this.reviewService).prepareReviewQueue(USER_ID);
+        verify(this.folderStatsRepository).refreshDueCounts(eq(List.of(USER_ID)), eq(LocalDate.now()), any());
+    }
+
+    @Test
+    @DisplayName("Retry a bucket on the next run when a chunk failed")
+    void should_RetryBucket_When_ChunkFailed() {
+        when(this.userRepository.findDistinctTimezones()).thenReturn(UTC);
+        stubUserChunks();
+        when(this.userStatsRepository.resetDailyCounters(any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenReturn(1);
+
+        this.scheduler.rollOver();
+        this.scheduler.rollOver();
+
+        verify(this.userStatsRepository, times(2)).resetDailyCounters(any(), any());
+        verify(this.userStatsRepository, times(1)).breakStreaks(any(), any());
+        verify(this.reviewService, never()).prepareReviewQueue(any());
+    }
+
+    private void stubUserChunks() {
+        when(this.userRepository.findIdsByTimezoneIn(eq(UTC), eq(FIRST_ID), any())).thenReturn(List.of(USER_ID));
+        when(this.userRepository.findIdsByTimezoneIn(eq(UTC), eq(USER_ID), any())).thenReturn(List.of());
+        when(this.userRepository.findIdsAfter(eq(FIRST_ID), any())).thenReturn(List.of(USER_ID));
+        when(this.userRepository.findIdsAfter(eq(USER_ID), any())).thenReturn(List.of());
+    }
+}
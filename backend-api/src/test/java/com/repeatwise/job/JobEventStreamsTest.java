@@ -0,0 +1,254 @@
+package com.repeatwise.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.dto.response.job.AsyncJobResponseDto;
+import com.repeatwise.entity.AsyncJob;
+import com.repeatwise.enums.AsyncJobStatus;
+import com.repeatwise.enums.AsyncJobType;
+import com.repeatwise.event.AsyncJobChangedEvent;
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.repository.AsyncJobRepository;
+import com.repeatwise.service.AsyncJobService;
+
+@ExtendWith(MockitoExtension.class)
+class JobEventStreamsTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID JOB_ID = UUID.randomUUID();
+
+    @Mock
+    private AsyncJobRepository asyncJobRepository;
+
+    @Mock
+    private AsyncJobService asyncJobService;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @Mock
+    private Executor eventExecutor;
+
+    @InjectMocks
+    private JobEventStreams jobEventStreams;
+
+    @BeforeEach
+    void setUp() {
+        this.appProperties.getLimits().setJobStreamMaxPerUser(2);
+        this.appProperties.getLimits().setJobStreamMaxConnections(10);
+        this.appProperties.getLimits().setJobStreamTimeoutMs(60_000);
+        lenient().when(this.asyncJobService.toDto(any())).thenAnswer(invocation -> {
+            final AsyncJob job = invocation.getArgument(0);
+            return AsyncJobResponseDto.builder()
+                    .jobId(job.getId().toString())
+                    .status(job.getStatus().name())
+                    .build();
+        });
+    }
+
+    @Test
+    @DisplayName("Send the current state and keep the stream open while the job runs")
+    void should_KeepStreamOpen_When_JobRunning() {
+        when(this.asyncJobService.getJob(JOB_ID, USER_ID)).thenReturn(job(AsyncJobStatus.RUNNING));
+
+        final var emitter = this.jobEventStreams.subscribeToJob(JOB_ID, USER_ID);
+
+        verify(this.asyncJobService).toDto(any());
+        assertThat(isOpen(emitter)).isTrue();
+    }
+
+    @Test
+    @DisplayName("End the stream right after the snapshot when the job already finished")
+    void should_CompleteStream_When_JobAlreadyFinished() {
+        when(this.asyncJobService.getJob(JOB_ID, USER_ID)).thenReturn(job(AsyncJobStatus.COMPLETED));
+
+        final var emitter = this.jobEventStreams.subscribeToJob(JOB_ID, USER_ID);
+
+        assertThat(isOpen(emitter)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Reject a stream beyond the per-user limit")
+    void should_Throw_When_UserStreamLimitReached() {
+        this.jobEventStreams.subscribeToUser(USER_ID);
+        this.jobEventStreams.subscribeToUser(USER_ID);
+
+        final var thrown = catchThrowable(() -> this.jobEventStreams.subscribeToUser(USER_ID));
+
+        assertThat(thrown)
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.JOB_STREAM_LIMIT_EXCEEDED);
+        assertThatCode(() -> this.jobEventStreams.subscribeToUser(UUID.randomUUID())).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Reject a stream beyond the total limit")
+    void should_Throw_When_TotalStreamLimitReached() {
+        this.appProperties.getLimits().setJobStreamMaxConnections(1);
+        this.jobEventStreams.subscribeToUser(USER_ID);
+
+        final var thrown = catchThrowable(() -> this.jobEventStreams.subscribeToUser(UUID.randomUUID()));
+
+        assertThat(thrown)
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.JOB_STREAM_LIMIT_EXCEEDED);
+    }
+
+    @Test
+    @DisplayName("Release the slot of a stream whose job cannot be read")
+    void should_ReleaseSlot_When_JobNotFound() {
+        this.appProperties.getLimits().setJobStreamMaxPerUser(1);
+        when(this.asyncJobService.getJob(JOB_ID, USER_ID))
+                .thenThrow(new RepeatWiseException(RepeatWiseError.JOB_NOT_FOUND, JOB_ID))
+                .thenReturn(job(AsyncJobStatus.RUNNING));
+
+        final var thrown = catchThrowable(() -> this.jobEventStreams.subscribeToJob(JOB_ID, USER_ID));
+
+        assertThat(thrown)
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.JOB_NOT_FOUND);
+        assertThatCode(() -> this.jobEventStreams.subscribeToJob(JOB_ID, USER_ID)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Release the slot of a stream whose client went away on the next heartbeat")
+    void should_ReleaseSlot_When_HeartbeatFails() {
+        this.appProperties.getLimits().setJobStreamMaxPerUser(1);
+        final var emitter = this.jobEventStreams.subscribeToUser(USER_ID);
+        emitter.complete();
+
+        this.jobEventStreams.heartbeat();
+
+        assertThatCode(() -> this.jobEventStreams.subscribeToUser(USER_ID)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Complete job streams but keep user streams open when the job finishes")
+    void should_CompleteJobStreamOnly_When_JobFinishes() {
+        when(this.asyncJobService.getJob(JOB_ID, USER_ID)).thenReturn(job(AsyncJobStatus.RUNNING));
+        when(this.asyncJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job(AsyncJobStatus.FAILED)));
+        final var jobEmitter = this.jobEventStreams.subscribeToJob(JOB_ID, USER_ID);
+        final var userEmitter = this.jobEventStreams.subscribeToUser(USER_ID);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(this.eventExecutor).execute(any(Runnable.class));
+
+        this.jobEventStreams.onJobChanged(new AsyncJobChangedEvent(USER_ID, JOB_ID));
+
+        assertThat(isOpen(jobEmitter)).isFalse();
+        assertThat(isOpen(userEmitter)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Skip reading the job when nobody is listening")
+    void should_SkipLookup_When_NoSubscribers() {
+        this.jobEventStreams.onJobChanged(new AsyncJobChangedEvent(USER_ID, JOB_ID));
+
+        verify(this.eventExecutor, never()).execute(any());
+        verify(this.asyncJobRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Leave the job read and the sends to the event executor")
+    void should_SendOffPublisherThread_When_JobChanged() {
+        this.jobEventStreams.subscribeToUser(USER_ID);
+
+        this.jobEventStreams.onJobChanged(new AsyncJobChangedEvent(USER_ID, JOB_ID));
+
+        verify(this.eventExecutor).execute(any(Runnable.class));
+        verify(this.asyncJobRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Admit exactly the per-user limit when streams open concurrently")
+    void should_AdmitUpToLimit_When_StreamsOpenConcurrently() throws InterruptedException {
+        this.appProperties.getLimits().setJobStreamMaxPerUser(3);
+        final var threads = 16;
+        final var start = new CountDownLatch(1);
+        final var admitted = new AtomicInteger();
+        final var pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (var i = 0; i < threads; i++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        this.jobEventStreams.subscribeToUser(USER_ID);
+                        admitted.incrementAndGet();
+                    } catch (InterruptedException | RepeatWiseException ex) {
+                        // Rejected by the limit
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(admitted).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Keep counting the user's other streams after one of them closes")
+    void should_KeepUserCount_When_OneStreamCloses() {
+        this.jobEventStreams.subscribeToUser(USER_ID).complete();
+        this.jobEventStreams.heartbeat();
+        this.jobEventStreams.subscribeToUser(USER_ID);
+        this.jobEventStreams.subscribeToUser(USER_ID);
+
+        final var thrown = catchThrowable(() -> this.jobEventStreams.subscribeToUser(USER_ID));
+
+        assertThat(thrown)
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.JOB_STREAM_LIMIT_EXCEEDED);
+    }
+
+    /**
+     * An emitter refuses further events once completed.
+     */
+    private static boolean isOpen(SseEmitter emitter) {
+        return catchThrowable(() -> emitter.send(SseEmitter.event().comment("probe"))) == null;
+    }
+
+    private static AsyncJob job(AsyncJobStatus status) {
+        final var job = new AsyncJob();
+        job.setId(JOB_ID);
+        job.setUserId(USER_ID);
+        job.setJobType(AsyncJobType.EXPORT_CARDS);
+        job.setStatus(status);
+        return job;
+    }
+}
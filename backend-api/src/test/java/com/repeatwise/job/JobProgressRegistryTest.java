@@ -0,0 +1,105 @@
+package com.repeatwise.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.repeatwise.event.AsyncJobChangedEvent;
+import com.repeatwise.repository.AsyncJobRepository;
+
+@ExtendWith(MockitoExtension.class)
+class JobProgressRegistryTest {
+
+    private static final UUID JOB_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final String MESSAGE_KEY = "import.running";
+
+    @Mock
+    private AsyncJobRepository asyncJobRepository;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private JobProgressRegistry registry;
+
+    @Test
+    @DisplayName("Track a job from zero and publish each update as one snapshot")
+    void should_PublishSnapshot_When_ProgressUpdated() {
+        final var progress = this.registry.track(JOB_ID, USER_ID, 10, MESSAGE_KEY, Locale.ENGLISH);
+        final var initial = progress.snapshot();
+
+        progress.update(4, 2, 1, 1);
+
+        assertThat(this.registry.find(JOB_ID)).containsSame(progress);
+        assertThat(initial).isEqualTo(new JobProgress.Snapshot(10, 0, 0, 0, 0, 0));
+        assertThat(progress.snapshot()).isEqualTo(new JobProgress.Snapshot(10, 4, 2, 1, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Keep the row counters when a job reports its position against a new total")
+    void should_KeepCounters_When_TotalUpdated() {
+        final var progress = this.registry.track(JOB_ID, USER_ID, 0, MESSAGE_KEY, Locale.ENGLISH);
+        progress.update(3, 2, 1, 0);
+
+        progress.update(5, 20);
+
+        assertThat(progress.snapshot()).isEqualTo(new JobProgress.Snapshot(20, 5, 2, 1, 0, 2));
+    }
+
+    @Test
+    @DisplayName("Flush a changed job to async_jobs once and announce it")
+    void should_WriteProgressOnce_When_JobChanged() {
+        final var progress = this.registry.track(JOB_ID, USER_ID, 10, MESSAGE_KEY, Locale.ENGLISH);
+        progress.update(4, 4, 0, 0);
+        when(this.messageSource.getMessage(eq(MESSAGE_KEY), eq(new Object[] { 4, 10 }), eq(Locale.ENGLISH)))
+                .thenReturn("4/10");
+
+        this.registry.flush();
+        this.registry.flush();
+
+        verify(this.asyncJobRepository).updateProgress(eq(JOB_ID), eq(10), eq(4), eq("4/10"),
+                any(LocalDateTime.class), any());
+        verify(this.eventPublisher, times(1)).publishEvent(new AsyncJobChangedEvent(USER_ID, JOB_ID));
+    }
+
+    @Test
+    @DisplayName("Stop flushing a job once it is untracked")
+    void should_SkipFlush_When_JobUntracked() {
+        final var progress = this.registry.track(JOB_ID, USER_ID, 10, MESSAGE_KEY, Locale.ENGLISH);
+        progress.update(4, 4, 0, 0);
+
+        this.registry.untrack(JOB_ID);
+        this.registry.flush();
+
+        assertThat(this.registry.find(JOB_ID)).isEmpty();
+        verify(this.asyncJobRepository, never()).updateProgress(any(), anyInt(), anyInt(), anyString(), any(),
+                any());
+    }
+}
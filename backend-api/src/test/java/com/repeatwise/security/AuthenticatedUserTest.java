@@ -0,0 +1,49 @@
+package com.repeatwise.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Jwts;
+
+class AuthenticatedUserTest {
+
+    @Test
+    @DisplayName("Map the user claims of a verified token to the principal")
+    void should_MapClaims_When_UserIdValid() {
+        final var userId = UUID.randomUUID();
+        final var claims = Jwts.claims()
+                .subject("tester")
+                .add("userId", userId.toString())
+                .add("email", "tester@example.com")
+                .add("username", "tester")
+                .build();
+
+        final var user = AuthenticatedUser.fromClaims(claims);
+
+        assertThat(user).isNotNull();
+        assertThat(user.getId()).isEqualTo(userId);
+        assertThat(user.getEmail()).isEqualTo("tester@example.com");
+        assertThat(user.getUsername()).isEqualTo("tester");
+        assertThat(user).hasToString(userId.toString());
+    }
+
+    @Test
+    @DisplayName("Build no principal when the token carries no user ID")
+    void should_ReturnNull_When_UserIdMissing() {
+        final var claims = Jwts.claims().add("email", "tester@example.com").build();
+
+        assertThat(AuthenticatedUser.fromClaims(claims)).isNull();
+    }
+
+    @Test
+    @DisplayName("Build no principal when the user ID is not a UUID")
+    void should_ReturnNull_When_UserIdMalformed() {
+        final var claims = Jwts.claims().add("userId", "not-a-uuid").build();
+
+        assertThat(AuthenticatedUser.fromClaims(claims)).isNull();
+    }
+}
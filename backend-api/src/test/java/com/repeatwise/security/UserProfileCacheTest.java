@@ -0,0 +1,125 @@
+package com.repeatwise.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.dto.response.user.UserResponse;
+
+class UserProfileCacheTest {
+
+    private static final UUID FIRST_ID = UUID.randomUUID();
+    private static final UUID SECOND_ID = UUID.randomUUID();
+    private static final UUID THIRD_ID = UUID.randomUUID();
+
+    private final AppProperties appProperties = new AppProperties();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<UUID, UserResponse> loader = id -> {
+        this.loads.incrementAndGet();
+        return UserResponse.builder().id(id).name("User " + this.loads.get()).build();
+    };
+
+    private UserProfileCache userProfileCache;
+
+    @BeforeEach
+    void setUp() {
+        this.appProperties.getSecurity().setUserCacheTtlSeconds(30);
+        this.appProperties.getSecurity().setUserCacheMaxEntries(2);
+        this.userProfileCache = new UserProfileCache(this.appProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Serve a loaded profile from the cache until it expires")
+    void should_LoadOnce_When_EntryFresh() {
+        final var first = this.userProfileCache.get(FIRST_ID, this.loader);
+        final var second = this.userProfileCache.get(FIRST_ID, this.loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(this.loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Reload a profile once its TTL has passed")
+    void should_Reload_When_EntryExpired() {
+        this.appProperties.getSecurity().setUserCacheTtlSeconds(0);
+
+        this.userProfileCache.get(FIRST_ID, this.loader);
+        final var reloaded = this.userProfileCache.get(FIRST_ID, this.loader);
+
+        assertThat(reloaded.getName()).isEqualTo("User 2");
+        assertThat(this.loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Evict the least recently used profile when the cache is full")
+    void should_EvictLeastRecentlyUsed_When_CacheFull() {
+        this.userProfileCache.get(FIRST_ID, this.loader);
+        this.userProfileCache.get(SECOND_ID, this.loader);
+        this.userProfileCache.get(FIRST_ID, this.loader);
+
+        this.userProfileCache.get(THIRD_ID, this.loader);
+        this.userProfileCache.get(FIRST_ID, this.loader);
+        this.userProfileCache.get(THIRD_ID, this.loader);
+
+        assertThat(this.loads).hasValue(3);
+        this.userProfileCache.get(SECOND_ID, this.loader);
+        assertThat(this.loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Evict right away outside a transaction")
+    void should_EvictImmediately_When_NoTransaction() {
+        this.userProfileCache.get(FIRST_ID, this.loader);
+
+        this.userProfileCache.evict(FIRST_ID);
+        this.userProfileCache.get(FIRST_ID, this.loader);
+
+        assertThat(this.loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Keep the cached profile until the changing transaction commits")
+    void should_EvictAfterCommit_When_InTransaction() {
+        this.userProfileCache.get(FIRST_ID, this.loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        this.userProfileCache.evict(FIRST_ID);
+        this.userProfileCache.get(FIRST_ID, this.loader);
+        assertThat(this.loads).hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        this.userProfileCache.get(FIRST_ID, this.loader);
+        assertThat(this.loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Do not cache a profile whose load overlapped an eviction")
+    void should_SkipStore_When_EvictedDuringLoad() {
+        final var stale = this.userProfileCache.get(FIRST_ID, id -> {
+            this.userProfileCache.evict(id);
+            return this.loader.apply(id);
+        });
+        final var fresh = this.userProfileCache.get(FIRST_ID, this.loader);
+
+        assertThat(stale.getName()).isEqualTo("User 1");
+        assertThat(fresh.getName()).isEqualTo("User 2");
+        assertThat(this.loads).hasValue(2);
+    }
+}
@@ -0,0 +1,385 @@
+package com.repeatwise.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.entity.AsyncJob;
+import com.repeatwise.entity.Deck;
+import com.repeatwise.entity.Folder;
+import com.repeatwise.enums.AsyncJobStatus;
+import com.repeatwise.enums.ExportFormat;
+import com.repeatwise.enums.ExportScope;
+import com.repeatwise.export.ExportResultCache;
+import com.repeatwise.job.JobProgressRegistry;
+import com.repeatwise.repository.AsyncJobRepository;
+import com.repeatwise.repository.CardBoxPositionRepository;
+import com.repeatwise.repository.CardRepository;
+import com.repeatwise.repository.DeckRepository;
+import com.repeatwise.repository.FolderRepository;
+import com.repeatwise.repository.projection.CardExportProjection;
+import com.repeatwise.repository.projection.DeckContentVersionProjection;
+import com.repeatwise.service.CardExportService.ExportRequest;
+import com.repeatwise.service.CardExportService.ExportWriter;
+import com.repeatwise.service.FileStorageService;
+
+@ExtendWith(MockitoExtension.class)
+class CardExportServiceImplTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID DECK_ID = UUID.randomUUID();
+    private static final UUID FOLDER_ID = UUID.randomUUID();
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID KEYSET_START_ID = new UUID(0L, 0L);
+
+    @TempDir
+    Path storageDir;
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private FolderRepository folderRepository;
+
+    @Mock
+    private CardBoxPositionRepository cardBoxPositionRepository;
+
+    @Mock
+    private AsyncJobRepository asyncJobRepository;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ExportResultCache exportResultCache;
+
+    private final AppProperties appProperties = new AppProperties();
+
+    private CardExportServiceImpl cardExportService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final var limits = this.appProperties.getLimits();
+        limits.setMaxExportRows(1_000);
+        limits.setMaxFolderExportRows(1_000);
+        limits.setExportBatchSize(2);
+        limits.setExportParallelism(2);
+        final var exportDir = Files.createDirectories(this.storageDir.resolve("exports"));
+        final var folderExportDir = Files.createDirectories(this.storageDir.resolve("folder-exports"));
+        lenient().when(this.fileStorageService.resolveExportDir()).thenReturn(exportDir);
+        lenient().when(this.fileStorageService.resolveFolderExportDir()).thenReturn(folderExportDir);
+        lenient().doAnswer(invocation -> Files.deleteIfExists(invocation.getArgument(0)))
+                .when(this.fileStorageService).deleteQuietly(any());
+        final var jobProgressRegistry = new JobProgressRegistry(this.asyncJobRepository, this.messageSource,
+                this.transactionManager, this.eventPublisher);
+        this.cardExportService = new CardExportServiceImpl(this.deckRepository, this.cardRepository,
+                this.folderRepository, this.cardBoxPositionRepository, this.asyncJobRepository,
+                this.fileStorageService, this.messageSource, this.appProperties, this.transactionManager,
+                Runnable::run, Runnable::run, this.eventPublisher, jobProgressRegistry, this.exportResultCache);
+    }
+
+    @Test
+    @DisplayName("Read every page with a keyset cursor after the last row of the previous page")
+    void should_ContinueAfterLastRow_When_RowsSpanPages() throws IOException {
+        final var first = row("a");
+        final var second = row("b");
+        final var third = row("c");
+        stubDeckExport(3L);
+        when(this.cardRepository.findExportPage(eq(DECK_ID), eq(USER_ID), eq(false), any(), eq(KEYSET_START),
+                eq(KEYSET_START_ID), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(this.cardRepository.findExportPage(eq(DECK_ID), eq(USER_ID), eq(false), any(),
+                eq(second.getCreatedAt()), eq(second.getId()), any(Pageable.class))).thenReturn(List.of(third));
+        final var file = stubCacheStore();
+
+        this.cardExportService.exportSync(DECK_ID, USER_ID, ExportFormat.CSV, ExportScope.ALL);
+
+        assertThat(csvFronts(file)).containsExactly("a", "b", "c");
+        // A short page is the last one, so no empty page is fetched
+        verify(this.cardRepository, times(2)).findExportPage(any(), any(), anyBoolean(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Fetch one more page to confirm the end when the last page is full")
+    void should_StopOnEmptyPage_When_LastPageFull() throws IOException {
+        final var first = row("a");
+        final var second = row("b");
+        stubDeckExport(2L);
+        when(this.cardRepository.findExportPage(eq(DECK_ID), eq(USER_ID), eq(false), any(), eq(KEYSET_START),
+                eq(KEYSET_START_ID), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(this.cardRepository.findExportPage(eq(DECK_ID), eq(USER_ID), eq(false), any(),
+                eq(second.getCreatedAt()), eq(second.getId()), any(Pageable.class))).thenReturn(List.of());
+        final var file = stubCacheStore();
+
+        this.cardExportService.exportSync(DECK_ID, USER_ID, ExportFormat.CSV, ExportScope.ALL);
+
+        assertThat(csvFronts(file)).containsExactly("a", "b");
+        verify(this.cardRepository, times(2)).findExportPage(any(), any(), anyBoolean(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Count and page due cards only for a DUE_ONLY export")
+    void should_FilterDueCards_When_ScopeIsDueOnly() throws IOException {
+        when(this.deckRepository.findByIdAndUserId(DECK_ID, USER_ID)).thenReturn(Optional.of(deck(DECK_ID, "Deck",
+                null)));
+        when(this.cardRepository.countDueCardsByDeckIdAndUserId(eq(DECK_ID), eq(USER_ID), any(LocalDate.class)))
+                .thenReturn(1L);
+        when(this.cardRepository.findContentVersion(DECK_ID, USER_ID))
+                .thenReturn(mock(DeckContentVersionProjection.class));
+        when(this.exportResultCache.find(any(), eq(ExportFormat.CSV))).thenReturn(Optional.empty());
+        when(this.cardRepository.findExportPage(eq(DECK_ID), eq(USER_ID), eq(true), any(), eq(KEYSET_START),
+                eq(KEYSET_START_ID), any(Pageable.class))).thenReturn(List.of(row("due")));
+        final var file = stubCacheStore();
+
+        final var result = this.cardExportService.exportSync(DECK_ID, USER_ID, ExportFormat.CSV,
+                ExportScope.DUE_ONLY);
+
+        assertThat(result.totalRows()).isEqualTo(1L);
+        assertThat(csvFronts(file)).containsExactly("due");
+        verify(this.cardRepository, never()).countActiveByDeckIdAndUserId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Count and page a prepared DUE_ONLY export by the day its content key was computed for")
+    void should_FilterByPreparedDay_When_DueOnlyExported() throws IOException {
+        final var day = LocalDate.of(2025, 1, 15);
+        this.appProperties.getLimits().setExportSyncThreshold(10);
+        when(this.deckRepository.findByIdAndUserId(DECK_ID, USER_ID)).thenReturn(Optional.of(deck(DECK_ID, "Deck",
+                null)));
+        when(this.cardRepository.countDueCardsByDeckIdAndUserId(DECK_ID, USER_ID, day)).thenReturn(1L);
+        when(this.exportResultCache.find("key", ExportFormat.CSV)).thenReturn(Optional.empty());
+        when(this.cardRepository.findExportPage(eq(DECK_ID), eq(USER_ID), eq(true), eq(day), eq(KEYSET_START),
+                eq(KEYSET_START_ID), any(Pageable.class))).thenReturn(List.of(row("due")));
+        final var file = stubCacheStore();
+
+        final var response = this.cardExportService.exportCards(
+                new ExportRequest(DECK_ID, USER_ID, ExportFormat.CSV, ExportScope.DUE_ONLY, day, "key"));
+
+        assertThat(response.result().etag()).isEqualTo("key");
+        assertThat(csvFronts(file)).containsExactly("due");
+    }
+
+    @Test
+    @DisplayName("Name ZIP entries after the folder path and make clashing names unique")
+    void should_NameEntriesByPath_When_FolderExportedAsZip() throws IOException {
+        final var root = folder(FOLDER_ID, "Lang", null);
+        final var part = folder(UUID.randomUUID(), "Part 1", root);
+        final var decks = List.of(
+                deck(UUID.randomUUID(), "Verbs", root),
+                deck(UUID.randomUUID(), "verbs", root),
+                deck(UUID.randomUUID(), "a/b:c", root),
+                deck(UUID.randomUUID(), "Nouns", part));
+        final var job = stubFolderExport(List.of(root, part), decks);
+
+        this.cardExportService.startFolderExport(FOLDER_ID, USER_ID, ExportFormat.CSV, ExportScope.ALL);
+
+        assertThat(job.get().getStatus()).isEqualTo(AsyncJobStatus.COMPLETED);
+        final var entries = zipEntries(Path.of(job.get().getResultPath()));
+        assertThat(entries).containsExactly("Lang/Part 1/Nouns.csv", "Lang/Verbs.csv", "Lang/a_b_c.csv",
+                "Lang/verbs (2).csv");
+        try (var files = Files.list(this.storageDir.resolve("exports"))) {
+            assertThat(files).as("spooled deck parts are deleted").isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Keep the tail of long sheet names and number sheets whose tails clash")
+    void should_TruncateSheetNames_When_FolderExportedAsWorkbook() throws IOException {
+        final var root = folder(FOLDER_ID, "Lang", null);
+        final var first = folder(UUID.randomUUID(), "Part 1", root);
+        final var second = folder(UUID.randomUUID(), "Part 2", root);
+        final var decks = List.of(
+                deck(UUID.randomUUID(), "Irregular verbs of the past tense", first),
+                deck(UUID.randomUUID(), "Irregular verbs of the past tense", second),
+                deck(UUID.randomUUID(), "Notes", root));
+        final var job = stubFolderExport(List.of(root, first, second), decks);
+
+        this.cardExportService.startFolderExport(FOLDER_ID, USER_ID, ExportFormat.XLSX, ExportScope.ALL);
+
+        assertThat(job.get().getStatus()).isEqualTo(AsyncJobStatus.COMPLETED);
+        try (var workbook = new XSSFWorkbook(Files.newInputStream(Path.of(job.get().getResultPath())))) {
+            final List<String> sheets = new ArrayList<>();
+            workbook.forEach(sheet -> sheets.add(sheet.getSheetName()));
+            assertThat(sheets).containsExactly("Lang-Notes", "regular verbs of the past tense",
+                    "lar verbs of the past tense (2)");
+            assertThat(workbook.getSheet("Lang-Notes").getRow(1).getCell(0).getStringCellValue())
+                    .isEqualTo("Notes");
+        }
+    }
+
+    private void stubDeckExport(long total) {
+        when(this.deckRepository.findByIdAndUserId(DECK_ID, USER_ID)).thenReturn(Optional.of(deck(DECK_ID, "Deck",
+                null)));
+        when(this.cardRepository.countActiveByDeckIdAndUserId(DECK_ID, USER_ID)).thenReturn(total);
+        when(this.cardRepository.findContentVersion(DECK_ID, USER_ID))
+                .thenReturn(mock(DeckContentVersionProjection.class));
+        when(this.exportResultCache.find(any(), eq(ExportFormat.CSV))).thenReturn(Optional.empty());
+    }
+
+    /**
+     * Render a stored result into a temp file, as the real cache does.
+     */
+    private Path stubCacheStore() {
+        final var file = this.storageDir.resolve("result.csv");
+        when(this.exportResultCache.store(any(), eq(ExportFormat.CSV), any())).thenAnswer(invocation -> {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                invocation.<ExportWriter>getArgument(2).writeTo(out);
+            }
+            return file;
+        });
+        return file;
+    }
+
+    /**
+     * Folder subtree with one card per deck, whose front is the deck name. Returns the saved job.
+     */
+    private AtomicReference<AsyncJob> stubFolderExport(List<Folder> folders, List<Deck> decks) {
+        final var root = folders.get(0);
+        when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(root));
+        when(this.cardRepository.countActiveInFolderSubtree(USER_ID, root.getPath())).thenReturn((long) decks.size());
+        when(this.folderRepository.findSubtree(USER_ID, root.getPath())).thenReturn(folders);
+        when(this.deckRepository.findActiveByFolderSubtree(USER_ID, root.getPath())).thenReturn(decks);
+        for (final Deck deck : decks) {
+            final var card = row(deck.getName());
+            when(this.cardRepository.findExportPage(eq(deck.getId()), eq(USER_ID), eq(false), any(), any(), any(),
+                    any(Pageable.class))).thenReturn(List.of(card));
+        }
+        final var job = new AtomicReference<AsyncJob>();
+        when(this.asyncJobRepository.save(any(AsyncJob.class))).thenAnswer(invocation -> {
+            final AsyncJob saved = invocation.getArgument(0);
+            if (saved.getId() == null) {
+                saved.setId(UUID.randomUUID());
+            }
+            job.set(saved);
+            return saved;
+        });
+        when(this.asyncJobRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(job.get()));
+        return job;
+    }
+
+    private static List<String> csvFronts(Path file) throws IOException {
+        return Files.readAllLines(file).stream()
+                .skip(1)
+                .map(line -> line.substring(0, line.indexOf(',')))
+                .toList();
+    }
+
+    private static List<String> zipEntries(Path file) throws IOException {
+        final List<String> names = new ArrayList<>();
+        try (var zip = new ZipInputStream(Files.newInputStream(file))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    private static Folder folder(UUID folderId, String name, Folder parent) {
+        final var folder = Folder.builder()
+                .name(name)
+                .parentFolder(parent)
+                .path((parent == null ? "" : parent.getPath()) + "/" + folderId)
+                .build();
+        folder.setId(folderId);
+        return folder;
+    }
+
+    private static Deck deck(UUID deckId, String name, Folder folder) {
+        final var deck = Deck.builder().name(name).folder(folder).build();
+        deck.setId(deckId);
+        return deck;
+    }
+
+    private static CardExportProjection row(String front) {
+        return new ExportRow(UUID.randomUUID(), LocalDateTime.now(), front, front + " back");
+    }
+
+    /**
+     * A card without an SRS position.
+     */
+    private record ExportRow(UUID id, LocalDateTime createdAt, String front, String back)
+            implements CardExportProjection {
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return this.createdAt;
+        }
+
+        @Override
+        public String getFront() {
+            return this.front;
+        }
+
+        @Override
+        public String getBack() {
+            return this.back;
+        }
+
+        @Override
+        public Integer getCurrentBox() {
+            return null;
+        }
+
+        @Override
+        public LocalDate getDueDate() {
+            return null;
+        }
+
+        @Override
+        public Integer getReviewCount() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.repeatwise.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.csv.GenericCsvService;
+import com.repeatwise.entity.AsyncJob;
+import com.repeatwise.enums.AsyncJobStatus;
+import com.repeatwise.enums.AsyncJobType;
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.job.JobOwner;
+import com.repeatwise.job.JobProgressRegistry;
+import com.repeatwise.repository.AsyncJobRepository;
+import com.repeatwise.repository.CardRepository;
+import com.repeatwise.repository.DeckRepository;
+import com.repeatwise.repository.JdbcBulkInsertRepository;
+import com.repeatwise.service.FileStorageService;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class CardImportServiceImplTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID JOB_ID = UUID.randomUUID();
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private JdbcBulkInsertRepository jdbcBulkInsertRepository;
+
+    @Mock
+    private AsyncJobRepository asyncJobRepository;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Executor jobExecutor;
+
+    @Mock
+    private GenericCsvService genericCsvService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private JobProgressRegistry jobProgressRegistry;
+
+    @Spy
+    private JobOwner jobOwner = new JobOwner();
+
+    @InjectMocks
+    private CardImportServiceImpl cardImportService;
+
+    @BeforeEach
+    void setUp() {
+        this.appProperties.getLimits().setJobHeartbeatStaleSeconds(120);
+    }
+
+    @Test
+    @DisplayName("Reject a resume that loses the conditional requeue")
+    void should_Throw_When_JobNoLongerResumable() {
+        final var owner = this.jobOwner.id();
+        when(this.asyncJobRepository.findByIdAndUserIdAndJobType(JOB_ID, USER_ID, AsyncJobType.IMPORT_CARDS))
+                .thenReturn(Optional.of(importJob(JOB_ID, AsyncJobStatus.FAILED)));
+        when(this.asyncJobRepository.requeue(eq(JOB_ID), eq(USER_ID), eq(owner), any(),
+                eq(AsyncJobStatus.PENDING), any(), any(LocalDateTime.class))).thenReturn(0);
+
+        final var thrown = catchThrowable(() -> this.cardImportService.resumeImport(JOB_ID, USER_ID));
+
+        assertThat(thrown)
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.JOB_NOT_RESUMABLE);
+        verify(this.jobExecutor, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Skip the run when another instance claimed the job first")
+    void should_SkipRun_When_ClaimLost() {
+        final var owner = this.jobOwner.id();
+        when(this.asyncJobRepository.findByIdAndUserIdAndJobType(JOB_ID, USER_ID, AsyncJobType.IMPORT_CARDS))
+                .thenReturn(Optional.of(importJob(JOB_ID, AsyncJobStatus.TIMEOUT)));
+        when(this.asyncJobRepository.requeue(eq(JOB_ID), eq(USER_ID), eq(owner), any(),
+                eq(AsyncJobStatus.PENDING), any(), any(LocalDateTime.class))).thenReturn(1);
+        when(this.asyncJobRepository.claim(eq(JOB_ID), eq(owner), eq(List.of(AsyncJobStatus.PENDING)),
+                eq(AsyncJobStatus.RUNNING), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(this.jobExecutor).execute(any(Runnable.class));
+
+        this.cardImportService.resumeImport(JOB_ID, USER_ID);
+
+        verify(this.asyncJobRepository, never()).findById(any());
+        verify(this.jobProgressRegistry, never()).track(any(), any(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Mark a failed run only while this instance owns the job")
+    void should_MarkFailedForOwner_When_RunFails() {
+        final var owner = this.jobOwner.id();
+        final var job = importJob(JOB_ID, AsyncJobStatus.TIMEOUT);
+        job.setDeckId(UUID.randomUUID());
+        when(this.asyncJobRepository.findByIdAndUserIdAndJobType(JOB_ID, USER_ID, AsyncJobType.IMPORT_CARDS))
+                .thenReturn(Optional.of(job));
+        when(this.asyncJobRepository.requeue(eq(JOB_ID), eq(USER_ID), eq(owner), any(),
+                eq(AsyncJobStatus.PENDING), any(), any(LocalDateTime.class))).thenReturn(1);
+        when(this.asyncJobRepository.claim(eq(JOB_ID), eq(owner), eq(List.of(AsyncJobStatus.PENDING)),
+                eq(AsyncJobStatus.RUNNING), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        when(this.asyncJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        when(this.asyncJobRepository.save(job)).thenReturn(job);
+        when(this.deckRepository.findByIdAndUserId(job.getDeckId(), USER_ID)).thenReturn(Optional.empty());
+        when(this.asyncJobRepository.finish(eq(JOB_ID), eq(owner), eq(AsyncJobStatus.FAILED), any(),
+                any(LocalDateTime.class))).thenReturn(1);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(this.jobExecutor).execute(any(Runnable.class));
+
+        this.cardImportService.resumeImport(JOB_ID, USER_ID);
+
+        verify(this.asyncJobRepository).finish(eq(JOB_ID), eq(owner), eq(AsyncJobStatus.FAILED), any(),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Recover only stale jobs this instance manages to claim")
+    void should_ResumeClaimedJobsOnly_When_ApplicationStarts() {
+        final var owner = this.jobOwner.id();
+        final var claimedJob = importJob(UUID.randomUUID(), AsyncJobStatus.RUNNING);
+        final var lostJob = importJob(UUID.randomUUID(), AsyncJobStatus.PENDING);
+        when(this.asyncJobRepository.findStale(eq(AsyncJobType.IMPORT_CARDS), any(), any(LocalDateTime.class)))
+                .thenReturn(List.of(claimedJob, lostJob));
+        when(this.asyncJobRepository.claim(eq(claimedJob.getId()), eq(owner), any(),
+                eq(AsyncJobStatus.PENDING), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        when(this.asyncJobRepository.claim(eq(lostJob.getId()), eq(owner), any(),
+                eq(AsyncJobStatus.PENDING), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+
+        this.cardImportService.resumeInterruptedImports();
+
+        verify(this.jobExecutor).execute(any(Runnable.class));
+    }
+
+    private static AsyncJob importJob(UUID jobId, AsyncJobStatus status) {
+        final var job = new AsyncJob();
+        job.setId(jobId);
+        job.setUserId(USER_ID);
+        job.setJobType(AsyncJobType.IMPORT_CARDS);
+        job.setStatus(status);
+        job.setPayloadPath("storage/imports/uploads/" + jobId + "/cards.csv");
+        return job;
+    }
+}
@@ -24,6 +24,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 
 import com.repeatwise.dto.request.card.CreateCardRequest;
@@ -33,6 +34,8 @@ import com.repeatwise.entity.Card;
 import com.repeatwise.entity.CardBoxPosition;
 import com.repeatwise.entity.Deck;
 import com.repeatwise.entity.User;
+import com.repeatwise.event.CardStateChangedEvent;
+import com.repeatwise.event.CardStateChangedEvent.CardState;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
 import com.repeatwise.mapper.CardMapper;
@@ -61,6 +64,9 @@ class CardServiceImplTest {
     @Mock
     private MessageSource messageSource;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CardServiceImpl cardService;
 
@@ -106,6 +112,12 @@ class CardServiceImplTest {
         assertThat(savedCard.getFront()).isEqualTo("Front");
         assertThat(savedCard.getBack()).isEqualTo("Back");
         verify(this.cardBoxPositionRepository).save(any(CardBoxPosition.class));
+
+        final ArgumentCaptor<CardStateChangedEvent> eventCaptor = ArgumentCaptor.forClass(CardStateChangedEvent.class);
+        verify(this.eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().deckId()).isEqualTo(DECK_ID);
+        assertThat(eventCaptor.getValue().previous()).isNull();
+        assertThat(eventCaptor.getValue().current().box()).isEqualTo(1);
     }
 
     @Test
@@ -229,6 +241,8 @@ class CardServiceImplTest {
 
         verify(this.cardRepository).save(card);
         verify(this.messageSource).getMessage(eq("success.card.deleted"), isNull(), any(Locale.class));
+        verify(this.eventPublisher).publishEvent(
+                CardStateChangedEvent.deleted(USER_ID, DECK_ID, CardState.of(position)));
     }
 
     @Test
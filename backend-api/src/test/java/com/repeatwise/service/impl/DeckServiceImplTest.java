@@ -24,6 +24,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 
 import com.repeatwise.dto.request.deck.CopyDeckRequest;
@@ -35,6 +36,7 @@ import com.repeatwise.entity.Card;
 import com.repeatwise.entity.Deck;
 import com.repeatwise.entity.Folder;
 import com.repeatwise.entity.User;
+import com.repeatwise.event.DeckMovedEvent;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
 import com.repeatwise.mapper.DeckMapper;
@@ -67,6 +69,9 @@ class DeckServiceImplTest {
     @Mock
     private MessageSource messageSource;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DeckServiceImpl deckService;
 
@@ -224,6 +229,7 @@ class DeckServiceImplTest {
 
         verify(this.folderService).getFolderEntityById(TARGET_FOLDER_ID, USER_ID);
         verify(this.deckRepository).save(existingDeck);
+        verify(this.eventPublisher).publishEvent(new DeckMovedEvent(USER_ID, DECK_ID, FOLDER_ID, TARGET_FOLDER_ID));
     }
 
     @Test
@@ -3,10 +3,14 @@ package com.repeatwise.service.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -14,9 +18,14 @@ import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -27,25 +36,50 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.repeatwise.dto.request.folder.CreateFolderRequest;
 import com.repeatwise.dto.request.folder.MoveFolderRequest;
 import com.repeatwise.dto.request.folder.UpdateFolderRequest;
 import com.repeatwise.dto.response.folder.FolderResponse;
+import com.repeatwise.entity.AsyncJob;
+import com.repeatwise.entity.Deck;
 import com.repeatwise.entity.Folder;
 import com.repeatwise.entity.FolderStats;
 import com.repeatwise.entity.User;
+import com.repeatwise.enums.AsyncJobStatus;
+import com.repeatwise.enums.AsyncJobType;
+import com.repeatwise.event.FolderSubtreeChangedEvent;
+import com.repeatwise.event.FolderSubtreeChangedEvent.Change;
 import com.repeatwise.exception.RepeatWiseError;
 import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.job.JobProgress;
+import com.repeatwise.job.JobProgressRegistry;
 import com.repeatwise.mapper.FolderMapper;
+import com.repeatwise.repository.AsyncJobRepository;
+import com.repeatwise.repository.CardRepository;
 import com.repeatwise.repository.DeckRepository;
 import com.repeatwise.repository.FolderRepository;
 import com.repeatwise.repository.FolderStatsRepository;
+import com.repeatwise.repository.JdbcBulkInsertRepository;
+import com.repeatwise.repository.JdbcBulkInsertRepository.DeckRow;
+import com.repeatwise.repository.JdbcBulkInsertRepository.FolderRow;
 import com.repeatwise.repository.CardBoxPositionRepository;
-import com.repeatwise.repository.projection.FolderCardStatsProjection;
+import com.repeatwise.repository.projection.CardContentProjection;
+import com.repeatwise.repository.projection.DeckTreeItemProjection;
+import com.repeatwise.repository.projection.FolderTreeNodeProjection;
+import com.repeatwise.repository.projection.TreeSyncStateProjection;
 import com.repeatwise.repository.UserRepository;
+import com.repeatwise.service.AsyncJobService;
+import com.repeatwise.service.FolderService;
+import com.repeatwise.service.FolderStatsService;
 
 @ExtendWith(MockitoExtension.class)
 class FolderServiceImplTest {
@@ -67,12 +101,39 @@ class FolderServiceImplTest {
     @Mock
     private CardBoxPositionRepository cardBoxPositionRepository;
 
+    @Mock
+    private CardRepository cardRepository;
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AsyncJobRepository asyncJobRepository;
+
+    @Mock
+    private AsyncJobService asyncJobService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Executor jobTaskExecutor;
+
+    @Mock
+    private JdbcBulkInsertRepository jdbcBulkInsertRepository;
+
+    @Mock
+    private FolderStatsService folderStatsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private FolderMapper folderMapper;
 
+    @Mock
+    private JobProgressRegistry jobProgressRegistry;
+
     @Mock
     private MessageSource messageSource;
 
@@ -82,6 +143,15 @@ class FolderServiceImplTest {
     @Captor
     private ArgumentCaptor<Folder> folderCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<FolderRow>> folderRowsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<DeckRow>> deckRowsCaptor;
+
+    @Captor
+    private ArgumentCaptor<LocalDateTime> createdAtCaptor;
+
     private User user;
 
     @BeforeEach
@@ -216,8 +286,7 @@ class FolderServiceImplTest {
         final var oldParent = createFolder(PARENT_ID, null, 0, "/root/" + PARENT_ID);
         sourceFolder.setParentFolder(oldParent);
         final var targetParent = createFolder(targetId, null, 1, "/root/" + targetId);
-        final var descendant = createFolder(UUID.randomUUID(), FOLDER_ID, 2,
-                sourceFolder.getPath() + "/" + UUID.randomUUID());
+        final var oldPath = sourceFolder.getPath();
 
         when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(sourceFolder));
         when(this.folderRepository.findByIdAndUserId(targetId, USER_ID)).thenReturn(Optional.of(targetParent));
@@ -225,23 +294,57 @@ class FolderServiceImplTest {
         when(this.folderRepository.existsByUserIdAndParentFolderIdAndNameIgnoreCaseAndIdNotAndDeletedAtIsNull(
                 USER_ID, targetId, sourceFolder.getName(), FOLDER_ID)).thenReturn(false);
         when(this.folderRepository.getMaxSortOrderForParent(USER_ID, targetId)).thenReturn(3);
-        when(this.folderRepository.findDescendantsByPath(eq(USER_ID), anyString())).thenReturn(List.of(descendant));
-        when(this.folderRepository.save(any(Folder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(this.folderRepository.bumpVersion(targetId, targetParent.getVersion())).thenReturn(1);
+        when(this.folderRepository.relocateFolder(eq(FOLDER_ID), any(), eq(targetParent), anyString(), anyInt(),
+                anyInt(), any(LocalDateTime.class))).thenReturn(1);
+        when(this.folderRepository.rewriteSubtreePath(eq(USER_ID), anyString(), anyInt(), anyString(), anyInt(),
+                any(LocalDateTime.class))).thenReturn(1);
         when(this.folderMapper.toResponse(sourceFolder)).thenReturn(FolderResponse.builder().id(FOLDER_ID).build());
 
         final var response = this.folderService.moveFolder(FOLDER_ID, request, USER_ID);
 
+        final var newPath = targetParent.getPath() + "/" + FOLDER_ID;
         assertThat(response.getId()).isEqualTo(FOLDER_ID);
-        verify(this.folderRepository, times(2)).save(any(Folder.class));
-        verify(this.folderRepository).findDescendantsByPath(eq(USER_ID), anyString());
-        assertThat(sourceFolder.getParentFolder()).isEqualTo(targetParent);
-        assertThat(sourceFolder.getSortOrder()).isEqualTo(4);
-        assertThat(sourceFolder.getPath()).isEqualTo(targetParent.getPath() + "/" + sourceFolder.getId());
-        assertThat(descendant.getPath()).startsWith(sourceFolder.getPath());
-        assertThat(descendant.getDepth()).isEqualTo(3);
+        verify(this.folderRepository, never()).save(any(Folder.class));
+        verify(this.folderRepository, never()).findDescendantsByPath(any(), anyString());
+        verify(this.folderRepository).relocateFolder(eq(FOLDER_ID), any(), eq(targetParent), eq(newPath), eq(2),
+                eq(4), any(LocalDateTime.class));
+        verify(this.folderRepository).rewriteSubtreePath(
+                eq(USER_ID),
+                eq(oldPath + "/"),
+                eq(oldPath.length() + 1),
+                eq(newPath + "/"),
+                eq(1),
+                any(LocalDateTime.class));
         verify(this.folderMapper).toResponse(sourceFolder);
     }
 
+    @Test
+    @DisplayName("Reject move when the folder was moved concurrently")
+    void should_ThrowConflict_When_FolderMovedConcurrently() {
+        final var request = MoveFolderRequest.builder()
+                .targetParentFolderId(null)
+                .build();
+        final var oldParent = createFolder(PARENT_ID, null, 0, "/" + PARENT_ID);
+        final var sourceFolder = createFolder(FOLDER_ID, PARENT_ID, 1, oldParent.getPath() + "/" + FOLDER_ID);
+        sourceFolder.setParentFolder(oldParent);
+
+        when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(sourceFolder));
+        when(this.folderRepository.getMaxDepthInSubtree(eq(USER_ID), anyString())).thenReturn(null);
+        when(this.folderRepository.getMaxSortOrderForRoot(USER_ID)).thenReturn(0);
+        when(this.folderRepository.relocateFolder(eq(FOLDER_ID), any(), eq(null), anyString(), anyInt(), anyInt(),
+                any(LocalDateTime.class))).thenReturn(0);
+
+        final var thrown = catchThrowable(() -> this.folderService.moveFolder(FOLDER_ID, request, USER_ID));
+
+        assertThat(thrown)
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.FOLDER_CONCURRENT_MODIFICATION);
+        verify(this.folderRepository, never()).rewriteSubtreePath(any(), anyString(), anyInt(), anyString(), anyInt(),
+                any());
+    }
+
     @Test
     @DisplayName("Prevent moving folder into itself or descendant")
     void should_ThrowException_When_MoveFolderIntoDescendant() {
@@ -265,32 +368,187 @@ class FolderServiceImplTest {
     }
 
     @Test
-    @DisplayName("Copy folder when within allowed limits")
+    @DisplayName("Copy small folder synchronously with batched inserts")
     void should_CopyFolder_When_WithinLimits() {
         final var destinationId = UUID.randomUUID();
         final var destinationParent = createFolder(destinationId, null, 1, "/root/" + destinationId);
         final var sourceFolder = createFolder(FOLDER_ID, PARENT_ID, 1, "/root/" + PARENT_ID + "/" + FOLDER_ID);
         final var child = createFolder(UUID.randomUUID(), FOLDER_ID, 2,
                 sourceFolder.getPath() + "/" + UUID.randomUUID());
-
+        final var deck = Deck.builder().folder(child).name("Deck").build();
+        deck.setId(DECK_ID);
+        final var card = mock(CardContentProjection.class);
+        when(card.getFront()).thenReturn("front");
+        when(card.getBack()).thenReturn("back");
+
+        // The copied root is re-read after the inserts
+        when(this.folderRepository.findByIdAndUserId(any(UUID.class), eq(USER_ID)))
+                .thenReturn(Optional.of(createFolder(null, destinationId, 2, null)));
         when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(sourceFolder));
-        when(this.folderRepository.countItemsInSubtree(eq(USER_ID), anyString())).thenReturn(1L);
+        when(this.folderRepository.countItemsInSubtree(USER_ID, sourceFolder.getPath())).thenReturn(4L);
         when(this.folderRepository.findByIdAndUserId(destinationId, USER_ID)).thenReturn(Optional.of(
                 destinationParent));
         when(this.folderRepository.getMaxDepthInSubtree(eq(USER_ID), anyString())).thenReturn(2);
         when(this.folderRepository.existsByUserIdAndParentFolderIdAndNameIgnoreCaseAndDeletedAtIsNull(
                 eq(USER_ID), eq(destinationId), anyString())).thenReturn(false);
-        when(this.folderRepository.findChildrenByUserIdAndParentId(USER_ID, FOLDER_ID)).thenReturn(List.of(child));
-        when(this.folderRepository.save(any(Folder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(this.folderRepository.findSubtree(USER_ID, sourceFolder.getPath()))
+                .thenReturn(List.of(sourceFolder, child));
+        when(this.deckRepository.findActiveByFolderSubtree(USER_ID, sourceFolder.getPath())).thenReturn(List.of(deck));
+        when(this.cardRepository.findContentPage(eq(DECK_ID), any(LocalDateTime.class), any(UUID.class),
+                any(Pageable.class))).thenReturn(List.of(card));
+        when(this.transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         when(this.folderMapper.toResponse(any(Folder.class))).thenReturn(FolderResponse.builder().id(FOLDER_ID)
                 .build());
 
-        final var response = this.folderService.copyFolder(FOLDER_ID, destinationId, null, USER_ID);
+        final var result = this.folderService.copyFolder(FOLDER_ID, destinationId, null, USER_ID);
+
+        assertThat(result.isAsync()).isFalse();
+        assertThat(result.folder().getId()).isEqualTo(FOLDER_ID);
+
+        verify(this.jdbcBulkInsertRepository).insertFolders(this.folderRowsCaptor.capture(), anyInt(), any());
+        final var rootCopy = this.folderRowsCaptor.getValue().get(0);
+        final var childCopy = this.folderRowsCaptor.getValue().get(1);
+        assertThat(rootCopy.name()).isEqualTo("Folder (copy)");
+        assertThat(rootCopy.parentFolderId()).isEqualTo(destinationId);
+        assertThat(rootCopy.depth()).isEqualTo(2);
+        assertThat(rootCopy.path()).isEqualTo(destinationParent.getPath() + "/" + rootCopy.id());
+        assertThat(childCopy.parentFolderId()).isEqualTo(rootCopy.id());
+        assertThat(childCopy.path()).isEqualTo(rootCopy.path() + "/" + childCopy.id());
+
+        verify(this.jdbcBulkInsertRepository).insertDecks(this.deckRowsCaptor.capture(), anyInt(), any());
+        assertThat(this.deckRowsCaptor.getValue()).singleElement()
+                .extracting(DeckRow::folderId)
+                .isEqualTo(childCopy.id());
+        verify(this.jdbcBulkInsertRepository).insertCards(anyList(), anyInt(), any());
+        verify(this.jdbcBulkInsertRepository).insertNewCardBoxPositions(anyList(), eq(USER_ID),
+                any(LocalDate.class), anyInt(), any());
+        verify(this.eventPublisher).publishEvent(FolderSubtreeChangedEvent.of(USER_ID, rootCopy.id(), Change.COPIED));
+        verify(this.folderRepository, never()).save(any(Folder.class));
+        verify(this.jobTaskExecutor, never()).execute(any());
+    }
 
-        assertThat(response.getId()).isEqualTo(FOLDER_ID);
-        verify(this.folderRepository, times(2)).save(any(Folder.class));
-        verify(this.folderRepository).findChildrenByUserIdAndParentId(USER_ID, FOLDER_ID);
-        verify(this.folderMapper).toResponse(any(Folder.class));
+    @Test
+    @DisplayName("Copy larger folder in a background job")
+    void should_StartCopyJob_When_FolderAboveSyncThreshold() {
+        final var sourceFolder = createFolder(FOLDER_ID, null, 0, "/" + FOLDER_ID);
+        final var job = new AsyncJob();
+        job.setId(UUID.randomUUID());
+
+        when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(sourceFolder));
+        when(this.folderRepository.countItemsInSubtree(USER_ID, sourceFolder.getPath())).thenReturn(120L);
+        when(this.asyncJobService.save(any(AsyncJob.class))).thenAnswer(invocation -> {
+            final AsyncJob saved = invocation.getArgument(0);
+            job.setJobType(saved.getJobType());
+            job.setFolderId(saved.getFolderId());
+            return job;
+        });
+
+        final var result = this.folderService.copyFolder(FOLDER_ID, null, "Backup", USER_ID);
+
+        assertThat(result.isAsync()).isTrue();
+        assertThat(result.job().getJobType()).isEqualTo(AsyncJobType.COPY_FOLDER);
+        assertThat(result.job().getFolderId()).isNotNull().isNotEqualTo(FOLDER_ID);
+        verify(this.jobTaskExecutor).execute(any(Runnable.class));
+        verify(this.jdbcBulkInsertRepository, never()).insertFolders(anyList(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Copy a folder with few items but many cards in a background job")
+    void should_StartCopyJob_When_CardsAboveSyncThreshold() {
+        final var sourceFolder = createFolder(FOLDER_ID, null, 0, "/" + FOLDER_ID);
+
+        when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(sourceFolder));
+        when(this.folderRepository.countItemsInSubtree(USER_ID, sourceFolder.getPath())).thenReturn(3L);
+        when(this.cardRepository.countActiveInFolderSubtree(USER_ID, sourceFolder.getPath())).thenReturn(20_000L);
+        when(this.asyncJobService.save(any(AsyncJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final var result = this.folderService.copyFolder(FOLDER_ID, null, "Backup", USER_ID);
+
+        assertThat(result.isAsync()).isTrue();
+        verify(this.jobTaskExecutor).execute(any(Runnable.class));
+        verify(this.transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Discard the committed pages of a copy job that fails")
+    void should_DiscardPartialCopy_When_CopyJobFails() {
+        final var sourceFolder = createFolder(FOLDER_ID, null, 0, "/" + FOLDER_ID);
+        final var deck = Deck.builder().folder(sourceFolder).name("Deck").build();
+        deck.setId(DECK_ID);
+        final var card = mock(CardContentProjection.class);
+
+        when(this.folderRepository.countItemsInSubtree(USER_ID, sourceFolder.getPath())).thenReturn(2L);
+        when(this.cardRepository.countActiveInFolderSubtree(USER_ID, sourceFolder.getPath())).thenReturn(5_000L);
+        when(this.asyncJobService.save(any(AsyncJob.class))).thenAnswer(invocation -> {
+            final AsyncJob saved = invocation.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+        when(this.folderRepository.findSubtree(USER_ID, sourceFolder.getPath())).thenReturn(List.of(sourceFolder));
+        when(this.deckRepository.findActiveByFolderSubtree(USER_ID, sourceFolder.getPath())).thenReturn(List.of(deck));
+        when(this.cardRepository.findContentPage(eq(DECK_ID), any(LocalDateTime.class), any(UUID.class),
+                any(Pageable.class))).thenReturn(List.of(card));
+        when(this.transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(this.transactionTemplate).executeWithoutResult(any());
+        when(this.asyncJobRepository.findById(any(UUID.class))).thenAnswer(invocation -> Optional.of(new AsyncJob()));
+        when(this.jobProgressRegistry.find(any(UUID.class))).thenReturn(Optional.of(mock(JobProgress.class)));
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(this.jdbcBulkInsertRepository)
+                .insertCards(anyList(), anyInt(), any());
+        final var copyRoot = createFolder(UUID.randomUUID(), null, 0, "/copy");
+        when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(sourceFolder));
+        when(this.folderRepository.findById(any(UUID.class))).thenReturn(Optional.of(copyRoot));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(this.jobTaskExecutor).execute(any(Runnable.class));
+
+        this.folderService.copyFolder(FOLDER_ID, null, "Backup", USER_ID);
+
+        verify(this.jdbcBulkInsertRepository).insertFolders(anyList(), anyInt(), any());
+        verify(this.folderRepository).deleteSubtree(USER_ID, "/copy");
+        verify(this.folderRepository, never()).softDeleteSubtree(any(), any(), any());
+        verify(this.eventPublisher, never()).publishEvent(any(FolderSubtreeChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Stamp copied cards in source order across card pages")
+    void should_KeepSourceCardOrder_When_DeckSpansPages() {
+        final var sourceFolder = createFolder(FOLDER_ID, null, 0, "/" + FOLDER_ID);
+        final var deck = Deck.builder().folder(sourceFolder).name("Deck").build();
+        deck.setId(DECK_ID);
+        final var lastOfFirstPage = mock(CardContentProjection.class);
+        final var lastCreatedAt = LocalDateTime.of(2025, 1, 1, 8, 0);
+        final var lastId = UUID.randomUUID();
+        when(lastOfFirstPage.getCreatedAt()).thenReturn(lastCreatedAt);
+        when(lastOfFirstPage.getId()).thenReturn(lastId);
+        final List<CardContentProjection> firstPage = new ArrayList<>(
+                Collections.nCopies(499, mock(CardContentProjection.class)));
+        firstPage.add(lastOfFirstPage);
+
+        when(this.folderRepository.findByIdAndUserId(any(UUID.class), eq(USER_ID)))
+                .thenReturn(Optional.of(sourceFolder));
+        when(this.folderRepository.countItemsInSubtree(USER_ID, sourceFolder.getPath())).thenReturn(2L);
+        when(this.cardRepository.countActiveInFolderSubtree(USER_ID, sourceFolder.getPath())).thenReturn(501L);
+        when(this.folderRepository.findSubtree(USER_ID, sourceFolder.getPath())).thenReturn(List.of(sourceFolder));
+        when(this.deckRepository.findActiveByFolderSubtree(USER_ID, sourceFolder.getPath())).thenReturn(List.of(deck));
+        when(this.cardRepository.findContentPage(eq(DECK_ID), any(LocalDateTime.class), any(UUID.class),
+                any(Pageable.class))).thenReturn(firstPage);
+        when(this.cardRepository.findContentPage(eq(DECK_ID), eq(lastCreatedAt), eq(lastId), any(Pageable.class)))
+                .thenReturn(List.of(mock(CardContentProjection.class)));
+        when(this.transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        this.folderService.copyFolder(FOLDER_ID, null, "Backup", USER_ID);
+
+        verify(this.jdbcBulkInsertRepository, times(2)).insertCards(anyList(), anyInt(),
+                this.createdAtCaptor.capture());
+        final var pageStarts = this.createdAtCaptor.getAllValues();
+        assertThat(pageStarts.get(1)).isEqualTo(pageStarts.get(0).plus(500, ChronoUnit.MICROS));
     }
 
     @Test
@@ -298,7 +556,7 @@ class FolderServiceImplTest {
     void should_ThrowException_When_CopyFolderTooLarge() {
         when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID))
                 .thenReturn(Optional.of(createFolder(FOLDER_ID, null, 0, "/root/" + FOLDER_ID)));
-        when(this.folderRepository.countItemsInSubtree(eq(USER_ID), anyString())).thenReturn(600L);
+        when(this.folderRepository.countItemsInSubtree(USER_ID, "/root/" + FOLDER_ID)).thenReturn(600L);
 
         final var thrown = catchThrowable(() -> this.folderService.copyFolder(FOLDER_ID, null, null, USER_ID));
 
@@ -307,18 +565,21 @@ class FolderServiceImplTest {
                 .extracting("error")
                 .isEqualTo(RepeatWiseError.FOLDER_TOO_LARGE);
         verify(this.folderRepository, never()).save(any());
+        verify(this.jobTaskExecutor, never()).execute(any());
     }
 
     @Test
-    @DisplayName("Soft delete folder and descendants successfully")
+    @DisplayName("Soft delete folder subtree with one bulk statement per table")
     void should_DeleteFolder_When_FolderExists() {
         final var folder = createFolder(FOLDER_ID, null, 0, "/root/" + FOLDER_ID);
-        final var child = createFolder(UUID.randomUUID(), FOLDER_ID, 1, folder.getPath() + "/" + UUID.randomUUID());
 
         when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(folder));
-        when(this.folderRepository.findDescendantsByPath(eq(USER_ID), anyString())).thenReturn(List.of(child));
-        when(this.deckRepository.softDeleteByFolderIds(anyList(), any(LocalDateTime.class))).thenReturn(3);
-        when(this.folderRepository.save(any(Folder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(this.cardRepository.softDeleteByFolderSubtree(eq(USER_ID), eq(folder.getPath()), any(LocalDateTime.class)))
+                .thenReturn(12);
+        when(this.deckRepository.softDeleteByFolderSubtree(eq(USER_ID), eq(folder.getPath()), any(LocalDateTime.class)))
+                .thenReturn(3);
+        when(this.folderRepository.softDeleteSubtree(eq(USER_ID), eq(folder.getPath()), any(LocalDateTime.class)))
+                .thenReturn(2);
         when(this.messageSource.getMessage(anyString(), any(), eq(LocaleContextHolder.getLocale())))
                 .thenReturn("Deleted");
 
@@ -326,9 +587,130 @@ class FolderServiceImplTest {
 
         assertThat(summary.deletedFolders()).isEqualTo(2);
         assertThat(summary.deletedDecks()).isEqualTo(3);
+        assertThat(summary.deletedCards()).isEqualTo(12);
         assertThat(summary.message()).isEqualTo("Deleted");
-        verify(this.deckRepository).softDeleteByFolderIds(anyList(), any(LocalDateTime.class));
-        verify(this.folderRepository, times(2)).save(any(Folder.class));
+
+        final ArgumentCaptor<LocalDateTime> deletedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(this.cardBoxPositionRepository).softDeleteByFolderSubtree(eq(USER_ID), eq(folder.getPath()),
+                deletedAt.capture());
+        verify(this.folderRepository).softDeleteSubtree(USER_ID, folder.getPath(), deletedAt.getValue());
+        verify(this.eventPublisher).publishEvent(FolderSubtreeChangedEvent.of(USER_ID, FOLDER_ID, Change.DELETED));
+        verify(this.folderRepository, never()).findDescendantsByPath(any(), anyString());
+        verify(this.folderRepository, never()).save(any(Folder.class));
+    }
+
+    @Test
+    @DisplayName("Run folder subtree deletion as async job")
+    void should_CompleteDeleteJob_When_StartedAsync() {
+        final var folder = createFolder(FOLDER_ID, null, 0, "/" + FOLDER_ID);
+        final var job = new AsyncJob();
+        job.setId(UUID.randomUUID());
+
+        when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(folder));
+        when(this.asyncJobService.save(any(AsyncJob.class))).thenAnswer(invocation -> {
+            final AsyncJob saved = invocation.getArgument(0);
+            job.setJobType(saved.getJobType());
+            job.setStatus(saved.getStatus());
+            job.setFolderId(saved.getFolderId());
+            return job;
+        });
+        when(this.asyncJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(this.folderRepository.softDeleteSubtree(eq(USER_ID), eq(folder.getPath()), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(this.deckRepository.softDeleteByFolderSubtree(eq(USER_ID), eq(folder.getPath()), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(this.cardRepository.softDeleteByFolderSubtree(eq(USER_ID), eq(folder.getPath()), any(LocalDateTime.class)))
+                .thenReturn(5);
+        when(this.messageSource.getMessage(eq("success.folder.deleted"), any(), any())).thenReturn("Deleted");
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(this.jobTaskExecutor).execute(any(Runnable.class));
+        when(this.transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(this.transactionTemplate).executeWithoutResult(any());
+
+        final var started = this.folderService.startDeleteFolderJob(FOLDER_ID, USER_ID);
+
+        assertThat(started.getJobType()).isEqualTo(AsyncJobType.DELETE_FOLDER);
+        assertThat(started.getFolderId()).isEqualTo(FOLDER_ID);
+        assertThat(job.getStatus()).isEqualTo(AsyncJobStatus.COMPLETED);
+        assertThat(job.getProcessedRows()).isEqualTo(7);
+        assertThat(job.getMessage()).isEqualTo("Deleted");
+        verify(this.jobProgressRegistry).untrack(job.getId());
+    }
+
+    @Test
+    @DisplayName("Assemble nested folder tree with decks in one pass")
+    void should_BuildNestedTree_When_NoSinceCursor() {
+        final var childId = UUID.randomUUID();
+        final var cursor = LocalDateTime.now();
+        final var root = treeNode(FOLDER_ID, null, null);
+        final var child = treeNode(childId, FOLDER_ID, null);
+        final var deckInChild = treeDeck(DECK_ID, childId, null);
+        final var rootDeck = treeDeck(UUID.randomUUID(), null, null);
+
+        when(this.folderRepository.findTreeNodes(USER_ID)).thenReturn(List.of(root, child));
+        when(this.deckRepository.findTreeItems(USER_ID)).thenReturn(List.of(deckInChild, rootDeck));
+
+        final var tree = this.folderService.getFolderTree(USER_ID, null, new FolderService.TreeVersion("v1", cursor));
+
+        assertThat(tree.isDelta()).isFalse();
+        assertThat(tree.getCursor()).isEqualTo(cursor);
+        assertThat(tree.getFolders()).singleElement().satisfies(node -> {
+            assertThat(node.getId()).isEqualTo(FOLDER_ID);
+            assertThat(node.getChildren()).singleElement().satisfies(nested -> {
+                assertThat(nested.getId()).isEqualTo(childId);
+                assertThat(nested.getDecks()).extracting("id").containsExactly(DECK_ID);
+            });
+        });
+        assertThat(tree.getDecks()).extracting("id").containsExactly(rootDeck.getId());
+        verify(this.folderRepository, never()).findTreeNodesChangedSince(any(), any());
+    }
+
+    @Test
+    @DisplayName("Return only changed and removed items when since cursor given")
+    void should_ReturnDelta_When_SinceCursorGiven() {
+        final var since = LocalDateTime.now().minusHours(1);
+        final var removedFolderId = UUID.randomUUID();
+        final var removedDeckId = UUID.randomUUID();
+        final var changedFolder = treeNode(FOLDER_ID, null, null);
+        final var removedFolder = treeNode(removedFolderId, null, LocalDateTime.now());
+        final var removedDeck = treeDeck(removedDeckId, FOLDER_ID, LocalDateTime.now());
+
+        when(this.folderRepository.findTreeNodesChangedSince(USER_ID, since))
+                .thenReturn(List.of(changedFolder, removedFolder));
+        when(this.deckRepository.findTreeItemsChangedSince(USER_ID, since)).thenReturn(List.of(removedDeck));
+
+        final var tree = this.folderService.getFolderTree(USER_ID, since, new FolderService.TreeVersion("v1", null));
+
+        assertThat(tree.isDelta()).isTrue();
+        assertThat(tree.getCursor()).isEqualTo(since);
+        assertThat(tree.getFolders()).extracting("id").containsExactly(FOLDER_ID);
+        assertThat(tree.getDeletedFolderIds()).containsExactly(removedFolderId);
+        assertThat(tree.getDecks()).isEmpty();
+        assertThat(tree.getDeletedDeckIds()).containsExactly(removedDeckId);
+        verify(this.folderRepository, never()).findTreeNodes(any());
+    }
+
+    @Test
+    @DisplayName("Change tree ETag when a folder row is permanently removed")
+    void should_ChangeTreeVersion_When_RowCountChanges() {
+        final var lastModified = LocalDateTime.now();
+        final var threeFolders = syncState(lastModified, 3);
+        final var twoFolders = syncState(lastModified, 2);
+        final var noDecks = syncState(null, 0);
+        when(this.folderRepository.getTreeSyncState(USER_ID)).thenReturn(threeFolders, twoFolders);
+        when(this.deckRepository.getTreeSyncState(USER_ID)).thenReturn(noDecks);
+
+        final var before = this.folderService.getTreeVersion(USER_ID);
+        final var after = this.folderService.getTreeVersion(USER_ID);
+
+        assertThat(before.cursor()).isEqualTo(lastModified);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
     }
 
     @Test
@@ -417,25 +799,26 @@ class FolderServiceImplTest {
     }
 
     @Test
-    @DisplayName("Restore soft-deleted folder and descendants")
+    @DisplayName("Restore only items removed by the same cascade as the folder")
     void should_RestoreFolder_When_SoftDeletedExists() {
         final var folder = createFolder(FOLDER_ID, null, 0, "/root/" + FOLDER_ID);
-        folder.setDeletedAt(LocalDateTime.now());
-        final var child = createFolder(UUID.randomUUID(), FOLDER_ID, 1, folder.getPath() + "/" + UUID.randomUUID());
-        child.setDeletedAt(LocalDateTime.now());
+        final var deletedAt = LocalDateTime.now();
+        folder.setDeletedAt(deletedAt);
+        final var restored = createFolder(FOLDER_ID, null, 0, folder.getPath());
 
         when(this.folderRepository.findDeletedByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(folder));
-        when(this.folderRepository.findDescendantsByPath(eq(USER_ID), anyString())).thenReturn(List.of(child));
-        when(this.folderRepository.save(any(Folder.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(this.folderMapper.toResponse(folder)).thenReturn(FolderResponse.builder().id(FOLDER_ID).build());
+        when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(restored));
+        when(this.folderMapper.toResponse(restored)).thenReturn(FolderResponse.builder().id(FOLDER_ID).build());
 
         final var response = this.folderService.restoreFolder(FOLDER_ID, USER_ID);
 
         assertThat(response.getId()).isEqualTo(FOLDER_ID);
-        assertThat(folder.getDeletedAt()).isNull();
-        assertThat(child.getDeletedAt()).isNull();
-        verify(this.deckRepository).restoreByFolderIds(anyList());
-        verify(this.folderRepository, times(2)).save(any(Folder.class));
+        verify(this.cardBoxPositionRepository).restoreByFolderSubtree(USER_ID, folder.getPath(), deletedAt);
+        verify(this.cardRepository).restoreByFolderSubtree(USER_ID, folder.getPath(), deletedAt);
+        verify(this.deckRepository).restoreByFolderSubtree(USER_ID, folder.getPath(), deletedAt);
+        verify(this.folderRepository).restoreSubtree(USER_ID, folder.getPath(), deletedAt);
+        verify(this.eventPublisher).publishEvent(FolderSubtreeChangedEvent.of(USER_ID, FOLDER_ID, Change.RESTORED));
+        verify(this.folderRepository, never()).save(any(Folder.class));
     }
 
     @Test
@@ -477,22 +860,13 @@ class FolderServiceImplTest {
     }
 
     @Test
-    @DisplayName("Compute folder statistics when cache is missing")
-    void should_ComputeFolderStats_When_NoCache() {
+    @DisplayName("Compute folder statistics without storing them when counters are missing")
+    void should_ComputeFolderStats_When_NoStoredCounters() {
         final var folder = createFolder(FOLDER_ID, null, 0, "/root/" + FOLDER_ID);
         when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(folder));
-        when(this.folderRepository.findDescendantsByPath(USER_ID, folder.getPath() + "/")).thenReturn(List.of());
-        when(this.deckRepository.findActiveDeckIdsByUserIdAndFolderIds(USER_ID, List.of(FOLDER_ID)))
-                .thenReturn(List.of(DECK_ID));
-        when(this.userRepository.findById(USER_ID)).thenReturn(Optional.of(this.user));
         when(this.folderStatsRepository.findByFolderIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.empty());
-        when(this.folderStatsRepository.save(any(FolderStats.class))).thenAnswer(invocation -> {
-            final FolderStats stats = invocation.getArgument(0);
-            stats.setLastComputedAt(LocalDateTime.now());
-            return stats;
-        });
-        when(this.cardBoxPositionRepository.aggregateStats(eq(USER_ID), eq(List.of(DECK_ID)), any(LocalDate.class)))
-                .thenReturn(new TestFolderCardStatsProjection(20, 5, 4, 3, 2, 11));
+        final var computed = createFolderStats(folder, this.user, 20, 5, 4, 3, 2, 11, 0, 1);
+        when(this.folderStatsService.computeStats(USER_ID, folder)).thenReturn(computed);
 
         final var response = this.folderService.getFolderStats(FOLDER_ID, USER_ID, false);
 
@@ -506,25 +880,46 @@ class FolderServiceImplTest {
         assertThat(response.getTotalFolders()).isEqualTo(0);
         assertThat(response.getCached()).isFalse();
         assertThat(response.getCompletionRate()).isEqualTo(55.0);
+        verify(this.folderStatsRepository, never()).save(any(FolderStats.class));
+        verify(this.cardBoxPositionRepository, never()).countDueInFolderSubtree(any(), anyString(), any());
     }
 
     @Test
-    @DisplayName("Return cached folder statistics when not stale")
-    void should_ReturnCachedFolderStats_When_NotStale() {
+    @DisplayName("Return stored folder counters without recomputing when due cards were counted today")
+    void should_ReturnStoredFolderStats_When_DueCountedToday() {
         final var folder = createFolder(FOLDER_ID, null, 0, "/root/" + FOLDER_ID);
         when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(folder));
-        when(this.folderRepository.findDescendantsByPath(USER_ID, folder.getPath() + "/")).thenReturn(List.of());
-        when(this.deckRepository.findActiveDeckIdsByUserIdAndFolderIds(USER_ID, List.of(FOLDER_ID))).thenReturn(List.of());
 
-        final var cachedStats = createFolderStats(folder, this.user, 15, 2, 3, 4, 5, 6, 0, 0);
-        when(this.folderStatsRepository.findByFolderIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(cachedStats));
+        final var storedStats = createFolderStats(folder, this.user, 15, 2, 3, 4, 5, 6, 0, 0);
+        when(this.folderStatsRepository.findByFolderIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(storedStats));
 
         final var response = this.folderService.getFolderStats(FOLDER_ID, USER_ID, false);
 
         assertThat(response.getTotalCards()).isEqualTo(15);
+        assertThat(response.getDueCards()).isEqualTo(2);
         assertThat(response.getLearningCards()).isEqualTo(4);
         assertThat(response.getCached()).isTrue();
-        verify(this.cardBoxPositionRepository, never()).aggregateStats(any(), anyList(), any());
+        verify(this.folderStatsService, never()).computeStats(any(), any());
+        verify(this.cardBoxPositionRepository, never()).countDueInFolderSubtree(any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Recount due cards when stored counters were counted on an earlier day")
+    void should_RecountDueCards_When_DueCountedBeforeToday() {
+        final var folder = createFolder(FOLDER_ID, null, 0, "/root/" + FOLDER_ID);
+        when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(folder));
+
+        final var storedStats = createFolderStats(folder, this.user, 15, 2, 3, 4, 5, 6, 0, 0);
+        storedStats.setDueCountedOn(LocalDate.now().minusDays(1));
+        when(this.folderStatsRepository.findByFolderIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(storedStats));
+        when(this.cardBoxPositionRepository.countDueInFolderSubtree(eq(USER_ID), eq(folder.getPath()),
+                any(LocalDate.class))).thenReturn(9L);
+
+        final var response = this.folderService.getFolderStats(FOLDER_ID, USER_ID, false);
+
+        assertThat(response.getDueCards()).isEqualTo(9);
+        assertThat(response.getTotalCards()).isEqualTo(15);
+        assertThat(response.getCached()).isTrue();
     }
 
     private FolderStats createFolderStats(Folder folder,
@@ -548,63 +943,35 @@ class FolderServiceImplTest {
                 .matureCardsCount(masteredCards)
                 .totalFoldersCount(totalFolders)
                 .totalDecksCount(totalDecks)
+                .dueCountedOn(LocalDate.now())
                 .build();
         stats.setLastComputedAt(LocalDateTime.now());
         return stats;
     }
 
-    private static final class TestFolderCardStatsProjection implements FolderCardStatsProjection {
-
-        private final long totalCards;
-        private final long dueCards;
-        private final long newCards;
-        private final long learningCards;
-        private final long reviewCards;
-        private final long masteredCards;
-
-        private TestFolderCardStatsProjection(long totalCards,
-                long dueCards,
-                long newCards,
-                long learningCards,
-                long reviewCards,
-                long masteredCards) {
-            this.totalCards = totalCards;
-            this.dueCards = dueCards;
-            this.newCards = newCards;
-            this.learningCards = learningCards;
-            this.reviewCards = reviewCards;
-            this.masteredCards = masteredCards;
-        }
-
-        @Override
-        public long getTotalCards() {
-            return this.totalCards;
-        }
-
-        @Override
-        public long getDueCards() {
-            return this.dueCards;
-        }
-
-        @Override
-        public long getNewCards() {
-            return this.newCards;
-        }
-
-        @Override
-        public long getLearningCards() {
-            return this.learningCards;
-        }
+    private static FolderTreeNodeProjection treeNode(UUID id, UUID parentId, LocalDateTime deletedAt) {
+        final var row = mock(FolderTreeNodeProjection.class);
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getParentFolderId()).thenReturn(parentId);
+        lenient().when(row.getName()).thenReturn("Folder");
+        lenient().when(row.getDeletedAt()).thenReturn(deletedAt);
+        return row;
+    }
 
-        @Override
-        public long getReviewCards() {
-            return this.reviewCards;
-        }
+    private static DeckTreeItemProjection treeDeck(UUID id, UUID folderId, LocalDateTime deletedAt) {
+        final var row = mock(DeckTreeItemProjection.class);
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getFolderId()).thenReturn(folderId);
+        lenient().when(row.getName()).thenReturn("Deck");
+        lenient().when(row.getDeletedAt()).thenReturn(deletedAt);
+        return row;
+    }
 
-        @Override
-        public long getMasteredCards() {
-            return this.masteredCards;
-        }
+    private static TreeSyncStateProjection syncState(LocalDateTime lastModified, long rowCount) {
+        final var state = mock(TreeSyncStateProjection.class);
+        lenient().when(state.getLastModified()).thenReturn(lastModified);
+        lenient().when(state.getRowCount()).thenReturn(rowCount);
+        return state;
     }
 
     private static User createUser(UUID userId) {
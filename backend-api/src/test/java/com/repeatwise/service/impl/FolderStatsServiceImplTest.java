@@ -0,0 +1,308 @@
+package com.repeatwise.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.repeatwise.entity.Folder;
+import com.repeatwise.entity.FolderStats;
+import com.repeatwise.entity.User;
+import com.repeatwise.event.CardStateChangedEvent;
+import com.repeatwise.event.CardStateChangedEvent.CardState;
+import com.repeatwise.event.CardsImportedEvent;
+import com.repeatwise.event.CardsReviewedEvent;
+import com.repeatwise.event.DeckMovedEvent;
+import com.repeatwise.event.FolderSubtreeChangedEvent;
+import com.repeatwise.event.FolderSubtreeChangedEvent.Change;
+import com.repeatwise.repository.CardBoxPositionRepository;
+import com.repeatwise.repository.DeckRepository;
+import com.repeatwise.repository.FolderRepository;
+import com.repeatwise.repository.FolderStatsRepository;
+import com.repeatwise.repository.UserRepository;
+import com.repeatwise.repository.projection.DeckFolderPathProjection;
+import com.repeatwise.repository.projection.FolderCardStatsProjection;
+import com.repeatwise.repository.projection.FolderSubtreeStatsProjection;
+
+@ExtendWith(MockitoExtension.class)
+class FolderStatsServiceImplTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID DECK_ID = UUID.randomUUID();
+    private static final UUID ROOT_ID = UUID.randomUUID();
+    private static final UUID CHILD_ID = UUID.randomUUID();
+    private static final String ROOT_PATH = "/" + ROOT_ID;
+    private static final String CHILD_PATH = ROOT_PATH + "/" + CHILD_ID;
+
+    @Mock
+    private FolderStatsRepository folderStatsRepository;
+
+    @Mock
+    private FolderRepository folderRepository;
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private CardBoxPositionRepository cardBoxPositionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private FolderStatsServiceImpl folderStatsService;
+
+    @Captor
+    private ArgumentCaptor<FolderStats> statsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<FolderStats>> rowsCaptor;
+
+    @Test
+    @DisplayName("List every prefix of a materialized path from the root down")
+    void should_ListAncestorPaths_When_PathIsNested() {
+        assertThat(FolderStatsServiceImpl.ancestorPaths("/a/b/c")).containsExactly("/a", "/a/b", "/a/b/c");
+        assertThat(FolderStatsServiceImpl.ancestorPaths("/a")).containsExactly("/a");
+    }
+
+    @Test
+    @DisplayName("Add a new due card to the deck folder and its ancestors")
+    void should_ApplyCardDelta_When_CardCreated() {
+        when(this.deckRepository.findFolderPathByDeckId(DECK_ID)).thenReturn(Optional.of(CHILD_PATH));
+        final var today = LocalDate.now();
+
+        this.folderStatsService.onCardStateChanged(new CardStateChangedEvent(USER_ID, DECK_ID, null,
+                new CardState(1, 0, today)));
+
+        verify(this.folderStatsRepository).applyDelta(USER_ID, List.of(ROOT_PATH, CHILD_PATH),
+                0, 0, 1, 1, 1, 0, 0, 0, today);
+    }
+
+    @Test
+    @DisplayName("Move a card between categories without changing totals when it is reviewed")
+    void should_ApplyCategoryDelta_When_CardReviewed() {
+        when(this.deckRepository.findFolderPathByDeckId(DECK_ID)).thenReturn(Optional.of(ROOT_PATH));
+        final var today = LocalDate.now();
+
+        this.folderStatsService.onCardStateChanged(new CardStateChangedEvent(USER_ID, DECK_ID,
+                new CardState(1, 0, today), new CardState(2, 1, today.plusDays(3))));
+
+        verify(this.folderStatsRepository).applyDelta(USER_ID, List.of(ROOT_PATH),
+                0, 0, 0, -1, -1, 1, 0, 0, today);
+    }
+
+    @Test
+    @DisplayName("Apply a review batch once per folder however many decks and cards it touched")
+    void should_ApplyOncePerFolder_When_BatchReviewed() {
+        final var otherDeckId = UUID.randomUUID();
+        final var today = LocalDate.now();
+        final var due = new CardState(1, 0, today);
+        final var learned = new CardState(2, 1, today.plusDays(3));
+        final var paths = List.of(deckPath(DECK_ID, CHILD_PATH), deckPath(otherDeckId, CHILD_PATH));
+        when(this.deckRepository.findFolderPathsByDeckIds(Set.of(DECK_ID, otherDeckId))).thenReturn(paths);
+
+        this.folderStatsService.onCardsReviewed(new CardsReviewedEvent(USER_ID, List.of(
+                new CardsReviewedEvent.Change(DECK_ID, due, learned),
+                new CardsReviewedEvent.Change(DECK_ID, due, learned),
+                new CardsReviewedEvent.Change(otherDeckId, due, learned))));
+
+        verify(this.deckRepository, never()).findFolderPathByDeckId(any());
+        verify(this.folderStatsRepository).applyDelta(USER_ID, List.of(ROOT_PATH, CHILD_PATH),
+                0, 0, 0, -3, -3, 3, 0, 0, today);
+    }
+
+    @Test
+    @DisplayName("Skip the folder lookup when a review batch leaves every category unchanged")
+    void should_SkipLookup_When_BatchChangesNoCategory() {
+        final var today = LocalDate.now();
+        final var learned = new CardState(2, 1, today.plusDays(3));
+
+        this.folderStatsService.onCardsReviewed(new CardsReviewedEvent(USER_ID, List.of(
+                new CardsReviewedEvent.Change(DECK_ID, learned, new CardState(2, 2, today.plusDays(5))))));
+
+        verify(this.deckRepository, never()).findFolderPathsByDeckIds(anyCollection());
+        verify(this.folderStatsRepository, never()).applyDelta(any(), anyCollection(), anyInt(), anyInt(),
+                anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Skip counters when a card lives in a root-level deck")
+    void should_SkipCounters_When_DeckHasNoFolder() {
+        when(this.deckRepository.findFolderPathByDeckId(DECK_ID)).thenReturn(Optional.empty());
+
+        this.folderStatsService.onCardsImported(new CardsImportedEvent(USER_ID, DECK_ID, 10, LocalDate.now()));
+
+        verify(this.folderStatsRepository, never()).applyDelta(any(), anyCollection(), anyInt(), anyInt(),
+                anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Subtract a deck and its cards from the source folder and add them to the target folder")
+    void should_ApplyDeckDelta_When_DeckMoved() {
+        final var today = LocalDate.now();
+        final var cards = cardStats(4, 1);
+        when(this.cardBoxPositionRepository.aggregateDeckStats(USER_ID, DECK_ID, today)).thenReturn(cards);
+        when(this.folderRepository.findById(ROOT_ID)).thenReturn(Optional.of(folder(ROOT_ID, ROOT_PATH, null)));
+        when(this.folderRepository.findById(CHILD_ID)).thenReturn(Optional.of(folder(CHILD_ID, CHILD_PATH, null)));
+
+        this.folderStatsService.onDeckMoved(new DeckMovedEvent(USER_ID, DECK_ID, CHILD_ID, ROOT_ID));
+
+        verify(this.folderStatsRepository).applyDelta(USER_ID, List.of(ROOT_PATH, CHILD_PATH),
+                0, -1, -4, -1, -4, 0, 0, 0, today);
+        verify(this.folderStatsRepository).applyDelta(USER_ID, List.of(ROOT_PATH),
+                0, 1, 4, 1, 4, 0, 0, 0, today);
+    }
+
+    @Test
+    @DisplayName("Create an empty counter row and count the folder in its ancestors")
+    void should_CreateCounterRow_When_FolderCreated() {
+        final var root = folder(ROOT_ID, ROOT_PATH, null);
+        final var child = folder(CHILD_ID, CHILD_PATH, root);
+        when(this.folderRepository.findById(CHILD_ID)).thenReturn(Optional.of(child));
+        when(this.folderRepository.findById(ROOT_ID)).thenReturn(Optional.of(root));
+
+        this.folderStatsService.onFolderSubtreeChanged(FolderSubtreeChangedEvent.of(USER_ID, CHILD_ID, Change.CREATED));
+
+        verify(this.folderStatsRepository).save(this.statsCaptor.capture());
+        assertThat(this.statsCaptor.getValue().getFolder()).isEqualTo(child);
+        assertThat(this.statsCaptor.getValue().getTotalCardsCount()).isZero();
+        assertThat(this.statsCaptor.getValue().isDueCountedOn(LocalDate.now())).isTrue();
+        verify(this.folderStatsRepository).applyDelta(USER_ID, List.of(ROOT_PATH),
+                1, 0, 0, 0, 0, 0, 0, 0, LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("Subtract the stored subtree counters from the ancestors when a folder is deleted")
+    void should_SubtractSubtree_When_FolderDeleted() {
+        final var today = LocalDate.now();
+        final var root = folder(ROOT_ID, ROOT_PATH, null);
+        final var child = folder(CHILD_ID, CHILD_PATH, root);
+        final var stats = FolderStats.builder()
+                .folder(child)
+                .totalFoldersCount(2)
+                .totalDecksCount(3)
+                .totalCardsCount(30)
+                .dueCardsCount(99)
+                .newCardsCount(10)
+                .learningCardsCount(12)
+                .reviewCardsCount(5)
+                .matureCardsCount(3)
+                .dueCountedOn(today.minusDays(1))
+                .build();
+        when(this.folderRepository.findById(CHILD_ID)).thenReturn(Optional.of(child));
+        when(this.folderRepository.findById(ROOT_ID)).thenReturn(Optional.of(root));
+        when(this.folderStatsRepository.findByFolderIdAndUserId(CHILD_ID, USER_ID)).thenReturn(Optional.of(stats));
+        when(this.cardBoxPositionRepository.countDueInFolderSubtree(USER_ID, CHILD_PATH, today)).thenReturn(7L);
+
+        this.folderStatsService.onFolderSubtreeChanged(FolderSubtreeChangedEvent.of(USER_ID, CHILD_ID, Change.DELETED));
+
+        verify(this.folderStatsRepository).applyDelta(USER_ID, List.of(ROOT_PATH),
+                -3, -3, -30, -7, -10, -12, -5, -3, today);
+    }
+
+    @Test
+    @DisplayName("Compute missing counters from the root aggregate alone")
+    void should_AggregateRootOnly_When_StatsComputed() {
+        final var today = LocalDate.now();
+        final var root = folder(ROOT_ID, ROOT_PATH, null);
+        final var rootRow = subtreeStats(ROOT_ID, 1, 2, 9);
+        when(this.folderStatsRepository.aggregateFolderStats(USER_ID, ROOT_PATH, today))
+                .thenReturn(Optional.of(rootRow));
+
+        final var stats = this.folderStatsService.computeStats(USER_ID, root);
+
+        assertThat(stats.getTotalFoldersCount()).isEqualTo(1);
+        assertThat(stats.getTotalDecksCount()).isEqualTo(2);
+        assertThat(stats.getTotalCardsCount()).isEqualTo(9);
+        assertThat(stats.isDueCountedOn(today)).isTrue();
+        verify(this.folderStatsRepository, never()).aggregateSubtreeStats(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Fill every folder of a subtree from one aggregation, creating missing counter rows")
+    void should_RebuildAllRows_When_SubtreeAggregated() {
+        final var today = LocalDate.now();
+        final var root = folder(ROOT_ID, ROOT_PATH, null);
+        final var child = folder(CHILD_ID, CHILD_PATH, root);
+        final var rootRow = subtreeStats(ROOT_ID, 1, 2, 9);
+        final var childRow = subtreeStats(CHILD_ID, 0, 1, 4);
+        when(this.folderStatsRepository.aggregateSubtreeStats(USER_ID, ROOT_PATH, today))
+                .thenReturn(List.of(rootRow, childRow));
+        final var stored = FolderStats.builder().folder(root).totalCardsCount(1).build();
+        when(this.folderStatsRepository.findByUserIdAndFolderIdIn(USER_ID, List.of(ROOT_ID, CHILD_ID)))
+                .thenReturn(List.of(stored));
+        when(this.folderRepository.getReferenceById(CHILD_ID)).thenReturn(child);
+
+        this.folderStatsService.rebuildSubtree(USER_ID, ROOT_PATH);
+
+        verify(this.folderStatsRepository).saveAll(this.rowsCaptor.capture());
+        assertThat(this.rowsCaptor.getValue()).hasSize(2);
+        assertThat(this.rowsCaptor.getValue().get(0)).isSameAs(stored);
+        assertThat(stored.getTotalFoldersCount()).isEqualTo(1);
+        assertThat(stored.getTotalDecksCount()).isEqualTo(2);
+        assertThat(stored.getTotalCardsCount()).isEqualTo(9);
+        assertThat(stored.isDueCountedOn(today)).isTrue();
+        assertThat(this.rowsCaptor.getValue().get(1).getFolder()).isEqualTo(child);
+        assertThat(this.rowsCaptor.getValue().get(1).getTotalCardsCount()).isEqualTo(4);
+        verify(this.folderRepository, never()).findSubtree(any(), any());
+    }
+
+    private static Folder folder(UUID id, String path, Folder parent) {
+        final var user = User.builder().username("user").email("user@example.com").build();
+        user.setId(USER_ID);
+        final var folder = Folder.builder()
+                .user(user)
+                .name("Folder")
+                .parentFolder(parent)
+                .depth(parent == null ? 0 : parent.getDepth() + 1)
+                .path(path)
+                .build();
+        folder.setId(id);
+        return folder;
+    }
+
+    private static FolderSubtreeStatsProjection subtreeStats(UUID folderId, long folders, long decks, long cards) {
+        final var row = mock(FolderSubtreeStatsProjection.class);
+        lenient().when(row.getFolderId()).thenReturn(folderId);
+        lenient().when(row.getTotalFolders()).thenReturn(folders);
+        lenient().when(row.getTotalDecks()).thenReturn(decks);
+        lenient().when(row.getTotalCards()).thenReturn(cards);
+        lenient().when(row.getNewCards()).thenReturn(cards);
+        return row;
+    }
+
+    private static FolderCardStatsProjection cardStats(long total, long due) {
+        final var cards = mock(FolderCardStatsProjection.class);
+        lenient().when(cards.getTotalCards()).thenReturn(total);
+        lenient().when(cards.getDueCards()).thenReturn(due);
+        lenient().when(cards.getNewCards()).thenReturn(total);
+        return cards;
+    }
+
+    private static DeckFolderPathProjection deckPath(UUID deckId, String path) {
+        final var row = mock(DeckFolderPathProjection.class);
+        lenient().when(row.getDeckId()).thenReturn(deckId);
+        lenient().when(row.getPath()).thenReturn(path);
+        return row;
+    }
+}
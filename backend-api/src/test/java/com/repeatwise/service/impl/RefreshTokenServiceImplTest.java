@@ -0,0 +1,133 @@
+package com.repeatwise.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mindrot.jbcrypt.BCrypt;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.repeatwise.config.properties.JwtProperties;
+import com.repeatwise.entity.RefreshToken;
+import com.repeatwise.entity.User;
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.repository.RefreshTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private JwtProperties jwtProperties;
+
+    @InjectMocks
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    @Test
+    @DisplayName("Create token with selector and hashed verifier")
+    void should_StoreSelectorAndVerifierHash_When_CreatingToken() {
+        when(this.jwtProperties.getRefreshTokenExpirationDays()).thenReturn(7);
+
+        final var token = this.refreshTokenService.createRefreshToken(buildUser(), "device", "info", "127.0.0.1");
+
+        final ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(this.refreshTokenRepository).save(captor.capture());
+        final var saved = captor.getValue();
+
+        assertThat(token).startsWith(saved.getSelector() + ".");
+        assertThat(saved.getToken()).hasSize(64).doesNotContain(token.substring(token.indexOf('.') + 1));
+        assertThat(saved.isLegacy()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Validate token through selector lookup without scanning all tokens")
+    void should_ValidateToken_When_SelectorAndVerifierMatch() {
+        when(this.jwtProperties.getRefreshTokenExpirationDays()).thenReturn(7);
+        final var token = this.refreshTokenService.createRefreshToken(buildUser(), null, null, null);
+        final ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(this.refreshTokenRepository).save(captor.capture());
+        final var stored = captor.getValue();
+
+        when(this.refreshTokenRepository.findBySelector(stored.getSelector())).thenReturn(Optional.of(stored));
+
+        final var result = this.refreshTokenService.validateRefreshToken(token);
+
+        assertThat(result).isSameAs(stored);
+        verify(this.refreshTokenRepository, never()).findAll();
+        verify(this.refreshTokenRepository, never()).findUnexpiredLegacyTokens(any());
+    }
+
+    @Test
+    @DisplayName("Reject token when verifier does not match stored hash")
+    void should_ThrowNotFound_When_VerifierDoesNotMatch() {
+        when(this.jwtProperties.getRefreshTokenExpirationDays()).thenReturn(7);
+        final var token = this.refreshTokenService.createRefreshToken(buildUser(), null, null, null);
+        final ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(this.refreshTokenRepository).save(captor.capture());
+        final var stored = captor.getValue();
+
+        when(this.refreshTokenRepository.findBySelector(stored.getSelector())).thenReturn(Optional.of(stored));
+
+        final var tampered = stored.getSelector() + ".not-the-real-verifier";
+        final var thrown = catchThrowable(() -> this.refreshTokenService.validateRefreshToken(tampered));
+
+        assertThat(token).isNotEqualTo(tampered);
+        assertThat(thrown)
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.REFRESH_TOKEN_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Fall back to unexpired legacy BCrypt tokens for tokens without selector")
+    void should_MatchLegacyToken_When_TokenHasNoSelector() {
+        final var legacyValue = UUID.randomUUID().toString();
+        final var legacy = RefreshToken.builder()
+                .user(buildUser())
+                .token(BCrypt.hashpw(legacyValue, BCrypt.gensalt(4)))
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        final var malformed = RefreshToken.builder()
+                .user(buildUser())
+                .token("sample-refresh-token")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+
+        when(this.refreshTokenRepository.findUnexpiredLegacyTokens(any(LocalDateTime.class)))
+                .thenReturn(List.of(malformed, legacy));
+
+        final var result = this.refreshTokenService.validateRefreshToken(legacyValue);
+
+        assertThat(result).isSameAs(legacy);
+        verify(this.refreshTokenRepository, never()).findBySelector(anyString());
+    }
+
+    private User buildUser() {
+        final var user = User.builder()
+                .email("user@example.com")
+                .username("user")
+                .build();
+        user.setId(USER_ID);
+        return user;
+    }
+}
@@ -0,0 +1,373 @@
+package com.repeatwise.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.repeatwise.config.properties.AppProperties;
+import com.repeatwise.dto.request.review.ReviewCardRequest;
+import com.repeatwise.dto.response.card.CardWithProgressResponse;
+import com.repeatwise.entity.Card;
+import com.repeatwise.entity.Folder;
+import com.repeatwise.entity.ReviewLog;
+import com.repeatwise.entity.SrsSettings;
+import com.repeatwise.entity.UserStats;
+import com.repeatwise.entity.enums.Rating;
+import com.repeatwise.enums.ReviewScope;
+import com.repeatwise.enums.ReviewSubmitStatus;
+import com.repeatwise.event.CardStateChangedEvent.CardState;
+import com.repeatwise.event.CardsReviewedEvent;
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+import com.repeatwise.mapper.CardMapper;
+import com.repeatwise.repository.CardBoxPositionRepository;
+import com.repeatwise.repository.DeckRepository;
+import com.repeatwise.repository.FolderRepository;
+import com.repeatwise.repository.JdbcReviewBatchRepository;
+import com.repeatwise.repository.JdbcReviewBatchRepository.PositionRow;
+import com.repeatwise.repository.JdbcReviewBatchRepository.ReviewLogRow;
+import com.repeatwise.repository.JdbcReviewQueueRepository;
+import com.repeatwise.repository.JdbcReviewQueueRepository.QueueState;
+import com.repeatwise.repository.ReviewLogRepository;
+import com.repeatwise.repository.SrsSettingsRepository;
+import com.repeatwise.repository.UserRepository;
+import com.repeatwise.repository.UserStatsRepository;
+import com.repeatwise.repository.projection.ReviewCardProjection;
+import com.repeatwise.repository.projection.ReviewPositionProjection;
+import com.repeatwise.srs.LeitnerSrsScheduler;
+import com.repeatwise.srs.SrsScheduler;
+import com.repeatwise.util.TimeZones;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceImplTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID FOLDER_ID = UUID.randomUUID();
+    private static final String FOLDER_PATH = "/" + FOLDER_ID;
+
+    @Mock
+    private CardBoxPositionRepository cardBoxPositionRepository;
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private FolderRepository folderRepository;
+
+    @Mock
+    private SrsSettingsRepository srsSettingsRepository;
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReviewLogRepository reviewLogRepository;
+
+    @Mock
+    private JdbcReviewBatchRepository jdbcReviewBatchRepository;
+
+    @Mock
+    private JdbcReviewQueueRepository jdbcReviewQueueRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SrsScheduler srsScheduler = new LeitnerSrsScheduler();
+
+    @Mock
+    private CardMapper cardMapper;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @InjectMocks
+    private ReviewServiceImpl reviewService;
+
+    @Captor
+    private ArgumentCaptor<List<PositionRow>> positionsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<ReviewLogRow>> logsCaptor;
+
+    @Test
+    @DisplayName("Require a folder or deck ID for scoped sessions")
+    void should_Throw_When_ScopeIdMissing() {
+        assertThatThrownBy(() -> this.reviewService.getReviewSession(USER_ID, ReviewScope.FOLDER, null))
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.REVIEW_SCOPE_ID_REQUIRED);
+        verifyNoInteractions(this.cardBoxPositionRepository);
+    }
+
+    @Test
+    @DisplayName("Resolve a folder scope to its path and map every session row")
+    void should_QueryByFolderPath_When_ScopeIsFolder() {
+        final var folder = Folder.builder().name("Folder").path(FOLDER_PATH).build();
+        when(this.folderRepository.findByIdAndUserId(FOLDER_ID, USER_ID)).thenReturn(Optional.of(folder));
+        final var first = row(42L, UUID.randomUUID());
+        final var second = row(42L, UUID.randomUUID());
+        when(this.cardBoxPositionRepository.findReviewSession(eq(USER_ID), eq("FOLDER"), any(), eq(FOLDER_PATH),
+                eq(LocalDate.now()), any(), any(), anyInt(), anyInt())).thenReturn(List.of(first, second));
+        when(this.cardMapper.toResponseWithProgress(any(ReviewCardProjection.class)))
+                .thenReturn(new CardWithProgressResponse());
+
+        final var session = this.reviewService.getReviewSession(USER_ID, ReviewScope.FOLDER, FOLDER_ID);
+
+        assertThat(session.getTotalDueCards()).isEqualTo(42);
+        assertThat(session.getCardsInSession()).isEqualTo(2);
+        assertThat(session.getCards()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Report due cards without session cards when today's limits are used up")
+    void should_ReturnEmptySession_When_OnlyCountRowReturned() {
+        final var countOnly = row(15L, null);
+        when(this.cardBoxPositionRepository.findReviewSession(eq(USER_ID), eq("ALL"), any(), anyString(), any(),
+                any(), any(), anyInt(), anyInt())).thenReturn(List.of(countOnly));
+
+        final var session = this.reviewService.getReviewSession(USER_ID, ReviewScope.ALL, null);
+
+        assertThat(session.getTotalDueCards()).isEqualTo(15);
+        assertThat(session.getCardsInSession()).isZero();
+        assertThat(session.getCards()).isEmpty();
+        verifyNoInteractions(this.cardMapper);
+    }
+
+    @Test
+    @DisplayName("Count the session on the user's day rather than the server's")
+    void should_UseUserDay_When_UserHasTimezone() {
+        final var zone = ZoneId.of("Pacific/Kiritimati");
+        when(this.userRepository.findTimezoneById(USER_ID)).thenReturn(Optional.of(zone.getId()));
+        final var today = LocalDate.now(zone);
+        final var countOnly = row(3L, null);
+        when(this.cardBoxPositionRepository.findReviewSession(eq(USER_ID), eq("ALL"), any(), anyString(), eq(today),
+                eq(TimeZones.serverStartOfDay(today, zone)), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(countOnly));
+
+        final var session = this.reviewService.getReviewSession(USER_ID, ReviewScope.ALL, null);
+
+        assertThat(session.getTotalDueCards()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Reject a deck the user does not own")
+    void should_Throw_When_DeckNotFound() {
+        final var deckId = UUID.randomUUID();
+        when(this.deckRepository.findByIdAndUserId(deckId, USER_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> this.reviewService.getReviewSession(USER_ID, ReviewScope.DECK, deckId))
+                .isInstanceOf(RepeatWiseException.class)
+                .extracting("error")
+                .isEqualTo(RepeatWiseError.DECK_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Apply ratings of the same card in order and write its final state once")
+    void should_ApplyInOrder_When_CardRatedTwiceInBatch() {
+        final var cardId = UUID.randomUUID();
+        final var deckId = UUID.randomUUID();
+        final var positionId = UUID.randomUUID();
+        final var today = LocalDate.now();
+        final var reviewedAt = LocalDateTime.now().minusMinutes(5);
+        when(this.srsSettingsRepository.findByUserId(USER_ID)).thenReturn(Optional.of(SrsSettings.createDefault(null)));
+        final var position = position(positionId, cardId, deckId, today);
+        when(this.cardBoxPositionRepository.lockReviewPositions(USER_ID, List.of(cardId))).thenReturn(List.of(position));
+        final var stats = UserStats.createDefault(null);
+        when(this.userStatsRepository.findByUserId(USER_ID)).thenReturn(Optional.of(stats));
+        final var first = review(cardId, Rating.GOOD, reviewedAt);
+        final var second = review(cardId, Rating.EASY, reviewedAt);
+
+        final var response = this.reviewService.submitReviews(USER_ID, List.of(first, second));
+
+        assertThat(response.getAppliedCount()).isEqualTo(2);
+        assertThat(response.getResults()).extracting("newBox").containsExactly(2, 4);
+        verify(this.jdbcReviewBatchRepository).updatePositions(this.positionsCaptor.capture(), any());
+        assertThat(this.positionsCaptor.getValue()).containsExactly(new PositionRow(positionId, 4, 14,
+                reviewedAt.toLocalDate().plusDays(14), 2, 0, reviewedAt));
+        verify(this.jdbcReviewBatchRepository).insertReviewLogs(this.logsCaptor.capture(), eq(USER_ID));
+        assertThat(this.logsCaptor.getValue()).extracting(ReviewLogRow::clientReviewId)
+                .containsExactly(first.getReviewId(), second.getReviewId());
+        verify(this.eventPublisher).publishEvent(new CardsReviewedEvent(USER_ID, List.of(new CardsReviewedEvent.Change(
+                deckId, new CardState(1, 0, today), new CardState(4, 2, reviewedAt.toLocalDate().plusDays(14))))));
+        assertThat(stats.getCardsReviewedToday()).isEqualTo(2);
+        assertThat(stats.getStreakDays()).isEqualTo(1);
+        verify(this.jdbcReviewQueueRepository).removeCards(USER_ID, List.of(cardId));
+    }
+
+    @Test
+    @DisplayName("Schedule and replay ratings from the user's day when it differs from the server day")
+    void should_DueFromUserDay_When_ReviewedNearUserMidnight() {
+        final var cardId = UUID.randomUUID();
+        final var deckId = UUID.randomUUID();
+        final var positionId = UUID.randomUUID();
+        final var zone = ZoneId.of("Pacific/Kiritimati");
+        final var userDay = LocalDate.now(zone).minusDays(1);
+        final var reviewedAt = TimeZones.serverStartOfDay(userDay, zone).plusMinutes(5);
+        when(this.userRepository.findTimezoneById(USER_ID)).thenReturn(Optional.of(zone.getId()));
+        when(this.srsSettingsRepository.findByUserId(USER_ID)).thenReturn(Optional.of(SrsSettings.createDefault(null)));
+        final var position = position(positionId, cardId, deckId, userDay);
+        when(this.cardBoxPositionRepository.lockReviewPositions(USER_ID, List.of(cardId))).thenReturn(List.of(position));
+        final var replayed = review(cardId, Rating.GOOD, reviewedAt);
+        final var card = Card.builder().front("front").back("back").build();
+        card.setId(cardId);
+        final var entry = ReviewLog.builder()
+                .card(card)
+                .rating(Rating.GOOD)
+                .previousBox(1)
+                .newBox(2)
+                .intervalDays(3)
+                .reviewedAt(reviewedAt)
+                .clientReviewId(replayed.getReviewId())
+                .build();
+        when(this.reviewLogRepository.findByUserIdAndClientReviewIdIn(eq(USER_ID), any())).thenReturn(List.of(entry));
+
+        final var response = this.reviewService.submitReviews(USER_ID,
+                List.of(replayed, review(cardId, Rating.GOOD, reviewedAt)));
+
+        assertThat(response.getResults()).extracting("newDueDate")
+                .containsExactly(userDay.plusDays(3), userDay.plusDays(3));
+        verify(this.jdbcReviewBatchRepository).updatePositions(this.positionsCaptor.capture(), any());
+        assertThat(this.positionsCaptor.getValue()).containsExactly(new PositionRow(positionId, 2, 3,
+                userDay.plusDays(3), 1, 0, reviewedAt));
+    }
+
+    @Test
+    @DisplayName("Replay logged ratings and skip missing cards instead of applying them")
+    void should_ReplayLoggedResult_When_ReviewIdResubmitted() {
+        final var cardId = UUID.randomUUID();
+        final var missingCardId = UUID.randomUUID();
+        when(this.srsSettingsRepository.findByUserId(USER_ID)).thenReturn(Optional.of(SrsSettings.createDefault(null)));
+        final var logged = review(cardId, Rating.GOOD, null);
+        final var card = Card.builder().front("front").back("back").build();
+        card.setId(cardId);
+        final var entry = ReviewLog.builder()
+                .card(card)
+                .rating(Rating.GOOD)
+                .previousBox(1)
+                .newBox(2)
+                .intervalDays(3)
+                .reviewedAt(LocalDateTime.of(2025, 1, 10, 8, 0))
+                .clientReviewId(logged.getReviewId())
+                .build();
+        when(this.reviewLogRepository.findByUserIdAndClientReviewIdIn(eq(USER_ID), any())).thenReturn(List.of(entry));
+
+        final var response = this.reviewService.submitReviews(USER_ID,
+                List.of(logged, review(missingCardId, Rating.AGAIN, null)));
+
+        assertThat(response.getAppliedCount()).isZero();
+        assertThat(response.getDuplicateCount()).isEqualTo(1);
+        assertThat(response.getSkippedCount()).isEqualTo(1);
+        assertThat(response.getResults()).extracting("status")
+                .containsExactly(ReviewSubmitStatus.DUPLICATE, ReviewSubmitStatus.CARD_NOT_FOUND);
+        assertThat(response.getResults().get(0).getNewDueDate()).isEqualTo(LocalDate.of(2025, 1, 13));
+        verify(this.jdbcReviewBatchRepository).insertReviewLogs(List.of(), USER_ID);
+        verifyNoInteractions(this.userStatsRepository, this.eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Build the daily queue from the session on the first access of the user's day")
+    void should_BuildQueue_When_QueueFromEarlierDay() {
+        final var zone = "Pacific/Kiritimati";
+        final var today = LocalDate.now(ZoneId.of(zone));
+        final var cardId = UUID.randomUUID();
+        when(this.jdbcReviewQueueRepository.findState(USER_ID))
+                .thenReturn(Optional.of(new QueueState(zone, today.minusDays(1), 5, 2)))
+                .thenReturn(Optional.of(new QueueState(zone, today, 9, 1)));
+        when(this.jdbcReviewQueueRepository.lockQueue(USER_ID)).thenReturn(today.minusDays(1));
+        final var picked = row(9L, cardId);
+        when(this.cardBoxPositionRepository.findReviewSession(eq(USER_ID), eq("ALL"), any(), anyString(), eq(today),
+                any(), any(), anyInt(), anyInt())).thenReturn(List.of(picked));
+        final var page = row(9L, cardId);
+        when(this.cardBoxPositionRepository.findReviewQueuePage(USER_ID, 20)).thenReturn(List.of(page));
+        when(this.cardMapper.toResponseWithProgress(page)).thenReturn(new CardWithProgressResponse());
+
+        final var queue = this.reviewService.getReviewQueue(USER_ID, 20);
+
+        verify(this.jdbcReviewQueueRepository).replaceQueue(eq(USER_ID), eq(today), eq(9), eq(List.of(cardId)),
+                any());
+        assertThat(queue.getTotalDueCards()).isEqualTo(9);
+        assertThat(queue.getCardsInSession()).isEqualTo(1);
+        assertThat(queue.getCards()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Read the next page of today's queue without rebuilding it")
+    void should_ReadPage_When_QueueBuiltToday() {
+        final var zone = ZoneId.systemDefault().getId();
+        when(this.jdbcReviewQueueRepository.findState(USER_ID))
+                .thenReturn(Optional.of(new QueueState(zone, LocalDate.now(), 40, 30)));
+        final var first = row(40L, UUID.randomUUID());
+        final var second = row(40L, UUID.randomUUID());
+        when(this.cardBoxPositionRepository.findReviewQueuePage(USER_ID, 100)).thenReturn(List.of(first, second));
+        when(this.cardMapper.toResponseWithProgress(any())).thenReturn(new CardWithProgressResponse());
+
+        final var queue = this.reviewService.getReviewQueue(USER_ID, 1000);
+
+        // The page returned, not the 30 cards still queued
+        assertThat(queue.getCardsInSession()).isEqualTo(2);
+        assertThat(queue.getTotalDueCards()).isEqualTo(40);
+        verify(this.jdbcReviewQueueRepository, never()).lockQueue(any());
+        verify(this.cardBoxPositionRepository, never()).findReviewSession(any(), any(), any(), any(), any(), any(),
+                any(), anyInt(), anyInt());
+    }
+
+    private static ReviewCardRequest review(UUID cardId, Rating rating, LocalDateTime reviewedAt) {
+        return ReviewCardRequest.builder()
+                .reviewId(UUID.randomUUID())
+                .cardId(cardId)
+                .rating(rating)
+                .reviewedAt(reviewedAt)
+                .build();
+    }
+
+    private static ReviewPositionProjection position(UUID positionId, UUID cardId, UUID deckId, LocalDate dueDate) {
+        final var position = mock(ReviewPositionProjection.class);
+        lenient().when(position.getPositionId()).thenReturn(positionId);
+        lenient().when(position.getCardId()).thenReturn(cardId);
+        lenient().when(position.getDeckId()).thenReturn(deckId);
+        lenient().when(position.getCurrentBox()).thenReturn(1);
+        lenient().when(position.getIntervalDays()).thenReturn(1);
+        lenient().when(position.getDueDate()).thenReturn(dueDate);
+        lenient().when(position.getReviewCount()).thenReturn(0);
+        lenient().when(position.getLapseCount()).thenReturn(0);
+        return position;
+    }
+
+    private static ReviewCardProjection row(long totalDue, UUID cardId) {
+        final var row = mock(ReviewCardProjection.class);
+        lenient().when(row.getTotalDue()).thenReturn(totalDue);
+        lenient().when(row.getCardId()).thenReturn(cardId);
+        return row;
+    }
+}
@@ -0,0 +1,67 @@
+package com.repeatwise.srs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.repeatwise.entity.SrsSettings;
+import com.repeatwise.entity.enums.ForgottenCardAction;
+import com.repeatwise.entity.enums.Rating;
+
+class LeitnerSrsSchedulerTest {
+
+    private final LeitnerSrsScheduler scheduler = new LeitnerSrsScheduler();
+
+    @Test
+    @DisplayName("Move a recalled card up one box for GOOD and two for EASY, capped at the last box")
+    void should_MoveUp_When_CardRecalled() {
+        final var settings = SrsSettings.createDefault(null);
+
+        assertTransition(settings, 3, Rating.GOOD, 4, 14);
+        assertTransition(settings, 7, Rating.GOOD, 7, 120);
+        assertTransition(settings, 3, Rating.EASY, 5, 30);
+        assertTransition(settings, 6, Rating.EASY, 7, 120);
+    }
+
+    @Test
+    @DisplayName("Keep the box and shorten its interval for HARD")
+    void should_ShortenInterval_When_CardHard() {
+        final var settings = SrsSettings.createDefault(null);
+
+        assertTransition(settings, 1, Rating.HARD, 1, 1);
+        assertTransition(settings, 2, Rating.HARD, 2, 2);
+        assertTransition(settings, 5, Rating.HARD, 5, 21);
+    }
+
+    @Test
+    @DisplayName("Apply the forgotten card action for AGAIN")
+    void should_ApplyForgottenCardAction_When_CardForgotten() {
+        final var settings = SrsSettings.createDefault(null);
+        assertTransition(settings, 5, Rating.AGAIN, 1, 1);
+
+        settings.setForgottenCardAction(ForgottenCardAction.STAY_IN_BOX);
+        assertTransition(settings, 5, Rating.AGAIN, 5, 1);
+
+        settings.setForgottenCardAction(ForgottenCardAction.MOVE_DOWN_N_BOXES);
+        settings.setMoveDownBoxes(2);
+        assertTransition(settings, 5, Rating.AGAIN, 3, 7);
+        assertTransition(settings, 2, Rating.AGAIN, 1, 1);
+        settings.setMoveDownBoxes(3);
+        assertTransition(settings, 7, Rating.AGAIN, 4, 14);
+    }
+
+    @Test
+    @DisplayName("Treat a box outside the configured range as the nearest box")
+    void should_ClampBox_When_OutOfRange() {
+        final var settings = SrsSettings.createDefault(null);
+
+        assertTransition(settings, 0, Rating.GOOD, 2, 3);
+        assertTransition(settings, 9, Rating.GOOD, 7, 120);
+    }
+
+    private void assertTransition(SrsSettings settings, int box, Rating rating, int nextBox, int intervalDays) {
+        assertThat(this.scheduler.nextBox(settings, box, rating)).isEqualTo(nextBox);
+        assertThat(this.scheduler.intervalDays(settings, box, rating)).isEqualTo(intervalDays);
+    }
+}
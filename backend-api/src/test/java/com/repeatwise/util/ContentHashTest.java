@@ -0,0 +1,31 @@
+package com.repeatwise.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Expected values were computed by PostgreSQL with the expression of
+ * {@code CardRepository#findContentHashesByDeckIdAndUserId}; a mismatch would let duplicates through imports.
+ */
+class ContentHashTest {
+
+    @Test
+    @DisplayName("Match the hash PostgreSQL computes for ASCII content")
+    void should_MatchDatabaseHash_When_ContentIsAscii() {
+        assertThat(ContentHash.of("hello", "world")).isEqualTo(5364387115232694568L);
+    }
+
+    @Test
+    @DisplayName("Match the hash PostgreSQL computes for non-ASCII content, read as a signed value")
+    void should_MatchDatabaseHash_When_ContentHasDiacritics() {
+        assertThat(ContentHash.of("Xin chào", "Hello")).isEqualTo(-7680834381467435338L);
+    }
+
+    @Test
+    @DisplayName("Match the hash PostgreSQL computes for empty content")
+    void should_MatchDatabaseHash_When_ContentIsEmpty() {
+        assertThat(ContentHash.of("", "")).isEqualTo(9007485417292753957L);
+    }
+}
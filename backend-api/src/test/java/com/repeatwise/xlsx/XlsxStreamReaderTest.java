@@ -0,0 +1,136 @@
+package com.repeatwise.xlsx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.repeatwise.exception.RepeatWiseError;
+import com.repeatwise.exception.RepeatWiseException;
+
+class XlsxStreamReaderTest {
+
+    private static final String SHEET_ENTRY = "xl/worksheets/sheet1.xml";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Stream present rows in order with formatted values keyed by column index")
+    void should_ReadSparseRows_When_SheetHasGaps() throws IOException {
+        final var file = workbook(this.dir.resolve("cards.xlsx"));
+
+        final var rows = readAll(file);
+
+        assertThat(rows).containsOnlyKeys(0, 2, 3);
+        assertThat(rows.get(0)).containsExactlyInAnyOrderEntriesOf(Map.of(0, "Front", 1, "Back"));
+        assertThat(rows.get(2)).containsExactlyInAnyOrderEntriesOf(Map.of(0, "hello", 1, "1.5"));
+        assertThat(rows.get(3)).containsExactlyInAnyOrderEntriesOf(Map.of(2, "only C"));
+    }
+
+    @Test
+    @DisplayName("Place cells without a reference right after the previous cell")
+    void should_FollowPreviousCell_When_CellReferenceMissing() throws IOException {
+        final var file = stripCellReferences(workbook(this.dir.resolve("source.xlsx")),
+                this.dir.resolve("unreferenced.xlsx"));
+
+        final var rows = readAll(file);
+
+        assertThat(sheetXml(file)).contains("<c").doesNotContain("<c r=");
+        assertThat(rows.get(0)).containsExactlyInAnyOrderEntriesOf(Map.of(0, "Front", 1, "Back"));
+        assertThat(rows.get(2)).containsExactlyInAnyOrderEntriesOf(Map.of(0, "hello", 1, "1.5"));
+    }
+
+    @Test
+    @DisplayName("Propagate a handler failure unchanged")
+    void should_PropagateHandlerException_When_RowRejected() throws IOException {
+        final var file = workbook(this.dir.resolve("cards.xlsx"));
+        final var failure = new RepeatWiseException(RepeatWiseError.IMPORT_INVALID_FORMAT, "row 1");
+
+        final var thrown = catchThrowable(() -> XlsxStreamReader.readFirstSheet(file, (rowIndex, cells) -> {
+            throw failure;
+        }));
+
+        assertThat(thrown).isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("Report a file that is not an xlsx package as an I/O failure")
+    void should_ThrowIoException_When_FileIsNotXlsx() throws IOException {
+        final var file = Files.writeString(this.dir.resolve("cards.xlsx"), "front,back\na,1\n");
+
+        final var thrown = catchThrowable(() -> XlsxStreamReader.readFirstSheet(file, (rowIndex, cells) -> { }));
+
+        assertThat(thrown).isInstanceOf(IOException.class);
+    }
+
+    private static Map<Integer, Map<Integer, String>> readAll(Path file) throws IOException {
+        final Map<Integer, Map<Integer, String>> rows = new LinkedHashMap<>();
+        XlsxStreamReader.readFirstSheet(file, rows::put);
+        return rows;
+    }
+
+    private static String sheetXml(Path file) throws IOException {
+        try (var in = new ZipInputStream(Files.newInputStream(file))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                if (SHEET_ENTRY.equals(entry.getName())) {
+                    return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        throw new IOException("No sheet in " + file);
+    }
+
+    /**
+     * Header row, a blank row, a text and numeric row and a row with only column C set.
+     */
+    private static Path workbook(Path file) throws IOException {
+        try (var workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            final var sheet = workbook.createSheet("Cards");
+            final var header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Front");
+            header.createCell(1).setCellValue("Back");
+            final var card = sheet.createRow(2);
+            card.createCell(0).setCellValue("hello");
+            card.createCell(1).setCellValue(1.5);
+            sheet.createRow(3).createCell(2).setCellValue("only C");
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    /**
+     * Copy of {@code source} whose cells carry no {@code r} attribute, which the file format allows.
+     */
+    private static Path stripCellReferences(Path source, Path target) throws IOException {
+        try (var in = new ZipInputStream(Files.newInputStream(source));
+                var out = new ZipOutputStream(Files.newOutputStream(target))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                var content = in.readAllBytes();
+                if (SHEET_ENTRY.equals(entry.getName())) {
+                    content = new String(content, StandardCharsets.UTF_8)
+                            .replaceAll("<c r=\"[A-Z]+[0-9]+\"", "<c")
+                            .getBytes(StandardCharsets.UTF_8);
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(content);
+                out.closeEntry();
+            }
+        }
+        return target;
+    }
+}